@@ -0,0 +1,139 @@
+package org.baylight.redis;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.baylight.redis.keyspace.KeyspaceDict;
+
+/**
+ * Reclaims expired keys that are never read again, in the style of the redis activeExpireCycle.
+ * The keys with an expiry are indexed in a second dict, like the redis expires dict, so that they
+ * can be sampled at random even when they are a small part of the keyspace. Each loop of a cycle
+ * samples keys from the index, and a cycle keeps sampling while more than
+ * ACCEPTABLE_STALE_PERCENT of the sampled keys were expired, until its time budget runs out.
+ */
+public class ActiveExpireCycle {
+    // keys sampled per loop of a cycle
+    static final int KEYS_PER_LOOP = 20;
+    // keep sampling while more than this percent of the sampled keys were expired
+    static final int ACCEPTABLE_STALE_PERCENT = 10;
+
+    private final KeyspaceDict<RedisKey, StoredData> dataStoreMap;
+    private final BiConsumer<RedisKey, StoredData> expiredListener;
+    // the keys with an expiry and their data, only accessed while holding the command lock
+    private final KeyspaceDict<RedisKey, StoredData> expires = new KeyspaceDict<>();
+    // the samples of a loop, collected before any key is removed from the dict
+    private final RedisKey[] sampleKeys = new RedisKey[KEYS_PER_LOOP];
+    private final StoredData[] sampleData = new StoredData[KEYS_PER_LOOP];
+    private int numSamples = 0;
+    private final AtomicLong expiredKeys = new AtomicLong();
+    // running average of the percent of sampled keys that were expired
+    private volatile double expiredStalePerc = 0.0;
+
+    public ActiveExpireCycle(KeyspaceDict<RedisKey, StoredData> dataStoreMap) {
+        this(dataStoreMap, (key, storedData) -> {
+        });
+    }
+
+    /**
+     * @param expiredListener called for each key that was removed because it expired
+     */
+    public ActiveExpireCycle(KeyspaceDict<RedisKey, StoredData> dataStoreMap,
+            BiConsumer<RedisKey, StoredData> expiredListener) {
+        this.dataStoreMap = dataStoreMap;
+        this.expiredListener = expiredListener;
+    }
+
+    /**
+     * Update the index for a key that was set.
+     */
+    public void keyUpdated(RedisKey key, StoredData storedData) {
+        if (storedData.hasExpiry()) {
+            expires.put(key, storedData);
+        } else {
+            expires.remove(key);
+        }
+    }
+
+    public void keyDeleted(RedisKey key) {
+        expires.remove(key);
+    }
+
+    /**
+     * Remove a key that was found to be expired when it was accessed.
+     *
+     * @return true if the key was removed, false if it was replaced in the meantime
+     */
+    public boolean expireKey(RedisKey key, StoredData storedData) {
+        expires.remove(key, storedData);
+        if (dataStoreMap.remove(key, storedData)) {
+            expiredKeys.incrementAndGet();
+            expiredListener.accept(key, storedData);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Run one expire cycle. The caller serializes the cycles with the commands.
+     *
+     * @param now            the current time in millis
+     * @param timeLimitNanos the time budget of the cycle
+     * @return the number of keys that were expired
+     */
+    public int run(long now, long timeLimitNanos) {
+        long start = System.nanoTime();
+        int totalSampled = 0;
+        int totalExpired = 0;
+        int sampled;
+        int expired;
+        do {
+            expired = 0;
+            numSamples = 0;
+            sampled = expires.sample(KEYS_PER_LOOP, e -> {
+                sampleKeys[numSamples] = e.getKey();
+                sampleData[numSamples++] = e.getValue();
+            });
+            for (int i = 0; i < numSamples; i++) {
+                if (sampleData[i].isExpired(now) && expireKey(sampleKeys[i], sampleData[i])) {
+                    expired++;
+                }
+                sampleKeys[i] = null;
+                sampleData[i] = null;
+            }
+            totalSampled += sampled;
+            totalExpired += expired;
+            if (sampled == 0) {
+                break;
+            }
+        } while (expired * 100 > sampled * ACCEPTABLE_STALE_PERCENT
+                && System.nanoTime() - start < timeLimitNanos);
+
+        double currentPerc = totalSampled > 0 ? (double) totalExpired / totalSampled : 0.0;
+        expiredStalePerc = currentPerc * 0.05 + expiredStalePerc * 0.95;
+        return totalExpired;
+    }
+
+    public long getExpiredKeys() {
+        return expiredKeys.get();
+    }
+
+    /**
+     * @return the estimated percent of the keys with an expiry that are already expired
+     */
+    public double getExpiredStalePerc() {
+        return expiredStalePerc * 100;
+    }
+
+    /**
+     * @return the live index of the keys with an expiry, which is only accessed while holding the
+     *         command lock
+     */
+    public KeyspaceDict<RedisKey, StoredData> getExpires() {
+        return expires;
+    }
+
+    public int getNumKeysWithExpiry() {
+        return expires.size();
+    }
+}
@@ -0,0 +1,265 @@
+package org.baylight.redis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.baylight.redis.protocol.IncrementalRespParser;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+import org.baylight.redis.protocol.RespValueParser;
+
+/**
+ * A client connection on a non-blocking SocketChannel. The IoReactor that owns the connection
+ * reads bytes from the channel when the selector reports it readable, and then takes the complete
+ * values that have been received with {@link #readValue()}. With a single I/O thread, writes go
+ * straight to the channel and any bytes the channel does not accept are queued until the selector
+ * reports the channel writable. With several I/O threads, writes are always queued and the reactor
+ * sends them.
+ */
+public class ChannelClientConnection extends ClientConnection {
+    private static final int INPUT_BUFFER_SIZE = 16 * 1024;
+    private static final int BATCH_BUFFER_SIZE = 16 * 1024;
+
+    private final SocketChannel channel;
+    private final Deque<ByteBuffer> pendingWrites = new ArrayDeque<>();
+    private SelectionKey selectionKey;
+    private IoReactor reactor;
+    // bytes received from the channel and not yet parsed, kept in write mode
+    private final ByteBuffer inputBuffer = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+    private final IncrementalRespParser parser = new IncrementalRespParser();
+    // responses of the current batch of pipelined commands, in write mode
+    private ByteBuffer batchBuffer;
+
+    public ChannelClientConnection(SocketChannel channel, RespValueParser valueParser)
+            throws IOException {
+        super(channel.socket(), valueParser, false);
+        this.channel = channel;
+    }
+
+    void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+    }
+
+    void setReactor(IoReactor reactor) {
+        this.reactor = reactor;
+    }
+
+    IoReactor getReactor() {
+        return reactor;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    /**
+     * Read the bytes that are available on the channel into the input buffer.
+     *
+     * @return the number of bytes read, or -1 if the client closed the connection
+     */
+    int readFromChannel() throws IOException {
+        return channel.read(inputBuffer);
+    }
+
+    /**
+     * Parse the next complete value from the bytes received so far. The parser consumes all of the
+     * buffered bytes and keeps the state of a partly received value until the rest arrives.
+     *
+     * @return the value, or null if a complete value has not been received yet
+     */
+    @Override
+    public RespValue readValue() throws IOException {
+        inputBuffer.flip();
+        try {
+            RespValue value = parser.parse(inputBuffer);
+            if (value != null) {
+                long startBytesOffset = parser.getValueStartOffset();
+                setValueContext(value, startBytesOffset,
+                        (int) (parser.getNumBytesConsumed() - startBytesOffset));
+            }
+            return value;
+        } finally {
+            inputBuffer.compact();
+        }
+    }
+
+    /**
+     * Take the RDB file that a leader sends after FULLRESYNC from the bytes received so far. Like
+     * {@link #readValue()}, this does not wait for more bytes, and the partly received file is
+     * kept in the parser until the rest arrives.
+     *
+     * @return the RDB file, or null if it has not been received completely yet
+     */
+    @Override
+    public byte[] readRDB() throws IOException {
+        if (!parser.hasPartialValue()) {
+            parser.expectRdb();
+        }
+        inputBuffer.flip();
+        try {
+            RespValue value = parser.parse(inputBuffer);
+            return value != null ? ((RespBulkString) value).getValue() : null;
+        } finally {
+            inputBuffer.compact();
+        }
+    }
+
+    @Override
+    public int available() {
+        return inputBuffer.position();
+    }
+
+    @Override
+    public long getNumBytesReceived() {
+        return parser.getNumBytesConsumed();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public void writeFlush(byte[] bytes) throws IOException {
+        synchronized (pendingWrites) {
+            if (isBatching()) {
+                if (batchBuffer == null) {
+                    batchBuffer = ByteBuffer.allocate(BATCH_BUFFER_SIZE);
+                }
+                if (bytes.length <= batchBuffer.remaining()) {
+                    batchBuffer.put(bytes);
+                    return;
+                }
+                // the buffer is full, so send what has been batched before this response
+                flushBatch();
+            }
+            write(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    @Override
+    public void flushBatch() throws IOException {
+        synchronized (pendingWrites) {
+            if (batchBuffer == null || batchBuffer.position() == 0) {
+                return;
+            }
+            batchBuffer.flip();
+            try {
+                if (!isOffloadWrites() && pendingWrites.isEmpty()) {
+                    channel.write(batchBuffer);
+                }
+                if (batchBuffer.hasRemaining()) {
+                    // copy what the channel did not take, so the batch buffer can be reused
+                    ByteBuffer rest = ByteBuffer.allocate(batchBuffer.remaining());
+                    rest.put(batchBuffer).flip();
+                    write(rest);
+                }
+            } finally {
+                batchBuffer.clear();
+            }
+        }
+    }
+
+    private boolean isOffloadWrites() {
+        return reactor != null && reactor.isOffloadWrites();
+    }
+
+    /**
+     * Send the response buffers with a gathering write, so that large values are sent from the
+     * stored arrays without being copied into one response array.
+     */
+    @Override
+    public void write(RespWriter respWriter) throws IOException {
+        synchronized (pendingWrites) {
+            ByteBuffer[] buffers = respWriter.toBuffers();
+            if (isBatching()) {
+                if (batchBuffer == null) {
+                    batchBuffer = ByteBuffer.allocate(BATCH_BUFFER_SIZE);
+                }
+                if (respWriter.size() <= batchBuffer.remaining()) {
+                    for (ByteBuffer buffer : buffers) {
+                        batchBuffer.put(buffer);
+                    }
+                    return;
+                }
+                flushBatch();
+            }
+            write(buffers);
+        }
+    }
+
+    private void write(ByteBuffer... buffers) throws IOException {
+        if (isOffloadWrites()) {
+            // leave the write to the I/O thread that owns the connection
+            for (ByteBuffer buffer : buffers) {
+                pendingWrites.addLast(detach(buffer));
+            }
+            reactor.requestWrite(this);
+            return;
+        }
+        if (pendingWrites.isEmpty()) {
+            channel.write(buffers);
+        }
+        boolean queued = false;
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                // the socket send buffer is full - let the reactor finish the write
+                pendingWrites.addLast(detach(buffer));
+                queued = true;
+            }
+        }
+        if (queued) {
+            selectionKey.interestOpsOr(SelectionKey.OP_WRITE);
+            selectionKey.selector().wakeup();
+        }
+    }
+
+    /**
+     * A read only direct buffer is a value in the off-heap arena, which is reused once the value is
+     * freed, so the bytes that are not sent while the command holds the command lock are copied.
+     */
+    private static ByteBuffer detach(ByteBuffer buffer) {
+        if (!buffer.isDirect() || !buffer.isReadOnly()) {
+            return buffer;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer).flip();
+        return copy;
+    }
+
+    /**
+     * Called by the reactor to send the queued bytes, either when the channel is writable or when
+     * the command loop has queued a response.
+     */
+    void flushPendingWrites() throws IOException {
+        synchronized (pendingWrites) {
+            while (!pendingWrites.isEmpty()) {
+                ByteBuffer buffer = pendingWrites.peekFirst();
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    // wait for the channel to be writable
+                    selectionKey.interestOpsOr(SelectionKey.OP_WRITE);
+                    return;
+                }
+                pendingWrites.removeFirst();
+            }
+            selectionKey.interestOpsAnd(~SelectionKey.OP_WRITE);
+        }
+    }
+
+}
@@ -1,7 +1,7 @@
 package org.baylight.redis;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -15,22 +15,36 @@ import org.baylight.redis.protocol.RespValue;
 import org.baylight.redis.protocol.RespValueBase;
 import org.baylight.redis.protocol.RespValueContext;
 import org.baylight.redis.protocol.RespValueParser;
+import org.baylight.redis.protocol.RespWriter;
 
 public class ClientConnection {
     private final Socket clientSocket;
-    private final RespValueParser valueParser;
+    protected final RespValueParser valueParser;
     private InputStream inputStream;
     private OutputStream outputStream;
     private BufferedInputLineReader reader;
     private BufferedResponseStreamWriter writer;
+    // the thread that is executing a batch of pipelined commands for this connection
+    private volatile Thread batchThread;
 
     public ClientConnection(Socket clientSocket, RespValueParser valueParser) throws IOException {
+        this(clientSocket, valueParser, true);
+    }
+
+    /**
+     * Constructor for subclasses that do their own I/O on the socket and do not use the blocking
+     * socket streams.
+     */
+    protected ClientConnection(Socket clientSocket, RespValueParser valueParser,
+            boolean openStreams) throws IOException {
         this.clientSocket = clientSocket;
         this.valueParser = valueParser;
-        inputStream = clientSocket.getInputStream();
-        reader = new BufferedInputLineReader(new BufferedInputStream(inputStream));
-        outputStream = clientSocket.getOutputStream();
-        writer = new BufferedResponseStreamWriter(new BufferedOutputStream(outputStream));
+        if (openStreams) {
+            inputStream = clientSocket.getInputStream();
+            reader = new BufferedInputLineReader(inputStream);
+            outputStream = clientSocket.getOutputStream();
+            writer = new BufferedResponseStreamWriter(new BufferedOutputStream(outputStream));
+        }
     }
 
     public RespValue readValue() throws IOException {
@@ -41,11 +55,17 @@ public class ClientConnection {
         // set the context for the top-level value from the stream - used for creating a REPLCONF
         // command
         long length = reader.getNumBytesReceived() - startBytesOffset;
-        RespValueContext context = new RespValueContext(this, startBytesOffset, (int) length);
-        ((RespValueBase) value).setContext(context);
+        setValueContext(value, startBytesOffset, (int) length);
         return value;
     }
 
+    protected void setValueContext(RespValue value, long startBytesOffset, int length) {
+        if (value != null) {
+            RespValueContext context = new RespValueContext(this, startBytesOffset, length);
+            ((RespValueBase) value).setContext(context);
+        }
+    }
+
     public byte[] readRDB() throws IOException {
         int val = reader.read();
         if (val != '$') {
@@ -53,9 +73,9 @@ public class ClientConnection {
         }
         long len = reader.readLong();
         // TODO: refactor the RDB processing with a stream instead of byte array
-        byte[] rdb = new byte[(int) len];
-        for (int i = 0; i < len; i++) {
-            rdb[i] = (byte) reader.read();
+        byte[] rdb = reader.readNBytes((int) len);
+        if (rdb.length < len) {
+            throw new EOFException("End of stream while reading RDB");
         }
         return rdb;
     }
@@ -64,6 +84,14 @@ public class ClientConnection {
         return clientSocket.getInetAddress().getHostAddress() + ":" + clientSocket.getPort();
     }
 
+    /**
+     * Stream connections are read with blocking reads on a dedicated thread. Subclasses that are
+     * read by the ConnectionManager reactor return false.
+     */
+    public boolean isBlocking() {
+        return true;
+    }
+
     public boolean isClosed() {
         return clientSocket.isClosed();
     }
@@ -81,7 +109,47 @@ public class ClientConnection {
     }
 
     public void writeFlush(byte[] bytes) throws IOException {
-        writer.writeFlush(bytes);
+        if (isBatching()) {
+            writer.write(bytes);
+        } else {
+            writer.writeFlush(bytes);
+        }
+    }
+
+    /**
+     * Send the response collected by the writer.
+     */
+    public void write(RespWriter respWriter) throws IOException {
+        writeFlush(respWriter.toByteArray());
+    }
+
+    /**
+     * Start a batch of pipelined commands. Until {@link #endBatch()}, the responses written by the
+     * calling thread are buffered and sent together, so a client that pipelines many commands gets
+     * its responses in a few large writes. Responses written by other threads, such as blocking
+     * commands, are still sent immediately.
+     */
+    public void beginBatch() {
+        batchThread = Thread.currentThread();
+    }
+
+    /**
+     * End the batch and send the buffered responses.
+     */
+    public void endBatch() throws IOException {
+        batchThread = null;
+        flushBatch();
+    }
+
+    /**
+     * Send the responses buffered so far in the current batch.
+     */
+    public void flushBatch() throws IOException {
+        writer.flush();
+    }
+
+    protected boolean isBatching() {
+        return batchThread == Thread.currentThread();
     }
 
     @Override
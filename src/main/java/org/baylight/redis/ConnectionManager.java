@@ -1,68 +1,297 @@
 package org.baylight.redis;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespValueParser;
 
 public class ConnectionManager {
+    // the most pipelined values handled from one connection before moving on to the next one
+    private static final int MAX_BATCH_SIZE = 128;
+
     private final Deque<ClientConnection> clientSockets = new ConcurrentLinkedDeque<>();
     private final Map<ClientConnection, Queue<RespValue>> clientValues = new ConcurrentHashMap<>();
+    // connections that have values waiting to be processed by the command loop
+    private final BlockingDeque<ClientConnection> readyConnections = new LinkedBlockingDeque<>();
+    private final Set<ClientConnection> readySet = ConcurrentHashMap.newKeySet();
+    private volatile ClientConnection priorityConnection;
+
+    private final RespValueParser valueParser;
+    private final int ioThreads;
+    private final IoReactor[] reactors;
+    private int nextReactor = 0;
+    private Selector selector;
+    private ExecutorService executorService;
+    private ExecutorService virtualThreadExecutor;
+    private volatile boolean done = false;
 
-    public ConnectionManager() {
+    public ConnectionManager(RespValueParser valueParser) {
+        this(valueParser, 1);
+    }
 
+    public ConnectionManager(RespValueParser valueParser, int ioThreads) {
+        this.valueParser = valueParser;
+        this.ioThreads = ioThreads;
+        this.reactors = new IoReactor[ioThreads];
     }
 
-    public void start(ExecutorService executorService) throws IOException {
-        // TODO implement orderly shutdown for this thread
+    /**
+     * Start the acceptor thread and the I/O reactor threads. The acceptor accepts new connections
+     * on the server channel and hands them to the reactors round-robin. Each reactor reads values
+     * from its own connections, waking up only when its selector reports that a channel is ready.
+     *
+     * @param serverChannel   the bound server channel for accepting client connections
+     * @param executorService the executor to run the acceptor thread
+     */
+    public void start(ServerSocketChannel serverChannel, ExecutorService executorService)
+            throws IOException {
+        this.executorService = executorService;
+        // with a single I/O thread the command loop writes responses directly, which saves a
+        // thread hand-off per response
+        boolean offloadWrites = ioThreads > 1;
+        for (int i = 0; i < ioThreads; i++) {
+            reactors[i] = new IoReactor(i, this, offloadWrites);
+            // a plain thread rather than an executor task, so that an error that escapes the
+            // reactor is reported by the thread instead of being kept in an unread Future
+            Thread.ofPlatform().name("io-thread-" + i).start(reactors[i]);
+        }
+        selector = Selector.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
         executorService.submit(() -> {
-            for (;;) {
-                boolean didRead = false;
-                Iterator<ClientConnection> iter = clientSockets.iterator();
-                for (; iter.hasNext();) {
-                    ClientConnection conn = iter.next();
-                    if (conn.isClosed()) {
-                        System.out.println(
-                                String.format("Connection closed by the server: %s", conn));
-                        clientValues.remove(conn);
-                        iter.remove();
-                    }
-                    while (conn.available() > 0) {
-                        didRead = true;
-                        System.out.println(String.format(
-                                "ConnectionManager: about to read from connection, available: %d %s",
-                                conn.available(), conn));
-                        RespValue value = null;
-                        try {
-                            value = conn.readValue();
-                        } catch (Exception e) {
-                            System.out.println(String.format(
-                                    "ConnectionManager read exception conn: %s %s \"%s\"", conn,
-                                    e.getClass().getSimpleName(), e.getMessage()));
-                        }
-                        if (value != null) {
-                            getClientValuesQueue(conn).offer(value);
-                            conn.notifyNewValueAvailable();
-                        }
+            try {
+                runAcceptLoop();
+            } catch (Exception e) {
+                System.out.println(String.format("ConnectionManager acceptor exception: %s \"%s\"",
+                        e.getClass().getSimpleName(), e.getMessage()));
+                e.printStackTrace();
+            } finally {
+                // loop was terminated so stop the reactors and close any open connections
+                for (IoReactor reactor : reactors) {
+                    if (reactor != null) {
+                        reactor.stop();
                     }
                 }
-                // if there was nothing to be read, then sleep a little
-                if (!didRead) {
-                    // System.out.println("sleep 1s");
-                    Thread.sleep(80L);
+                closeAllConnections();
+                selector.close();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Start the virtual thread engine instead of the reactors. A virtual thread accepts new
+     * connections on the blocking server channel and each connection gets its own virtual thread
+     * that blocks reading values and passes each one to the handler.
+     *
+     * @param serverChannel   the bound server channel for accepting client connections
+     * @param executorService the executor for reading from the leader connection
+     * @param valueHandler    handler that executes each value read from a connection
+     */
+    public void startVirtualThreads(ServerSocketChannel serverChannel,
+            ExecutorService executorService,
+            BiConsumer<ClientConnection, RespValue> valueHandler) throws IOException {
+        this.executorService = executorService;
+        virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        serverChannel.configureBlocking(true);
+
+        virtualThreadExecutor.submit(() -> {
+            try {
+                while (!done) {
+                    SocketChannel channel = serverChannel.accept();
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+                    ClientConnection conn = new ClientConnection(channel.socket(), valueParser);
+                    addConnection(conn);
+                    System.out.println(String.format(
+                            "Connection accepted from client: %s, opened: %s", conn,
+                            !conn.isClosed()));
+                    virtualThreadExecutor.submit(() -> runConnection(conn, valueHandler));
                 }
+            } catch (AsynchronousCloseException e) {
+                // the server channel was closed by terminate
+            } catch (Exception e) {
+                System.out.println(String.format("ConnectionManager acceptor exception: %s \"%s\"",
+                        e.getClass().getSimpleName(), e.getMessage()));
+                e.printStackTrace();
+            } finally {
+                closeAllConnections();
             }
+            return null;
         });
     }
 
+    /**
+     * Read and handle the values from one connection until it is closed. Runs on the virtual thread
+     * of the connection.
+     */
+    private void runConnection(ClientConnection conn,
+            BiConsumer<ClientConnection, RespValue> valueHandler) {
+        conn.beginBatch();
+        try {
+            while (!done && !conn.isClosed()) {
+                RespValue value = conn.readValue();
+                if (value != null) {
+                    handleValue(conn, value, valueHandler);
+                }
+                // send the responses once all the pipelined commands that arrived are handled
+                if (conn.available() == 0) {
+                    conn.flushBatch();
+                }
+            }
+        } catch (EOFException e) {
+            System.out.println(String.format("Connection closed by the client: %s", conn));
+        } catch (IOException e) {
+            if (!conn.isClosed()) {
+                System.out.println(String.format(
+                        "ConnectionManager read exception conn: %s %s \"%s\"", conn,
+                        e.getClass().getSimpleName(), e.getMessage()));
+            }
+        } finally {
+            endBatch(conn);
+            closeConnection(conn);
+        }
+    }
+
+    /**
+     * Pass one value to the handler. A command that can not be built or executed gets an error
+     * response and the connection stays open, so the responses to the commands pipelined after
+     * it still match their commands. Used by both engines.
+     */
+    private void handleValue(ClientConnection conn, RespValue value,
+            BiConsumer<ClientConnection, RespValue> valueHandler) {
+        try {
+            valueHandler.accept(conn, value);
+        } catch (RuntimeException e) {
+            System.out.println(String.format(
+                    "ConnectionManager command exception conn: %s %s \"%s\"", conn,
+                    e.getClass().getSimpleName(), e.getMessage()));
+            conn.sendError(e.getMessage());
+        }
+    }
+
+    public void stop() {
+        done = true;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (virtualThreadExecutor != null) {
+            closeAllConnections();
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    private void runAcceptLoop() throws IOException {
+        while (!done) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (key.isValid() && key.isAcceptable()) {
+                    try {
+                        acceptConnection((ServerSocketChannel) key.channel());
+                    } catch (IOException e) {
+                        System.out.println(String.format("ConnectionManager accept exception: %s \"%s\"",
+                                e.getClass().getSimpleName(), e.getMessage()));
+                    }
+                }
+            }
+        }
+    }
+
+    private void acceptConnection(ServerSocketChannel serverChannel) throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+
+        ChannelClientConnection conn = new ChannelClientConnection(channel, valueParser);
+        addConnection(conn);
+        IoReactor reactor = reactors[nextReactor];
+        nextReactor = (nextReactor + 1) % reactors.length;
+        reactor.register(conn);
+        System.out.println(String.format("Connection accepted from client: %s, opened: %s, io thread: %d",
+                conn, !conn.isClosed(), reactor.getId()));
+    }
+
+    /**
+     * Called by an I/O reactor for each value it has read from one of its connections.
+     */
+    void offerValue(ClientConnection conn, RespValue value) {
+        getClientValuesQueue(conn).offer(value);
+        signalReady(conn);
+        conn.notifyNewValueAvailable();
+    }
+
+    /**
+     * Blocking connections (the follower's connection to its leader) are not registered with the
+     * selector. Each one gets a thread that blocks reading values from its input stream.
+     */
+    private void readBlockingConnection(ClientConnection conn) {
+        while (!done && !conn.isClosed()) {
+            try {
+                RespValue value = conn.readValue();
+                if (value != null) {
+                    offerValue(conn, value);
+                }
+            } catch (EOFException e) {
+                System.out.println(String.format("Connection closed by the server: %s", conn));
+                closeConnection(conn);
+            } catch (Exception e) {
+                System.out.println(String.format(
+                        "ConnectionManager read exception conn: %s %s \"%s\"", conn,
+                        e.getClass().getSimpleName(), e.getMessage()));
+            }
+        }
+    }
+
+    void closeConnection(ClientConnection conn) {
+        try {
+            conn.close();
+        } catch (IOException e) {
+            System.out.println("IOException on close: " + e.getMessage());
+        }
+        clientValues.remove(conn);
+        removeConnection(conn);
+    }
+
+    private void removeConnection(ClientConnection conn) {
+        if (clientSockets.remove(conn) && conn instanceof ChannelClientConnection channelConn
+                && channelConn.getReactor() != null) {
+            channelConn.getReactor().connectionClosed();
+        }
+    }
+
     private Queue<RespValue> getClientValuesQueue(ClientConnection conn) {
         return clientValues.computeIfAbsent(conn, (key) -> new ConcurrentLinkedQueue<RespValue>());
     }
@@ -75,7 +304,11 @@ public class ConnectionManager {
         // for followers that listen to a leader, the leader connection should be the first
         // connection in the queue so getNextValue will prioritize replication commands
         // from the leader before commands from other clients
+        this.priorityConnection = priorityConnection;
         clientSockets.addFirst(priorityConnection);
+        if (priorityConnection.isBlocking()) {
+            executorService.submit(() -> readBlockingConnection(priorityConnection));
+        }
     }
 
     public void closeAllConnections() {
@@ -96,27 +329,90 @@ public class ConnectionManager {
         return clientSockets.size();
     }
 
-    public boolean getNextValue(BiConsumer<ClientConnection, RespValue> valueHandler) {
-        Iterator<ClientConnection> iter = clientSockets.iterator();
+    /**
+     * Append the io_threads stats to the INFO stats section, with one line per I/O thread.
+     */
+    public void getIoThreadsInfo(StringBuilder sb) {
+        sb.append("io_threads:").append(ioThreads).append("\n");
+        for (IoReactor reactor : reactors) {
+            if (reactor != null) {
+                reactor.getLoadInfo(sb);
+            }
+        }
+    }
+
+    /**
+     * Wait for a connection that has values ready and pass the values from that connection to the
+     * handler as one batch of pipelined commands. The responses to the batch are buffered and sent
+     * together when the batch ends. The connection is put back at the end of the ready queue if it
+     * has more values, so that a busy client can not starve the other clients.
+     *
+     * @param valueHandler  handler for the connection and value
+     * @param timeoutMillis the maximum time to wait for a value
+     * @return true if a value was handled, false if the timeout expired first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean getNextValue(BiConsumer<ClientConnection, RespValue> valueHandler,
+            long timeoutMillis) throws InterruptedException {
+        ClientConnection conn = readyConnections.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (conn == null) {
+            return false;
+        }
+        Queue<RespValue> valuesQueue = getClientValuesQueue(conn);
         boolean foundValue = false;
-        for (; !foundValue && iter.hasNext();) {
-            ClientConnection conn = iter.next();
-            Queue<RespValue> valuesQueue = getClientValuesQueue(conn);
-            try {
-                if (!valuesQueue.isEmpty()) {
-                    RespValue value = valuesQueue.poll();
-                    valueHandler.accept(conn, value);
-                    foundValue = true;
-                }
-            } catch (Exception e) {
-                System.out.println(
-                        String.format("ConnectionManager nextValue exception conn: %s %s \"%s\"",
-                                conn, e.getClass().getSimpleName(), e.getMessage()));
+        conn.beginBatch();
+        try {
+            RespValue value;
+            for (int i = 0; i < MAX_BATCH_SIZE && (value = valuesQueue.poll()) != null; i++) {
+                handleValue(conn, value, valueHandler);
+                foundValue = true;
+            }
+        } catch (Exception e) {
+            System.out.println(
+                    String.format("ConnectionManager nextValue exception conn: %s %s \"%s\"",
+                            conn, e.getClass().getSimpleName(), e.getMessage()));
+        } finally {
+            endBatch(conn);
+            // clear the ready mark before checking the queue, so that a value offered by the reader
+            // in between is not missed
+            readySet.remove(conn);
+            if (conn.isClosed() && valuesQueue.isEmpty()) {
+                System.out.println(String.format("Connection closed by the server: %s", conn));
+                clientValues.remove(conn);
+                removeConnection(conn);
+            } else if (!valuesQueue.isEmpty()) {
+                signalReady(conn);
             }
         }
         return foundValue;
     }
 
+    private void endBatch(ClientConnection conn) {
+        try {
+            conn.endBatch();
+        } catch (IOException e) {
+            if (!conn.isClosed()) {
+                System.out.println(String.format("ConnectionManager write exception conn: %s %s \"%s\"",
+                        conn, e.getClass().getSimpleName(), e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Put the connection on the ready queue unless it is already there. The priority connection
+     * goes to the front of the queue so replication commands from the leader are processed before
+     * commands from other clients.
+     */
+    private void signalReady(ClientConnection conn) {
+        if (readySet.add(conn)) {
+            if (conn == priorityConnection) {
+                readyConnections.offerFirst(conn);
+            } else {
+                readyConnections.offerLast(conn);
+            }
+        }
+    }
+
     public RespValue getNextValue(ClientConnection conn) {
         if (!clientValues.get(conn).isEmpty()) {
             return clientValues.get(conn).poll();
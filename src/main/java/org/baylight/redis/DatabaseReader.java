@@ -14,10 +14,10 @@ import org.baylight.redis.rdb.RdbFileParser;
 public class DatabaseReader {
 
     private final File dbFile;
-    private final Map<String, StoredData> dataStoreMap;
+    private final Map<RedisKey, StoredData> dataStoreMap;
     private Clock clock;
 
-    public DatabaseReader(File dbFile, Map<String, StoredData> dataStoreMap, Clock clock) {
+    public DatabaseReader(File dbFile, Map<RedisKey, StoredData> dataStoreMap, Clock clock) {
         this.dbFile = dbFile;
         this.dataStoreMap = dataStoreMap;
         this.clock = clock;
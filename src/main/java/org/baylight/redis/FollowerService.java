@@ -11,6 +11,7 @@ import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 
 public class FollowerService extends RedisServiceBase {
     private ConnectionToLeader leaderConnection;
@@ -78,6 +79,11 @@ public class FollowerService extends RedisServiceBase {
         return leaderClientSocket;
     }
 
+    @Override
+    protected boolean isLeaderConnection(ClientConnection conn) {
+        return leaderConnection != null && leaderConnection.isLeaderConnection(conn);
+    }
+
     @Override
     public void execute(RedisCommand command, ClientConnection conn) throws IOException {
         if (leaderConnection.isLeaderConnection(conn)) {
@@ -85,9 +91,10 @@ public class FollowerService extends RedisServiceBase {
         } else {
             System.out.println(
                     String.format("Executing command from non-leader connection: %s", conn));
-            byte[] response = command.execute(this);
-            if (response != null && response.length > 0) {
-                conn.writeFlush(response);
+            RespWriter response = new RespWriter();
+            command.execute(this, response);
+            if (!response.isEmpty()) {
+                conn.write(response);
             }
         }
     }
@@ -0,0 +1,216 @@
+package org.baylight.redis;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * An I/O thread that owns a subset of the client connections. It waits on its own selector, reads
+ * and parses the values from its connections and hands them to the ConnectionManager for the
+ * command loop. When there is more than one I/O thread, it also writes the responses for its
+ * connections, so the command loop only executes commands against the keyspace.
+ */
+public class IoReactor implements Runnable {
+    private final int id;
+    private final ConnectionManager connectionManager;
+    private final Selector selector;
+    private final boolean offloadWrites;
+    // channels accepted on the acceptor thread that are waiting to be registered with the selector
+    private final Queue<ChannelClientConnection> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    // connections with responses queued by the command loop
+    private final Queue<ChannelClientConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private volatile boolean done = false;
+
+    // load statistics, only updated by the reactor thread
+    private final AtomicInteger numConnections = new AtomicInteger();
+    private volatile long numReads = 0;
+    private volatile long numBytesRead = 0;
+    private volatile long numValues = 0;
+    private volatile long numWrites = 0;
+    private volatile long busyNanos = 0;
+    private final long startNanos = System.nanoTime();
+
+    public IoReactor(int id, ConnectionManager connectionManager, boolean offloadWrites)
+            throws IOException {
+        this.id = id;
+        this.connectionManager = connectionManager;
+        this.offloadWrites = offloadWrites;
+        this.selector = Selector.open();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getNumConnections() {
+        return numConnections.get();
+    }
+
+    /**
+     * @return true if the command loop should leave response writes to this reactor
+     */
+    boolean isOffloadWrites() {
+        return offloadWrites;
+    }
+
+    /**
+     * Hand a new connection to this reactor. The channel is registered on the reactor thread,
+     * because registering blocks while another thread is waiting in select.
+     */
+    void register(ChannelClientConnection conn) {
+        conn.setReactor(this);
+        numConnections.incrementAndGet();
+        pendingRegistrations.offer(conn);
+        selector.wakeup();
+    }
+
+    void connectionClosed() {
+        numConnections.decrementAndGet();
+    }
+
+    /**
+     * Called by the command loop when a response has been queued on the connection.
+     */
+    void requestWrite(ChannelClientConnection conn) {
+        pendingWrites.offer(conn);
+        selector.wakeup();
+    }
+
+    public void stop() {
+        done = true;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!done) {
+                try {
+                    runOnce();
+                } catch (ClosedSelectorException e) {
+                    break;
+                } catch (Throwable e) {
+                    // keep serving the other connections of this reactor
+                    System.out.println(String.format("IoReactor %d exception: %s \"%s\"", id,
+                            e.getClass().getSimpleName(), e.getMessage()));
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.out.println("IOException on selector close: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runOnce() throws IOException {
+        selector.select();
+        long start = System.nanoTime();
+        registerPending();
+        writePending();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            handleKey(key);
+        }
+        busyNanos += System.nanoTime() - start;
+    }
+
+    private void registerPending() throws IOException {
+        ChannelClientConnection conn;
+        while ((conn = pendingRegistrations.poll()) != null) {
+            SocketChannel channel = conn.getChannel();
+            if (channel.isOpen()) {
+                conn.setSelectionKey(channel.register(selector, SelectionKey.OP_READ, conn));
+            }
+        }
+    }
+
+    private void writePending() {
+        ChannelClientConnection conn;
+        while ((conn = pendingWrites.poll()) != null) {
+            try {
+                numWrites++;
+                conn.flushPendingWrites();
+            } catch (CancelledKeyException e) {
+                // the connection was closed after the response was queued
+            } catch (IOException e) {
+                System.out.println(String.format("IoReactor %d write exception: %s %s \"%s\"", id,
+                        conn, e.getClass().getSimpleName(), e.getMessage()));
+                connectionManager.closeConnection(conn);
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        ChannelClientConnection conn = (ChannelClientConnection) key.attachment();
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isReadable()) {
+                readConnection(conn);
+            }
+            if (key.isValid() && key.isWritable()) {
+                numWrites++;
+                conn.flushPendingWrites();
+            }
+        } catch (CancelledKeyException e) {
+            // the connection was closed while handling the key
+        } catch (IOException e) {
+            System.out.println(String.format("IoReactor %d I/O exception: %s %s \"%s\"", id, conn,
+                    e.getClass().getSimpleName(), e.getMessage()));
+            connectionManager.closeConnection(conn);
+        } catch (RuntimeException | Error e) {
+            // a bug or a failed allocation while serving one connection only closes that one
+            System.out.println(String.format("IoReactor %d unexpected exception: %s %s \"%s\"",
+                    id, conn, e.getClass().getSimpleName(), e.getMessage()));
+            e.printStackTrace();
+            connectionManager.closeConnection(conn);
+        }
+    }
+
+    private void readConnection(ChannelClientConnection conn) throws IOException {
+        int n = conn.readFromChannel();
+        if (n < 0) {
+            System.out.println(String.format("Connection closed by the client: %s", conn));
+            connectionManager.closeConnection(conn);
+            return;
+        }
+        numReads++;
+        numBytesRead += n;
+        RespValue value;
+        while ((value = conn.readValue()) != null) {
+            numValues++;
+            connectionManager.offerValue(conn, value);
+        }
+    }
+
+    /**
+     * Append the load of this reactor thread to the INFO stats section.
+     */
+    public void getLoadInfo(StringBuilder sb) {
+        long elapsed = Math.max(1L, System.nanoTime() - startNanos);
+        sb.append("io_thread_").append(id).append(":")
+                .append("connections=").append(getNumConnections())
+                .append(",reads=").append(numReads)
+                .append(",bytes_read=").append(numBytesRead)
+                .append(",values=").append(numValues)
+                .append(",writes=").append(numWrites)
+                .append(",busy_pct=").append(String.format("%.2f", busyNanos * 100.0 / elapsed))
+                .append("\n");
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.baylight.redis;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Releases the memory of large values on a background thread, in the style of the redis lazyfree.
+ * A command detaches the value from the keyspace, which takes constant time, and a value that is
+ * at least LAZYFREE_THRESHOLD bytes is released on the lazyfree thread instead of the command
+ * thread.
+ *
+ * This only runs when the values are stored off the heap with --offheap-threshold and their
+ * buffers are released explicitly with --offheap-explicit-release, see OffHeapArena. Values on
+ * the heap, such as a huge stream or collection, need no release: a value that is no longer
+ * reachable is reclaimed by the garbage collector, which only traces the live objects, so
+ * dropping it does no work on the command thread whatever its size.
+ */
+public class LazyFree {
+    // values of at least this many bytes are released in the background
+    static final long LAZYFREE_THRESHOLD = OffHeapArena.SLAB_SIZE;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lazyfree");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong pendingObjects = new AtomicLong();
+    private final AtomicLong lazyfreedObjects = new AtomicLong();
+    // null when the buffers are left to the garbage collector
+    private final OffHeapArena.BufferReleaser releaser;
+
+    public LazyFree() {
+        this(null);
+    }
+
+    /**
+     * @param releaser releases the buffers of the large values, or null to leave them to the
+     *                 garbage collector
+     */
+    public LazyFree(OffHeapArena.BufferReleaser releaser) {
+        this.releaser = releaser;
+    }
+
+    /**
+     * Release a value that was freed from the arena.
+     *
+     * @param chunk the freed value
+     * @param lazy  true to release a large value in the background, false to release it before
+     *              returning, like DEL
+     */
+    public void release(OffHeapArena.Chunk chunk, boolean lazy) {
+        if (!chunk.isDedicated() || releaser == null) {
+            // a chunk of a slab is reused by the arena, and a buffer that is not released
+            // explicitly is left to the garbage collector, so there is nothing to release
+            return;
+        }
+        if (!lazy || chunk.capacity() < LAZYFREE_THRESHOLD) {
+            releaser.release(chunk);
+            return;
+        }
+        pendingObjects.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                releaser.release(chunk);
+                lazyfreedObjects.incrementAndGet();
+            } finally {
+                pendingObjects.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * @return the number of values waiting to be released
+     */
+    public long getPendingObjects() {
+        return pendingObjects.get();
+    }
+
+    /**
+     * @return the number of values that were released in the background
+     */
+    public long getLazyfreedObjects() {
+        return lazyfreedObjects.get();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
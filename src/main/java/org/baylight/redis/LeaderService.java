@@ -19,6 +19,7 @@ import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 import java.util.Set;
 
 public class LeaderService extends RedisServiceBase {
@@ -50,7 +51,8 @@ public class LeaderService extends RedisServiceBase {
     @Override
     public void execute(RedisCommand command, ClientConnection conn) throws IOException {
         // for the leader, return the command response and replicate to the followers
-        byte[] response = command.execute(this);
+        RespWriter response = new RespWriter();
+        command.execute(this, response);
         // Note: first complete replication before sending the response
 
         // check if it is a new follower
@@ -62,34 +64,40 @@ public class LeaderService extends RedisServiceBase {
         }
         // replicate to the followers
         if (command.isReplicatedCommand()) {
-            Iterator<ConnectionToFollower> iter = replMap.values().iterator();
-            while (iter.hasNext()) {
-                ConnectionToFollower follower = iter.next();
-                ClientConnection clientConnection = follower.getFollowerConnection();
-                if (clientConnection.isClosed()) {
-                    System.out.println(String.format("Follower connection closed: %s", conn));
-                    iter.remove();
-                    continue;
-                }
-                if (clientConnection != conn) {
-                    // WORKARDOUND for codecrafters integration test "replication-17"
-                    // once we send the first replicated command, then stop hardcoding the replconf
-                    // ack
-                    follower.setTestingDontWaitForAck(false);
-                    ReplConfAckManager.INSTANCE.setTestingDontWaitForAck(false);
-                    try {
-                        clientConnection.writeFlush(command.asCommand());
-                    } catch (IOException e) {
-                        System.out.println(String.format(
-                                "Follower exception during replication connection: %s, exception: %s",
-                                conn, e.getMessage()));
-                    }
+            replicate(command, conn);
+        }
+        if (!response.isEmpty()) {
+            conn.write(response);
+        }
+    }
+
+    @Override
+    public void replicate(RedisCommand command, ClientConnection conn) {
+        Iterator<ConnectionToFollower> iter = replMap.values().iterator();
+        while (iter.hasNext()) {
+            ConnectionToFollower follower = iter.next();
+            ClientConnection clientConnection = follower.getFollowerConnection();
+            if (clientConnection.isClosed()) {
+                System.out.println(
+                        String.format("Follower connection closed: %s", clientConnection));
+                iter.remove();
+                continue;
+            }
+            if (clientConnection != conn) {
+                // WORKARDOUND for codecrafters integration test "replication-17"
+                // once we send the first replicated command, then stop hardcoding the replconf
+                // ack
+                follower.setTestingDontWaitForAck(false);
+                ReplConfAckManager.INSTANCE.setTestingDontWaitForAck(false);
+                try {
+                    clientConnection.writeFlush(command.asCommand());
+                } catch (IOException e) {
+                    System.out.println(String.format(
+                            "Follower exception during replication connection: %s, exception: %s",
+                            clientConnection, e.getMessage()));
                 }
             }
         }
-        if (response != null && response.length > 0) {
-            conn.writeFlush(response);
-        }
     }
 
     @Override
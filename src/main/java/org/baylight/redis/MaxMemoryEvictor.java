@@ -0,0 +1,271 @@
+package org.baylight.redis;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.baylight.redis.keyspace.KeyspaceDict;
+
+/**
+ * Keeps a running estimate of the memory used by the keyspace and evicts keys when it goes over
+ * the maxmemory limit, in the style of the redis approximated LRU and LFU.
+ *
+ * Each entry has a 24 bit access clock in its StoredData: the time of the last access in seconds
+ * for LRU, or the time of the last decrement in minutes and an 8 bit logarithmic access counter for
+ * LFU. To choose a key, a few keys are sampled at random from the keyspace, and the best
+ * candidates seen so far are kept in a small pool, so that the choice improves over the calls.
+ *
+ * The evictions run inline on the writes. The evictor takes no lock of its own: the used memory
+ * is an atomic counter, and the keyspace and the pool are only used by the writes, which are
+ * serialized by the command lock. A key is removed only if it was not replaced since it was
+ * sampled. For volatile-ttl, the candidates are sampled from the index of the keys with an
+ * expiry.
+ */
+public class MaxMemoryEvictor {
+    public static final String OOM_ERROR =
+            "OOM command not allowed when used memory > 'maxmemory'.";
+    // estimated heap size of an entry without the key bytes and the stored data: the map node
+    // and the key object
+    static final long ENTRY_SIZE = 56L;
+    static final int EVICTION_POOL_SIZE = 16;
+    static final int SAMPLES = 5;
+    // limit the rounds of sampling for one eviction, in case the sampled keys keep disappearing
+    static final int MAX_SAMPLE_ROUNDS = 16;
+    static final int LRU_CLOCK_MAX = (1 << 24) - 1;
+    static final long LRU_CLOCK_RESOLUTION_MILLIS = 1000L;
+    static final int LFU_INIT_VAL = 5;
+    static final int LFU_LOG_FACTOR = 10;
+    static final long LFU_DECAY_TIME_MINUTES = 1L;
+
+    private final KeyspaceDict<RedisKey, StoredData> dataStoreMap;
+    // the keys with an expiry, the candidates for volatile-ttl, see ActiveExpireCycle
+    private final KeyspaceDict<RedisKey, StoredData> expires;
+    private final long maxmemory;
+    private final MaxMemoryPolicy policy;
+    private final BiConsumer<RedisKey, StoredData> evictedListener;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final AtomicLong evictedKeys = new AtomicLong();
+    // the time for the access clocks, updated by the server cron like the redis LRU clock
+    private volatile long clockMillis;
+    // the best candidates seen so far, in ascending order of idle score
+    private final RedisKey[] poolKeys = new RedisKey[EVICTION_POOL_SIZE];
+    private final long[] poolIdle = new long[EVICTION_POOL_SIZE];
+    private int poolSize = 0;
+
+    public MaxMemoryEvictor(KeyspaceDict<RedisKey, StoredData> dataStoreMap,
+            KeyspaceDict<RedisKey, StoredData> expires, long maxmemory, MaxMemoryPolicy policy,
+            long now) {
+        this(dataStoreMap, expires, maxmemory, policy, now, (key, storedData) -> {
+        });
+    }
+
+    /**
+     * @param evictedListener called for each key that was evicted
+     */
+    public MaxMemoryEvictor(KeyspaceDict<RedisKey, StoredData> dataStoreMap,
+            KeyspaceDict<RedisKey, StoredData> expires, long maxmemory, MaxMemoryPolicy policy,
+            long now, BiConsumer<RedisKey, StoredData> evictedListener) {
+        this.dataStoreMap = dataStoreMap;
+        this.expires = expires;
+        this.maxmemory = maxmemory;
+        this.policy = policy;
+        this.clockMillis = now;
+        this.evictedListener = evictedListener;
+    }
+
+    public void updateClock(long now) {
+        clockMillis = now;
+    }
+
+    /**
+     * Account for a key that was added to the keyspace, or that replaced the previous data.
+     */
+    public void added(RedisKey key, StoredData prevData, StoredData storedData) {
+        initAccessClock(storedData);
+        long size = prevData == null ? estimateEntrySize(key, storedData)
+                : storedData.getEstimatedSize() - prevData.getEstimatedSize();
+        usedMemory.addAndGet(size);
+    }
+
+    public void removed(RedisKey key, StoredData storedData) {
+        usedMemory.addAndGet(-estimateEntrySize(key, storedData));
+    }
+
+    /**
+     * Account for a value that was modified in place, such as a stream.
+     */
+    public void grown(long size) {
+        usedMemory.addAndGet(size);
+    }
+
+    /**
+     * Update the access clock of an entry that was read or written.
+     */
+    public void touch(StoredData storedData) {
+        if (policy.isLfu()) {
+            int counter = lfuLogIncr(lfuDecrAndReturn(storedData));
+            storedData.setAccessClock((lfuTimeInMinutes() << 8) | counter);
+        } else {
+            storedData.setAccessClock(lruClock());
+        }
+    }
+
+    private void initAccessClock(StoredData storedData) {
+        storedData.setAccessClock(policy.isLfu() ? (lfuTimeInMinutes() << 8) | LFU_INIT_VAL
+                : lruClock());
+    }
+
+    static long estimateEntrySize(RedisKey key, StoredData storedData) {
+        return ENTRY_SIZE + StoredData.estimateArraySize(key.length())
+                + storedData.getEstimatedSize();
+    }
+
+    /**
+     * Evict keys until the used memory is under the limit.
+     *
+     * @return false if the used memory is still over the limit, so a command that adds data must
+     *         be rejected
+     */
+    public boolean performEvictions() {
+        if (maxmemory <= 0 || usedMemory.get() <= maxmemory) {
+            return true;
+        }
+        if (policy == MaxMemoryPolicy.NOEVICTION) {
+            return false;
+        }
+        while (usedMemory.get() > maxmemory) {
+            if (!evictOne()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean evictOne() {
+        for (int round = 0; round < MAX_SAMPLE_ROUNDS && !dataStoreMap.isEmpty(); round++) {
+            if (policy == MaxMemoryPolicy.VOLATILE_TTL) {
+                // only the keys with an expiry are candidates
+                if (expires.isEmpty()) {
+                    return false;
+                }
+                expires.sample(SAMPLES, e -> insertPool(e.getKey(), idleScore(e.getValue())));
+            } else {
+                dataStoreMap.sample(SAMPLES, e -> insertPool(e.getKey(), idleScore(e.getValue())));
+            }
+            // take the best candidate that is still in the keyspace
+            while (poolSize > 0) {
+                RedisKey key = poolKeys[--poolSize];
+                poolKeys[poolSize] = null;
+                StoredData storedData = dataStoreMap.get(key);
+                if (storedData != null && dataStoreMap.remove(key, storedData)) {
+                    expires.remove(key, storedData);
+                    removed(key, storedData);
+                    evictedKeys.incrementAndGet();
+                    evictedListener.accept(key, storedData);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void insertPool(RedisKey key, long idle) {
+        for (int i = 0; i < poolSize; i++) {
+            if (poolKeys[i].equals(key)) {
+                return;
+            }
+        }
+        // find the first entry with a higher score
+        int pos = 0;
+        while (pos < poolSize && poolIdle[pos] <= idle) {
+            pos++;
+        }
+        if (poolSize == EVICTION_POOL_SIZE) {
+            if (pos == 0) {
+                // worse than all the candidates in the pool
+                return;
+            }
+            // drop the worst candidate to make room
+            pos--;
+            System.arraycopy(poolKeys, 1, poolKeys, 0, pos);
+            System.arraycopy(poolIdle, 1, poolIdle, 0, pos);
+        } else {
+            System.arraycopy(poolKeys, pos, poolKeys, pos + 1, poolSize - pos);
+            System.arraycopy(poolIdle, pos, poolIdle, pos + 1, poolSize - pos);
+            poolSize++;
+        }
+        poolKeys[pos] = key;
+        poolIdle[pos] = idle;
+    }
+
+    /**
+     * @return the score of an entry for eviction, where a higher score is a better candidate
+     */
+    long idleScore(StoredData storedData) {
+        return switch (policy) {
+        case ALLKEYS_LFU -> 255 - lfuDecrAndReturn(storedData);
+        case VOLATILE_TTL -> Long.MAX_VALUE - storedData.getExpiresAt();
+        default -> estimateIdleTimeMillis(storedData);
+        };
+    }
+
+    private int lruClock() {
+        return (int) ((clockMillis / LRU_CLOCK_RESOLUTION_MILLIS) & LRU_CLOCK_MAX);
+    }
+
+    long estimateIdleTimeMillis(StoredData storedData) {
+        long lruClock = lruClock();
+        long accessClock = storedData.getAccessClock();
+        long idle = lruClock >= accessClock ? lruClock - accessClock
+                : lruClock + (LRU_CLOCK_MAX - accessClock);
+        return idle * LRU_CLOCK_RESOLUTION_MILLIS;
+    }
+
+    private int lfuTimeInMinutes() {
+        return (int) ((clockMillis / 60000L) & 0xFFFF);
+    }
+
+    /**
+     * @return the access counter, decremented by the number of decay periods since the last
+     *         decrement
+     */
+    int lfuDecrAndReturn(StoredData storedData) {
+        int accessClock = storedData.getAccessClock();
+        int lastDecrTime = accessClock >>> 8;
+        int counter = accessClock & 0xFF;
+        int now = lfuTimeInMinutes();
+        long elapsed = now >= lastDecrTime ? now - lastDecrTime : 0xFFFF - lastDecrTime + now;
+        long periods = elapsed / LFU_DECAY_TIME_MINUTES;
+        return periods > counter ? 0 : counter - (int) periods;
+    }
+
+    /**
+     * Increment the counter with a probability that decreases as it grows, so the 8 bits can
+     * count up to about a million accesses.
+     */
+    static int lfuLogIncr(int counter) {
+        if (counter == 255) {
+            return counter;
+        }
+        double r = ThreadLocalRandom.current().nextDouble();
+        double baseValue = Math.max(0, counter - LFU_INIT_VAL);
+        double p = 1.0 / (baseValue * LFU_LOG_FACTOR + 1);
+        return r < p ? counter + 1 : counter;
+    }
+
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    public long getMaxmemory() {
+        return maxmemory;
+    }
+
+    public MaxMemoryPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getEvictedKeys() {
+        return evictedKeys.get();
+    }
+}
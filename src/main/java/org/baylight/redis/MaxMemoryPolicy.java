@@ -0,0 +1,37 @@
+package org.baylight.redis;
+
+/**
+ * How keys are chosen for eviction when the used memory is over the maxmemory limit.
+ */
+public enum MaxMemoryPolicy {
+    NOEVICTION("noeviction"),
+    ALLKEYS_LRU("allkeys-lru"),
+    ALLKEYS_LFU("allkeys-lfu"),
+    VOLATILE_TTL("volatile-ttl");
+
+    private final String configName;
+
+    MaxMemoryPolicy(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public boolean isLfu() {
+        return this == ALLKEYS_LFU;
+    }
+
+    /**
+     * @return the policy for the config name, or null for an unknown name
+     */
+    public static MaxMemoryPolicy of(String configName) {
+        for (MaxMemoryPolicy policy : values()) {
+            if (policy.configName.equalsIgnoreCase(configName)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,257 @@
+package org.baylight.redis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores large string values outside of the Java heap, so that a large dataset does not add to
+ * the memory that the garbage collector copies and scans.
+ *
+ * The memory is reserved in direct buffer slabs of SLAB_SIZE bytes. Each slab is cut into chunks
+ * of one size class, with four classes per power of two like the jemalloc classes of redis, so a
+ * value wastes at most a fifth of its chunk. A freed chunk goes on the free list of its class and
+ * is reused by the next value of the class. A value larger than MAX_CHUNK_SIZE gets a direct
+ * buffer of its own, which is left to the garbage collector after the value is freed. Off heap
+ * values add no pressure on the heap, so such a buffer could hold its memory long after the value
+ * was freed. With --offheap-explicit-release, the buffer is released right away by a
+ * {@link BufferReleaser} instead.
+ *
+ * The arena is only used while holding the command lock. A chunk is reused as soon as its value
+ * is freed, so a response that refers to a chunk must be sent or copied before the command lock
+ * is released, see ChannelClientConnection.
+ */
+public class OffHeapArena {
+    public static final int SLAB_SIZE = 1024 * 1024;
+    static final int MIN_CHUNK_SIZE = 64;
+    static final int MAX_CHUNK_SIZE = SLAB_SIZE / 8;
+    // the chunk size of each class, in ascending order
+    private static final int[] CLASS_SIZES = newClassSizes();
+    // the class of a value with a buffer of its own
+    private static final int DEDICATED = -1;
+
+    private final SizeClass[] sizeClasses = new SizeClass[CLASS_SIZES.length];
+    // the bytes of the chunks and buffers of the values that were not freed
+    private long usedMemory = 0L;
+    // the bytes of the slabs and of the buffers of the values that were not freed
+    private long reservedMemory = 0L;
+    private long numValues = 0L;
+
+    /**
+     * A value in the arena. The chunk is owned by the stored data of one key, and is freed when the
+     * key is removed or replaced.
+     */
+    public static final class Chunk {
+        // a read only view of the slab, or the buffer of a large value
+        private final ByteBuffer slab;
+        private final int sizeClass;
+        // the index of the chunk in its class
+        private final int index;
+        private final int offset;
+        private final int length;
+
+        private Chunk(ByteBuffer slab, int sizeClass, int index, int offset, int length) {
+            this.slab = slab;
+            this.sizeClass = sizeClass;
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /**
+         * @return the memory reserved for the value
+         */
+        public int capacity() {
+            return sizeClass == DEDICATED ? slab.capacity() : CLASS_SIZES[sizeClass];
+        }
+
+        /**
+         * @return a read only buffer of the value, which is only valid until the value is freed
+         */
+        public ByteBuffer asReadOnlyBuffer() {
+            return sizeClass == DEDICATED ? slab.asReadOnlyBuffer() : slab.slice(offset, length);
+        }
+
+        /**
+         * @return true if the value has a buffer of its own, which must be released after the value
+         *         is freed
+         */
+        public boolean isDedicated() {
+            return sizeClass == DEDICATED;
+        }
+
+        /**
+         * @return a copy of the value on the heap
+         */
+        public byte[] getBytes() {
+            byte[] bytes = new byte[length];
+            slab.get(offset, bytes);
+            return bytes;
+        }
+    }
+
+    // the slabs and the free chunks of one size class
+    private static final class SizeClass {
+        private final int chunkSize;
+        private final int chunksPerSlab;
+        private final List<ByteBuffer> slabs = new ArrayList<>();
+        private final List<ByteBuffer> readOnlySlabs = new ArrayList<>();
+        private int[] freeChunks = new int[16];
+        private int numFreeChunks = 0;
+        // the chunks from this index on have never been used
+        private int nextChunk = 0;
+
+        private SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.chunksPerSlab = SLAB_SIZE / chunkSize;
+        }
+    }
+
+    private static int[] newClassSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (int base = MIN_CHUNK_SIZE; base < MAX_CHUNK_SIZE; base *= 2) {
+            for (int quarters = 4; quarters < 8; quarters++) {
+                sizes.add(base / 4 * quarters);
+            }
+        }
+        sizes.add(MAX_CHUNK_SIZE);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the index of the smallest class with chunks of at least the given size, or DEDICATED
+     *         if the size is larger than MAX_CHUNK_SIZE
+     */
+    static int sizeClassOf(int size) {
+        if (size > MAX_CHUNK_SIZE) {
+            return DEDICATED;
+        }
+        int i = Arrays.binarySearch(CLASS_SIZES, size);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Copy a value into the arena.
+     */
+    public Chunk allocate(byte[] value) {
+        numValues++;
+        int classIndex = sizeClassOf(value.length);
+        if (classIndex == DEDICATED) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(value.length);
+            buffer.put(0, value);
+            usedMemory += value.length;
+            reservedMemory += value.length;
+            return new Chunk(buffer, DEDICATED, 0, 0, value.length);
+        }
+        SizeClass sizeClass = sizeClasses[classIndex];
+        if (sizeClass == null) {
+            sizeClass = sizeClasses[classIndex] = new SizeClass(CLASS_SIZES[classIndex]);
+        }
+        int index;
+        if (sizeClass.numFreeChunks > 0) {
+            index = sizeClass.freeChunks[--sizeClass.numFreeChunks];
+        } else {
+            index = sizeClass.nextChunk++;
+            if (index == sizeClass.slabs.size() * sizeClass.chunksPerSlab) {
+                ByteBuffer slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+                sizeClass.slabs.add(slab);
+                sizeClass.readOnlySlabs.add(slab.asReadOnlyBuffer());
+                reservedMemory += SLAB_SIZE;
+            }
+        }
+        int slabIndex = index / sizeClass.chunksPerSlab;
+        int offset = (index % sizeClass.chunksPerSlab) * sizeClass.chunkSize;
+        sizeClass.slabs.get(slabIndex).put(offset, value);
+        usedMemory += sizeClass.chunkSize;
+        return new Chunk(sizeClass.readOnlySlabs.get(slabIndex), classIndex, index, offset,
+                value.length);
+    }
+
+    /**
+     * Free a value. A chunk of a slab can be reused right away, while the buffer of a large value
+     * is left to the garbage collector, or to a {@link BufferReleaser}. The chunk must not be read
+     * after this call.
+     */
+    public void free(Chunk chunk) {
+        numValues--;
+        usedMemory -= chunk.capacity();
+        if (chunk.sizeClass == DEDICATED) {
+            reservedMemory -= chunk.capacity();
+            return;
+        }
+        SizeClass sizeClass = sizeClasses[chunk.sizeClass];
+        if (sizeClass.numFreeChunks == sizeClass.freeChunks.length) {
+            sizeClass.freeChunks = Arrays.copyOf(sizeClass.freeChunks,
+                    sizeClass.freeChunks.length * 2);
+        }
+        sizeClass.freeChunks[sizeClass.numFreeChunks++] = chunk.index;
+    }
+
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    public long getReservedMemory() {
+        return reservedMemory;
+    }
+
+    public long getNumValues() {
+        return numValues;
+    }
+
+    /**
+     * Releases the memory of the buffer of a large value that was freed, without waiting for the
+     * garbage collector. It calls the cleaner of the JDK internal Unsafe class, which is looked up
+     * by reflection, so it is only used when enabled with --offheap-explicit-release.
+     */
+    public static final class BufferReleaser {
+        private final MethodHandle invokeCleaner;
+
+        private BufferReleaser(MethodHandle invokeCleaner) {
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        /**
+         * @return the releaser, or null if the cleaner is not available in this JDK
+         */
+        public static BufferReleaser load() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                MethodHandle invokeCleaner = MethodHandles.lookup().findVirtual(unsafeClass,
+                        "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class));
+                return new BufferReleaser(invokeCleaner.bindTo(field.get(null)));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.out.println(String.format(
+                        "OffHeapArena: large values are released by the garbage collector: %s",
+                        e.getMessage()));
+                return null;
+            }
+        }
+
+        /**
+         * Release the buffer of a large value that was freed from the arena. This may be called on
+         * any thread, since the buffer is no longer referred to by the arena.
+         */
+        public void release(Chunk chunk) {
+            if (!chunk.isDedicated()) {
+                return;
+            }
+            try {
+                invokeCleaner.invokeExact(chunk.slab);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to release an off-heap buffer", e);
+            }
+        }
+    }
+}
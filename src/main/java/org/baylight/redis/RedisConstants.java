@@ -3,7 +3,10 @@ package org.baylight.redis;
 public class RedisConstants {
 
     public static final int DEFAULT_PORT = 6379;
+    public static final int DEFAULT_HZ = 10;
     static final String LEADER = "master";
     static final String FOLLOWER = "slave";
+    static final String ENGINE_REACTOR = "reactor";
+    static final String ENGINE_VIRTUAL_THREADS = "virtual-threads";
 
 }
@@ -0,0 +1,82 @@
+package org.baylight.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * A key of the keyspace. Keys are binary safe byte sequences, so a key is compared by its bytes
+ * and never decoded to a String for a lookup. The hash is computed once, when the key is created.
+ **/
+public final class RedisKey implements Comparable<RedisKey> {
+    private final byte[] bytes;
+    private final int hash;
+
+    private RedisKey(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Create a key that refers to the given bytes without copying them. The bytes must not be
+     * modified after this call, which is the case for the values parsed from a command.
+     */
+    public static RedisKey wrap(byte[] bytes) {
+        return new RedisKey(bytes);
+    }
+
+    public static RedisKey of(String key) {
+        return new RedisKey(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create a key from a command arg. The bytes of a bulk string are used as they are.
+     */
+    public static RedisKey of(RespValue value) {
+        if (value instanceof RespBulkString bulkString) {
+            return wrap(bulkString.getValue());
+        }
+        return of(value.getValueAsString());
+    }
+
+    /**
+     * @return the key bytes, which must not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof RedisKey other)) {
+            return false;
+        }
+        return hash == other.hash && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int compareTo(RedisKey other) {
+        return Arrays.compareUnsigned(bytes, other.bytes);
+    }
+
+    /**
+     * @return the key decoded as UTF-8, for logging and for stream names
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
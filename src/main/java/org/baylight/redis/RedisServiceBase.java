@@ -2,49 +2,70 @@ package org.baylight.redis;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.baylight.redis.commands.RedisCommand;
 import org.baylight.redis.commands.RedisCommandConstructor;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.keyspace.KeyspaceDict;
+import org.baylight.redis.lists.RedisListData;
 import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 import org.baylight.redis.protocol.RespValue;
 import org.baylight.redis.protocol.RespValueParser;
+import org.baylight.redis.sets.RedisSetData;
 import org.baylight.redis.streams.IllegalStreamItemIdException;
 import org.baylight.redis.streams.RedisStreamData;
 import org.baylight.redis.streams.StreamId;
 import org.baylight.redis.streams.StreamValue;
 import org.baylight.redis.streams.StreamsWaitManager;
+import org.baylight.redis.zsets.RedisSortedSetData;
 
 public abstract class RedisServiceBase implements ReplicationServiceInfoProvider {
 
+    // the time per server cron for rehashing the keyspace, like the redis activerehashing
+    private static final long REHASH_MILLIS = 1L;
     private static final Set<String> DEFAULT_SECTIONS = Set.of("server", "replication", "stats",
-            "replication-graph");
+            "memory", "replication-graph");
 
-    private ServerSocket serverSocket;
+    private ServerSocketChannel serverSocketChannel;
     private EventLoop eventLoop;
     private final RedisCommandConstructor commandConstructor;
     private final RespValueParser valueParser;
     private final ExecutorService connectionsExecutorService;
     private final ExecutorService commandsExecutorService;
     private final ConnectionManager connectionManager;
-    private volatile boolean done = false;
     private final RedisServiceOptions options;
     private final int port;
     private final String role;
     protected final Clock clock;
-    private final Map<String, StoredData> dataStoreMap = new ConcurrentHashMap<>();
+    // only accessed while holding the command lock
+    private final KeyspaceDict<RedisKey, StoredData> dataStoreMap = new KeyspaceDict<>();
+    // serializes the non-blocking commands from the event loop and the virtual thread engine
+    private final ReentrantLock commandLock = new ReentrantLock();
+    private final ActiveExpireCycle activeExpireCycle = new ActiveExpireCycle(dataStoreMap,
+            this::keyExpired);
+    private final MaxMemoryEvictor evictor;
+    // large string values are moved to the arena when offheapThreshold is positive
+    private final OffHeapArena offHeapArena = new OffHeapArena();
+    private final LazyFree lazyFree;
+    private final long offheapThreshold;
 
     public static RedisServiceBase newInstance(RedisServiceOptions options, Clock clock) {
         String role = options.getRole();
@@ -61,11 +82,26 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
         this.port = options.getPort();
         this.role = options.getRole();
         this.clock = clock;
+        RespInteger.setCacheMax(options.getSharedIntegers());
+        StoredData.setSharedIntegersMax(options.getSharedIntegers());
+        RedisHashData.setListpackLimits(options.getHashMaxListpackEntries(),
+                options.getHashMaxListpackValue());
+        RedisListData.setMaxListpackSize(options.getListMaxListpackSize());
+        RedisSortedSetData.setListpackLimits(options.getZsetMaxListpackEntries(),
+                options.getZsetMaxListpackValue());
+        RedisSetData.setMaxIntsetEntries(options.getSetMaxIntsetEntries());
+        offheapThreshold = options.getOffheapThreshold();
+        lazyFree = new LazyFree(
+                options.isOffheapExplicitRelease() ? OffHeapArena.BufferReleaser.load() : null);
+        evictor = new MaxMemoryEvictor(dataStoreMap, activeExpireCycle.getExpires(),
+                options.getMaxmemory(), options.getMaxmemoryPolicy(), clock.millis(),
+                (key, storedData) -> freeOffHeap(storedData, true));
         commandConstructor = new RedisCommandConstructor();
         valueParser = new RespValueParser();
 
-        // Thread pool of size 2 - one for accepting new client connections, one for reading values
-        // from those clients in the ConnectionManager
+        // Thread pool for the ConnectionManager - one thread to accept new client connections and
+        // one for reading from the leader connection when running as a follower. The I/O threads
+        // that read values from the connections are started by the ConnectionManager.
         connectionsExecutorService = Executors.newFixedThreadPool(2);
         // Use a cached thread pool for executing blocking commands
         commandsExecutorService = Executors.newCachedThreadPool();
@@ -78,6 +114,11 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
                 if (dbFile.exists()) {
                     DatabaseReader reader = new DatabaseReader(dbFile, dataStoreMap, clock);
                     reader.readDatabase();
+                    dataStoreMap.replaceAll((key, storedData) -> toOffHeap(storedData));
+                    dataStoreMap.forEach((key, storedData) -> {
+                        activeExpireCycle.keyUpdated(key, storedData);
+                        evictor.added(key, null, storedData);
+                    });
                 } else {
                     System.out.println(String.format("Database file %s does not exist",
                             dbFile.getAbsolutePath()));
@@ -87,46 +128,30 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
             }
         }
 
-        connectionManager = new ConnectionManager();
+        connectionManager = new ConnectionManager(valueParser, options.getIoThreads());
     }
 
     public void start() throws IOException {
-        serverSocket = new ServerSocket(port);
-        serverSocket.setReuseAddress(true);
+        serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverSocketChannel.bind(new InetSocketAddress(port));
         System.out.println("Server started. Listening on Port " + port);
 
         eventLoop = new EventLoop(this, commandConstructor);
 
-        // create the thread for accepting new connections
-        connectionsExecutorService.execute(() -> {
-            while (!done) {
-                Socket clientSocket = null;
-                try {
-                    clientSocket = serverSocket.accept();
-                    clientSocket.setTcpNoDelay(true);
-                    clientSocket.setKeepAlive(true);
-                    clientSocket.setSoTimeout(0); // infinite timeout
-
-                    ClientConnection conn = new ClientConnection(clientSocket, valueParser);
-                    connectionManager.addConnection(conn);
-                    System.out.println(
-                            String.format("Connection accepted from client: %s, opened: %s", conn,
-                                    !conn.isClosed()));
-                } catch (IOException e) {
-                    System.out.println("IOException on accept: " + e.getMessage());
-                }
-            }
-
-            // loop was terminated so close any open connections
-            connectionManager.closeAllConnections();
-        });
-
-        // start thread to read from client connections
-        connectionManager.start(connectionsExecutorService);
+        // start the threads to accept client connections and read from them
+        if (options.isVirtualThreadsEngine()) {
+            // each client connection executes its own commands, so the event loop only handles
+            // the values from the leader connection when running as a follower
+            connectionManager.startVirtualThreads(serverSocketChannel, connectionsExecutorService,
+                    eventLoop::processValue);
+        } else {
+            connectionManager.start(serverSocketChannel, connectionsExecutorService);
+        }
     }
 
     public void closeSocket() throws IOException {
-        serverSocket.close();
+        serverSocketChannel.close();
     }
 
     public int getPort() {
@@ -141,75 +166,293 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
     public void shutdown() {
         connectionsExecutorService.shutdown();
         commandsExecutorService.shutdown();
+        lazyFree.shutdown();
     }
 
-    public boolean containsKey(String key) {
+    public boolean containsKey(RedisKey key) {
         return dataStoreMap.containsKey(key);
     }
 
-    public boolean containsUnexpiredKey(String key) {
+    public boolean containsUnexpiredKey(RedisKey key) {
         StoredData storedData = dataStoreMap.getOrDefault(key, null);
         return storedData != null && !isExpired(storedData);
     }
 
-    public StoredData get(String key) {
-        return dataStoreMap.get(key);
+    public StoredData get(RedisKey key) {
+        StoredData storedData = dataStoreMap.get(key);
+        if (storedData != null) {
+            evictor.touch(storedData);
+        }
+        return storedData;
+    }
+
+    /**
+     * Get the data of a key, removing the key if it is expired.
+     *
+     * @return the data, or null if the key does not exist or is expired
+     */
+    public StoredData getUnexpired(RedisKey key) {
+        StoredData storedData = get(key);
+        if (storedData != null && isExpired(storedData)) {
+            expireKey(key, storedData);
+            return null;
+        }
+        return storedData;
     }
 
-    public RespSimpleStringValue getType(String key) {
-        if (dataStoreMap.containsKey(key)) {
-            return dataStoreMap.get(key).getType().getTypeResponse();
+    public RespSimpleStringValue getType(RedisKey key) {
+        StoredData storedData = dataStoreMap.get(key);
+        if (storedData != null) {
+            return storedData.getType().getTypeResponse();
         } else {
-            return new RespSimpleStringValue("none");
+            return RespConstants.NONE_TYPE;
         }
     }
 
-    public StoredData set(String key, StoredData storedData) {
-        return dataStoreMap.put(key, storedData);
+    /**
+     * Store the data for a key. A large string value is copied to the off-heap arena.
+     *
+     * @return the previous data, whose off-heap value has been freed, so it must not be read. A
+     *         large previous value is released in the background.
+     */
+    public StoredData set(RedisKey key, StoredData storedData) {
+        storedData = toOffHeap(storedData);
+        StoredData prevData = dataStoreMap.put(key, storedData);
+        activeExpireCycle.keyUpdated(key, storedData);
+        evictor.added(key, prevData, storedData);
+        freeOffHeap(prevData, true);
+        return prevData;
+    }
+
+    private StoredData toOffHeap(StoredData storedData) {
+        if (offheapThreshold <= 0 || storedData.getEncoding() != StoredDataEncoding.RAW
+                || storedData.isOffHeap()) {
+            return storedData;
+        }
+        byte[] value = storedData.getValue();
+        return value.length >= offheapThreshold
+                ? StoredData.ofOffHeap(offHeapArena.allocate(value), storedData.getExpiresAt())
+                : storedData;
+    }
+
+    /**
+     * Free the off-heap value of data that was removed from the keyspace.
+     *
+     * @param lazy true to release a large value in the background
+     */
+    private void freeOffHeap(StoredData storedData, boolean lazy) {
+        if (storedData != null && storedData.isOffHeap()) {
+            OffHeapArena.Chunk chunk = storedData.getOffHeapChunk();
+            offHeapArena.free(chunk);
+            lazyFree.release(chunk, lazy);
+        }
+    }
+
+    /**
+     * Account for a value that was modified in place, such as a field added to a hash.
+     *
+     * @param prevSize the estimated size of the data before it was modified
+     */
+    public void updated(StoredData storedData, long prevSize) {
+        evictor.grown(storedData.getEstimatedSize() - prevSize);
+    }
+
+    /**
+     * Run an action under the command lock each time one of the keys gets a value, until it
+     * succeeds or the timeout expires, for a blocking command such as BLPOP. The action may
+     * replicate what it did with {@link #replicate(RedisCommand, ClientConnection)}, which keeps it
+     * in order with the other writes.
+     *
+     * @param timeoutMillis how long to wait, or 0 to wait until the action succeeds
+     * @return the result of the action, or null if the timeout expired
+     */
+    public <T> T executeWithWait(List<RedisKey> keys, Supplier<T> action, long timeoutMillis) {
+        Set<String> names = keys.stream().map(RedisKey::toString).collect(Collectors.toSet());
+        return StreamsWaitManager.INSTANCE.waitFor(names, () -> {
+            commandLock.lock();
+            try {
+                return action.get();
+            } finally {
+                commandLock.unlock();
+            }
+        }, clock, timeoutMillis);
+    }
+
+    /**
+     * Send a write command to the followers. Only the leader has followers.
+     *
+     * @param conn the connection that sent the command, which is not sent the command, or null
+     */
+    public void replicate(RedisCommand command, ClientConnection conn) {
+        // no followers by default
     }
 
-    public StreamId xadd(String key, String itemId, RespValue[] itemMap)
+    /**
+     * @return the id of the new entry, or null if the key holds another type
+     */
+    public StreamId xadd(RedisKey key, String itemId, RespValue[] itemMap)
             throws IllegalStreamItemIdException {
-        StoredData storedData = dataStoreMap.computeIfAbsent(key,
-                (k) -> new StoredData(new RedisStreamData(k), clock.millis(), null));
-        return storedData.getStreamValue().add(itemId, clock, itemMap);
+        RedisStreamData stream = getOrCreateStream(key);
+        if (stream == null) {
+            return null;
+        }
+        long prevSize = stream.getEstimatedSize();
+        StreamId streamId = stream.add(itemId, clock, itemMap);
+        evictor.grown(stream.getEstimatedSize() - prevSize);
+        return streamId;
     }
 
-    public List<StreamValue> xrange(String key, String start, String end)
+    /**
+     * @return the entries in the range, or null if the key holds another type
+     */
+    public List<StreamValue> xrange(RedisKey key, String start, String end)
             throws IllegalStreamItemIdException {
-        StoredData storedData = dataStoreMap.computeIfAbsent(key,
-                (k) -> new StoredData(new RedisStreamData(k), clock.millis(), null));
-        return storedData.getStreamValue().queryRange(start, end);
+        RedisStreamData stream = getOrCreateStream(key);
+        return stream != null ? stream.queryRange(start, end) : null;
     }
 
+    /**
+     * @return the stream of the key, which is created if the key does not exist, or null if the
+     *         key holds another type
+     */
+    private RedisStreamData getOrCreateStream(RedisKey key) {
+        StoredData storedData = dataStoreMap.get(key);
+        if (storedData == null) {
+            StoredData newData = StoredData.ofStream(new RedisStreamData(key.toString()),
+                    StoredData.NO_EXPIRY);
+            storedData = dataStoreMap.putIfAbsent(key, newData);
+            if (storedData == null) {
+                evictor.added(key, null, newData);
+                return newData.getStreamValue();
+            }
+        }
+        if (storedData.getType() != StoredDataType.STREAM) {
+            return null;
+        }
+        evictor.touch(storedData);
+        return storedData.getStreamValue();
+    }
+
+    /**
+     * @return the entries read from each stream, or null if one of the keys holds another type
+     */
     public List<List<StreamValue>> xread(
-            List<String> keys, List<String> startValues, Long timeoutMillis)
+            List<RedisKey> keys, List<String> startValues, Long timeoutMillis)
             throws IllegalStreamItemIdException {
-        Map<String, RedisStreamData> streams = keys.stream()
-                .collect(Collectors.toMap(
-                        s -> s,
-                        s -> dataStoreMap.computeIfAbsent(s,
-                                (k) -> new StoredData(new RedisStreamData(k), clock.millis(), null))
-                                .getStreamValue()));
+        // the streams wait manager notifies waiting readers by the stream name. XREAD is a
+        // blocking command, so it takes the command lock to look up the streams, but not to wait.
+        Map<String, RedisStreamData> streams = new HashMap<>();
+        commandLock.lock();
+        try {
+            for (RedisKey key : keys) {
+                RedisStreamData stream = getOrCreateStream(key);
+                if (stream == null) {
+                    return null;
+                }
+                streams.put(key.toString(), stream);
+            }
+        } finally {
+            commandLock.unlock();
+        }
         Map<String, StreamId> startIds = new HashMap<>();
         int i = 0;
-        for (String s : keys) {
-            startIds.put(s, streams.get(s).getStreamIdForRead(startValues.get(i++)));
+        for (RedisKey s : keys) {
+            String name = s.toString();
+            startIds.put(name, streams.get(name).getStreamIdForRead(startValues.get(i++)));
         }
         Map<String, List<StreamValue>> values = StreamsWaitManager.INSTANCE.readWithWait(streams,
                 startIds, 0, clock, timeoutMillis == null ? 1L : timeoutMillis);
-        return keys.stream().map(values::get).toList();
+        return keys.stream().map(s -> values.get(s.toString())).toList();
+    }
+
+    /**
+     * Remove a key and release its value before returning, like DEL.
+     *
+     * @return true if the key existed and was not expired
+     */
+    public boolean delete(RedisKey key) {
+        return delete(key, false);
+    }
+
+    /**
+     * Remove a key and release a large value in the background, like UNLINK.
+     *
+     * @return true if the key existed and was not expired
+     */
+    public boolean unlink(RedisKey key) {
+        return delete(key, true);
     }
 
-    public void delete(String key) {
-        dataStoreMap.remove(key);
+    private boolean delete(RedisKey key, boolean lazy) {
+        StoredData storedData = dataStoreMap.remove(key);
+        activeExpireCycle.keyDeleted(key);
+        if (storedData == null) {
+            return false;
+        }
+        evictor.removed(key, storedData);
+        freeOffHeap(storedData, lazy);
+        return !isExpired(storedData);
     }
 
-    public ServerSocket getServerSocket() {
-        return serverSocket;
+    /**
+     * Delete a key that was found to be expired when it was accessed.
+     */
+    public void expireKey(RedisKey key, StoredData storedData) {
+        activeExpireCycle.expireKey(key, storedData);
     }
 
-    public Map<String, StoredData> getDataStoreMap() {
+    private void keyExpired(RedisKey key, StoredData storedData) {
+        evictor.removed(key, storedData);
+        freeOffHeap(storedData, true);
+    }
+
+    /**
+     * Evict keys if the used memory is over the maxmemory limit, before a command that adds data.
+     *
+     * @return false if the memory could not be freed, so the command must be rejected
+     */
+    boolean performEvictions() {
+        return evictor.performEvictions();
+    }
+
+    /**
+     * Run the background tasks: one active expire cycle, with a time budget of a quarter of the
+     * period between the runs, and a millisecond of rehashing the keyspace. The commands are held
+     * off while the tasks run.
+     */
+    void serverCron() {
+        long timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(getCronPeriodMillis()) / 4;
+        long now = clock.millis();
+        commandLock.lock();
+        try {
+            evictor.updateClock(now);
+            activeExpireCycle.run(now, timeLimitNanos);
+            // resize the keyspace and expires tables incrementally, even when there are no writes
+            dataStoreMap.rehashForMillis(REHASH_MILLIS);
+            activeExpireCycle.getExpires().rehashForMillis(REHASH_MILLIS);
+        } finally {
+            commandLock.unlock();
+        }
+    }
+
+    long getCronPeriodMillis() {
+        return 1000L / options.getHz();
+    }
+
+    /**
+     * Visit the keys of the next bucket of a SCAN.
+     *
+     * @return the cursor for the next call, or 0 when the scan is complete
+     */
+    public long scan(long cursor, Consumer<Map.Entry<RedisKey, StoredData>> visitor) {
+        return dataStoreMap.scan(cursor, visitor);
+    }
+
+    public ServerSocketChannel getServerSocketChannel() {
+        return serverSocketChannel;
+    }
+
+    public Map<RedisKey, StoredData> getDataStoreMap() {
         return dataStoreMap;
     }
 
@@ -238,6 +481,30 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
             sb.append("role:").append(role).append("\n");
             getReplcationInfo(sb);
         }
+
+        if (infoSection(optionsMap, "stats")) {
+            sb.append("# Stats\n");
+            connectionManager.getIoThreadsInfo(sb);
+            sb.append("expired_keys:").append(activeExpireCycle.getExpiredKeys()).append("\n");
+            sb.append(String.format("expired_stale_perc:%.2f\n",
+                    activeExpireCycle.getExpiredStalePerc()));
+            sb.append("evicted_keys:").append(evictor.getEvictedKeys()).append("\n");
+            sb.append("lazyfreed_objects:").append(lazyFree.getLazyfreedObjects()).append("\n");
+        }
+
+        if (infoSection(optionsMap, "memory")) {
+            sb.append("# Memory\n");
+            sb.append("used_memory:").append(evictor.getUsedMemory()).append("\n");
+            sb.append("maxmemory:").append(evictor.getMaxmemory()).append("\n");
+            sb.append("maxmemory_policy:").append(evictor.getPolicy().getConfigName())
+                    .append("\n");
+            sb.append("offheap_used_memory:").append(offHeapArena.getUsedMemory()).append("\n");
+            sb.append("offheap_reserved_memory:").append(offHeapArena.getReservedMemory())
+                    .append("\n");
+            sb.append("offheap_values:").append(offHeapArena.getNumValues()).append("\n");
+            sb.append("lazyfree_pending_objects:").append(lazyFree.getPendingObjects())
+                    .append("\n");
+        }
         return sb.toString();
     }
 
@@ -247,7 +514,6 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
                 || (optionsMap.containsKey("default") && isDefault(section))
                 // || (optionsMap.containsKey("server") && isServer(section))
                 // || (optionsMap.containsKey("clients") && isClients(section))
-                // || (optionsMap.containsKey("memory") && isMemory(section))
                 || optionsMap.containsKey(section);
     }
 
@@ -291,8 +557,9 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
         System.out.println(String.format("Terminate invoked. Closing %d connections.",
                 connectionManager.getNumConnections()));
         eventLoop.terminate();
-        done = true;
-        // stop accepting new connections and shut down the accept connections thread
+        // stop the reactor thread, which closes the client connections
+        connectionManager.stop();
+        // stop accepting new connections
         try {
             closeSocket();
         } catch (IOException e) {
@@ -301,6 +568,10 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
         shutdown();
     }
 
+    protected boolean isLeaderConnection(ClientConnection conn) {
+        return false;
+    }
+
     public ConnectionManager getConnectionManager() {
         return connectionManager;
     }
@@ -309,6 +580,13 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
         System.out.println(String.format("Received client command: %s", command));
 
         if (command.isBlockingCommand()) {
+            // send the responses to the commands pipelined before this one before it blocks
+            conn.flushBatch();
+        }
+        if (command.isBlockingCommand() && Thread.currentThread().isVirtual()) {
+            // the connection has its own virtual thread, so it can simply park while it waits
+            execute(command, conn);
+        } else if (command.isBlockingCommand()) {
             commandsExecutorService.submit(() -> {
                 try {
                     execute(command, conn);
@@ -320,7 +598,20 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
                 }
             });
         } else {
-            execute(command, conn);
+            // keyspace commands are executed one at a time, even when the connections are served
+            // by their own virtual threads
+            commandLock.lock();
+            try {
+                // the replicated commands from the leader are applied regardless of the limit
+                if (command.isDenyOomCommand() && !isLeaderConnection(conn)
+                        && !evictor.performEvictions()) {
+                    conn.sendError(MaxMemoryEvictor.OOM_ERROR);
+                } else {
+                    execute(command, conn);
+                }
+            } finally {
+                commandLock.unlock();
+            }
         }
 
         switch (command) {
@@ -337,6 +628,9 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
     }
 
     static class EventLoop {
+        // the loop blocks until a value is ready - the timeout bounds how long it takes to notice
+        // that the loop was terminated, and how late the background tasks run
+        private static final long POLL_TIMEOUT_MILLIS = 100L;
         // keep a list of socket connections and continue checking for new connections
         private final RedisServiceBase service;
         private final RedisCommandConstructor commandConstructor;
@@ -352,34 +646,41 @@ public abstract class RedisServiceBase implements ReplicationServiceInfoProvider
         }
 
         public void runCommandLoop() throws InterruptedException {
+            long cronPeriodMillis = service.getCronPeriodMillis();
+            long pollTimeoutMillis = Math.min(POLL_TIMEOUT_MILLIS, cronPeriodMillis);
+            long nextCronTime = System.currentTimeMillis() + cronPeriodMillis;
             while (!done) {
-                // check for a value on one of the client sockets and process it as a command
-                boolean didProcess = service.getConnectionManager().getNextValue((conn, value) -> {
-                    RedisCommand command = commandConstructor.newCommandFromValue(value);
-                    if (command != null) {
-                        try {
-                            service.executeCommand(conn, command);
-                        } catch (Exception e) {
-                            System.out.println(String.format(
-                                    "EventLoop Exception: %s \"%s\"",
-                                    e.getClass().getSimpleName(), e.getMessage()));
-                            e.printStackTrace();
-                            // since this is a blocking command, we better return an error response
-                            conn.sendError(e.getMessage());
-                        }
-                    }
-                });
-
-                // sleep a bit if there were no commands to be processed
-                if (!didProcess) {
-                    // System.out.println("sleep 1s");
-                    Thread.sleep(80L);
+                // wait for a value on one of the client connections and process it as a command
+                service.getConnectionManager().getNextValue(this::processValue,
+                        pollTimeoutMillis);
+                long now = System.currentTimeMillis();
+                if (now >= nextCronTime) {
+                    service.serverCron();
+                    nextCronTime = now + cronPeriodMillis;
+                }
+            }
+        }
+
+        void processValue(ClientConnection conn, RespValue value) {
+            try {
+                // the command is built inside the try, so that the errors of setArgs, such as a
+                // value that is not an integer, get an error response in the place of the
+                // command's response
+                RedisCommand command = commandConstructor.newCommandFromValue(value);
+                if (command != null) {
+                    service.executeCommand(conn, command);
                 }
+            } catch (Exception e) {
+                System.out.println(String.format(
+                        "EventLoop Exception: %s \"%s\"",
+                        e.getClass().getSimpleName(), e.getMessage()));
+                e.printStackTrace();
+                conn.sendError(e.getMessage());
             }
         }
     }
 
-    public Collection<String> getKeys() {
+    public Collection<RedisKey> getKeys() {
         return dataStoreMap.keySet();
     }
 
@@ -9,6 +9,11 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.sets.RedisSetData;
+import org.baylight.redis.zsets.RedisSortedSetData;
 
 public class RedisServiceOptions {
     private int port = RedisConstants.DEFAULT_PORT;
@@ -17,6 +22,20 @@ public class RedisServiceOptions {
     private int replicaofPort = RedisConstants.DEFAULT_PORT;
     private String dir = ".";
     private String dbfilename = null;
+    private int ioThreads = 1;
+    private String engine = RedisConstants.ENGINE_REACTOR;
+    private int sharedIntegers = RespInteger.DEFAULT_CACHE_MAX;
+    private int hz = RedisConstants.DEFAULT_HZ;
+    private long maxmemory = 0L;
+    private MaxMemoryPolicy maxmemoryPolicy = MaxMemoryPolicy.NOEVICTION;
+    private long offheapThreshold = 0L;
+    private boolean offheapExplicitRelease = false;
+    private int hashMaxListpackEntries = RedisHashData.DEFAULT_MAX_LISTPACK_ENTRIES;
+    private int hashMaxListpackValue = RedisHashData.DEFAULT_MAX_LISTPACK_VALUE;
+    private int listMaxListpackSize = RedisListData.DEFAULT_MAX_LISTPACK_SIZE;
+    private int zsetMaxListpackEntries = RedisSortedSetData.DEFAULT_MAX_LISTPACK_ENTRIES;
+    private int zsetMaxListpackValue = RedisSortedSetData.DEFAULT_MAX_LISTPACK_VALUE;
+    private int setMaxIntsetEntries = RedisSetData.DEFAULT_MAX_INTSET_ENTRIES;
 
     public boolean parseArgs(String[] args) {
         // Define the options
@@ -46,6 +65,99 @@ public class RedisServiceOptions {
                 .build();
         options.addOption(dbfilenameOption);
 
+        Option ioThreadsOption = Option.builder().longOpt("io-threads").hasArg(true)
+                .desc("The number of threads for reading and writing client connections")
+                .required(false).type(Number.class).build();
+        options.addOption(ioThreadsOption);
+
+        Option engineOption = Option.builder().longOpt("engine").hasArg(true)
+                .desc("How client connections are served: " + RedisConstants.ENGINE_REACTOR
+                        + " (default) or " + RedisConstants.ENGINE_VIRTUAL_THREADS)
+                .required(false).build();
+        options.addOption(engineOption);
+
+        Option sharedIntegersOption = Option.builder().longOpt("shared-integers").hasArg(true)
+                .desc("The largest integer with a shared pre-encoded reply, default "
+                        + RespInteger.DEFAULT_CACHE_MAX)
+                .required(false).type(Number.class).build();
+        options.addOption(sharedIntegersOption);
+
+        Option hzOption = Option.builder().longOpt("hz").hasArg(true)
+                .desc("How many times per second the background tasks run, such as expiring keys,"
+                        + " default " + RedisConstants.DEFAULT_HZ)
+                .required(false).type(Number.class).build();
+        options.addOption(hzOption);
+
+        Option maxmemoryOption = Option.builder().longOpt("maxmemory").hasArg(true)
+                .desc("The memory limit for the keys, in bytes or with a unit like 100mb,"
+                        + " default 0 for no limit")
+                .required(false).build();
+        options.addOption(maxmemoryOption);
+
+        Option maxmemoryPolicyOption = Option.builder().longOpt("maxmemory-policy").hasArg(true)
+                .desc("How keys are evicted when over the memory limit: noeviction (default),"
+                        + " allkeys-lru, allkeys-lfu or volatile-ttl")
+                .required(false).build();
+        options.addOption(maxmemoryPolicyOption);
+
+        Option offheapThresholdOption = Option.builder().longOpt("offheap-threshold")
+                .hasArg(true)
+                .desc("String values of at least this size are stored outside of the heap, in"
+                        + " bytes or with a unit like 4kb, default 0 to keep all values on the heap")
+                .required(false).build();
+        options.addOption(offheapThresholdOption);
+
+        Option offheapExplicitReleaseOption = Option.builder().longOpt("offheap-explicit-release")
+                .hasArg(true)
+                .desc("yes to release the buffers of large off-heap values right away, on the"
+                        + " lazyfree thread for UNLINK, with an internal JDK API, default no to"
+                        + " leave them to the garbage collector")
+                .required(false).build();
+        options.addOption(offheapExplicitReleaseOption);
+
+        Option hashMaxListpackEntriesOption = Option.builder()
+                .longOpt("hash-max-listpack-entries").hasArg(true)
+                .desc("The most fields of a hash in the compact listpack encoding, default "
+                        + RedisHashData.DEFAULT_MAX_LISTPACK_ENTRIES)
+                .required(false).type(Number.class).build();
+        options.addOption(hashMaxListpackEntriesOption);
+
+        Option hashMaxListpackValueOption = Option.builder()
+                .longOpt("hash-max-listpack-value").hasArg(true)
+                .desc("The longest field or value of a hash in the compact listpack encoding,"
+                        + " default " + RedisHashData.DEFAULT_MAX_LISTPACK_VALUE)
+                .required(false).type(Number.class).build();
+        options.addOption(hashMaxListpackValueOption);
+
+        Option listMaxListpackSizeOption = Option.builder().longOpt("list-max-listpack-size")
+                .hasArg(true)
+                .desc("The most elements of a list node if positive, or -1 to -5 for nodes of at"
+                        + " most 4, 8, 16, 32 or 64 kb, default "
+                        + RedisListData.DEFAULT_MAX_LISTPACK_SIZE)
+                .required(false).type(Number.class).build();
+        options.addOption(listMaxListpackSizeOption);
+
+        Option zsetMaxListpackEntriesOption = Option.builder()
+                .longOpt("zset-max-listpack-entries").hasArg(true)
+                .desc("The most members of a sorted set in the compact listpack encoding, default "
+                        + RedisSortedSetData.DEFAULT_MAX_LISTPACK_ENTRIES)
+                .required(false).type(Number.class).build();
+        options.addOption(zsetMaxListpackEntriesOption);
+
+        Option zsetMaxListpackValueOption = Option.builder()
+                .longOpt("zset-max-listpack-value").hasArg(true)
+                .desc("The longest member of a sorted set in the compact listpack encoding,"
+                        + " default " + RedisSortedSetData.DEFAULT_MAX_LISTPACK_VALUE)
+                .required(false).type(Number.class).build();
+        options.addOption(zsetMaxListpackValueOption);
+
+        Option setMaxIntsetEntriesOption = Option.builder()
+                .longOpt("set-max-intset-entries").hasArg(true)
+                .desc("The most members of a set of integers in the compact intset encoding,"
+                        + " default " + RedisSetData.DEFAULT_MAX_INTSET_ENTRIES)
+                .required(false).type(Number.class).build();
+        options.addOption(setMaxIntsetEntriesOption);
+
         // Create a parser and parse the command line arguments
         CommandLineParser parser = new DefaultParser();
         try {
@@ -91,6 +203,138 @@ public class RedisServiceOptions {
                 System.out.println("Dbfilename specified: " + getDbfilename());
             }
 
+            if (cmd.hasOption("io-threads")) {
+                ioThreads = Integer.parseInt(cmd.getOptionValue("io-threads"));
+                System.out.println("Io-threads specified: " + getIoThreads());
+                if (ioThreads <= 0) {
+                    throw new ParseException("Io-threads must be greater than 0: " + ioThreads);
+                }
+            }
+
+            if (cmd.hasOption("engine")) {
+                engine = cmd.getOptionValue("engine");
+                System.out.println("Engine specified: " + getEngine());
+                if (!engine.equals(RedisConstants.ENGINE_REACTOR)
+                        && !engine.equals(RedisConstants.ENGINE_VIRTUAL_THREADS)) {
+                    throw new ParseException("Invalid engine: " + engine);
+                }
+            }
+
+            if (cmd.hasOption("shared-integers")) {
+                sharedIntegers = Integer.parseInt(cmd.getOptionValue("shared-integers"));
+                System.out.println("Shared-integers specified: " + getSharedIntegers());
+                if (sharedIntegers < -1) {
+                    throw new ParseException(
+                            "Shared-integers must be at least -1: " + sharedIntegers);
+                }
+            }
+
+            if (cmd.hasOption("hz")) {
+                hz = Integer.parseInt(cmd.getOptionValue("hz"));
+                System.out.println("Hz specified: " + getHz());
+                if (hz < 1 || hz > 500) {
+                    throw new ParseException("Hz must be between 1 and 500: " + hz);
+                }
+            }
+
+            if (cmd.hasOption("maxmemory")) {
+                maxmemory = parseMemory(cmd.getOptionValue("maxmemory"));
+                System.out.println("Maxmemory specified: " + getMaxmemory());
+            }
+
+            if (cmd.hasOption("maxmemory-policy")) {
+                String policyName = cmd.getOptionValue("maxmemory-policy");
+                maxmemoryPolicy = MaxMemoryPolicy.of(policyName);
+                System.out.println("Maxmemory-policy specified: " + policyName);
+                if (maxmemoryPolicy == null) {
+                    throw new ParseException("Invalid maxmemory-policy: " + policyName);
+                }
+            }
+
+            if (cmd.hasOption("offheap-threshold")) {
+                offheapThreshold = parseMemory(cmd.getOptionValue("offheap-threshold"));
+                System.out.println("Offheap-threshold specified: " + getOffheapThreshold());
+                if (offheapThreshold > Integer.MAX_VALUE) {
+                    throw new ParseException(
+                            "Offheap-threshold is too large: " + offheapThreshold);
+                }
+            }
+
+            if (cmd.hasOption("offheap-explicit-release")) {
+                String value = cmd.getOptionValue("offheap-explicit-release");
+                System.out.println("Offheap-explicit-release specified: " + value);
+                if (!value.equalsIgnoreCase("yes") && !value.equalsIgnoreCase("no")) {
+                    throw new ParseException("Invalid offheap-explicit-release: " + value);
+                }
+                offheapExplicitRelease = value.equalsIgnoreCase("yes");
+            }
+
+            if (cmd.hasOption("hash-max-listpack-entries")) {
+                hashMaxListpackEntries = Integer
+                        .parseInt(cmd.getOptionValue("hash-max-listpack-entries"));
+                System.out.println(
+                        "Hash-max-listpack-entries specified: " + getHashMaxListpackEntries());
+                if (hashMaxListpackEntries < 0) {
+                    throw new ParseException("Hash-max-listpack-entries must be at least 0: "
+                            + hashMaxListpackEntries);
+                }
+            }
+
+            if (cmd.hasOption("hash-max-listpack-value")) {
+                hashMaxListpackValue = Integer
+                        .parseInt(cmd.getOptionValue("hash-max-listpack-value"));
+                System.out.println(
+                        "Hash-max-listpack-value specified: " + getHashMaxListpackValue());
+                if (hashMaxListpackValue < 0) {
+                    throw new ParseException("Hash-max-listpack-value must be at least 0: "
+                            + hashMaxListpackValue);
+                }
+            }
+
+            if (cmd.hasOption("list-max-listpack-size")) {
+                listMaxListpackSize = Integer
+                        .parseInt(cmd.getOptionValue("list-max-listpack-size"));
+                System.out.println(
+                        "List-max-listpack-size specified: " + getListMaxListpackSize());
+                if (listMaxListpackSize < -5 || listMaxListpackSize == 0) {
+                    throw new ParseException("List-max-listpack-size must be positive or -1 to -5: "
+                            + listMaxListpackSize);
+                }
+            }
+
+            if (cmd.hasOption("zset-max-listpack-entries")) {
+                zsetMaxListpackEntries = Integer
+                        .parseInt(cmd.getOptionValue("zset-max-listpack-entries"));
+                System.out.println(
+                        "Zset-max-listpack-entries specified: " + getZsetMaxListpackEntries());
+                if (zsetMaxListpackEntries < 0) {
+                    throw new ParseException("Zset-max-listpack-entries must be at least 0: "
+                            + zsetMaxListpackEntries);
+                }
+            }
+
+            if (cmd.hasOption("zset-max-listpack-value")) {
+                zsetMaxListpackValue = Integer
+                        .parseInt(cmd.getOptionValue("zset-max-listpack-value"));
+                System.out.println(
+                        "Zset-max-listpack-value specified: " + getZsetMaxListpackValue());
+                if (zsetMaxListpackValue < 0) {
+                    throw new ParseException("Zset-max-listpack-value must be at least 0: "
+                            + zsetMaxListpackValue);
+                }
+            }
+
+            if (cmd.hasOption("set-max-intset-entries")) {
+                setMaxIntsetEntries = Integer
+                        .parseInt(cmd.getOptionValue("set-max-intset-entries"));
+                System.out.println(
+                        "Set-max-intset-entries specified: " + getSetMaxIntsetEntries());
+                if (setMaxIntsetEntries < 0) {
+                    throw new ParseException("Set-max-intset-entries must be at least 0: "
+                            + setMaxIntsetEntries);
+                }
+            }
+
         } catch (ParseException e) {
             System.err.println("Parsing failed. Reason: " + e.getMessage());
 
@@ -102,6 +346,36 @@ public class RedisServiceOptions {
         return true;
     }
 
+    /**
+     * Parse a memory size in bytes, with an optional unit like the redis config: k, kb, m, mb, g
+     * or gb, where k is 1000 and kb is 1024.
+     */
+    static long parseMemory(String value) throws ParseException {
+        String lower = value.toLowerCase();
+        int digits = 0;
+        while (digits < lower.length() && Character.isDigit(lower.charAt(digits))) {
+            digits++;
+        }
+        if (digits == 0 || digits > 18) {
+            throw new ParseException("Invalid memory size: " + value);
+        }
+        long multiplier = switch (lower.substring(digits)) {
+        case "" -> 1L;
+        case "k" -> 1000L;
+        case "kb" -> 1024L;
+        case "m" -> 1000L * 1000;
+        case "mb" -> 1024L * 1024;
+        case "g" -> 1000L * 1000 * 1000;
+        case "gb" -> 1024L * 1024 * 1024;
+        default -> throw new ParseException("Invalid memory size: " + value);
+        };
+        try {
+            return Math.multiplyExact(Long.parseLong(lower.substring(0, digits)), multiplier);
+        } catch (ArithmeticException e) {
+            throw new ParseException("Memory size is too large: " + value);
+        }
+    }
+
     public String getConfigValue(String config) {
         return switch (config) {
         case "port" -> String.valueOf(port);
@@ -109,6 +383,20 @@ public class RedisServiceOptions {
         case "replicaof" -> replicaof + " " + replicaofPort;
         case "dir" -> dir;
         case "dbfilename" -> dbfilename;
+        case "io-threads" -> String.valueOf(ioThreads);
+        case "engine" -> engine;
+        case "shared-integers" -> String.valueOf(sharedIntegers);
+        case "hz" -> String.valueOf(hz);
+        case "maxmemory" -> String.valueOf(maxmemory);
+        case "maxmemory-policy" -> maxmemoryPolicy.getConfigName();
+        case "offheap-threshold" -> String.valueOf(offheapThreshold);
+        case "offheap-explicit-release" -> offheapExplicitRelease ? "yes" : "no";
+        case "hash-max-listpack-entries" -> String.valueOf(hashMaxListpackEntries);
+        case "hash-max-listpack-value" -> String.valueOf(hashMaxListpackValue);
+        case "list-max-listpack-size" -> String.valueOf(listMaxListpackSize);
+        case "zset-max-listpack-entries" -> String.valueOf(zsetMaxListpackEntries);
+        case "zset-max-listpack-value" -> String.valueOf(zsetMaxListpackValue);
+        case "set-max-intset-entries" -> String.valueOf(setMaxIntsetEntries);
         default -> null;
         };
     }
@@ -138,4 +426,64 @@ public class RedisServiceOptions {
         return dbfilename;
     }
 
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public int getSharedIntegers() {
+        return sharedIntegers;
+    }
+
+    public int getHz() {
+        return hz;
+    }
+
+    public long getMaxmemory() {
+        return maxmemory;
+    }
+
+    public MaxMemoryPolicy getMaxmemoryPolicy() {
+        return maxmemoryPolicy;
+    }
+
+    public long getOffheapThreshold() {
+        return offheapThreshold;
+    }
+
+    public boolean isOffheapExplicitRelease() {
+        return offheapExplicitRelease;
+    }
+
+    public int getHashMaxListpackEntries() {
+        return hashMaxListpackEntries;
+    }
+
+    public int getHashMaxListpackValue() {
+        return hashMaxListpackValue;
+    }
+
+    public int getListMaxListpackSize() {
+        return listMaxListpackSize;
+    }
+
+    public int getZsetMaxListpackEntries() {
+        return zsetMaxListpackEntries;
+    }
+
+    public int getZsetMaxListpackValue() {
+        return zsetMaxListpackValue;
+    }
+
+    public int getSetMaxIntsetEntries() {
+        return setMaxIntsetEntries;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public boolean isVirtualThreadsEngine() {
+        return RedisConstants.ENGINE_VIRTUAL_THREADS.equals(engine);
+    }
+
 }
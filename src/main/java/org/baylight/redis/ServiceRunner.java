@@ -2,10 +2,14 @@ package org.baylight.redis;
 
 import java.io.IOException;
 import java.time.Clock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class ServiceRunner implements Runnable {
     RedisServiceOptions options;
     RedisServiceBase service = null;
+    // released once the server is listening, or has failed to start
+    private final CountDownLatch ready = new CountDownLatch(1);
 
     public ServiceRunner(String... args) {
         options = new RedisServiceOptions();
@@ -24,10 +28,20 @@ public class ServiceRunner implements Runnable {
         }
     }
 
+    /**
+     * Wait until the server is listening for connections.
+     *
+     * @return true if the server started, false if it failed to start or the timeout expired
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return ready.await(timeout, unit) && service != null;
+    }
+
     public void run() {
         service = RedisServiceBase.newInstance(options, Clock.systemUTC());
         try {
             service.start();
+            ready.countDown();
             service.runCommandLoop();
             System.out.println(String.format("Event loop terminated"));
 
@@ -38,6 +52,7 @@ public class ServiceRunner implements Runnable {
         } finally {
             service.shutdown();
             service = null;
+            ready.countDown();
         }
     }
 
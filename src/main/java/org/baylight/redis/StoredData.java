@@ -1,75 +1,351 @@
 package org.baylight.redis;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
 
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.sets.RedisSetData;
 import org.baylight.redis.streams.RedisStreamData;
+import org.baylight.redis.zsets.RedisSortedSetData;
 
 /**
- * Data stored for a Redis map entry
+ * Data stored for a Redis map entry.
+ *
+ * The entry is kept compact since there is one per key: the value is a single reference whose
+ * representation depends on the encoding, and the expiry is a primitive absolute timestamp, so
+ * checking the expiry does no arithmetic and no unboxing. String values that are the canonical
+ * decimal form of a long are stored as numbers, and the small non-negative ones refer to shared
+ * values instead of holding their own array. Large string values may be kept in the off-heap
+ * arena instead of a heap array, see RedisServiceBase.
  **/
 public class StoredData {
-    private final byte[] value;
-    private final RedisStreamData streamValue;
-    private final StoredDataType type;
-    private final long storedAt;
-    private final Long ttlMillis;
+    // the expiry timestamp of a value with no expiry, so it is never less than the current time
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+    public static final int DEFAULT_SHARED_INTEGERS = 10000;
+    // the decimal strings of the integers from 0 to the configured maximum
+    // estimated sizes for a 64-bit JVM with compressed references
+    private static final long OBJECT_SIZE = 32L;
+    private static final long BOXED_LONG_SIZE = 16L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+    private static volatile byte[][] sharedIntegers = newSharedIntegers(DEFAULT_SHARED_INTEGERS);
+
+    // byte[] or an OffHeapArena.Chunk for RAW, byte[] for EMBSTR, Long for INT,
+    // RedisStreamData for STREAM, RedisHashData for the hash encodings, RedisListData for
+    // QUICKLIST, RedisSortedSetData for the sorted set encodings, RedisSetData for the set
+    // encodings
+    private final Object value;
+    private final long expiresAt;
+    private final StoredDataEncoding encoding;
+    // the access clock used to choose keys for eviction, see MaxMemoryEvictor. It is updated
+    // without synchronization, since a lost update only makes the eviction a little less precise.
+    private int accessClock;
+
+    private StoredData(Object value, long expiresAt, StoredDataEncoding encoding) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+        this.encoding = encoding;
+    }
 
     public StoredData(RedisStreamData streamValue, long storedAt, Long ttlMillis) {
-        this.value = null;
-        this.streamValue = streamValue;
-        this.type = StoredDataType.STREAM;
-        this.storedAt = storedAt;
-        this.ttlMillis = ttlMillis;
+        this(streamValue, toExpiresAt(storedAt, ttlMillis), StoredDataEncoding.STREAM);
     }
 
     public StoredData(byte[] value, long storedAt, Long ttlMillis) {
-        this.value = value;
-        streamValue = null;
-        this.type = StoredDataType.STRING;
-        this.storedAt = storedAt;
-        this.ttlMillis = ttlMillis;
+        this(value, toExpiresAt(storedAt, ttlMillis));
+    }
+
+    private StoredData(byte[] value, long expiresAt) {
+        Long longValue = parseCanonicalLong(value);
+        if (longValue != null) {
+            byte[][] shared = sharedIntegers;
+            this.value = longValue >= 0 && longValue < shared.length
+                    ? shared[longValue.intValue()]
+                    : longValue;
+            this.encoding = StoredDataEncoding.INT;
+        } else {
+            this.value = value;
+            this.encoding = value.length <= StoredDataEncoding.EMBSTR_SIZE_LIMIT
+                    ? StoredDataEncoding.EMBSTR
+                    : StoredDataEncoding.RAW;
+        }
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Create an entry for a string value, using the most compact encoding for the value.
+     *
+     * @param value     the value, which must not be modified after this call
+     * @param expiresAt the absolute expiry time in millis, or NO_EXPIRY
+     */
+    public static StoredData ofString(byte[] value, long expiresAt) {
+        return new StoredData(value, expiresAt);
+    }
+
+    /**
+     * Create an entry for a string value that is an integer, such as the result of an INCR. The
+     * value is stored as a number, without encoding its digits.
+     */
+    public static StoredData ofLong(long value, long expiresAt) {
+        byte[][] shared = sharedIntegers;
+        return new StoredData(value >= 0 && value < shared.length ? shared[(int) value] : value,
+                expiresAt, StoredDataEncoding.INT);
+    }
+
+    /**
+     * Create an entry for a string value that was copied into the off-heap arena. The entry owns
+     * the chunk, which is freed when the entry is removed from the keyspace.
+     */
+    public static StoredData ofOffHeap(OffHeapArena.Chunk chunk, long expiresAt) {
+        return new StoredData(chunk, expiresAt, StoredDataEncoding.RAW);
+    }
+
+    public static StoredData ofStream(RedisStreamData streamValue, long expiresAt) {
+        return new StoredData(streamValue, expiresAt, StoredDataEncoding.STREAM);
     }
 
+    /**
+     * Create an entry for a hash. The hash is modified in place by the hash commands, which may
+     * change its encoding.
+     */
+    public static StoredData ofHash(RedisHashData hashValue, long expiresAt) {
+        return new StoredData(hashValue, expiresAt, hashValue.getEncoding());
+    }
+
+    /**
+     * Create an entry for a list. The list is modified in place by the list commands.
+     */
+    public static StoredData ofList(RedisListData listValue, long expiresAt) {
+        return new StoredData(listValue, expiresAt, StoredDataEncoding.QUICKLIST);
+    }
+
+    /**
+     * Create an entry for a sorted set. The set is modified in place by the sorted set commands,
+     * which may change its encoding.
+     */
+    public static StoredData ofSortedSet(RedisSortedSetData sortedSetValue, long expiresAt) {
+        return new StoredData(sortedSetValue, expiresAt, sortedSetValue.getEncoding());
+    }
+
+    /**
+     * Create an entry for a set. The set is modified in place by the set commands, which may
+     * change its encoding.
+     */
+    public static StoredData ofSet(RedisSetData setValue, long expiresAt) {
+        return new StoredData(setValue, expiresAt, setValue.getEncoding());
+    }
+
+    /**
+     * Set the largest integer with a shared value. String values of the integers from 0 to max
+     * refer to one shared array.
+     */
+    public static void setSharedIntegersMax(int max) {
+        if (max + 1 != sharedIntegers.length) {
+            sharedIntegers = newSharedIntegers(max);
+        }
+    }
+
+    private static byte[][] newSharedIntegers(int max) {
+        byte[][] shared = new byte[Math.max(0, max + 1)][];
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = Integer.toString(i).getBytes(StandardCharsets.US_ASCII);
+        }
+        return shared;
+    }
+
+    private static long toExpiresAt(long storedAt, Long ttlMillis) {
+        // a ttl that is not positive means no expiry
+        return ttlMillis != null && ttlMillis > 0 ? storedAt + ttlMillis : NO_EXPIRY;
+    }
+
+    /**
+     * @return the value if the bytes are the decimal form of a long that prints back to the same
+     *         bytes, so no leading zeros or plus sign, otherwise null
+     */
+    public static Long parseCanonicalLong(byte[] bytes) {
+        int n = bytes.length;
+        if (n == 0 || n > 20) {
+            return null;
+        }
+        boolean negative = bytes[0] == '-';
+        int start = negative ? 1 : 0;
+        if (start == n || (bytes[start] == '0' && (n > start + 1 || negative))) {
+            return null;
+        }
+        // accumulate the negative value so that Long.MIN_VALUE does not overflow
+        long result = 0;
+        for (int i = start; i < n; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < (Long.MIN_VALUE + digit) / 10) {
+                return null;
+            }
+            result = result * 10 - digit;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) {
+                return null;
+            }
+            result = -result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the string value. The array may be shared, so it must not be modified.
+     */
     public byte[] getValue() {
-        return value;
+        return switch (value) {
+        case byte[] bytes -> bytes;
+        case Long longValue -> Long.toString(longValue).getBytes(StandardCharsets.US_ASCII);
+        case OffHeapArena.Chunk chunk -> chunk.getBytes();
+        default -> null;
+        };
+    }
+
+    /**
+     * @return the value of an INT encoded string, or null for the other encodings, whose strings
+     *         are not the canonical form of a long
+     */
+    public Long getLongValue() {
+        return switch (value) {
+        case Long longValue -> longValue;
+        // a shared integer, which has at most a few digits and no sign
+        case byte[] bytes when encoding == StoredDataEncoding.INT -> {
+            long result = 0;
+            for (byte b : bytes) {
+                result = result * 10 + (b - '0');
+            }
+            yield result;
+        }
+        default -> null;
+        };
+    }
+
+    public boolean isOffHeap() {
+        return value instanceof OffHeapArena.Chunk;
+    }
+
+    /**
+     * @return the off-heap chunk of the value, or null if the value is on the heap
+     */
+    public OffHeapArena.Chunk getOffHeapChunk() {
+        return value instanceof OffHeapArena.Chunk chunk ? chunk : null;
+    }
+
+    /**
+     * @return a read only buffer of an off-heap value, to write it without copying it to the
+     *         heap. The buffer is only valid while holding the command lock.
+     */
+    public ByteBuffer getOffHeapBuffer() {
+        return value instanceof OffHeapArena.Chunk chunk ? chunk.asReadOnlyBuffer() : null;
     }
 
     public RedisStreamData getStreamValue() {
-        return streamValue;
+        return value instanceof RedisStreamData streamValue ? streamValue : null;
+    }
+
+    public RedisHashData getHashValue() {
+        return value instanceof RedisHashData hashValue ? hashValue : null;
+    }
+
+    public RedisListData getListValue() {
+        return value instanceof RedisListData listValue ? listValue : null;
+    }
+
+    public RedisSortedSetData getSortedSetValue() {
+        return value instanceof RedisSortedSetData sortedSetValue ? sortedSetValue : null;
+    }
+
+    public RedisSetData getSetValue() {
+        return value instanceof RedisSetData setValue ? setValue : null;
     }
 
     public StoredDataType getType() {
-        return type;
+        return encoding.getType();
     }
 
-    public long getStoredAt() {
-        return storedAt;
+    public StoredDataEncoding getEncoding() {
+        // a hash, a sorted set or a set changes its encoding in place as it grows
+        return switch (value) {
+        case RedisHashData hashValue -> hashValue.getEncoding();
+        case RedisSortedSetData sortedSetValue -> sortedSetValue.getEncoding();
+        case RedisSetData setValue -> setValue.getEncoding();
+        default -> encoding;
+        };
     }
 
-    public Long getTtlMillis() {
-        return ttlMillis;
+    /**
+     * @return the absolute expiry time in millis, or NO_EXPIRY
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean hasExpiry() {
+        return expiresAt != NO_EXPIRY;
     }
 
     public boolean isExpired(long currentTimeMillis) {
-        return ttlMillis != null && ttlMillis > 0 && (currentTimeMillis - storedAt) > ttlMillis;
+        return currentTimeMillis > expiresAt;
+    }
+
+    public int getAccessClock() {
+        return accessClock;
+    }
+
+    public void setAccessClock(int accessClock) {
+        this.accessClock = accessClock;
+    }
+
+    /**
+     * @return the estimated heap size of the entry and its value, in bytes
+     */
+    public long getEstimatedSize() {
+        return OBJECT_SIZE + switch (value) {
+        // a shared integer value is not counted for the entry
+        case byte[] bytes -> encoding == StoredDataEncoding.INT ? 0L
+                : estimateArraySize(bytes.length);
+        case Long longValue -> BOXED_LONG_SIZE;
+        case RedisStreamData streamValue -> streamValue.getEstimatedSize();
+        case RedisHashData hashValue -> hashValue.getEstimatedSize();
+        case RedisListData listValue -> listValue.getEstimatedSize();
+        case RedisSortedSetData sortedSetValue -> sortedSetValue.getEstimatedSize();
+        case RedisSetData setValue -> setValue.getEstimatedSize();
+        // the chunk object and the memory reserved for the value in the arena
+        case OffHeapArena.Chunk chunk -> OBJECT_SIZE + chunk.capacity();
+        default -> 0L;
+        };
+    }
+
+    /**
+     * @return the estimated heap size of a byte array of the given length, which is the array
+     *         header and the data, aligned to 8 bytes
+     */
+    public static long estimateArraySize(int length) {
+        return (ARRAY_HEADER_SIZE + length + 7) & ~7L;
     }
 
     @Override
     public String toString() {
         return "StoredData [value="
-                + (value != null ? new String(value) : streamValue)
-                + ", type=" + type.getTypeResponse().getValueAsString()
-                + ", storedAt=" + storedAt
-                + ", ttlMillis=" + ttlMillis + "]";
+                + (value instanceof byte[] bytes ? new String(bytes)
+                        : value instanceof OffHeapArena.Chunk chunk
+                                ? "<off-heap " + chunk.length() + " bytes>"
+                                : value)
+                + ", type=" + getType().getTypeResponse().getValueAsString()
+                + ", encoding=" + encoding
+                + ", expiresAt=" + (hasExpiry() ? expiresAt : "none") + "]";
     }
 
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(value);
-        result = prime * result + Objects.hash(storedAt, ttlMillis);
+        result = prime * result + (getType() != StoredDataType.STRING ? Objects.hashCode(value)
+                : Arrays.hashCode(getValue()));
+        result = prime * result + Long.hashCode(expiresAt);
         return result;
     }
 
@@ -80,8 +356,11 @@ public class StoredData {
         if (!(obj instanceof StoredData))
             return false;
         StoredData other = (StoredData) obj;
-        return Arrays.equals(value, other.value) && storedAt == other.storedAt
-                && Objects.equals(ttlMillis, other.ttlMillis);
+        if (getEncoding() != other.getEncoding() || expiresAt != other.expiresAt) {
+            return false;
+        }
+        return getType() != StoredDataType.STRING ? Objects.equals(value, other.value)
+                : Arrays.equals(getValue(), other.getValue());
     }
 
 }
@@ -0,0 +1,42 @@
+package org.baylight.redis;
+
+/**
+ * The representation of a stored value, in the style of the redis object encodings.
+ */
+public enum StoredDataEncoding {
+    // a string value longer than EMBSTR_SIZE_LIMIT
+    RAW(StoredDataType.STRING),
+    // a string value that is the canonical decimal form of a long, held as the number
+    INT(StoredDataType.STRING),
+    // a short string value
+    EMBSTR(StoredDataType.STRING),
+    STREAM(StoredDataType.STREAM),
+    // a small hash, in one compact array, see RedisHashData
+    LISTPACK(StoredDataType.HASH),
+    // a hash that outgrew the listpack encoding
+    HASHTABLE(StoredDataType.HASH),
+    // a list of listpack nodes, see RedisListData
+    QUICKLIST(StoredDataType.LIST),
+    // a small sorted set, in one compact array, see RedisSortedSetData
+    ZSET_LISTPACK(StoredDataType.ZSET),
+    // a sorted set that outgrew the listpack encoding
+    SKIPLIST(StoredDataType.ZSET),
+    // a small set of integers, in one sorted array, see RedisSetData
+    INTSET(StoredDataType.SET),
+    // a set that outgrew the intset encoding
+    SET_HASHTABLE(StoredDataType.SET);
+
+    // the longest string with the EMBSTR encoding, the same limit as redis
+    public static final int EMBSTR_SIZE_LIMIT = 44;
+
+    private final StoredDataType type;
+
+    private StoredDataEncoding(StoredDataType type) {
+        this.type = type;
+    }
+
+    public StoredDataType getType() {
+        return type;
+    }
+
+}
@@ -3,10 +3,14 @@ package org.baylight.redis;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 
 public enum StoredDataType {
-    STRING, STREAM;
+    STRING, STREAM, HASH, LIST, ZSET, SET;
+
+    // the TYPE reply, shared by all the keys of the type
+    private final RespSimpleStringValue typeResponse = new RespSimpleStringValue(
+            name().toLowerCase());
 
     public RespSimpleStringValue getTypeResponse() {
-        return new RespSimpleStringValue(this.name().toLowerCase());
+        return typeResponse;
     }
 
 }
@@ -1,12 +1,12 @@
 package org.baylight.redis.commands;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
 
@@ -18,6 +18,10 @@ import org.baylight.redis.protocol.RespValue;
 // option group: [arg1 arg2 arg3]
 //
 // algorithm: iterate args and maintain next expected state
+//
+// The spec is compiled once into a plan where every arg has a fixed slot: required args use
+// their index in the spec and the named option args follow in spec order. Parsing fills the
+// slots of a ParsedArgs without any map, and commands read their values by slot.
 
 public class ArgReader {
     private static final String OPTION_GROUP_PREFIX = "[";
@@ -26,8 +30,9 @@ public class ArgReader {
     private static final String REQUIRED_GROUP_SUFFIX = ">";
 
     static class Arg {
-        String name;
-        String type;
+        final String name;
+        final String type;
+        int slot;
 
         public Arg(String name, String type) {
             this.name = name;
@@ -69,7 +74,7 @@ public class ArgReader {
     }
 
     static class GroupArg extends Arg {
-        int group;
+        final int group;
 
         public GroupArg(Arg arg, int group) {
             super(arg.name, arg.type);
@@ -78,19 +83,46 @@ public class ArgReader {
 
     }
 
-    private String commandName;
-    // required args
-    private List<Arg> requiredArgs = new ArrayList<>();
-    private Set<Integer> requiredGroups = new HashSet<>();
-    // optional arg groups - keyed by unique id (index in the arg spec)
-    private Map<Integer, Set<GroupArg>> optionGroups = new HashMap<>();
+    private final String commandName;
+    // the compiled plan
+    private final Arg[] requiredArgs;
+    // named option args of all the option groups, in spec order
+    private final GroupArg[] groupArgs;
+    // option groups indexed by group id
+    private final List<List<GroupArg>> optionGroups;
+    private final int[] requiredGroups;
+    // the key of each slot in the map returned by readArgs
+    private final String[] slotNames;
 
     public ArgReader(String commandName, String[] argSpec) {
         this.commandName = commandName;
-        parseArgSpec(argSpec);
+        List<Arg> required = new ArrayList<>();
+        List<List<GroupArg>> groups = new ArrayList<>();
+        List<Integer> requiredGroupIds = new ArrayList<>();
+        parseArgSpec(argSpec, required, groups, requiredGroupIds);
+
+        requiredArgs = required.toArray(new Arg[0]);
+        optionGroups = groups.stream().map(List::copyOf).toList();
+        requiredGroups = requiredGroupIds.stream().mapToInt(Integer::intValue).toArray();
+        List<GroupArg> named = new ArrayList<>();
+        groups.forEach(group -> group.stream().filter(Arg::hasName).forEach(named::add));
+        groupArgs = named.toArray(new GroupArg[0]);
+
+        slotNames = new String[requiredArgs.length + groupArgs.length];
+        for (int j = 0; j < requiredArgs.length; j++) {
+            Arg arg = requiredArgs[j];
+            arg.slot = j;
+            slotNames[j] = arg.hasName() ? arg.name : String.valueOf(j);
+        }
+        for (int k = 0; k < groupArgs.length; k++) {
+            GroupArg arg = groupArgs[k];
+            arg.slot = requiredArgs.length + k;
+            slotNames[arg.slot] = arg.name;
+        }
     }
 
-    private void parseArgSpec(String[] argSpec) {
+    private void parseArgSpec(String[] argSpec, List<Arg> required, List<List<GroupArg>> groups,
+            List<Integer> requiredGroupIds) {
         boolean foundVarArg = false;
         for (int i = 0; i < argSpec.length; i++) {
             String s = argSpec[i];
@@ -108,10 +140,11 @@ public class ArgReader {
                                     commandName, s));
                 }
                 String[] options = s.substring(1, s.length() - 1).split(" ");
-                Set<GroupArg> group = new HashSet<>();
+                int groupId = groups.size();
+                List<GroupArg> group = new ArrayList<>();
                 boolean groupHasVarArg = false;
                 for (String option : options) {
-                    GroupArg groupArg = parseGroupArg(option, i);
+                    GroupArg groupArg = parseGroupArg(option, groupId);
                     if (groupArg.isVarArg()) {
                         groupHasVarArg = true;
                     }
@@ -126,18 +159,18 @@ public class ArgReader {
                 if (groupHasVarArg) {
                     foundVarArg = true;
                 }
-                optionGroups.put(i, group);
+                groups.add(group);
                 if (s.startsWith(REQUIRED_GROUP_PREFIX)) {
-                    requiredGroups.add(i);
+                    requiredGroupIds.add(groupId);
                 }
             } else {
-                requiredArgs.add(parseArg(s));
+                required.add(parseArg(s));
             }
         }
     }
 
-    private GroupArg parseGroupArg(String option, int i) {
-        return new GroupArg(parseArg(option), i);
+    private GroupArg parseGroupArg(String option, int group) {
+        return new GroupArg(parseArg(option), group);
     }
 
     private Arg parseArg(String s) {
@@ -149,19 +182,45 @@ public class ArgReader {
         }
     }
 
+    /**
+     * Get the slot of an arg, for reading its value from the ParsedArgs. Unnamed required args are
+     * named by their index in the spec.
+     *
+     * @param name the arg name
+     * @return the slot of the arg
+     * @throws IllegalStateException if there is no arg with the name in the spec
+     */
+    public int slot(String name) {
+        for (int i = 0; i < slotNames.length; i++) {
+            if (slotNames[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(
+                String.format("%s: no arg '%s' in the arg spec", commandName, name));
+    }
+
+    String getSlotName(int slot) {
+        return slotNames[slot];
+    }
+
     // returned map has unnamed positional args keyed by index
     public Map<String, RespValue> readArgs(RespValue[] args) throws IllegalArgumentException {
-        HashMap<String, RespValue> optionMap = new HashMap<>();
+        return parse(args).toMap();
+    }
+
+    public ParsedArgs parse(RespValue[] args) throws IllegalArgumentException {
+        RespValue[] values = new RespValue[slotNames.length];
         int i = 0;
-        for (int j = 0; j < requiredArgs.size(); j++) {
-            Arg arg = requiredArgs.get(j);
+        for (Arg arg : requiredArgs) {
             if (i >= args.length) {
                 throw new IllegalArgumentException(String.format(
                         "%s: Missing required arg '%s' at index %d", commandName, arg.name, i));
             }
-            i = readArg(args, commandName, optionMap, i, j, arg);
+            i = readArg(args, values, i, arg);
         }
-        Map<Integer, RespValue> foundGroupOptions = new HashMap<>();
+        RespValue[] foundGroupOptions = optionGroups.isEmpty() ? null
+                : new RespValue[optionGroups.size()];
         while (i < args.length) {
             RespValue next = args[i];
             // get option and group id
@@ -175,56 +234,45 @@ public class ArgReader {
             validateArgConflict(args, i, arg.group, foundGroupOptions);
 
             // it's ok so now add the option value
-            i = readArg(args, commandName, optionMap, i, i, arg);
+            i = readArg(args, values, i, arg);
 
             // succeeded to add it, so store as the group value
-            foundGroupOptions.put(arg.group, next);
+            foundGroupOptions[arg.group] = next;
         }
-        requiredGroups.forEach(groupId -> {
-            if (!foundGroupOptions.containsKey(groupId)) {
+        for (int groupId : requiredGroups) {
+            if (foundGroupOptions[groupId] == null) {
                 throw new IllegalArgumentException(String
                         .format("%s: Invalid args, required arg group %s not found in args",
                                 commandName, optionGroups.get(groupId)));
-
             }
-        });
-        return optionMap;
+        }
+        return new ParsedArgs(this, values);
     }
 
     private GroupArg findGroupArg(RespValue next) {
-        String nextArgName = next.getValueAsString().toLowerCase();
-        for (Set<GroupArg> group : optionGroups.values()) {
-            for (GroupArg groupArg : group) {
-                if (groupArg.hasName() && groupArg.name.equals(nextArgName)) {
-                    return groupArg;
-                }
+        for (GroupArg groupArg : groupArgs) {
+            if (nameEquals(groupArg.name, next)) {
+                return groupArg;
             }
         }
         return null;
     }
 
-    private int readArg(RespValue[] args, String commandName, HashMap<String, RespValue> optionMap,
-            int i, int j, Arg arg) {
+    private int readArg(RespValue[] args, RespValue[] values, int i, Arg arg) {
         if (!arg.hasName()) {
             validateArgType(args, i, arg);
             if (arg.isVarArg()) {
-                List<RespValue> varArgs = new ArrayList<>();
-                for (; i < args.length; i++) {
-                    varArgs.add(args[i]);
-                }
-                optionMap.put(String.valueOf(j), RespValue.array(varArgs));
+                values[arg.slot] = new RespArrayValue(Arrays.copyOfRange(args, i, args.length));
+                i = args.length - 1;
             } else {
-                optionMap.put(String.valueOf(j), args[i]);
+                values[arg.slot] = args[i];
             }
         } else {
             validateArgEquals(args, i, arg.name);
             if (arg.isVarArg()) {
-                i++;
-                List<RespValue> varArgs = new ArrayList<>();
-                for (; i < args.length; i++) {
-                    varArgs.add(args[i]);
-                }
-                optionMap.put(arg.name, RespValue.array(varArgs));
+                values[arg.slot] = new RespArrayValue(
+                        Arrays.copyOfRange(args, i + 1, args.length));
+                i = args.length - 1;
             } else if (arg.hasType()) {
                 i++;
                 if (i >= args.length) {
@@ -233,14 +281,39 @@ public class ArgReader {
                                     arg.name, i));
                 }
                 validateArgType(args, i, arg);
-                optionMap.put(arg.name, args[i]);
+                values[arg.slot] = args[i];
             } else {
-                optionMap.put(arg.name, RespConstants.NULL_VALUE);
+                values[arg.slot] = RespConstants.NULL_VALUE;
             }
         }
         return i + 1;
     }
 
+    /**
+     * Compare an arg to a lower case name ignoring case, without converting a bulk string arg to a
+     * String.
+     */
+    static boolean nameEquals(String lowerName, RespValue arg) {
+        if (arg instanceof RespBulkString bulkString) {
+            byte[] bytes = bulkString.getValue();
+            if (bytes == null || bytes.length != lowerName.length()) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                int c = bytes[i];
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if (c != lowerName.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        String s = arg.getValueAsString();
+        return s != null && lowerName.equalsIgnoreCase(s);
+    }
+
     private void validateArgType(RespValue[] args, int index, Arg argSpec) {
         if (argSpec.type == null) {
             return;
@@ -260,7 +333,7 @@ public class ArgReader {
 
     protected void validateArgEquals(RespValue[] args, int index, String expectedValue) {
         RespValue arg = args[index];
-        if (!expectedValue.equals(arg.getValueAsString().toLowerCase())) {
+        if (!nameEquals(expectedValue, arg)) {
             throw new IllegalArgumentException(
                     String.format("%s: Invalid arg, expected '%s' at index %d: %s", commandName,
                             expectedValue, index, arg));
@@ -286,12 +359,12 @@ public class ArgReader {
     }
 
     public void validateArgConflict(RespValue[] args, int index, int optionGroup,
-            Map<Integer, RespValue> foundGroupOptions) {
+            RespValue[] foundGroupOptions) {
         RespValue arg = args[index];
-        if (foundGroupOptions.containsKey(optionGroup)) {
+        if (foundGroupOptions[optionGroup] != null) {
             throw new IllegalArgumentException(
                     String.format("%s: Invalid arg at index %d: %s conflicts with %s", commandName,
-                            index, arg, foundGroupOptions.get(optionGroup)));
+                            index, arg, foundGroupOptions[optionGroup]));
         }
     }
 }
@@ -0,0 +1,138 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents a BLPOP or BRPOP command in a Redis server. It pops an element from the first of the
+ * lists that is not empty, and if they are all empty it blocks until an element is pushed to one
+ * of them or the timeout expires. The wait uses StreamsWaitManager like XREAD BLOCK, and a push
+ * wakes up the blocked clients of its key, which try to pop again under the command lock.
+ *
+ * The command itself is not replicated: the pop is replicated as an LPOP or RPOP of the key while
+ * holding the command lock, so the followers see it in order with the other writes.
+ */
+public class BlpopCommand extends RedisCommand {
+    private static final ArgReader BLPOP_ARG_READER = newArgReader(Type.BLPOP);
+    private static final ArgReader BRPOP_ARG_READER = newArgReader(Type.BRPOP);
+    private static final int ARGS = BLPOP_ARG_READER.slot("1");
+
+    private List<RedisKey> keys = new ArrayList<>();
+    // 0 to block until an element is pushed
+    private long timeoutMillis;
+
+    private static ArgReader newArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":var" // keys followed by the timeout
+        });
+    }
+
+    /**
+     * @param type BLPOP or BRPOP
+     */
+    public BlpopCommand(Type type) {
+        super(type);
+    }
+
+    public BlpopCommand(Type type, List<RedisKey> keys, long timeoutMillis) {
+        super(type);
+        this.keys = keys;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Override
+    public boolean isBlockingCommand() {
+        return true;
+    }
+
+    @Override
+    public boolean isReplicatedCommand() {
+        // the pop is replicated when it happens, see execute
+        return false;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ArgReader argReader = type == Type.BRPOP ? BRPOP_ARG_READER : BLPOP_ARG_READER;
+        RespValue[] values = argReader.parse(args).getArray(ARGS).getValues();
+        if (values.length < 2) {
+            throw new IllegalArgumentException(String.format(
+                    "ERR wrong number of arguments for '%s' command", type.name().toLowerCase()));
+        }
+        keys = new ArrayList<>(values.length - 1);
+        for (int i = 0; i < values.length - 1; i++) {
+            keys.add(RedisKey.of(values[i]));
+        }
+        // the timeout is in seconds, with a fraction
+        Double timeoutSeconds = IncrByFloatCommand
+                .parseDouble(values[values.length - 1].getValueAsString());
+        if (timeoutSeconds == null) {
+            throw new IllegalArgumentException("ERR timeout is not a float or out of range");
+        }
+        if (timeoutSeconds < 0) {
+            throw new IllegalArgumentException("ERR timeout is negative");
+        }
+        timeoutMillis = timeoutSeconds > 0 ? Math.max(1L, Math.round(timeoutSeconds * 1000))
+                : 0L;
+    }
+
+    /**
+     * Executes the command by popping an element, waiting for one if the lists are empty.
+     *
+     * @param service the Redis service to execute the command on
+     * @return an array of the key and the element, or a null array if the timeout expired
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        byte[] response = service.executeWithWait(keys, () -> tryPop(service), timeoutMillis);
+        return response != null ? response : RespConstants.NULL_ARRAY;
+    }
+
+    /**
+     * Pop from the first list that is not empty. This is called while holding the command lock.
+     *
+     * @return the response, or null if all the lists are empty
+     */
+    byte[] tryPop(RedisServiceBase service) {
+        Type popType = type == Type.BRPOP ? Type.RPOP : Type.LPOP;
+        for (RedisKey key : keys) {
+            StoredData storedData = service.getUnexpired(key);
+            if (storedData == null) {
+                continue;
+            }
+            if (storedData.getType() != StoredDataType.LIST) {
+                return RespConstants.WRONGTYPE;
+            }
+            byte[] element = LpopCommand
+                    .pop(service, key, storedData, popType == Type.LPOP, 1L).get(0);
+            service.replicate(new LpopCommand(popType, key, null), null);
+            return new RespArrayValue(new RespValue[] { new RespBulkString(key.getBytes()),
+                    new RespBulkString(element) }).asResponse();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "BlpopCommand [type=" + type + ", keys=" + keys + ", timeoutMillis="
+                + timeoutMillis + "]";
+    }
+}
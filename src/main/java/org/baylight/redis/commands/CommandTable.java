@@ -0,0 +1,338 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.baylight.redis.EofCommand;
+import org.baylight.redis.TerminateCommand;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * The table of the commands supported by the server. A command name is looked up without case
+ * directly on the bytes of the command value, in an open addressing hash table, so dispatching a
+ * command does not create an upper case String or throw for unknown commands. Each entry carries
+ * the command metadata, in the style of the redis command table.
+ */
+public class CommandTable {
+
+    public enum Flag {
+        // the command modifies the keyspace
+        WRITE,
+        // the command may add data, so it is rejected when over the maxmemory limit
+        DENYOOM,
+        // the command only reads the keyspace
+        READONLY,
+        // the command may block the connection while waiting
+        BLOCKING,
+        // replication and server administration commands
+        ADMIN,
+        // the command runs in constant or log time
+        FAST
+    }
+
+    /**
+     * Metadata for a command.
+     *
+     * @param name     the command name in lower case
+     * @param type     the command type
+     * @param factory  creates the command for the command value, before the args are set
+     * @param arity    the number of args including the command name. A negative arity is the
+     *                 minimum number of args.
+     * @param flags    the command flags
+     * @param firstKey the index of the first key arg, or 0 if the command has no keys
+     * @param lastKey  the index of the last key arg. A negative index counts from the end.
+     * @param keyStep  the step between the key args
+     */
+    public record CommandSpec(String name, Type type, Function<RespArrayValue, RedisCommand> factory,
+            int arity, Set<Flag> flags, int firstKey, int lastKey, int keyStep) {
+
+        public RedisCommand newCommand(RespArrayValue array) {
+            return factory.apply(array);
+        }
+
+        public boolean hasFlag(Flag flag) {
+            return flags.contains(flag);
+        }
+
+        /**
+         * @return true if the number of args including the command name matches the arity
+         */
+        public boolean isValidArity(int numArgs) {
+            return arity >= 0 ? numArgs == arity : numArgs >= -arity;
+        }
+    }
+
+    public static final CommandTable INSTANCE = new CommandTable(List.of(
+            spec("blpop", Type.BLPOP, a -> new BlpopCommand(Type.BLPOP), -3,
+                    EnumSet.of(Flag.WRITE, Flag.BLOCKING), 1, -2, 1),
+            spec("brpop", Type.BRPOP, a -> new BlpopCommand(Type.BRPOP), -3,
+                    EnumSet.of(Flag.WRITE, Flag.BLOCKING), 1, -2, 1),
+            spec("config", Type.CONFIG, a -> new ConfigCommand(), -2,
+                    EnumSet.of(Flag.ADMIN), 0, 0, 0),
+            spec("decr", Type.DECR, a -> new IncrCommand(Type.DECR), 2,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("decrby", Type.DECRBY, a -> new IncrCommand(Type.DECRBY), 3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("del", Type.DEL, a -> new DelCommand(Type.DEL), -2,
+                    EnumSet.of(Flag.WRITE), 1, -1, 1),
+            spec("echo", Type.ECHO, a -> new EchoCommand(), 2,
+                    EnumSet.of(Flag.FAST), 0, 0, 0),
+            spec("get", Type.GET, a -> new GetCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("hdel", Type.HDEL, a -> new HdelCommand(), -3,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, 1, 1),
+            spec("hget", Type.HGET, a -> new HgetCommand(), 3,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("hgetall", Type.HGETALL, a -> new HgetallCommand(), 2,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            spec("hincrby", Type.HINCRBY, a -> new HincrbyCommand(), 4,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("hlen", Type.HLEN, a -> new HlenCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("hmget", Type.HMGET, a -> new HmgetCommand(), -3,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("hset", Type.HSET, a -> new HsetCommand(), -4,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("incr", Type.INCR, a -> new IncrCommand(Type.INCR), 2,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("incrby", Type.INCRBY, a -> new IncrCommand(Type.INCRBY), 3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("incrbyfloat", Type.INCRBYFLOAT, a -> new IncrByFloatCommand(), 3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("info", Type.INFO, a -> new InfoCommand(), -1,
+                    EnumSet.noneOf(Flag.class), 0, 0, 0),
+            spec("keys", Type.KEYS, a -> new KeysCommand(), 2,
+                    EnumSet.of(Flag.READONLY), 0, 0, 0),
+            spec("lindex", Type.LINDEX, a -> new LindexCommand(), 3,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            spec("llen", Type.LLEN, a -> new LlenCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("lpop", Type.LPOP, a -> new LpopCommand(Type.LPOP), -2,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, 1, 1),
+            spec("lpush", Type.LPUSH, a -> new LpushCommand(Type.LPUSH), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("lrange", Type.LRANGE, a -> new LrangeCommand(), 4,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            spec("ltrim", Type.LTRIM, a -> new LtrimCommand(), 4,
+                    EnumSet.of(Flag.WRITE), 1, 1, 1),
+            spec("mget", Type.MGET, a -> new MgetCommand(), -2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, -1, 1),
+            spec("mset", Type.MSET, a -> new MsetCommand(Type.MSET), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, -1, 2),
+            spec("msetnx", Type.MSETNX, a -> new MsetCommand(Type.MSETNX), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, -1, 2),
+            spec("ping", Type.PING, a -> new PingCommand(), -1,
+                    EnumSet.of(Flag.FAST), 0, 0, 0),
+            spec("psync", Type.PSYNC, a -> new PsyncCommand(), 3,
+                    EnumSet.of(Flag.ADMIN), 0, 0, 0),
+            spec("replconf", Type.REPLCONF, CommandTable::newReplConfCommand, -1,
+                    EnumSet.of(Flag.ADMIN), 0, 0, 0),
+            spec("rpop", Type.RPOP, a -> new LpopCommand(Type.RPOP), -2,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, 1, 1),
+            spec("rpush", Type.RPUSH, a -> new LpushCommand(Type.RPUSH), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("sadd", Type.SADD, a -> new SaddCommand(), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("scan", Type.SCAN, a -> new ScanCommand(), -2,
+                    EnumSet.of(Flag.READONLY), 0, 0, 0),
+            spec("scard", Type.SCARD, a -> new ScardCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("sdiff", Type.SDIFF, a -> new SunionCommand(Type.SDIFF), -2,
+                    EnumSet.of(Flag.READONLY), 1, -1, 1),
+            spec("sdiffstore", Type.SDIFFSTORE, a -> new SunionCommand(Type.SDIFFSTORE), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, -1, 1),
+            spec("set", Type.SET, a -> new SetCommand(), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, 1, 1),
+            spec("sinter", Type.SINTER, a -> new SinterCommand(Type.SINTER), -2,
+                    EnumSet.of(Flag.READONLY), 1, -1, 1),
+            spec("sinterstore", Type.SINTERSTORE, a -> new SinterCommand(Type.SINTERSTORE), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, -1, 1),
+            spec("sismember", Type.SISMEMBER, a -> new SismemberCommand(), 3,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("smembers", Type.SMEMBERS, a -> new SmembersCommand(), 2,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            spec("srem", Type.SREM, a -> new SremCommand(), -3,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, 1, 1),
+            spec("sunion", Type.SUNION, a -> new SunionCommand(Type.SUNION), -2,
+                    EnumSet.of(Flag.READONLY), 1, -1, 1),
+            spec("sunionstore", Type.SUNIONSTORE, a -> new SunionCommand(Type.SUNIONSTORE), -3,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM), 1, -1, 1),
+            spec("type", Type.TYPE, a -> new TypeCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("unlink", Type.UNLINK, a -> new DelCommand(Type.UNLINK), -2,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, -1, 1),
+            spec("wait", Type.WAIT, a -> new WaitCommand(), 3,
+                    EnumSet.of(Flag.BLOCKING), 0, 0, 0),
+            spec("xadd", Type.XADD, a -> new XaddCommand(), -5,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("xrange", Type.XRANGE, a -> new XrangeCommand(), -4,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            // the keys of XREAD follow the STREAMS option, so they are not at fixed positions
+            spec("xread", Type.XREAD, a -> new XreadCommand(), -4,
+                    EnumSet.of(Flag.READONLY, Flag.BLOCKING), 0, 0, 0),
+            spec("zadd", Type.ZADD, a -> new ZaddCommand(), -4,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("zcard", Type.ZCARD, a -> new ZcardCommand(), 2,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("zincrby", Type.ZINCRBY, a -> new ZincrbyCommand(), 4,
+                    EnumSet.of(Flag.WRITE, Flag.DENYOOM, Flag.FAST), 1, 1, 1),
+            spec("zrange", Type.ZRANGE, a -> new ZrangeCommand(), -4,
+                    EnumSet.of(Flag.READONLY), 1, 1, 1),
+            spec("zrank", Type.ZRANK, a -> new ZrankCommand(), -3,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            spec("zrem", Type.ZREM, a -> new ZremCommand(), -3,
+                    EnumSet.of(Flag.WRITE, Flag.FAST), 1, 1, 1),
+            spec("zscore", Type.ZSCORE, a -> new ZscoreCommand(), 3,
+                    EnumSet.of(Flag.READONLY, Flag.FAST), 1, 1, 1),
+            // special non-standard commands
+            spec("eof", Type.EOF, a -> new EofCommand(), 1,
+                    EnumSet.of(Flag.ADMIN), 0, 0, 0),
+            spec("terminate", Type.TERMINATE, a -> new TerminateCommand(), 1,
+                    EnumSet.of(Flag.ADMIN), 0, 0, 0)));
+
+    private final CommandSpec[] table;
+    private final int mask;
+    private final List<CommandSpec> specs;
+    // the spec of each command type, indexed by ordinal
+    private final CommandSpec[] specsByType = new CommandSpec[Type.values().length];
+
+    CommandTable(Collection<CommandSpec> specs) {
+        this.specs = Collections.unmodifiableList(new ArrayList<>(specs));
+        // keep the load factor at most 1/4 so that most lookups compare a single entry
+        int size = Integer.highestOneBit(Math.max(4, specs.size() * 4) - 1) << 1;
+        table = new CommandSpec[size];
+        mask = size - 1;
+        for (CommandSpec spec : specs) {
+            int i = hash(spec.name()) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = spec;
+            specsByType[spec.type().ordinal()] = spec;
+        }
+    }
+
+    private static CommandSpec spec(String name, Type type,
+            Function<RespArrayValue, RedisCommand> factory, int arity, Set<Flag> flags,
+            int firstKey, int lastKey, int keyStep) {
+        return new CommandSpec(name, type, factory, arity, Collections.unmodifiableSet(flags),
+                firstKey, lastKey, keyStep);
+    }
+
+    private static RedisCommand newReplConfCommand(RespArrayValue array) {
+        // if the array was read from a ClientConnection input stream, then it
+        // carries the context of the start bytes offset for ReplConf GETACK command
+        // - otherwise, just default to 0L
+        if (array.getContext() == null) {
+            return new ReplConfCommand(null, 0L);
+        }
+        return new ReplConfCommand(array.getContext().getClientConnection(),
+                array.getContext().getStartBytesOffset());
+    }
+
+    /**
+     * @return all the command specs
+     */
+    public List<CommandSpec> getSpecs() {
+        return specs;
+    }
+
+    /**
+     * @return the command spec for the command type, or null if the type has no spec
+     */
+    public CommandSpec lookup(Type type) {
+        return specsByType[type.ordinal()];
+    }
+
+    /**
+     * Look up the command for the command name value, ignoring case.
+     *
+     * @return the command spec, or null for an unknown command
+     */
+    public CommandSpec lookup(RespValue nameValue) {
+        if (nameValue instanceof RespBulkString bulkString && !bulkString.isNullValue()) {
+            return lookup(bulkString.getValue());
+        }
+        String name = nameValue == null ? null : nameValue.getValueAsString();
+        return name != null ? lookup(name) : null;
+    }
+
+    public CommandSpec lookup(byte[] name) {
+        int i = hash(name) & mask;
+        CommandSpec spec;
+        while ((spec = table[i]) != null) {
+            if (equalsIgnoreCase(spec.name(), name)) {
+                return spec;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public CommandSpec lookup(CharSequence name) {
+        int i = hash(name) & mask;
+        CommandSpec spec;
+        while ((spec = table[i]) != null) {
+            if (equalsIgnoreCase(spec.name(), name)) {
+                return spec;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // FNV-1a over the ASCII lower case of the name
+
+    private static int hash(byte[] name) {
+        int h = 0x811c9dc5;
+        for (byte b : name) {
+            h = (h ^ lowerAscii(b)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(CharSequence name) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < name.length(); i++) {
+            h = (h ^ lowerAscii(name.charAt(i))) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int lowerAscii(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c & 0xFF;
+    }
+
+    private static boolean equalsIgnoreCase(String lowerName, byte[] name) {
+        if (lowerName.length() != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (lowerName.charAt(i) != lowerAscii(name[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(String lowerName, CharSequence name) {
+        if (lowerName.length() != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (lowerName.charAt(i) != lowerAscii(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,6 +1,5 @@
 package org.baylight.redis.commands;
 
-import java.util.Map;
 
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespArrayValue;
@@ -8,6 +7,14 @@ import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespValue;
 
 public class ConfigCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.CONFIG.name(), new String[] {
+            ":string", // command name
+            "[get:string set:string resetstat:string]" // action and key
+    });
+    private static final int GET = ARG_READER.slot("get");
+    private static final int SET = ARG_READER.slot("set");
+    private static final int RESETSTAT = ARG_READER.slot("resetstat");
+
     private Action action;
     private String key;
 
@@ -60,19 +67,16 @@ public class ConfigCommand extends RedisCommand {
      */
     @Override
     public void setArgs(RespValue[] args) {
-        ArgReader argReader = new ArgReader(type.name(), new String[] { ":string", // command name
-                "[get:string set:string resetstat:string]" // action and key
-        });
-        Map<String, RespValue> optionsMap = argReader.readArgs(args);
-        if (optionsMap.containsKey("get")) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        if (parsedArgs.has(GET)) {
             action = Action.GET;
-            key = optionsMap.get("get").getValueAsString();
-        } else if (optionsMap.containsKey("set")) {
+            key = parsedArgs.getString(GET);
+        } else if (parsedArgs.has(SET)) {
             action = Action.SET;
-            key = optionsMap.get("set").getValueAsString();
-        } else if (optionsMap.containsKey("resetstat")) {
+            key = parsedArgs.getString(SET);
+        } else if (parsedArgs.has(RESETSTAT)) {
             action = Action.RESETSTAT;
-            key = optionsMap.get("resetstat").getValueAsString();
+            key = parsedArgs.getString(RESETSTAT);
         } else {
             throw new IllegalArgumentException("Unknown CONFIG command action. arguments: " + args);
         }
@@ -0,0 +1,89 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents a DEL or UNLINK command in a Redis server. Both remove the given keys and reply with
+ * the number of keys that were removed. DEL releases the values before it replies, while UNLINK
+ * leaves large values to the lazyfree thread when their off-heap buffers are released explicitly,
+ * see LazyFree.
+ */
+public class DelCommand extends RedisCommand {
+    private static final ArgReader DEL_ARG_READER = newArgReader(Type.DEL);
+    private static final ArgReader UNLINK_ARG_READER = newArgReader(Type.UNLINK);
+    private static final int KEYS = DEL_ARG_READER.slot("1");
+
+    private List<RedisKey> keys = new ArrayList<>();
+
+    private static ArgReader newArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":var" // keys
+        });
+    }
+
+    /**
+     * @param type DEL or UNLINK
+     */
+    public DelCommand(Type type) {
+        super(type);
+    }
+
+    public DelCommand(Type type, List<RedisKey> keys) {
+        super(type);
+        this.keys = keys;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ArgReader argReader = type == Type.UNLINK ? UNLINK_ARG_READER : DEL_ARG_READER;
+        keys = new ArrayList<>();
+        for (RespValue key : argReader.parse(args).getArray(KEYS).getValues()) {
+            keys.add(RedisKey.of(key));
+        }
+    }
+
+    /**
+     * Executes the command by removing the keys in one pass.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of keys that existed and were not expired
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        long removed = 0;
+        for (RedisKey key : keys) {
+            if (type == Type.UNLINK ? service.unlink(key) : service.delete(key)) {
+                removed++;
+            }
+        }
+        return RespInteger.encode(removed);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[keys.size() + 1];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        for (int i = 0; i < keys.size(); i++) {
+            cmdValues[i + 1] = new RespBulkString(keys.get(i).getBytes());
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "DelCommand [type=" + type + ", keys=" + keys + "]";
+    }
+}
@@ -4,6 +4,7 @@ import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 
 /**
  * The `EchoCommand` class is a subclass of the `RedisCommand` class and represents a command to
@@ -66,6 +67,21 @@ public class EchoCommand extends RedisCommand {
         return bulkStringArg != null ? bulkStringArg.asResponse() : RespConstants.NULL;
     }
 
+    /**
+     * Executes the command in a Redis service, writing the bulk string argument to the writer.
+     *
+     * @param service the Redis service to execute the command in
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        if (bulkStringArg != null) {
+            writer.write(bulkStringArg);
+        } else {
+            writer.writeNullBulkString();
+        }
+    }
+
     /**
      * Returns a string representation of the `EchoCommand` object.
      *
@@ -1,18 +1,26 @@
 package org.baylight.redis.commands;
 
-import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 
 /**
  * Represents a GET command in a Redis server. This class is a subclass of RedisCommand and is
  * responsible for setting the command arguments and executing the command.
  */
 public class GetCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.GET.name(), new String[] {
+            ":string", // command name
+            ":string" // key
+    });
+    private static final int KEY = ARG_READER.slot("1");
+
     private RespBulkString key;
 
     /**
@@ -49,32 +57,70 @@ public class GetCommand extends RedisCommand {
      */
     @Override
     public void setArgs(RespValue[] args) {
-        ArgReader argReader = new ArgReader(type.name(), new String[] { ":string", // command name
-                ":string" // key
-        });
-        Map<String, RespValue> optionsMap = argReader.readArgs(args);
-        this.key = optionsMap.get("1").asBulkString();
+        this.key = ARG_READER.parse(args).getBulkString(KEY);
     }
 
     /**
      * Executes the GET command by retrieving the value associated with the specified key from the
      * Redis service. If the key exists and is not expired, the value is returned as a byte array.
-     * If the key does not exist or is expired, null is returned.
+     * If the key does not exist or is expired, null is returned, and if it holds another type, a
+     * WRONGTYPE error.
      * 
      * @param service the Redis service to execute the command on
      * @return the value associated with the key, or null if the key does not exist or is expired
      */
     @Override
     public byte[] execute(RedisServiceBase service) {
-        if (service.containsKey(key.getValueAsString())) {
-            StoredData storedData = service.get(key.getValueAsString());
+        StoredData storedData = getUnexpired(service);
+        if (storedData != null && storedData.getType() != StoredDataType.STRING) {
+            return RespConstants.WRONGTYPE;
+        }
+        return storedData != null ? new RespBulkString(storedData.getValue()).asResponse()
+                : RespConstants.NULL;
+    }
+
+    /**
+     * Executes the GET command and writes the stored value to the writer without copying it into a
+     * response array. An off-heap value is written from the arena, without copying it to the
+     * heap.
+     * 
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = getUnexpired(service);
+        if (storedData != null && storedData.getType() != StoredDataType.STRING) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+        } else if (storedData != null) {
+            writeValue(writer, storedData);
+        } else {
+            writer.writeNullBulkString();
+        }
+    }
+
+    /**
+     * Write a string value as a bulk string, from the arena if the value is off-heap.
+     */
+    static void writeValue(RespWriter writer, StoredData storedData) {
+        if (storedData.isOffHeap()) {
+            writer.writeBulkString(storedData.getOffHeapBuffer());
+        } else {
+            writer.writeBulkString(storedData.getValue());
+        }
+    }
+
+    private StoredData getUnexpired(RedisServiceBase service) {
+        RedisKey redisKey = RedisKey.of(key);
+        if (service.containsKey(redisKey)) {
+            StoredData storedData = service.get(redisKey);
             if (service.isExpired(storedData)) {
-                service.delete(key.getValueAsString());
-                return RespConstants.NULL;
+                service.expireKey(redisKey, storedData);
+                return null;
             }
-            return new RespBulkString(storedData.getValue()).asResponse();
+            return storedData;
         }
-        return RespConstants.NULL;
+        return null;
     }
 
     /**
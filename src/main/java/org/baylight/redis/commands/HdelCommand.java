@@ -0,0 +1,108 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an HDEL command in a Redis server. The fields are removed from the hash, and the key
+ * is removed when its last field is removed.
+ */
+public class HdelCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HDEL.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // fields
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int FIELDS = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> fields = new ArrayList<>();
+
+    public HdelCommand() {
+        super(Type.HDEL);
+    }
+
+    public HdelCommand(RedisKey key, List<RespBulkString> fields) {
+        super(Type.HDEL);
+        this.key = key;
+        this.fields = fields;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getFields() {
+        return fields;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(FIELDS).getValues();
+        fields = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            validateArgIsString(values, i);
+            fields.add(values[i].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by removing the fields of the hash.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of fields that were removed
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespInteger.encode(0);
+        }
+        if (storedData.getType() != StoredDataType.HASH) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisHashData hash = storedData.getHashValue();
+        long prevSize = storedData.getEstimatedSize();
+        long removed = 0;
+        for (RespBulkString field : fields) {
+            if (hash.delete(field.getValue())) {
+                removed++;
+            }
+        }
+        service.updated(storedData, prevSize);
+        if (hash.isEmpty()) {
+            service.delete(key);
+        }
+        return RespInteger.encode(removed);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[fields.size() + 2];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        cmdValues[1] = new RespBulkString(key.getBytes());
+        for (int i = 0; i < fields.size(); i++) {
+            cmdValues[i + 2] = fields.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "HdelCommand [key=" + key + ", fields=" + fields + "]";
+    }
+}
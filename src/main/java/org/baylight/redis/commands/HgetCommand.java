@@ -0,0 +1,72 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an HGET command in a Redis server, which gets the value of a field of a hash.
+ */
+public class HgetCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HGET.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string" // field
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int FIELD = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private RespBulkString field;
+
+    public HgetCommand() {
+        super(Type.HGET);
+    }
+
+    public HgetCommand(RedisKey key, RespBulkString field) {
+        super(Type.HGET);
+        this.key = key;
+        this.field = field;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public RespBulkString getField() {
+        return field;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        field = parsedArgs.getBulkString(FIELD);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return the value of the field, or null if the key or the field does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespConstants.NULL;
+        }
+        if (storedData.getType() != StoredDataType.HASH) {
+            return RespConstants.WRONGTYPE;
+        }
+        byte[] value = storedData.getHashValue().get(field.getValue());
+        return value != null ? new RespBulkString(value).asResponse() : RespConstants.NULL;
+    }
+
+    @Override
+    public String toString() {
+        return "HgetCommand [key=" + key + ", field=" + field + "]";
+    }
+}
@@ -0,0 +1,80 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+
+/**
+ * Represents an HGETALL command in a Redis server, which gets all the fields and values of a hash
+ * as one array of fields each followed by its value.
+ */
+public class HgetallCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HGETALL.name(), new String[] {
+            ":string", // command name
+            ":string" // key
+    });
+    private static final int KEY = ARG_READER.slot("1");
+
+    private RedisKey key;
+
+    public HgetallCommand() {
+        super(Type.HGETALL);
+    }
+
+    public HgetallCommand(RedisKey key) {
+        super(Type.HGETALL);
+        this.key = key;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        key = RedisKey.of(ARG_READER.parse(args).get(KEY));
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes the fields and values of the hash, or an empty array if the
+     * key does not exist.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            writer.writeArrayHeader(0);
+            return;
+        }
+        if (storedData.getType() != StoredDataType.HASH) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisHashData hash = storedData.getHashValue();
+        writer.writeArrayHeader(hash.size() * 2);
+        hash.forEach((field, value) -> {
+            writer.writeBulkString(field);
+            writer.writeBulkString(value);
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "HgetallCommand [key=" + key + "]";
+    }
+}
@@ -0,0 +1,124 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an HINCRBY command in a Redis server. The value of the field is incremented as an
+ * integer, counting from 0 if the field or the key does not exist. The command is deterministic,
+ * so it is replicated as it is.
+ */
+public class HincrbyCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HINCRBY.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string", // field
+            ":string" // increment
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int FIELD = ARG_READER.slot("2");
+    private static final int INCREMENT = ARG_READER.slot("3");
+    static final String NOT_AN_INTEGER = "ERR hash value is not an integer";
+
+    private RedisKey key;
+    private RespBulkString field;
+    private long increment;
+
+    public HincrbyCommand() {
+        super(Type.HINCRBY);
+    }
+
+    public HincrbyCommand(RedisKey key, RespBulkString field, long increment) {
+        super(Type.HINCRBY);
+        this.key = key;
+        this.field = field;
+        this.increment = increment;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public RespBulkString getField() {
+        return field;
+    }
+
+    public long getIncrement() {
+        return increment;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        field = parsedArgs.getBulkString(FIELD);
+        Long value = parsedArgs.get(INCREMENT).getValueAsLong();
+        if (value == null) {
+            throw new IllegalArgumentException(IncrCommand.NOT_AN_INTEGER);
+        }
+        increment = value;
+    }
+
+    /**
+     * Executes the command by adding the increment to the value of the field.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the new value, or an error if the value is not an integer or the result overflows
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData != null && storedData.getType() != StoredDataType.HASH) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisHashData hash = storedData != null ? storedData.getHashValue() : new RedisHashData();
+        long value = 0L;
+        byte[] prevValue = hash.get(field.getValue());
+        if (prevValue != null) {
+            Long longValue = StoredData.parseCanonicalLong(prevValue);
+            if (longValue == null) {
+                return new RespSimpleErrorValue(NOT_AN_INTEGER).asResponse();
+            }
+            value = longValue;
+        }
+        long result;
+        try {
+            result = Math.addExact(value, increment);
+        } catch (ArithmeticException e) {
+            return new RespSimpleErrorValue(IncrCommand.OVERFLOW).asResponse();
+        }
+        if (storedData == null) {
+            hash.set(field.getValue(), Long.toString(result).getBytes());
+            service.set(key, StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+        } else {
+            long prevSize = storedData.getEstimatedSize();
+            hash.set(field.getValue(), Long.toString(result).getBytes());
+            service.updated(storedData, prevSize);
+        }
+        return RespInteger.encode(result);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        return new RespArrayValue(new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                field,
+                new RespBulkString(Long.toString(increment).getBytes()) }).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "HincrbyCommand [key=" + key + ", field=" + field + ", increment=" + increment
+                + "]";
+    }
+}
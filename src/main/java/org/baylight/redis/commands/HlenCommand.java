@@ -0,0 +1,61 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an HLEN command in a Redis server, which gets the number of fields of a hash.
+ */
+public class HlenCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HLEN.name(), new String[] {
+            ":string", // command name
+            ":string" // key
+    });
+    private static final int KEY = ARG_READER.slot("1");
+
+    private RedisKey key;
+
+    public HlenCommand() {
+        super(Type.HLEN);
+    }
+
+    public HlenCommand(RedisKey key) {
+        super(Type.HLEN);
+        this.key = key;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        key = RedisKey.of(ARG_READER.parse(args).get(KEY));
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return the number of fields, or 0 if the key does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespInteger.encode(0);
+        }
+        if (storedData.getType() != StoredDataType.HASH) {
+            return RespConstants.WRONGTYPE;
+        }
+        return RespInteger.encode(storedData.getHashValue().size());
+    }
+
+    @Override
+    public String toString() {
+        return "HlenCommand [key=" + key + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+
+/**
+ * Represents an HMGET command in a Redis server, which gets the values of several fields of a
+ * hash in one array response.
+ */
+public class HmgetCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HMGET.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // fields
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int FIELDS = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> fields = new ArrayList<>();
+
+    public HmgetCommand() {
+        super(Type.HMGET);
+    }
+
+    public HmgetCommand(RedisKey key, List<RespBulkString> fields) {
+        super(Type.HMGET);
+        this.key = key;
+        this.fields = fields;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getFields() {
+        return fields;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(FIELDS).getValues();
+        fields = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            validateArgIsString(values, i);
+            fields.add(values[i].asBulkString());
+        }
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes an array with the value of each field, or a null bulk string
+     * for a field that does not exist. A key that does not exist is an empty hash.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData != null && storedData.getType() != StoredDataType.HASH) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisHashData hash = storedData != null ? storedData.getHashValue() : null;
+        writer.writeArrayHeader(fields.size());
+        for (RespBulkString field : fields) {
+            writer.writeBulkString(hash != null ? hash.get(field.getValue()) : null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HmgetCommand [key=" + key + ", fields=" + fields + "]";
+    }
+}
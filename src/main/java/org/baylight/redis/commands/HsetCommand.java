@@ -0,0 +1,126 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an HSET command in a Redis server. The field value pairs are set in a hash, which is
+ * created if the key does not exist. A new hash starts with the compact listpack encoding, see
+ * RedisHashData.
+ */
+public class HsetCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.HSET.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // field value pairs
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int PAIRS = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> fields = new ArrayList<>();
+    private List<RespBulkString> values = new ArrayList<>();
+
+    public HsetCommand() {
+        super(Type.HSET);
+    }
+
+    public HsetCommand(RedisKey key, List<RespBulkString> fields, List<RespBulkString> values) {
+        super(Type.HSET);
+        this.key = key;
+        this.fields = fields;
+        this.values = values;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getFields() {
+        return fields;
+    }
+
+    public List<RespBulkString> getValues() {
+        return values;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        RespValue[] pairs = parsedArgs.getArray(PAIRS).getValues();
+        if (pairs.length % 2 == 1) {
+            throw new IllegalArgumentException("ERR wrong number of arguments for 'hset' command");
+        }
+        key = RedisKey.of(parsedArgs.get(KEY));
+        fields = new ArrayList<>(pairs.length / 2);
+        values = new ArrayList<>(pairs.length / 2);
+        for (int i = 0; i < pairs.length; i += 2) {
+            validateArgIsString(pairs, i);
+            validateArgIsString(pairs, i + 1);
+            fields.add(pairs[i].asBulkString());
+            values.add(pairs[i + 1].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by setting the fields of the hash.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of fields that were added
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            RedisHashData hash = new RedisHashData();
+            long added = setFields(hash);
+            service.set(key, StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+            return RespInteger.encode(added);
+        }
+        if (storedData.getType() != StoredDataType.HASH) {
+            return RespConstants.WRONGTYPE;
+        }
+        long prevSize = storedData.getEstimatedSize();
+        long added = setFields(storedData.getHashValue());
+        service.updated(storedData, prevSize);
+        return RespInteger.encode(added);
+    }
+
+    private long setFields(RedisHashData hash) {
+        long added = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (hash.set(fields.get(i).getValue(), values.get(i).getValue())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[fields.size() * 2 + 2];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        cmdValues[1] = new RespBulkString(key.getBytes());
+        for (int i = 0; i < fields.size(); i++) {
+            cmdValues[2 * i + 2] = fields.get(i);
+            cmdValues[2 * i + 3] = values.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "HsetCommand [key=" + key + ", fields=" + fields + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package org.baylight.redis.commands;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an INCRBYFLOAT command in a Redis server. The value of the key and the increment are
+ * read as doubles, and the sum is stored as its shortest decimal string without an exponent or
+ * trailing zeros, so a whole sum is stored as an integer. A key that does not exist counts from 0,
+ * and the expiry of an existing key is kept.
+ *
+ * Like redis, the command is replicated as a SET of the sum with KEEPTTL, so that a follower does
+ * not depend on the floating point formatting to get the same value.
+ */
+public class IncrByFloatCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.INCRBYFLOAT.name(),
+            new String[] {
+                    ":string", // command name
+                    ":string", // key
+                    ":string" // increment
+            });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int INCREMENT = ARG_READER.slot("2");
+    // a decimal number, without the hex, infinity and type suffix forms of Double.parseDouble
+    private static final Pattern FLOAT_PATTERN = Pattern
+            .compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    static final String NOT_A_FLOAT = "ERR value is not a valid float";
+    static final String NAN_OR_INFINITY = "ERR increment would produce NaN or Infinity";
+
+    private RedisKey key;
+    private double increment;
+    // the value that was set by the last execute, or null if it failed
+    private byte[] result;
+
+    public IncrByFloatCommand() {
+        super(Type.INCRBYFLOAT);
+    }
+
+    public IncrByFloatCommand(RedisKey key, double increment) {
+        super(Type.INCRBYFLOAT);
+        this.key = key;
+        this.increment = increment;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public double getIncrement() {
+        return increment;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        Double value = parseDouble(parsedArgs.getString(INCREMENT));
+        if (value == null) {
+            throw new IllegalArgumentException(NOT_A_FLOAT);
+        }
+        increment = value;
+    }
+
+    /**
+     * @return the value of a decimal number, or null if the string is not one or is out of range
+     */
+    static Double parseDouble(String s) {
+        if (s == null || !FLOAT_PATTERN.matcher(s).matches()) {
+            return null;
+        }
+        double value = Double.parseDouble(s);
+        return Double.isFinite(value) ? value : null;
+    }
+
+    /**
+     * @return the shortest decimal string that parses back to the value, without an exponent or
+     *         trailing zeros
+     */
+    static String formatDouble(double value) {
+        if (value == 0.0) {
+            // including -0.0
+            return "0";
+        }
+        return new BigDecimal(Double.toString(value)).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Executes the command by adding the increment to the value of the key.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the new value as a bulk string, or an error if the value is not a number or the sum
+     *         is not finite
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        result = null;
+        StoredData storedData = service.getUnexpired(key);
+        double value = 0.0;
+        long expiresAt = StoredData.NO_EXPIRY;
+        if (storedData != null) {
+            if (storedData.getType() != StoredDataType.STRING) {
+                return RespConstants.WRONGTYPE;
+            }
+            Long longValue = storedData.getLongValue();
+            Double doubleValue = longValue != null ? (Double) longValue.doubleValue()
+                    : parseDouble(new String(storedData.getValue()));
+            if (doubleValue == null) {
+                return new RespSimpleErrorValue(NOT_A_FLOAT).asResponse();
+            }
+            value = doubleValue;
+            expiresAt = storedData.getExpiresAt();
+        }
+        double sum = value + increment;
+        if (!Double.isFinite(sum)) {
+            return new RespSimpleErrorValue(NAN_OR_INFINITY).asResponse();
+        }
+        byte[] sumBytes = formatDouble(sum).getBytes();
+        service.set(key, StoredData.ofString(sumBytes, expiresAt));
+        result = sumBytes;
+        return new RespBulkString(sumBytes).asResponse();
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = result != null ? new RespValue[] {
+                new RespBulkString(Type.SET.name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(result),
+                new RespBulkString("keepttl".getBytes()) } : new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(formatDouble(increment).getBytes()) };
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "IncrByFloatCommand [key=" + key + ", increment=" + increment + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an INCR, INCRBY, DECR or DECRBY command in a Redis server. The value of the key is
+ * read as a number from its INT encoding and the result is stored as a number again, so a counter
+ * is never parsed from or formatted to its digits. A key that does not exist counts from 0, and
+ * the expiry of an existing key is kept. The command is deterministic, so it is replicated as it
+ * is.
+ */
+public class IncrCommand extends RedisCommand {
+    private static final ArgReader INCR_ARG_READER = newArgReader(Type.INCR, false);
+    private static final ArgReader INCRBY_ARG_READER = newArgReader(Type.INCRBY, true);
+    private static final ArgReader DECR_ARG_READER = newArgReader(Type.DECR, false);
+    private static final ArgReader DECRBY_ARG_READER = newArgReader(Type.DECRBY, true);
+    private static final int KEY = INCRBY_ARG_READER.slot("1");
+    private static final int INCREMENT = INCRBY_ARG_READER.slot("2");
+    static final String NOT_AN_INTEGER = "ERR value is not an integer or out of range";
+    static final String OVERFLOW = "ERR increment or decrement would overflow";
+
+    private RedisKey key;
+    private long increment = 1L;
+
+    private static ArgReader newArgReader(Type type, boolean hasIncrement) {
+        return new ArgReader(type.name(), hasIncrement ? new String[] {
+                ":string", // command name
+                ":string", // key
+                ":string" // increment
+        } : new String[] {
+                ":string", // command name
+                ":string" // key
+        });
+    }
+
+    /**
+     * @param type INCR, INCRBY, DECR or DECRBY
+     */
+    public IncrCommand(Type type) {
+        super(type);
+    }
+
+    /**
+     * @param increment the increment for INCRBY or the decrement for DECRBY, which is ignored for
+     *                  INCR and DECR
+     */
+    public IncrCommand(Type type, RedisKey key, long increment) {
+        super(type);
+        this.key = key;
+        this.increment = hasIncrement() ? increment : 1L;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public long getIncrement() {
+        return increment;
+    }
+
+    private boolean hasIncrement() {
+        return type == Type.INCRBY || type == Type.DECRBY;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ArgReader argReader = switch (type) {
+        case INCRBY -> INCRBY_ARG_READER;
+        case DECR -> DECR_ARG_READER;
+        case DECRBY -> DECRBY_ARG_READER;
+        default -> INCR_ARG_READER;
+        };
+        ParsedArgs parsedArgs = argReader.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        if (hasIncrement()) {
+            Long value = parsedArgs.get(INCREMENT).getValueAsLong();
+            if (value == null) {
+                throw new IllegalArgumentException(NOT_AN_INTEGER);
+            }
+            increment = value;
+        } else {
+            increment = 1L;
+        }
+    }
+
+    /**
+     * Executes the command by adding the increment to the value of the key, or subtracting it for
+     * DECR and DECRBY.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the new value, or an error if the value is not an integer or the result overflows
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        long value = 0L;
+        long expiresAt = StoredData.NO_EXPIRY;
+        if (storedData != null) {
+            if (storedData.getType() != StoredDataType.STRING) {
+                return RespConstants.WRONGTYPE;
+            }
+            Long longValue = storedData.getLongValue();
+            if (longValue == null) {
+                return new RespSimpleErrorValue(NOT_AN_INTEGER).asResponse();
+            }
+            value = longValue;
+            expiresAt = storedData.getExpiresAt();
+        }
+        long result;
+        try {
+            boolean decrement = type == Type.DECR || type == Type.DECRBY;
+            result = decrement ? Math.subtractExact(value, increment)
+                    : Math.addExact(value, increment);
+        } catch (ArithmeticException e) {
+            return new RespSimpleErrorValue(OVERFLOW).asResponse();
+        }
+        service.set(key, StoredData.ofLong(result, expiresAt));
+        return RespInteger.encode(result);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = hasIncrement() ? new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(Long.toString(increment).getBytes()) } : new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()) };
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "IncrCommand [type=" + type + ", key=" + key + ", increment=" + increment + "]";
+    }
+}
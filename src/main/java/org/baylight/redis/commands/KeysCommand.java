@@ -1,15 +1,24 @@
 package org.baylight.redis.commands;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.keyspace.GlobMatcher;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespValue;
 
 public class KeysCommand extends RedisCommand {
-        private String paramString;
+    private static final ArgReader ARG_READER = new ArgReader(Type.KEYS.name(), new String[] {
+            ":string", // command name
+            ":string" // param
+    });
+    private static final int PARAM = ARG_READER.slot("1");
+
+    private String paramString;
+    private GlobMatcher matcher;
 
     /**
      * Constructs a new KeysCommand object with the KEYS command type.
@@ -26,6 +35,7 @@ public class KeysCommand extends RedisCommand {
     public KeysCommand(String paramString) {
         super(Type.KEYS);
         this.paramString = paramString;
+        this.matcher = GlobMatcher.compile(paramString);
     }
 
     /**
@@ -45,24 +55,26 @@ public class KeysCommand extends RedisCommand {
      */
     @Override
     public void setArgs(RespValue[] args) {
-        ArgReader argReader = new ArgReader(type.name(), new String[] { ":string", // command name
-                ":string" // param
-        });
-        Map<String, RespValue> optionsMap = argReader.readArgs(args);
-        this.paramString = optionsMap.get("1").getValueAsString();
+        RespBulkString param = ARG_READER.parse(args).getBulkString(PARAM);
+        this.paramString = param.getValueAsString();
+        this.matcher = GlobMatcher.compile(param.getValue());
     }
 
     /**
-     * Executes the KEYS command by retrieving the value associated with the specified key from the
-     * Redis service. If the key exists and is not expired, the value is returned as a byte array.
-     * If the key does not exist or is expired, null is returned.
+     * Executes the KEYS command by returning all the keys that match the glob pattern. All the keys
+     * are visited in one call, so SCAN should be preferred for a large keyspace.
      * 
      * @param service the Redis service to execute the command on
-     * @return the value associated with the key, or null if the key does not exist or is expired
+     * @return the array of matching keys
      */
     @Override
     public byte[] execute(RedisServiceBase service) {
-        List<RespBulkString> keys = service.getKeys().stream().map(String::getBytes).map(RespBulkString::new).toList();
+        List<RespValue> keys = new ArrayList<>();
+        for (RedisKey key : service.getKeys()) {
+            if (matcher.matches(key.getBytes())) {
+                keys.add(new RespBulkString(key.getBytes()));
+            }
+        }
         return new RespArrayValue(keys.toArray(new RespValue[0])).asResponse();
     }
 
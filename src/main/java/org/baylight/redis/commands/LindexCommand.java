@@ -0,0 +1,73 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an LINDEX command in a Redis server, which gets the element of a list at an index.
+ * A negative index counts from the tail of the list.
+ */
+public class LindexCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.LINDEX.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":int" // index
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int INDEX = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private long index;
+
+    public LindexCommand() {
+        super(Type.LINDEX);
+    }
+
+    public LindexCommand(RedisKey key, long index) {
+        super(Type.LINDEX);
+        this.key = key;
+        this.index = index;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        index = parsedArgs.getLong(INDEX, 0L);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return the element, or null if the key does not exist or the index is out of range
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespConstants.NULL;
+        }
+        if (storedData.getType() != StoredDataType.LIST) {
+            return RespConstants.WRONGTYPE;
+        }
+        byte[] element = storedData.getListValue().get(index);
+        return element != null ? new RespBulkString(element).asResponse() : RespConstants.NULL;
+    }
+
+    @Override
+    public String toString() {
+        return "LindexCommand [key=" + key + ", index=" + index + "]";
+    }
+}
@@ -0,0 +1,153 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+
+/**
+ * Represents an LPOP or RPOP command in a Redis server. Without a count it replies with the
+ * element removed from the head or the tail of the list, and with a count with an array of up to
+ * count elements. The key is removed with its last element.
+ */
+public class LpopCommand extends RedisCommand {
+    private static final ArgReader LPOP_ARG_READER = newArgReader(Type.LPOP, false);
+    private static final ArgReader LPOP_COUNT_ARG_READER = newArgReader(Type.LPOP, true);
+    private static final ArgReader RPOP_ARG_READER = newArgReader(Type.RPOP, false);
+    private static final ArgReader RPOP_COUNT_ARG_READER = newArgReader(Type.RPOP, true);
+    private static final int KEY = LPOP_COUNT_ARG_READER.slot("1");
+    private static final int COUNT = LPOP_COUNT_ARG_READER.slot("2");
+
+    private RedisKey key;
+    // the number of elements to pop, or null to pop one element without an array
+    private Long count;
+
+    private static ArgReader newArgReader(Type type, boolean hasCount) {
+        return new ArgReader(type.name(), hasCount ? new String[] {
+                ":string", // command name
+                ":string", // key
+                ":int" // count
+        } : new String[] {
+                ":string", // command name
+                ":string" // key
+        });
+    }
+
+    /**
+     * @param type LPOP or RPOP
+     */
+    public LpopCommand(Type type) {
+        super(type);
+    }
+
+    public LpopCommand(Type type, RedisKey key, Long count) {
+        super(type);
+        this.key = key;
+        this.count = count;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        boolean hasCount = args.length > 2;
+        ArgReader argReader = type == Type.RPOP
+                ? (hasCount ? RPOP_COUNT_ARG_READER : RPOP_ARG_READER)
+                : (hasCount ? LPOP_COUNT_ARG_READER : LPOP_ARG_READER);
+        ParsedArgs parsedArgs = argReader.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        count = hasCount ? parsedArgs.getLong(COUNT, 1L) : null;
+        if (count != null && count < 0) {
+            throw new IllegalArgumentException("ERR value is out of range, must be positive");
+        }
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes the popped element, or with a count an array of the popped
+     * elements. A key that does not exist is a null reply.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            writer.writeBytes(count == null ? RespConstants.NULL : RespConstants.NULL_ARRAY);
+            return;
+        }
+        if (storedData.getType() != StoredDataType.LIST) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        List<byte[]> elements = pop(service, key, storedData, type == Type.LPOP,
+                count == null ? 1L : count);
+        if (count == null) {
+            writer.writeBulkString(elements.get(0));
+            return;
+        }
+        writer.writeArrayHeader(elements.size());
+        for (byte[] element : elements) {
+            writer.writeBulkString(element);
+        }
+    }
+
+    /**
+     * Pop elements from the head or the tail of a list, and remove the key if the list is left
+     * empty.
+     *
+     * @return the elements in the order they were popped
+     */
+    static List<byte[]> pop(RedisServiceBase service, RedisKey key, StoredData storedData,
+            boolean left, long count) {
+        RedisListData list = storedData.getListValue();
+        long prevSize = storedData.getEstimatedSize();
+        List<byte[]> elements = new ArrayList<>((int) Math.min(count, list.size()));
+        while (elements.size() < count && !list.isEmpty()) {
+            elements.add(list.pop(left));
+        }
+        service.updated(storedData, prevSize);
+        if (list.isEmpty()) {
+            service.delete(key);
+        }
+        return elements;
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = count == null ? new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()) } : new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(Long.toString(count).getBytes()) };
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "LpopCommand [type=" + type + ", key=" + key + ", count=" + count + "]";
+    }
+}
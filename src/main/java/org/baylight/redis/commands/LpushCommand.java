@@ -0,0 +1,123 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.streams.StreamsWaitManager;
+
+/**
+ * Represents an LPUSH or RPUSH command in a Redis server. The elements are pushed one after the
+ * other at the head or the tail of the list, which is created if the key does not exist, and the
+ * clients blocked in BLPOP or BRPOP on the key are woken up.
+ */
+public class LpushCommand extends RedisCommand {
+    private static final ArgReader LPUSH_ARG_READER = newArgReader(Type.LPUSH);
+    private static final ArgReader RPUSH_ARG_READER = newArgReader(Type.RPUSH);
+    private static final int KEY = LPUSH_ARG_READER.slot("1");
+    private static final int ELEMENTS = LPUSH_ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> elements = new ArrayList<>();
+
+    private static ArgReader newArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":string", // key
+                ":var" // elements
+        });
+    }
+
+    /**
+     * @param type LPUSH or RPUSH
+     */
+    public LpushCommand(Type type) {
+        super(type);
+    }
+
+    public LpushCommand(Type type, RedisKey key, List<RespBulkString> elements) {
+        super(type);
+        this.key = key;
+        this.elements = elements;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getElements() {
+        return elements;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = (type == Type.RPUSH ? RPUSH_ARG_READER : LPUSH_ARG_READER)
+                .parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(ELEMENTS).getValues();
+        elements = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            validateArgIsString(values, i);
+            elements.add(values[i].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by pushing the elements.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the length of the list after the push
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        boolean left = type == Type.LPUSH;
+        RedisListData list;
+        if (storedData == null) {
+            list = new RedisListData();
+            pushAll(list, left);
+            service.set(key, StoredData.ofList(list, StoredData.NO_EXPIRY));
+        } else if (storedData.getType() != StoredDataType.LIST) {
+            return RespConstants.WRONGTYPE;
+        } else {
+            list = storedData.getListValue();
+            long prevSize = storedData.getEstimatedSize();
+            pushAll(list, left);
+            service.updated(storedData, prevSize);
+        }
+        StreamsWaitManager.INSTANCE.addNotify(key.toString());
+        return RespInteger.encode(list.size());
+    }
+
+    private void pushAll(RedisListData list, boolean left) {
+        for (RespBulkString element : elements) {
+            list.push(left, element.getValue());
+        }
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[elements.size() + 2];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        cmdValues[1] = new RespBulkString(key.getBytes());
+        for (int i = 0; i < elements.size(); i++) {
+            cmdValues[i + 2] = elements.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "LpushCommand [type=" + type + ", key=" + key + ", elements=" + elements.size()
+                + "]";
+    }
+}
@@ -0,0 +1,96 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+
+/**
+ * Represents an LRANGE command in a Redis server, which gets the elements of a list from index
+ * start to index stop, inclusive. Negative indexes count from the tail of the list.
+ */
+public class LrangeCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.LRANGE.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":int", // start
+            ":int" // stop
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int START = ARG_READER.slot("2");
+    private static final int STOP = ARG_READER.slot("3");
+
+    private RedisKey key;
+    private long start;
+    private long stop;
+
+    public LrangeCommand() {
+        super(Type.LRANGE);
+    }
+
+    public LrangeCommand(RedisKey key, long start, long stop) {
+        super(Type.LRANGE);
+        this.key = key;
+        this.start = start;
+        this.stop = stop;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getStop() {
+        return stop;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        start = parsedArgs.getLong(START, 0L);
+        stop = parsedArgs.getLong(STOP, 0L);
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes the elements in the range, or an empty array if the key
+     * does not exist.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            writer.writeArrayHeader(0);
+            return;
+        }
+        if (storedData.getType() != StoredDataType.LIST) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisListData list = storedData.getListValue();
+        writer.writeArrayHeader(list.rangeSize(start, stop));
+        list.range(start, stop, writer::writeBulkString);
+    }
+
+    @Override
+    public String toString() {
+        return "LrangeCommand [key=" + key + ", start=" + start + ", stop=" + stop + "]";
+    }
+}
@@ -0,0 +1,91 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an LTRIM command in a Redis server, which keeps only the elements of a list from
+ * index start to index stop, inclusive. The key is removed if no element is kept.
+ */
+public class LtrimCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.LTRIM.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":int", // start
+            ":int" // stop
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int START = ARG_READER.slot("2");
+    private static final int STOP = ARG_READER.slot("3");
+
+    private RedisKey key;
+    private long start;
+    private long stop;
+
+    public LtrimCommand() {
+        super(Type.LTRIM);
+    }
+
+    public LtrimCommand(RedisKey key, long start, long stop) {
+        super(Type.LTRIM);
+        this.key = key;
+        this.start = start;
+        this.stop = stop;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        start = parsedArgs.getLong(START, 0L);
+        stop = parsedArgs.getLong(STOP, 0L);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return OK, also if the key does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespConstants.OK;
+        }
+        if (storedData.getType() != StoredDataType.LIST) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisListData list = storedData.getListValue();
+        long prevSize = storedData.getEstimatedSize();
+        list.trim(start, stop);
+        service.updated(storedData, prevSize);
+        if (list.isEmpty()) {
+            service.delete(key);
+        }
+        return RespConstants.OK;
+    }
+
+    @Override
+    public byte[] asCommand() {
+        return new RespArrayValue(new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(Long.toString(start).getBytes()),
+                new RespBulkString(Long.toString(stop).getBytes()) }).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "LtrimCommand [key=" + key + ", start=" + start + ", stop=" + stop + "]";
+    }
+}
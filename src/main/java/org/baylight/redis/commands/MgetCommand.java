@@ -0,0 +1,84 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+
+/**
+ * Represents an MGET command in a Redis server. The values of all the keys are looked up in one
+ * pass and written as one array response, so a client can replace many GET round trips with one
+ * command.
+ */
+public class MgetCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.MGET.name(), new String[] {
+            ":string", // command name
+            ":var" // keys
+    });
+    private static final int KEYS = ARG_READER.slot("1");
+
+    private List<RedisKey> keys = new ArrayList<>();
+
+    public MgetCommand() {
+        super(Type.MGET);
+    }
+
+    public MgetCommand(List<RedisKey> keys) {
+        super(Type.MGET);
+        this.keys = keys;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        keys = new ArrayList<>();
+        for (RespValue key : ARG_READER.parse(args).getArray(KEYS).getValues()) {
+            keys.add(RedisKey.of(key));
+        }
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the MGET command and writes an array with the value of each key, or a null bulk
+     * string for a key that does not exist, is expired or does not hold a string. The values are
+     * written from the stored arrays and the off-heap arena without copying them.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        writer.writeArrayHeader(keys.size());
+        for (RedisKey key : keys) {
+            StoredData storedData = service.get(key);
+            if (storedData != null && service.isExpired(storedData)) {
+                service.expireKey(key, storedData);
+                storedData = null;
+            }
+            if (storedData == null || storedData.getType() != StoredDataType.STRING) {
+                writer.writeNullBulkString();
+            } else {
+                GetCommand.writeValue(writer, storedData);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MgetCommand [keys=" + keys + "]";
+    }
+}
@@ -0,0 +1,111 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an MSET or MSETNX command in a Redis server. All the key value pairs are set in one
+ * pass while holding the command lock, so no other command sees a part of them. MSETNX sets none
+ * of the keys if any of them already exists. The command is replicated as one command with all
+ * the pairs.
+ */
+public class MsetCommand extends RedisCommand {
+    private static final ArgReader MSET_ARG_READER = newArgReader(Type.MSET);
+    private static final ArgReader MSETNX_ARG_READER = newArgReader(Type.MSETNX);
+    private static final int PAIRS = MSET_ARG_READER.slot("1");
+
+    private List<RedisKey> keys = new ArrayList<>();
+    private List<RespBulkString> values = new ArrayList<>();
+
+    private static ArgReader newArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":var" // key value pairs
+        });
+    }
+
+    /**
+     * @param type MSET or MSETNX
+     */
+    public MsetCommand(Type type) {
+        super(type);
+    }
+
+    public MsetCommand(Type type, List<RedisKey> keys, List<RespBulkString> values) {
+        super(type);
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    public List<RespBulkString> getValues() {
+        return values;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ArgReader argReader = type == Type.MSETNX ? MSETNX_ARG_READER : MSET_ARG_READER;
+        RespValue[] pairs = argReader.parse(args).getArray(PAIRS).getValues();
+        if (pairs.length % 2 == 1) {
+            throw new IllegalArgumentException(String.format(
+                    "ERR wrong number of arguments for '%s' command", type.name().toLowerCase()));
+        }
+        keys = new ArrayList<>(pairs.length / 2);
+        values = new ArrayList<>(pairs.length / 2);
+        for (int i = 0; i < pairs.length; i += 2) {
+            validateArgIsString(pairs, i + 1);
+            keys.add(RedisKey.of(pairs[i]));
+            values.add(pairs[i + 1].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by setting all the keys without an expiry.
+     *
+     * @param service the Redis service to execute the command on
+     * @return OK for MSET, and for MSETNX 1 if the keys were set or 0 if any of them existed
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        if (type == Type.MSETNX) {
+            for (RedisKey key : keys) {
+                if (service.containsUnexpiredKey(key)) {
+                    return RespInteger.encode(0);
+                }
+            }
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            service.set(keys.get(i),
+                    StoredData.ofString(values.get(i).getValue(), StoredData.NO_EXPIRY));
+        }
+        return type == Type.MSETNX ? RespInteger.encode(1) : RespConstants.OK;
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[keys.size() * 2 + 1];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        for (int i = 0; i < keys.size(); i++) {
+            cmdValues[2 * i + 1] = new RespBulkString(keys.get(i).getBytes());
+            cmdValues[2 * i + 2] = values.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "MsetCommand [type=" + type + ", keys=" + keys + "]";
+    }
+}
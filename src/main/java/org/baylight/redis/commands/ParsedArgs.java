@@ -0,0 +1,73 @@
+package org.baylight.redis.commands;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * The args of a command, parsed by an {@link ArgReader} into the fixed slots of its compiled arg
+ * spec. Commands get the slot of each arg from the reader once, and then read the values by slot
+ * instead of looking them up by name.
+ */
+public class ParsedArgs {
+    private final ArgReader reader;
+    private final RespValue[] values;
+
+    ParsedArgs(ArgReader reader, RespValue[] values) {
+        this.reader = reader;
+        this.values = values;
+    }
+
+    /**
+     * @return true if the arg was given. An option without a value is given as
+     *         RespConstants.NULL_VALUE.
+     */
+    public boolean has(int slot) {
+        return values[slot] != null;
+    }
+
+    public RespValue get(int slot) {
+        return values[slot];
+    }
+
+    public String getString(int slot) {
+        return values[slot] != null ? values[slot].getValueAsString() : null;
+    }
+
+    public RespBulkString getBulkString(int slot) {
+        return values[slot] != null ? values[slot].asBulkString() : null;
+    }
+
+    public long getLong(int slot, long defaultValue) {
+        if (values[slot] == null) {
+            return defaultValue;
+        }
+        // the value was already validated by the reader for int args
+        return values[slot].getValueAsLong();
+    }
+
+    public RespArrayValue getArray(int slot) {
+        return (RespArrayValue) values[slot];
+    }
+
+    /**
+     * @return the args as a map with unnamed positional args keyed by index
+     */
+    public Map<String, RespValue> toMap() {
+        Map<String, RespValue> map = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                map.put(reader.getSlotName(i), values[i]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedArgs " + toMap();
+    }
+}
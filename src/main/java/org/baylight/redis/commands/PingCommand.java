@@ -3,6 +3,7 @@ package org.baylight.redis.commands;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
 
 public class PingCommand extends RedisCommand {
@@ -13,7 +14,7 @@ public class PingCommand extends RedisCommand {
 
     @Override
     public byte[] execute(RedisServiceBase service) {
-        return "+PONG\r\n".getBytes();
+        return RespConstants.PONG;
     }
 
     @Override
@@ -7,28 +7,33 @@ import java.util.function.Function;
 
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 
 public abstract class RedisCommand {
     public enum Type {
-        CONFIG, DEL, ECHO, GET, INFO, KEYS, PING, PSYNC, REPLCONF, SET, TYPE, WAIT, XADD, XRANGE,
-        XREAD,
+        BLPOP, BRPOP, CONFIG, DECR, DECRBY, DEL, ECHO, GET, HDEL, HGET, HGETALL, HINCRBY, HLEN,
+        HMGET, HSET, INCR, INCRBY, INCRBYFLOAT, INFO, KEYS, LINDEX, LLEN, LPOP, LPUSH, LRANGE,
+        LTRIM, MGET, MSET, MSETNX, PING, PSYNC, REPLCONF, RPOP, RPUSH, SADD, SCAN, SCARD, SDIFF,
+        SDIFFSTORE, SET, SINTER, SINTERSTORE, SISMEMBER, SMEMBERS, SREM, SUNION, SUNIONSTORE,
+        TYPE, UNLINK, WAIT, XADD, XRANGE, XREAD, ZADD, ZCARD, ZINCRBY, ZRANGE, ZRANK, ZREM,
+        ZSCORE,
         // Folling are non-standard commands for baylight
         EOF, // close a client connection
         TERMINATE; // close all connections and kill the server
 
         static Type of(String command) {
-            try {
-                return Type.valueOf(command);
-            } catch (Exception e) {
-                return null;
-            }
+            CommandTable.CommandSpec spec = CommandTable.INSTANCE.lookup(command);
+            return spec != null ? spec.type() : null;
         }
     }
 
     protected final Type type;
+    // resolved when the command is created, so the flags are not looked up by name per command
+    private final CommandTable.CommandSpec spec;
 
     public RedisCommand(Type type) {
         this.type = type;
+        this.spec = CommandTable.INSTANCE.lookup(type);
     }
 
     public Type getType() {
@@ -36,13 +41,29 @@ public abstract class RedisCommand {
     }
 
     public boolean isReplicatedCommand() {
-        return type == Type.SET || type == Type.DEL;
+        return switch (type) {
+        case SET, DEL, UNLINK, MSET, MSETNX -> true;
+        case INCR, INCRBY, DECR, DECRBY, INCRBYFLOAT -> true;
+        case HSET, HDEL, HINCRBY -> true;
+        case LPUSH, RPUSH, LPOP, RPOP, LTRIM -> true;
+        case ZADD, ZINCRBY, ZREM -> true;
+        case SADD, SREM, SINTERSTORE, SUNIONSTORE, SDIFFSTORE -> true;
+        default -> false;
+        };
     }
 
     public boolean isBlockingCommand() {
         return false;
     }
 
+    /**
+     * @return true if the command may add data, so it is rejected when the used memory is over
+     *         the maxmemory limit and no keys can be evicted
+     */
+    public boolean isDenyOomCommand() {
+        return spec != null && spec.hasFlag(CommandTable.Flag.DENYOOM);
+    }
+
     protected void setArgs(RespValue[] args) {
         // ignore by default
     }
@@ -82,6 +103,21 @@ public abstract class RedisCommand {
 
     public abstract byte[] execute(RedisServiceBase service);
 
+    /**
+     * Execute the command and write the response to the writer. Commands that return large values
+     * override this to write the value buffers directly instead of encoding a response array. By
+     * default it writes the response of {@link #execute(RedisServiceBase)}.
+     *
+     * @param service the service to execute the command in
+     * @param writer  the writer for the response
+     */
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        byte[] response = execute(service);
+        if (response != null && response.length > 0) {
+            writer.writeBytes(response);
+        }
+    }
+
     public abstract String toString();
 
     public byte[] asCommand() {
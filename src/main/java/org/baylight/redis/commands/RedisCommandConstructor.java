@@ -2,8 +2,6 @@ package org.baylight.redis.commands;
 
 import java.io.IOException;
 
-import org.baylight.redis.EofCommand;
-import org.baylight.redis.TerminateCommand;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespType;
 import org.baylight.redis.protocol.RespValue;
@@ -45,51 +43,15 @@ public class RedisCommandConstructor {
      * @return The RedisCommand object representing the parsed Redis command.
      */
     RedisCommand getCommand(RespArrayValue array) {
-        // if the array was read from a ClientConnection input stream, then it
-        // carries the context of the start bytes offset for ReplConf GETACK command
-        // - otherwise, just default to 0L
-        long arrayStartBytesOffset = array.getContext() == null ? 0L
-                : array.getContext().getStartBytesOffset();
-        String command = getCommandName(array.getValues()[0]);
-        RedisCommand.Type commandType = RedisCommand.Type.of(command);
-        RedisCommand redisCommand = switch (commandType) {
-        case CONFIG -> new ConfigCommand();
-        case ECHO -> new EchoCommand();
-        case GET -> new GetCommand();
-        case INFO -> new InfoCommand();
-        case KEYS -> new KeysCommand();
-        case PING -> new PingCommand();
-        case PSYNC -> new PsyncCommand();
-        case REPLCONF -> new ReplConfCommand(array.getContext().getClientConnection(), arrayStartBytesOffset);
-        case SET -> new SetCommand();
-        case TYPE -> new TypeCommand();
-        case WAIT -> new WaitCommand();
-        case XADD -> new XaddCommand();
-        case XRANGE -> new XrangeCommand();
-        case XREAD -> new XreadCommand();
-        // special non-standard commands
-        case EOF -> new EofCommand();
-        case TERMINATE -> new TerminateCommand();
-        case null, default -> {
-            System.out.println("Unknown command: " + command);
-            yield null;
-        }
-        };
-        if (redisCommand != null) {
-            redisCommand.setArgs(array.getValues());
+        RespValue nameValue = array.getValues()[0];
+        CommandTable.CommandSpec spec = CommandTable.INSTANCE.lookup(nameValue);
+        if (spec == null) {
+            System.out.println("Unknown command: " + nameValue.getValueAsString());
+            return null;
         }
+        RedisCommand redisCommand = spec.newCommand(array);
+        redisCommand.setArgs(array.getValues());
         return redisCommand;
     }
 
-    /**
-     * Returns the name of the Redis command as an uppercase string.
-     *
-     * @param value The RespValue object containing the Redis command name.
-     * @return The name of the Redis command as a string.
-     */
-    String getCommandName(RespValue value) {
-        String name = value.getValueAsString();
-        return name != null ? name.toUpperCase() : null;
-    }
-
 }
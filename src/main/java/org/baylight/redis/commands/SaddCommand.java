@@ -0,0 +1,112 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.sets.RedisSetData;
+
+/**
+ * Represents an SADD command in a Redis server. The members are added to the set, which is created
+ * if the key does not exist.
+ */
+public class SaddCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.SADD.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // members
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int MEMBERS = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> members = new ArrayList<>();
+
+    public SaddCommand() {
+        super(Type.SADD);
+    }
+
+    public SaddCommand(RedisKey key, List<RespBulkString> members) {
+        super(Type.SADD);
+        this.key = key;
+        this.members = members;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getMembers() {
+        return members;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(MEMBERS).getValues();
+        members = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            validateArgIsString(values, i);
+            members.add(values[i].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by adding the members to the set.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of members that were added, not counting the members already in the set
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        long added;
+        if (storedData == null) {
+            RedisSetData set = new RedisSetData();
+            added = addAll(set);
+            service.set(key, StoredData.ofSet(set, StoredData.NO_EXPIRY));
+        } else if (storedData.getType() != StoredDataType.SET) {
+            return RespConstants.WRONGTYPE;
+        } else {
+            long prevSize = storedData.getEstimatedSize();
+            added = addAll(storedData.getSetValue());
+            service.updated(storedData, prevSize);
+        }
+        return RespInteger.encode(added);
+    }
+
+    private long addAll(RedisSetData set) {
+        long added = 0;
+        for (RespBulkString member : members) {
+            if (set.add(member.getValue())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[members.size() + 2];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        cmdValues[1] = new RespBulkString(key.getBytes());
+        for (int i = 0; i < members.size(); i++) {
+            cmdValues[i + 2] = members.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "SaddCommand [key=" + key + ", members=" + members + "]";
+    }
+}
@@ -0,0 +1,130 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.keyspace.GlobMatcher;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents a SCAN command in a Redis server. SCAN returns a few keys per call with a cursor for
+ * the next call, so iterating a large keyspace does not block the server. The cursor is stateless:
+ * it is the position in the keyspace table, see KeyspaceDict.
+ */
+public class ScanCommand extends RedisCommand {
+    public static final int DEFAULT_COUNT = 10;
+    private static final ArgReader ARG_READER = new ArgReader(Type.SCAN.name(), new String[] {
+            ":string", // command name
+            ":string", // cursor
+            "[match:string]",
+            "[count:int]",
+            "[type:string]"
+    });
+    private static final int CURSOR = ARG_READER.slot("1");
+    private static final int MATCH = ARG_READER.slot("match");
+    private static final int COUNT = ARG_READER.slot("count");
+    private static final int TYPE = ARG_READER.slot("type");
+
+    private long cursor;
+    private GlobMatcher matcher = GlobMatcher.MATCH_ALL;
+    private long count = DEFAULT_COUNT;
+    private String typeName;
+
+    public ScanCommand() {
+        super(Type.SCAN);
+    }
+
+    public ScanCommand(long cursor, String pattern, long count, String typeName) {
+        super(Type.SCAN);
+        this.cursor = cursor;
+        this.matcher = pattern != null ? GlobMatcher.compile(pattern) : GlobMatcher.MATCH_ALL;
+        this.count = count;
+        this.typeName = typeName;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        try {
+            // the cursor is an unsigned 64 bit number
+            cursor = Long.parseUnsignedLong(parsedArgs.getString(CURSOR));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ERR invalid cursor");
+        }
+        if (parsedArgs.has(MATCH)) {
+            matcher = GlobMatcher.compile(parsedArgs.getBulkString(MATCH).getValue());
+        }
+        count = parsedArgs.getLong(COUNT, DEFAULT_COUNT);
+        if (count < 1) {
+            throw new IllegalArgumentException("ERR syntax error");
+        }
+        typeName = parsedArgs.getString(TYPE);
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Executes the SCAN command by visiting the buckets of the keyspace from the cursor, until
+     * count keys were found or ten times count buckets were visited. The keys that do not match
+     * the pattern or the type are filtered after they are visited, so a call may return fewer keys
+     * than count, or none, before the scan is complete.
+     *
+     * @param service the Redis service to execute the command on
+     * @return an array with the next cursor, which is 0 when the scan is complete, and the keys
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        List<RedisKey> keys = new ArrayList<>();
+        List<StoredData> values = new ArrayList<>();
+        long nextCursor = cursor;
+        long maxIterations = count * 10;
+        do {
+            nextCursor = service.scan(nextCursor, entry -> {
+                keys.add(entry.getKey());
+                values.add(entry.getValue());
+            });
+        } while (nextCursor != 0 && maxIterations-- > 0 && keys.size() < count);
+
+        List<RespValue> result = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            RedisKey key = keys.get(i);
+            StoredData storedData = values.get(i);
+            if (service.isExpired(storedData)) {
+                service.expireKey(key, storedData);
+                continue;
+            }
+            if (!matcher.matches(key.getBytes())) {
+                continue;
+            }
+            if (typeName != null && !typeName.equalsIgnoreCase(
+                    storedData.getType().getTypeResponse().getValueAsString())) {
+                continue;
+            }
+            result.add(new RespBulkString(key.getBytes()));
+        }
+        return new RespArrayValue(new RespValue[] {
+                new RespBulkString(Long.toUnsignedString(nextCursor).getBytes()),
+                new RespArrayValue(result.toArray(new RespValue[0])) }).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "ScanCommand [cursor=" + Long.toUnsignedString(cursor) + ", count=" + count
+                + ", type=" + typeName + "]";
+    }
+}
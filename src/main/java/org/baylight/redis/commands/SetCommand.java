@@ -1,12 +1,12 @@
 package org.baylight.redis.commands;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
@@ -19,16 +19,39 @@ import org.baylight.redis.protocol.RespValue;
 public class SetCommand extends RedisCommand {
 
     // Args reader specification for SET command
-    private static ArgReader ARG_READER = new ArgReader(Type.SET.name(), new String[] {
+    private static final ArgReader ARG_READER = new ArgReader(Type.SET.name(), new String[] {
             ":string", // command name
             ":string", // key
             ":string", // value
-            "[nx, xx]",
+            "[nx xx]",
             "[get]",
-            "[ex:int px:int exat:int pxatt:int keepttl]"
+            "[ex:int px:int exat:int pxat:int keepttl]"
     });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int VALUE = ARG_READER.slot("2");
+    private static final int NX = ARG_READER.slot("nx");
+    private static final int XX = ARG_READER.slot("xx");
+    private static final int GET = ARG_READER.slot("get");
+    private static final int KEEPTTL = ARG_READER.slot("keepttl");
+    private static final ExpireOption[] EXPIRE_OPTIONS = ExpireOption.values();
+    private static final int[] EXPIRE_SLOTS = new int[] {
+            ARG_READER.slot("ex"),
+            ARG_READER.slot("px"),
+            ARG_READER.slot("exat"),
+            ARG_READER.slot("pxat")
+    };
+
+    enum ExpireOption {
+        EX, PX, EXAT, PXAT
+    }
 
-    Map<String, RespValue> optionsMap = new HashMap<>();
+    boolean nx;
+    boolean xx;
+    boolean get;
+    boolean keepTtl;
+    // null if the command has no expire option
+    ExpireOption expireOption;
+    long expireValue;
 
     RespBulkString key;
     RespBulkString value;
@@ -43,15 +66,6 @@ public class SetCommand extends RedisCommand {
         this.value = value;
     }
 
-    /**
-     * Get the options for the command.
-     * 
-     * @return the optionsMap
-     */
-    Map<String, RespValue> getOptionsMap() {
-        return optionsMap;
-    }
-
     /**
      * Get the key to set.
      * 
@@ -73,15 +87,26 @@ public class SetCommand extends RedisCommand {
     /**
      * Sets the arguments for the SET command.
      * 
-     * This method reads the arguments from the given RespValue array and sets the optionsMap, key, and value variables accordingly.
+     * This method reads the arguments from the given RespValue array and sets the key, value and option fields accordingly.
      * 
      * @param args the RespValue array containing the arguments for the SET command
      */
     @Override
     public void setArgs(RespValue[] args) {
-        optionsMap = ARG_READER.readArgs(args);
-        key = optionsMap.get("1").asBulkString();
-        value = optionsMap.get("2").asBulkString();
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = parsedArgs.getBulkString(KEY);
+        value = parsedArgs.getBulkString(VALUE);
+        nx = parsedArgs.has(NX);
+        xx = parsedArgs.has(XX);
+        get = parsedArgs.has(GET);
+        keepTtl = parsedArgs.has(KEEPTTL);
+        expireOption = null;
+        for (int i = 0; i < EXPIRE_SLOTS.length; i++) {
+            if (parsedArgs.has(EXPIRE_SLOTS[i])) {
+                expireOption = EXPIRE_OPTIONS[i];
+                expireValue = parsedArgs.getLong(EXPIRE_SLOTS[i], 0L);
+            }
+        }
     }
 
     @Override
@@ -91,24 +116,20 @@ public class SetCommand extends RedisCommand {
         cmdValues.add(key);
         cmdValues.add(value);
 
-        addCommandOption(cmdValues, "nx");
-        addCommandOption(cmdValues, "xx");
-        addCommandOption(cmdValues, "get");
-        addCommandOption(cmdValues, "ex");
-        addCommandOption(cmdValues, "px");
-        addCommandOption(cmdValues, "exat");
-        addCommandOption(cmdValues, "pxatt");
-        addCommandOption(cmdValues, "keppttl");
+        addCommandOption(cmdValues, nx, "nx");
+        addCommandOption(cmdValues, xx, "xx");
+        addCommandOption(cmdValues, get, "get");
+        if (expireOption != null) {
+            addCommandOption(cmdValues, true, expireOption.name().toLowerCase());
+            cmdValues.add(new RespBulkString(String.valueOf(expireValue).getBytes()));
+        }
+        addCommandOption(cmdValues, keepTtl, "keepttl");
         return new RespArrayValue(cmdValues.toArray(new RespValue[] {})).asResponse();
     }
 
-    protected void addCommandOption(List<RespValue> cmdValues, String option) {
-        if (optionsMap.containsKey(option)) {
+    protected void addCommandOption(List<RespValue> cmdValues, boolean isSet, String option) {
+        if (isSet) {
             cmdValues.add(new RespBulkString(option.getBytes()));
-            if (optionsMap.get(option) != RespConstants.NULL_VALUE) {
-                cmdValues.add(
-                        new RespBulkString(optionsMap.get(option).getValueAsString().getBytes()));
-            }
         }
     }
 
@@ -129,58 +150,63 @@ public class SetCommand extends RedisCommand {
      *         If the key is not already stored and the "nx" option is present, null is returned as a bulk string response.
      *         If the key is already stored and the "xx" option is present, null is returned as a bulk string response.
      *         If the "get" option is present and there is an existing value, then the previous value is returned as a bulk string response.
+     *         If the "get" option is present and the existing value is not a string, WRONGTYPE is returned and the key is not updated.
      *         Otherwise, OK is returned as a simple string response.
      */
     @Override
     public byte[] execute(RedisServiceBase service) {
         long now = service.getCurrentTime();
-        String keyString = key.getValueAsString();
+        RedisKey redisKey = RedisKey.of(key);
 
         // only set if it is NOT already stored in the map
-        if (optionsMap.containsKey("nx")) {
-            if (service.containsUnexpiredKey(keyString)) {
+        if (nx) {
+            if (service.containsUnexpiredKey(redisKey)) {
                 return RespConstants.NULL;
             }
         }
         // only set if it is already stored in the map
-        if (optionsMap.containsKey("xx")) {
-            if (!service.containsUnexpiredKey(keyString)) {
+        if (xx) {
+            if (!service.containsUnexpiredKey(redisKey)) {
                 return RespConstants.NULL;
             }
         }
-        boolean doKeepTtl = optionsMap.containsKey("keepttl");
-        boolean doGet = optionsMap.containsKey("get");
-
-        Long ttl = getTtl(now);
-        StoredData prevData = null;
-        if ((doGet || doKeepTtl) && service.containsKey(keyString)) {
-            prevData = service.get(keyString);
-            ttl = doKeepTtl ? prevData.getTtlMillis() : ttl;
+
+        long expiresAt = getExpiresAt(now);
+        byte[] prevValue = null;
+        // an expired key that was not reclaimed yet has no ttl to keep and no value to return
+        StoredData prevData = get || keepTtl ? service.getUnexpired(redisKey) : null;
+        if (prevData != null) {
+            if (get && prevData.getType() != StoredDataType.STRING) {
+                return RespConstants.WRONGTYPE;
+            }
+            expiresAt = keepTtl ? prevData.getExpiresAt() : expiresAt;
+            // read the previous value before it is replaced, since an off-heap value is freed
+            prevValue = get ? prevData.getValue() : null;
         }
-        StoredData storedData = new StoredData(value.getValue(), now, ttl);
-        service.set(keyString, storedData);
-        return (doGet && prevData != null)
-                ? new RespBulkString(prevData.getValue()).asResponse()
+        StoredData storedData = StoredData.ofString(value.getValue(), expiresAt);
+        service.set(redisKey, storedData);
+        return prevValue != null
+                ? new RespBulkString(prevValue).asResponse()
                 : RespConstants.OK;
     }
 
     /**
-     * Calculates the time-to-live (TTL) value for a Redis key based on the options map.
+     * Calculates the absolute expiry time for a Redis key based on the expire option.
      * 
      * @param now the current time in milliseconds
-     * @return the TTL value in milliseconds, or null if no TTL option is present
+     * @return the expiry time in milliseconds, or StoredData.NO_EXPIRY if no expire option is
+     *         present
      */
-    Long getTtl(long now) {
-        if (optionsMap.containsKey("ex")) {
-            return optionsMap.get("ex").getValueAsLong() * 1000;
-        } else if (optionsMap.containsKey("px")) {
-            return optionsMap.get("px").getValueAsLong();
-        } else if (optionsMap.containsKey("exat")) {
-            return optionsMap.get("exat").getValueAsLong() * 1000 - now;
-        } else if (optionsMap.containsKey("pxatt")) {
-            return optionsMap.get("pxatt").getValueAsLong() - now;
+    long getExpiresAt(long now) {
+        if (expireOption == null) {
+            return StoredData.NO_EXPIRY;
         }
-        return null;
+        return switch (expireOption) {
+        case EX -> now + expireValue * 1000;
+        case PX -> now + expireValue;
+        case EXAT -> expireValue * 1000;
+        case PXAT -> expireValue;
+        };
     }
 
     @Override
@@ -0,0 +1,174 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+import org.baylight.redis.sets.RedisSetData;
+
+/**
+ * Represents an SINTER or SINTERSTORE command in a Redis server, which gets the members that are
+ * in all the sets. A key that does not exist is an empty set, so the intersection is empty.
+ * SINTERSTORE stores the members in the destination key instead of returning them, or removes the
+ * destination if there are none.
+ */
+public class SinterCommand extends RedisCommand {
+    private static final ArgReader SINTER_ARG_READER = new ArgReader(Type.SINTER.name(),
+            new String[] {
+                    ":string", // command name
+                    ":var" // keys
+            });
+    private static final ArgReader SINTERSTORE_ARG_READER = newStoreArgReader(Type.SINTERSTORE);
+    private static final int KEYS = SINTER_ARG_READER.slot("1");
+    private static final int STORE_DESTINATION = SINTERSTORE_ARG_READER.slot("1");
+    private static final int STORE_KEYS = SINTERSTORE_ARG_READER.slot("2");
+
+    private RedisKey destination;
+    private List<RedisKey> keys = new ArrayList<>();
+
+    static ArgReader newStoreArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":string", // destination
+                ":var" // keys
+        });
+    }
+
+    /**
+     * @param type SINTER or SINTERSTORE
+     */
+    public SinterCommand(Type type) {
+        super(type);
+    }
+
+    public SinterCommand(Type type, RedisKey destination, List<RedisKey> keys) {
+        super(type);
+        this.destination = destination;
+        this.keys = keys;
+    }
+
+    public RedisKey getDestination() {
+        return destination;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        RespValue[] values;
+        if (type == Type.SINTERSTORE) {
+            ParsedArgs parsedArgs = SINTERSTORE_ARG_READER.parse(args);
+            destination = RedisKey.of(parsedArgs.get(STORE_DESTINATION));
+            values = parsedArgs.getArray(STORE_KEYS).getValues();
+        } else {
+            values = SINTER_ARG_READER.parse(args).getArray(KEYS).getValues();
+        }
+        keys = new ArrayList<>(values.length);
+        for (RespValue key : values) {
+            keys.add(RedisKey.of(key));
+        }
+    }
+
+    /**
+     * Get the sets of the keys.
+     *
+     * @return the sets, with null for a key that does not exist, or null if a key holds another
+     *         type
+     */
+    static List<RedisSetData> getSets(RedisServiceBase service, List<RedisKey> keys) {
+        List<RedisSetData> sets = new ArrayList<>(keys.size());
+        for (RedisKey key : keys) {
+            StoredData storedData = service.getUnexpired(key);
+            if (storedData != null && storedData.getType() != StoredDataType.SET) {
+                return null;
+            }
+            sets.add(storedData != null ? storedData.getSetValue() : null);
+        }
+        return sets;
+    }
+
+    /**
+     * Replace the destination key of a STORE command with the result, or remove it if the result
+     * is empty.
+     *
+     * @return the number of members of the result
+     */
+    static byte[] store(RedisServiceBase service, RedisKey destination, RedisSetData result) {
+        if (result.isEmpty()) {
+            service.delete(destination);
+        } else {
+            service.set(destination, StoredData.ofSet(result, StoredData.NO_EXPIRY));
+        }
+        return RespInteger.encode(result.size());
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command by intersecting the sets. The smallest set is iterated and the others
+     * are probed for each of its members.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response, the members for SINTER or their number for
+     *                SINTERSTORE
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        List<RedisSetData> sets = getSets(service, keys);
+        if (sets == null) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        boolean anyMissing = sets.contains(null);
+        if (type == Type.SINTERSTORE) {
+            RedisSetData result = new RedisSetData();
+            if (!anyMissing) {
+                RedisSetData.intersect(sets, result::add);
+            }
+            writer.writeBytes(store(service, destination, result));
+            return;
+        }
+        List<byte[]> members = new ArrayList<>();
+        if (!anyMissing) {
+            RedisSetData.intersect(sets, members::add);
+        }
+        writer.writeArrayHeader(members.size());
+        members.forEach(writer::writeBulkString);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        int offset = destination != null ? 2 : 1;
+        RespValue[] cmdValues = new RespValue[keys.size() + offset];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        if (destination != null) {
+            cmdValues[1] = new RespBulkString(destination.getBytes());
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            cmdValues[i + offset] = new RespBulkString(keys.get(i).getBytes());
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "SinterCommand [type=" + type + ", destination=" + destination + ", keys=" + keys
+                + "]";
+    }
+}
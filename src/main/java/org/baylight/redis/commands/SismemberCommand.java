@@ -0,0 +1,72 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents an SISMEMBER command in a Redis server, which tests if a member is in a set.
+ */
+public class SismemberCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.SISMEMBER.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string" // member
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int MEMBER = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private RespBulkString member;
+
+    public SismemberCommand() {
+        super(Type.SISMEMBER);
+    }
+
+    public SismemberCommand(RedisKey key, RespBulkString member) {
+        super(Type.SISMEMBER);
+        this.key = key;
+        this.member = member;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public RespBulkString getMember() {
+        return member;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        member = parsedArgs.getBulkString(MEMBER);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return 1 if the member is in the set, or 0 if the key or the member does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespInteger.encode(0);
+        }
+        if (storedData.getType() != StoredDataType.SET) {
+            return RespConstants.WRONGTYPE;
+        }
+        return RespInteger.encode(storedData.getSetValue().contains(member.getValue()) ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "SismemberCommand [key=" + key + ", member=" + member + "]";
+    }
+}
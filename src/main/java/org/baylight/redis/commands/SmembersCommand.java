@@ -0,0 +1,77 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+import org.baylight.redis.sets.RedisSetData;
+
+/**
+ * Represents an SMEMBERS command in a Redis server, which gets all the members of a set. The members
+ * of an intset are in ascending order, and those of a hash set in no particular order.
+ */
+public class SmembersCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.SMEMBERS.name(), new String[] {
+            ":string", // command name
+            ":string" // key
+    });
+    private static final int KEY = ARG_READER.slot("1");
+
+    private RedisKey key;
+
+    public SmembersCommand() {
+        super(Type.SMEMBERS);
+    }
+
+    public SmembersCommand(RedisKey key) {
+        super(Type.SMEMBERS);
+        this.key = key;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        key = RedisKey.of(ARG_READER.parse(args).get(KEY));
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes the members of the set, or an empty array if the key does not
+     * exist.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            writer.writeArrayHeader(0);
+            return;
+        }
+        if (storedData.getType() != StoredDataType.SET) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisSetData set = storedData.getSetValue();
+        writer.writeArrayHeader(set.size());
+        set.forEach(writer::writeBulkString);
+    }
+
+    @Override
+    public String toString() {
+        return "SmembersCommand [key=" + key + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+import org.baylight.redis.sets.RedisSetData;
+
+/**
+ * Represents an SUNION, SUNIONSTORE, SDIFF or SDIFFSTORE command in a Redis server. SUNION gets
+ * the members of any of the sets, and SDIFF the members of the first set that are in none of the
+ * others. A key that does not exist is an empty set. The STORE variants store the members in the
+ * destination key instead of returning them, or remove the destination if there are none.
+ */
+public class SunionCommand extends RedisCommand {
+    private static final ArgReader SUNION_ARG_READER = newArgReader(Type.SUNION);
+    private static final ArgReader SDIFF_ARG_READER = newArgReader(Type.SDIFF);
+    private static final ArgReader SUNIONSTORE_ARG_READER = SinterCommand
+            .newStoreArgReader(Type.SUNIONSTORE);
+    private static final ArgReader SDIFFSTORE_ARG_READER = SinterCommand
+            .newStoreArgReader(Type.SDIFFSTORE);
+    private static final int KEYS = SUNION_ARG_READER.slot("1");
+    private static final int STORE_DESTINATION = SUNIONSTORE_ARG_READER.slot("1");
+    private static final int STORE_KEYS = SUNIONSTORE_ARG_READER.slot("2");
+
+    private RedisKey destination;
+    private List<RedisKey> keys = new ArrayList<>();
+
+    private static ArgReader newArgReader(Type type) {
+        return new ArgReader(type.name(), new String[] {
+                ":string", // command name
+                ":var" // keys
+        });
+    }
+
+    /**
+     * @param type SUNION, SUNIONSTORE, SDIFF or SDIFFSTORE
+     */
+    public SunionCommand(Type type) {
+        super(type);
+    }
+
+    public SunionCommand(Type type, RedisKey destination, List<RedisKey> keys) {
+        super(type);
+        this.destination = destination;
+        this.keys = keys;
+    }
+
+    public RedisKey getDestination() {
+        return destination;
+    }
+
+    public List<RedisKey> getKeys() {
+        return keys;
+    }
+
+    private boolean isStore() {
+        return type == Type.SUNIONSTORE || type == Type.SDIFFSTORE;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        RespValue[] values;
+        if (isStore()) {
+            ParsedArgs parsedArgs = (type == Type.SDIFFSTORE ? SDIFFSTORE_ARG_READER
+                    : SUNIONSTORE_ARG_READER).parse(args);
+            destination = RedisKey.of(parsedArgs.get(STORE_DESTINATION));
+            values = parsedArgs.getArray(STORE_KEYS).getValues();
+        } else {
+            values = (type == Type.SDIFF ? SDIFF_ARG_READER : SUNION_ARG_READER).parse(args)
+                    .getArray(KEYS).getValues();
+        }
+        keys = new ArrayList<>(values.length);
+        for (RespValue key : values) {
+            keys.add(RedisKey.of(key));
+        }
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command by combining the sets into a new set.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response, the members for SUNION and SDIFF or their
+     *                number for the STORE variants
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        List<RedisSetData> sets = SinterCommand.getSets(service, keys);
+        if (sets == null) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisSetData result;
+        if (type == Type.SUNION || type == Type.SUNIONSTORE) {
+            sets.removeIf(Objects::isNull);
+            result = RedisSetData.union(sets);
+        } else if (sets.get(0) == null) {
+            result = new RedisSetData();
+        } else {
+            List<RedisSetData> others = new ArrayList<>(sets.subList(1, sets.size()));
+            others.removeIf(Objects::isNull);
+            result = RedisSetData.difference(sets.get(0), others);
+        }
+        if (isStore()) {
+            writer.writeBytes(SinterCommand.store(service, destination, result));
+            return;
+        }
+        writer.writeArrayHeader(result.size());
+        result.forEach(writer::writeBulkString);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        int offset = destination != null ? 2 : 1;
+        RespValue[] cmdValues = new RespValue[keys.size() + offset];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        if (destination != null) {
+            cmdValues[1] = new RespBulkString(destination.getBytes());
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            cmdValues[i + offset] = new RespBulkString(keys.get(i).getBytes());
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "SunionCommand [type=" + type + ", destination=" + destination + ", keys=" + keys
+                + "]";
+    }
+}
@@ -1,7 +1,7 @@
 package org.baylight.redis.commands;
 
-import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespValue;
@@ -12,10 +12,11 @@ import org.baylight.redis.protocol.RespValue;
  */
 public class TypeCommand extends RedisCommand {
 
-    private static ArgReader ARG_READER = new ArgReader(Type.TYPE.name(), new String[] {
+    private static final ArgReader ARG_READER = new ArgReader(Type.TYPE.name(), new String[] {
             ":string", // command name
             ":string" // key
     });
+    private static final int KEY = ARG_READER.slot("1");
 
     private RespBulkString key;
 
@@ -53,8 +54,7 @@ public class TypeCommand extends RedisCommand {
      */
     @Override
     public void setArgs(RespValue[] args) {
-        Map<String, RespValue> optionsMap = ARG_READER.readArgs(args);
-        this.key = optionsMap.get("1").asBulkString();
+        this.key = ARG_READER.parse(args).getBulkString(KEY);
     }
 
     /**
@@ -67,7 +67,7 @@ public class TypeCommand extends RedisCommand {
      */
     @Override
     public byte[] execute(RedisServiceBase service) {
-        return service.getType(key.getValueAsString()).asResponse();
+        return service.getType(RedisKey.of(key)).asResponse();
     }
 
     /**
@@ -1,21 +1,22 @@
 package org.baylight.redis.commands;
 
-import java.util.Map;
 
 import org.baylight.redis.RedisServiceBase;
-import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
 
 public class WaitCommand extends RedisCommand {
     int numReplicas;
     long timeoutMillis;
 
-    private static ArgReader ARG_READER = new ArgReader(
+    private static final ArgReader ARG_READER = new ArgReader(
         Type.WAIT.name(),
         new String[] { ":string", // command name
                 ":int", // number of replicas to wait for
                 ":int" // timeout in milliseconds
         });
+    private static final int NUM_REPLICAS = ARG_READER.slot("1");
+    private static final int TIMEOUT = ARG_READER.slot("2");
 
     public WaitCommand() {
         super(Type.WAIT);
@@ -49,14 +50,14 @@ public class WaitCommand extends RedisCommand {
     @Override
     public byte[] execute(RedisServiceBase service) {
         int count = service.waitForReplicationServers(numReplicas, timeoutMillis);
-        return new RespInteger(count).asResponse();
+        return RespConstants.integer(count);
     }
 
     @Override
     public void setArgs(RespValue[] args) {
-        Map<String, RespValue> argsMap = ARG_READER.readArgs(args);
-        numReplicas = argsMap.get("1").getValueAsLong().intValue();
-        timeoutMillis = argsMap.get("2").getValueAsLong();
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        numReplicas = (int) parsedArgs.getLong(NUM_REPLICAS, 0L);
+        timeoutMillis = parsedArgs.getLong(TIMEOUT, 0L);
     }
 
     @Override
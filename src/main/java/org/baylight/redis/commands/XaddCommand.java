@@ -5,9 +5,11 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespSimpleErrorValue;
 import org.baylight.redis.protocol.RespValue;
 import org.baylight.redis.streams.IllegalStreamItemIdException;
@@ -15,14 +17,17 @@ import org.baylight.redis.streams.StreamId;
 
 public class XaddCommand extends RedisCommand {
 
-    private static ArgReader ARG_READER = new ArgReader(Type.XADD.name(), new String[] {
+    private static final ArgReader ARG_READER = new ArgReader(Type.XADD.name(), new String[] {
             ":string", // command name
             ":string", // key
             ":string", // itemId
             ":var" // itemMap
     });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int ITEM_ID = ARG_READER.slot("2");
+    private static final int ITEM_MAP = ARG_READER.slot("3");
 
-    private String key;
+    private RedisKey key;
     private String itemId;
     RespValue[] itemMap = null;
 
@@ -32,7 +37,7 @@ public class XaddCommand extends RedisCommand {
 
     public XaddCommand(String key, String itemId) {
         super(Type.XADD);
-        this.key = key;
+        this.key = RedisKey.of(key);
         this.itemId = itemId;
         this.itemMap = new RespValue[0];
     }
@@ -41,6 +46,9 @@ public class XaddCommand extends RedisCommand {
     public byte[] execute(RedisServiceBase service) {
         try {
             StreamId streamId = service.xadd(key, itemId, itemMap);
+            if (streamId == null) {
+                return RespConstants.WRONGTYPE;
+            }
             return new RespBulkString(streamId.getId().getBytes()).asResponse();
         } catch (IllegalStreamItemIdException e) {
             return new RespSimpleErrorValue(e.getMessage()).asResponse();
@@ -55,15 +63,15 @@ public class XaddCommand extends RedisCommand {
 
     @Override
     protected void setArgs(RespValue[] args) {
-        Map<String, RespValue> optionsMap = ARG_READER.readArgs(args);
-        key = optionsMap.get("1").getValueAsString();
-        itemId = optionsMap.get("2").getValueAsString();
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        itemId = parsedArgs.getString(ITEM_ID);
 
-        if (!optionsMap.containsKey("3")) {
+        if (!parsedArgs.has(ITEM_MAP)) {
             throw new IllegalArgumentException(String
                     .format("%s: missing map values", type.name()));
         } else {
-            RespArrayValue itemMapArg = (RespArrayValue) optionsMap.get("3");
+            RespArrayValue itemMapArg = parsedArgs.getArray(ITEM_MAP);
             itemMap = itemMapArg.getValues();
 
             Set<RespValue> itemKeys = new HashSet<>();
@@ -87,7 +95,7 @@ public class XaddCommand extends RedisCommand {
                 + Arrays.toString(itemMap) + "]";
     }
 
-    public String getKey() {
+    public RedisKey getKey() {
         return key;
     }
 
@@ -1,10 +1,11 @@
 package org.baylight.redis.commands;
 
 import java.util.List;
-import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespSimpleErrorValue;
 import org.baylight.redis.protocol.RespValue;
 import org.baylight.redis.streams.IllegalStreamItemIdException;
@@ -12,14 +13,17 @@ import org.baylight.redis.streams.StreamValue;
 
 public class XrangeCommand extends RedisCommand {
 
-    private static ArgReader ARG_READER = new ArgReader(Type.XREAD.name(), new String[] {
+    private static final ArgReader ARG_READER = new ArgReader(Type.XREAD.name(), new String[] {
             ":string", // command name
             ":string", // key
             ":string", // start id
             ":string" // end id
     });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int START = ARG_READER.slot("2");
+    private static final int END = ARG_READER.slot("3");
 
-    private String key;
+    private RedisKey key;
     private String start;
     private String end;
 
@@ -29,7 +33,7 @@ public class XrangeCommand extends RedisCommand {
 
     public XrangeCommand(String key, String start, String end) {
         super(Type.XRANGE);
-        this.key = key;
+        this.key = RedisKey.of(key);
         this.start = start;
         this.end = end;
     }
@@ -38,6 +42,9 @@ public class XrangeCommand extends RedisCommand {
     public byte[] execute(RedisServiceBase service) {
         try {
             List<StreamValue> result = service.xrange(key, start, end);
+            if (result == null) {
+                return RespConstants.WRONGTYPE;
+            }
             RespValue[] resultArray = result.stream().map(StreamValue::asRespArrayValue)
                     .toArray(RespValue[]::new);
             return RespValue.array(resultArray).asResponse();
@@ -57,10 +64,10 @@ public class XrangeCommand extends RedisCommand {
 
     @Override
     protected void setArgs(RespValue[] args) {
-        Map<String, RespValue> optionsMap = ARG_READER.readArgs(args);
-        key = optionsMap.get("1").getValueAsString();
-        start = optionsMap.get("2").getValueAsString();
-        end = optionsMap.get("3").getValueAsString();
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        start = parsedArgs.getString(START);
+        end = parsedArgs.getString(END);
     }
 
     @Override
@@ -68,7 +75,7 @@ public class XrangeCommand extends RedisCommand {
         return "XrangeCommand [key=" + key + ", start=" + start + ", end=" + end + "]";
     }
 
-    public String getKey() {
+    public RedisKey getKey() {
         return key;
     }
 
@@ -2,9 +2,9 @@ package org.baylight.redis.commands;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
@@ -16,13 +16,15 @@ import org.baylight.redis.streams.StreamValue;
 
 public class XreadCommand extends RedisCommand {
 
-    private static ArgReader ARG_READER = new ArgReader(Type.XREAD.name(), new String[] {
+    private static final ArgReader ARG_READER = new ArgReader(Type.XREAD.name(), new String[] {
             ":string", // command name
             "[block:int]", // blocking milliseconds
             "<streams:var>" // streams key required with variable args after it
     });
+    private static final int BLOCK = ARG_READER.slot("block");
+    private static final int STREAMS = ARG_READER.slot("streams");
 
-    private List<String> keys;
+    private List<RedisKey> keys;
     private List<String> startValues;
     private Long timeoutMillis;
 
@@ -33,7 +35,7 @@ public class XreadCommand extends RedisCommand {
         timeoutMillis = null;
     }
 
-    public XreadCommand(List<String> keys, List<String> startValues, Long timeoutMillis) {
+    public XreadCommand(List<RedisKey> keys, List<String> startValues, Long timeoutMillis) {
         super(Type.XREAD);
         this.keys = keys;
         this.startValues = startValues;
@@ -49,6 +51,9 @@ public class XreadCommand extends RedisCommand {
     public byte[] execute(RedisServiceBase service) {
         try {
             List<List<StreamValue>> result = service.xread(keys, startValues, timeoutMillis);
+            if (result == null) {
+                return RespConstants.WRONGTYPE;
+            }
             if (timeoutMillis != null) {
                 // special case if there are no results and timeout was specified, then we need to
                 // return null instead of the empty lists
@@ -60,7 +65,7 @@ public class XreadCommand extends RedisCommand {
             for (int i = 0; i < keys.size(); i++) {
                 List<StreamValue> values = result.get(i);
                 List<RespValue> respValuesForKey = new ArrayList<>();
-                respValuesForKey.add(RespValue.simpleString(keys.get(i)));
+                respValuesForKey.add(RespValue.simpleString(keys.get(i).toString()));
                 respValuesForKey.add(RespValue.array(values.stream()
                         .map(StreamValue::asRespArrayValue).toArray(RespArrayValue[]::new)));
                 resultResp.add(respValuesForKey);
@@ -86,12 +91,12 @@ public class XreadCommand extends RedisCommand {
 
     @Override
     protected void setArgs(RespValue[] args) {
-        Map<String, RespValue> optionsMap = ARG_READER.readArgs(args);
-        if (optionsMap.containsKey("block")) {
-            timeoutMillis = optionsMap.get("block").getValueAsLong();
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        if (parsedArgs.has(BLOCK)) {
+            timeoutMillis = parsedArgs.getLong(BLOCK, 0L);
         }
 
-        RespArrayValue streams = (RespArrayValue) optionsMap.get("streams");
+        RespArrayValue streams = parsedArgs.getArray(STREAMS);
         RespValue[] valuesArray = streams.getValues();
         if (valuesArray.length == 0 || valuesArray.length % 2 == 1) {
             throw new IllegalArgumentException(
@@ -99,7 +104,7 @@ public class XreadCommand extends RedisCommand {
         }
         int n = valuesArray.length / 2;
         for (int i = 0; i < n; i++) {
-            keys.add(valuesArray[i].getValueAsString());
+            keys.add(RedisKey.of(valuesArray[i]));
             startValues.add(valuesArray[n + i].getValueAsString());
         }
     }
@@ -110,7 +115,7 @@ public class XreadCommand extends RedisCommand {
                 + timeoutMillis + "]";
     }
 
-    public List<String> getKeys() {
+    public List<RedisKey> getKeys() {
         return keys;
     }
 
@@ -0,0 +1,240 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+
+/**
+ * Represents a ZADD command in a Redis server, which sets the scores of members of a sorted set,
+ * creating the set if the key does not exist.
+ *
+ * The options come before the score and member pairs: NX only adds new members, XX only updates
+ * existing members, GT and LT only update a score to a greater or lower score, CH counts the
+ * updated members in the reply, and INCR adds the score to the score of a single member like
+ * ZINCRBY.
+ */
+public class ZaddCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZADD.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // options followed by score and member pairs
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int ARGS = ARG_READER.slot("2");
+    static final String NOT_A_FLOAT = "ERR value is not a valid float";
+    static final String NAN_SCORE = "ERR resulting score is not a number (NaN)";
+
+    private RedisKey key;
+    private boolean nx;
+    private boolean xx;
+    private boolean gt;
+    private boolean lt;
+    private boolean ch;
+    private boolean incr;
+    private double[] scores = new double[0];
+    private List<RespBulkString> members = new ArrayList<>();
+
+    public ZaddCommand() {
+        super(Type.ZADD);
+    }
+
+    public ZaddCommand(RedisKey key, double[] scores, List<RespBulkString> members) {
+        super(Type.ZADD);
+        this.key = key;
+        this.scores = scores;
+        this.members = members;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public double[] getScores() {
+        return scores;
+    }
+
+    public List<RespBulkString> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return the score, including inf, +inf and -inf, or null if it is not a float
+     */
+    static Double parseScore(String s) {
+        if (s == null) {
+            return null;
+        }
+        switch (s.toLowerCase()) {
+        case "inf", "+inf":
+            return Double.POSITIVE_INFINITY;
+        case "-inf":
+            return Double.NEGATIVE_INFINITY;
+        default:
+            return IncrByFloatCommand.parseDouble(s);
+        }
+    }
+
+    /**
+     * @return the score as a bulk string value, like the scores in the replies of redis
+     */
+    static byte[] formatScore(double score) {
+        if (Double.isInfinite(score)) {
+            return (score > 0 ? "inf" : "-inf").getBytes();
+        }
+        return IncrByFloatCommand.formatDouble(score).getBytes();
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(ARGS).getValues();
+        int i = 0;
+        for (; i < values.length; i++) {
+            RespValue value = values[i];
+            if (ArgReader.nameEquals("nx", value)) {
+                nx = true;
+            } else if (ArgReader.nameEquals("xx", value)) {
+                xx = true;
+            } else if (ArgReader.nameEquals("gt", value)) {
+                gt = true;
+            } else if (ArgReader.nameEquals("lt", value)) {
+                lt = true;
+            } else if (ArgReader.nameEquals("ch", value)) {
+                ch = true;
+            } else if (ArgReader.nameEquals("incr", value)) {
+                incr = true;
+            } else {
+                break;
+            }
+        }
+        int numPairs = (values.length - i) / 2;
+        if (numPairs == 0 || (values.length - i) % 2 != 0) {
+            throw new IllegalArgumentException("ERR syntax error");
+        }
+        if (nx && xx) {
+            throw new IllegalArgumentException(
+                    "ERR XX and NX options at the same time are not compatible");
+        }
+        if ((gt && lt) || (nx && (gt || lt))) {
+            throw new IllegalArgumentException(
+                    "ERR GT, LT, and/or NX options at the same time are not compatible");
+        }
+        if (incr && numPairs > 1) {
+            throw new IllegalArgumentException(
+                    "ERR INCR option supports a single increment-element pair");
+        }
+        scores = new double[numPairs];
+        members = new ArrayList<>(numPairs);
+        for (int pair = 0; pair < numPairs; i += 2, pair++) {
+            Double score = parseScore(values[i].getValueAsString());
+            if (score == null) {
+                throw new IllegalArgumentException(NOT_A_FLOAT);
+            }
+            scores[pair] = score;
+            validateArgIsString(values, i + 1);
+            members.add(values[i + 1].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by setting the scores.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of members added, with CH also the number of scores changed, or with
+     *         INCR the new score, or null if it was not updated
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        RedisSortedSetData zset;
+        long prevSize = 0L;
+        if (storedData == null) {
+            zset = new RedisSortedSetData();
+        } else if (storedData.getType() != StoredDataType.ZSET) {
+            return RespConstants.WRONGTYPE;
+        } else {
+            zset = storedData.getSortedSetValue();
+            prevSize = storedData.getEstimatedSize();
+        }
+        int added = 0;
+        int changed = 0;
+        Double result = null;
+        for (int i = 0; i < scores.length; i++) {
+            byte[] member = members.get(i).getValue();
+            Double score = zset.getScore(member);
+            double newScore = scores[i];
+            if (score == null) {
+                if (xx) {
+                    continue;
+                }
+            } else {
+                if (nx) {
+                    continue;
+                }
+                if (incr) {
+                    newScore += score;
+                    if (Double.isNaN(newScore)) {
+                        return new RespSimpleErrorValue(NAN_SCORE).asResponse();
+                    }
+                }
+                if ((gt && newScore <= score) || (lt && newScore >= score)) {
+                    continue;
+                }
+            }
+            if (zset.add(member, newScore)) {
+                added++;
+            } else if (newScore != score) {
+                changed++;
+            }
+            result = newScore;
+        }
+        if (storedData == null) {
+            if (!zset.isEmpty()) {
+                service.set(key, StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+            }
+        } else {
+            service.updated(storedData, prevSize);
+        }
+        if (incr) {
+            return result != null ? new RespBulkString(formatScore(result)).asResponse()
+                    : RespConstants.NULL;
+        }
+        return RespInteger.encode(ch ? added + changed : added);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        List<RespValue> cmdValues = new ArrayList<>();
+        cmdValues.add(new RespBulkString(getType().name().getBytes()));
+        cmdValues.add(new RespBulkString(key.getBytes()));
+        String[] options = { nx ? "NX" : null, xx ? "XX" : null, gt ? "GT" : null,
+                lt ? "LT" : null, ch ? "CH" : null, incr ? "INCR" : null };
+        for (String option : options) {
+            if (option != null) {
+                cmdValues.add(new RespBulkString(option.getBytes()));
+            }
+        }
+        for (int i = 0; i < scores.length; i++) {
+            cmdValues.add(new RespBulkString(formatScore(scores[i])));
+            cmdValues.add(members.get(i));
+        }
+        return new RespArrayValue(cmdValues.toArray(new RespValue[0])).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "ZaddCommand [key=" + key + ", members=" + members.size() + ", incr=" + incr + "]";
+    }
+}
@@ -0,0 +1,113 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+
+/**
+ * Represents a ZINCRBY command in a Redis server. The score of the member is incremented, counting
+ * from 0 if the member or the key does not exist. The command is deterministic, so it is
+ * replicated as it is.
+ */
+public class ZincrbyCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZINCRBY.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string", // increment
+            ":string" // member
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int INCREMENT = ARG_READER.slot("2");
+    private static final int MEMBER = ARG_READER.slot("3");
+
+    private RedisKey key;
+    private double increment;
+    private RespBulkString member;
+
+    public ZincrbyCommand() {
+        super(Type.ZINCRBY);
+    }
+
+    public ZincrbyCommand(RedisKey key, double increment, RespBulkString member) {
+        super(Type.ZINCRBY);
+        this.key = key;
+        this.increment = increment;
+        this.member = member;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public double getIncrement() {
+        return increment;
+    }
+
+    public RespBulkString getMember() {
+        return member;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        Double value = ZaddCommand.parseScore(parsedArgs.getString(INCREMENT));
+        if (value == null) {
+            throw new IllegalArgumentException(ZaddCommand.NOT_A_FLOAT);
+        }
+        increment = value;
+        member = parsedArgs.getBulkString(MEMBER);
+    }
+
+    /**
+     * Executes the command by adding the increment to the score of the member.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the new score, or an error if it is not a number
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData != null && storedData.getType() != StoredDataType.ZSET) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisSortedSetData zset = storedData != null ? storedData.getSortedSetValue()
+                : new RedisSortedSetData();
+        Double score = zset.getScore(member.getValue());
+        double result = score != null ? score + increment : increment;
+        if (Double.isNaN(result)) {
+            return new RespSimpleErrorValue(ZaddCommand.NAN_SCORE).asResponse();
+        }
+        if (storedData == null) {
+            zset.add(member.getValue(), result);
+            service.set(key, StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+        } else {
+            long prevSize = storedData.getEstimatedSize();
+            zset.add(member.getValue(), result);
+            service.updated(storedData, prevSize);
+        }
+        return new RespBulkString(ZaddCommand.formatScore(result)).asResponse();
+    }
+
+    @Override
+    public byte[] asCommand() {
+        return new RespArrayValue(new RespValue[] {
+                new RespBulkString(getType().name().getBytes()),
+                new RespBulkString(key.getBytes()),
+                new RespBulkString(ZaddCommand.formatScore(increment)),
+                member }).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "ZincrbyCommand [key=" + key + ", increment=" + increment + ", member=" + member
+                + "]";
+    }
+}
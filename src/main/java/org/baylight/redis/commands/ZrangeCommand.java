@@ -0,0 +1,244 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
+import org.baylight.redis.zsets.RedisSortedSetData;
+
+/**
+ * Represents a ZRANGE command in a Redis server, which gets the members of a sorted set from
+ * start to stop, inclusive. By default start and stop are ranks, and negative ranks count from
+ * the highest member. With BYSCORE they are scores, where a ( prefix excludes the score and -inf
+ * and +inf are unbounded, and with BYLEX they are members, with a [ or ( prefix to include or
+ * exclude the member and - and + for unbounded. REV reverses the order, so start is then the
+ * highest bound. LIMIT skips offset members and returns at most count members of a BYSCORE or
+ * BYLEX range, and WITHSCORES adds the score after each member.
+ */
+public class ZrangeCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZRANGE.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string", // start
+            ":string" // stop
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int START = ARG_READER.slot("2");
+    private static final int STOP = ARG_READER.slot("3");
+    private static final String SYNTAX_ERROR = "ERR syntax error";
+
+    enum By {
+        RANK, SCORE, LEX
+    }
+
+    private RedisKey key;
+    private By by = By.RANK;
+    private boolean rev;
+    private boolean withScores;
+    private long offset = 0L;
+    // the most members of the reply, or a negative count for all of them
+    private long count = -1L;
+    // the ranks of a RANK range, or the range of a SCORE or LEX range
+    private long startRank;
+    private long stopRank;
+    private RedisSortedSetData.Range range;
+
+    public ZrangeCommand() {
+        super(Type.ZRANGE);
+    }
+
+    public ZrangeCommand(RedisKey key, long startRank, long stopRank, boolean rev,
+            boolean withScores) {
+        super(Type.ZRANGE);
+        this.key = key;
+        this.startRank = startRank;
+        this.stopRank = stopRank;
+        this.rev = rev;
+        this.withScores = withScores;
+    }
+
+    public ZrangeCommand(RedisKey key, By by, RedisSortedSetData.Range range, boolean rev,
+            long offset, long count, boolean withScores) {
+        super(Type.ZRANGE);
+        this.key = key;
+        this.by = by;
+        this.range = range;
+        this.rev = rev;
+        this.offset = offset;
+        this.count = count;
+        this.withScores = withScores;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    public RedisSortedSetData.Range getRange() {
+        return range;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        // LIMIT takes two values, so the options are read below instead of by the reader
+        ParsedArgs parsedArgs = ARG_READER.parse(args.length > 4 ? new RespValue[] { args[0],
+                args[1], args[2], args[3] } : args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        boolean hasLimit = false;
+        for (int i = 4; i < args.length; i++) {
+            if (ArgReader.nameEquals("byscore", args[i]) && by == By.RANK) {
+                by = By.SCORE;
+            } else if (ArgReader.nameEquals("bylex", args[i]) && by == By.RANK) {
+                by = By.LEX;
+            } else if (ArgReader.nameEquals("rev", args[i])) {
+                rev = true;
+            } else if (ArgReader.nameEquals("withscores", args[i])) {
+                withScores = true;
+            } else if (ArgReader.nameEquals("limit", args[i]) && i + 2 < args.length) {
+                Long limitOffset = args[i + 1].getValueAsLong();
+                Long limitCount = args[i + 2].getValueAsLong();
+                if (limitOffset == null || limitCount == null) {
+                    throw new IllegalArgumentException(IncrCommand.NOT_AN_INTEGER);
+                }
+                offset = limitOffset;
+                count = limitCount;
+                hasLimit = true;
+                i += 2;
+            } else {
+                throw new IllegalArgumentException(SYNTAX_ERROR);
+            }
+        }
+        if (hasLimit && by == By.RANK) {
+            throw new IllegalArgumentException(
+                    "ERR syntax error, LIMIT is only supported in combination with either BYSCORE or BYLEX");
+        }
+        if (withScores && by == By.LEX) {
+            throw new IllegalArgumentException(
+                    "ERR syntax error, WITHSCORES not supported in combination with BYLEX");
+        }
+        String start = parsedArgs.getString(START);
+        String stop = parsedArgs.getString(STOP);
+        // a reversed range is given from its highest bound
+        String min = rev ? stop : start;
+        String max = rev ? start : stop;
+        switch (by) {
+        case RANK -> {
+            Long startValue = parsedArgs.get(START).getValueAsLong();
+            Long stopValue = parsedArgs.get(STOP).getValueAsLong();
+            if (startValue == null || stopValue == null) {
+                throw new IllegalArgumentException(IncrCommand.NOT_AN_INTEGER);
+            }
+            startRank = startValue;
+            stopRank = stopValue;
+        }
+        case SCORE -> range = parseScoreRange(min, max);
+        case LEX -> range = parseLexRange(min, max);
+        }
+    }
+
+    static RedisSortedSetData.ScoreRange parseScoreRange(String min, String max) {
+        boolean minExclusive = min.startsWith("(");
+        boolean maxExclusive = max.startsWith("(");
+        Double minScore = ZaddCommand.parseScore(minExclusive ? min.substring(1) : min);
+        Double maxScore = ZaddCommand.parseScore(maxExclusive ? max.substring(1) : max);
+        if (minScore == null || maxScore == null) {
+            throw new IllegalArgumentException("ERR min or max is not a float");
+        }
+        return new RedisSortedSetData.ScoreRange(minScore, minExclusive, maxScore, maxExclusive);
+    }
+
+    static RedisSortedSetData.LexRange parseLexRange(String min, String max) {
+        byte[] minBound = parseLexBound(min);
+        byte[] maxBound = parseLexBound(max);
+        if (minBound == null || maxBound == null) {
+            throw new IllegalArgumentException("ERR min or max not valid string range item");
+        }
+        return new RedisSortedSetData.LexRange(minBound, min.startsWith("("), maxBound,
+                max.startsWith("("));
+    }
+
+    private static byte[] parseLexBound(String bound) {
+        if (bound.equals("-")) {
+            return RedisSortedSetData.MIN_LEX;
+        }
+        if (bound.equals("+")) {
+            return RedisSortedSetData.MAX_LEX;
+        }
+        if (bound.startsWith("[") || bound.startsWith("(")) {
+            return bound.substring(1).getBytes();
+        }
+        return null;
+    }
+
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        RespWriter writer = new RespWriter();
+        execute(service, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Executes the command and writes the members in the range, followed by their scores with
+     * WITHSCORES, or an empty array if the key does not exist.
+     *
+     * @param service the Redis service to execute the command on
+     * @param writer  the writer for the response
+     */
+    @Override
+    public void execute(RedisServiceBase service, RespWriter writer) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            writer.writeArrayHeader(0);
+            return;
+        }
+        if (storedData.getType() != StoredDataType.ZSET) {
+            writer.writeBytes(RespConstants.WRONGTYPE);
+            return;
+        }
+        RedisSortedSetData zset = storedData.getSortedSetValue();
+        List<byte[]> values = new ArrayList<>();
+        RedisSortedSetData.MemberVisitor visitor = (member, score) -> {
+            values.add(member);
+            if (withScores) {
+                values.add(ZaddCommand.formatScore(score));
+            }
+        };
+        if (by == By.RANK) {
+            long size = zset.size();
+            long start = startRank < 0 ? Math.max(0L, startRank + size) : startRank;
+            long stop = Math.min(stopRank < 0 ? stopRank + size : stopRank, size - 1);
+            if (start <= stop) {
+                zset.rangeByRank(start, stop, rev, visitor);
+            }
+        } else {
+            zset.rangeByRange(range, rev, offset, count, visitor);
+        }
+        writer.writeArrayHeader(values.size());
+        for (byte[] value : values) {
+            writer.writeBulkString(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ZrangeCommand [key=" + key + ", by=" + by + ", rev=" + rev + ", withScores="
+                + withScores + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+
+/**
+ * Represents a ZRANK command in a Redis server, which gets the rank of a member of a sorted set,
+ * starting at 0 with the lowest score. With WITHSCORE the reply is the rank and the score.
+ */
+public class ZrankCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZRANK.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string", // member
+            "[withscore]"
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int MEMBER = ARG_READER.slot("2");
+    private static final int WITHSCORE = ARG_READER.slot("withscore");
+
+    private RedisKey key;
+    private RespBulkString member;
+    private boolean withScore;
+
+    public ZrankCommand() {
+        super(Type.ZRANK);
+    }
+
+    public ZrankCommand(RedisKey key, RespBulkString member, boolean withScore) {
+        super(Type.ZRANK);
+        this.key = key;
+        this.member = member;
+        this.withScore = withScore;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public RespBulkString getMember() {
+        return member;
+    }
+
+    public boolean isWithScore() {
+        return withScore;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        member = parsedArgs.getBulkString(MEMBER);
+        withScore = parsedArgs.has(WITHSCORE);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return the rank, or null if the key or the member does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return withScore ? RespConstants.NULL_ARRAY : RespConstants.NULL;
+        }
+        if (storedData.getType() != StoredDataType.ZSET) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisSortedSetData zset = storedData.getSortedSetValue();
+        long rank = zset.rank(member.getValue(), false);
+        if (rank < 0) {
+            return withScore ? RespConstants.NULL_ARRAY : RespConstants.NULL;
+        }
+        if (!withScore) {
+            return RespInteger.encode(rank);
+        }
+        return new RespArrayValue(new RespValue[] { new RespInteger(rank),
+                new RespBulkString(ZaddCommand.formatScore(zset.getScore(member.getValue()))) })
+                .asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "ZrankCommand [key=" + key + ", member=" + member + "]";
+    }
+}
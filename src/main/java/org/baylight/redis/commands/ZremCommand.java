@@ -0,0 +1,108 @@
+package org.baylight.redis.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+
+/**
+ * Represents a ZREM command in a Redis server. The members are removed from the sorted set, and
+ * the key is removed when its last member is removed.
+ */
+public class ZremCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZREM.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":var" // members
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int MEMBERS = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private List<RespBulkString> members = new ArrayList<>();
+
+    public ZremCommand() {
+        super(Type.ZREM);
+    }
+
+    public ZremCommand(RedisKey key, List<RespBulkString> members) {
+        super(Type.ZREM);
+        this.key = key;
+        this.members = members;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public List<RespBulkString> getMembers() {
+        return members;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        RespValue[] values = parsedArgs.getArray(MEMBERS).getValues();
+        members = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            validateArgIsString(values, i);
+            members.add(values[i].asBulkString());
+        }
+    }
+
+    /**
+     * Executes the command by removing the members of the sorted set.
+     *
+     * @param service the Redis service to execute the command on
+     * @return the number of members that were removed
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespInteger.encode(0);
+        }
+        if (storedData.getType() != StoredDataType.ZSET) {
+            return RespConstants.WRONGTYPE;
+        }
+        RedisSortedSetData zset = storedData.getSortedSetValue();
+        long prevSize = storedData.getEstimatedSize();
+        long removed = 0;
+        for (RespBulkString member : members) {
+            if (zset.delete(member.getValue())) {
+                removed++;
+            }
+        }
+        service.updated(storedData, prevSize);
+        if (zset.isEmpty()) {
+            service.delete(key);
+        }
+        return RespInteger.encode(removed);
+    }
+
+    @Override
+    public byte[] asCommand() {
+        RespValue[] cmdValues = new RespValue[members.size() + 2];
+        cmdValues[0] = new RespBulkString(getType().name().getBytes());
+        cmdValues[1] = new RespBulkString(key.getBytes());
+        for (int i = 0; i < members.size(); i++) {
+            cmdValues[i + 2] = members.get(i);
+        }
+        return new RespArrayValue(cmdValues).asResponse();
+    }
+
+    @Override
+    public String toString() {
+        return "ZremCommand [key=" + key + ", members=" + members + "]";
+    }
+}
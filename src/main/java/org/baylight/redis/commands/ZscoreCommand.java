@@ -0,0 +1,74 @@
+package org.baylight.redis.commands;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataType;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+
+/**
+ * Represents a ZSCORE command in a Redis server, which gets the score of a member of a sorted
+ * set.
+ */
+public class ZscoreCommand extends RedisCommand {
+    private static final ArgReader ARG_READER = new ArgReader(Type.ZSCORE.name(), new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string" // member
+    });
+    private static final int KEY = ARG_READER.slot("1");
+    private static final int MEMBER = ARG_READER.slot("2");
+
+    private RedisKey key;
+    private RespBulkString member;
+
+    public ZscoreCommand() {
+        super(Type.ZSCORE);
+    }
+
+    public ZscoreCommand(RedisKey key, RespBulkString member) {
+        super(Type.ZSCORE);
+        this.key = key;
+        this.member = member;
+    }
+
+    public RedisKey getKey() {
+        return key;
+    }
+
+    public RespBulkString getMember() {
+        return member;
+    }
+
+    @Override
+    public void setArgs(RespValue[] args) {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        key = RedisKey.of(parsedArgs.get(KEY));
+        member = parsedArgs.getBulkString(MEMBER);
+    }
+
+    /**
+     * @param service the Redis service to execute the command on
+     * @return the score, or null if the key or the member does not exist
+     */
+    @Override
+    public byte[] execute(RedisServiceBase service) {
+        StoredData storedData = service.getUnexpired(key);
+        if (storedData == null) {
+            return RespConstants.NULL;
+        }
+        if (storedData.getType() != StoredDataType.ZSET) {
+            return RespConstants.WRONGTYPE;
+        }
+        Double score = storedData.getSortedSetValue().getScore(member.getValue());
+        return score != null ? new RespBulkString(ZaddCommand.formatScore(score)).asResponse()
+                : RespConstants.NULL;
+    }
+
+    @Override
+    public String toString() {
+        return "ZscoreCommand [key=" + key + ", member=" + member + "]";
+    }
+}
@@ -0,0 +1,179 @@
+package org.baylight.redis.hashes;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.listpack.Listpack;
+
+/**
+ * The value of a hash key. A small hash is a listpack of its fields and values one after the
+ * other, which is a fraction of the size of a hash table and fast enough to scan for a few dozen
+ * fields. The hash is converted to a hash table when it gets more than maxListpackEntries fields
+ * or a field or value longer than maxListpackValue bytes, like the hash-max-listpack-entries and
+ * hash-max-listpack-value configs of redis. A hash table is never converted back.
+ */
+public class RedisHashData {
+    public static final int DEFAULT_MAX_LISTPACK_ENTRIES = 128;
+    public static final int DEFAULT_MAX_LISTPACK_VALUE = 64;
+    // estimated heap sizes of the hash object, of a table, and of a table entry without its field
+    // and value arrays: the map node, the field key and the table slot
+    private static final long HASH_SIZE = 24L;
+    private static final long TABLE_SIZE = 64L;
+    private static final long TABLE_ENTRY_SIZE = 64L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+    private static volatile int maxListpackEntries = DEFAULT_MAX_LISTPACK_ENTRIES;
+    private static volatile int maxListpackValue = DEFAULT_MAX_LISTPACK_VALUE;
+
+    // the fields and values while the hash is small, otherwise null
+    private Listpack listpack = new Listpack();
+    // the fields and values once the hash was converted, otherwise null
+    private Map<RedisKey, byte[]> table;
+    private long tableEstimatedSize;
+
+    /**
+     * Set the limits of the listpack encoding for the hashes that grow after this call.
+     */
+    public static void setListpackLimits(int maxEntries, int maxValue) {
+        maxListpackEntries = maxEntries;
+        maxListpackValue = maxValue;
+    }
+
+    public StoredDataEncoding getEncoding() {
+        return listpack != null ? StoredDataEncoding.LISTPACK : StoredDataEncoding.HASHTABLE;
+    }
+
+    /**
+     * @return the number of fields
+     */
+    public int size() {
+        return listpack != null ? listpack.size() / 2 : table.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the value of the field, or null if the hash has no such field
+     */
+    public byte[] get(byte[] field) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), field, 1);
+            return p != Listpack.NONE ? listpack.get(listpack.next(p)) : null;
+        }
+        return table.get(RedisKey.wrap(field));
+    }
+
+    /**
+     * Set the value of a field. The field and value must not be modified after this call.
+     *
+     * @return true if the field was added, or false if its value was replaced
+     */
+    public boolean set(byte[] field, byte[] value) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), field, 1);
+            if (p != Listpack.NONE) {
+                if (value.length > maxListpackValue) {
+                    convertToTable();
+                } else {
+                    listpack.replace(listpack.next(p), value);
+                    return false;
+                }
+            } else if (field.length > maxListpackValue || value.length > maxListpackValue
+                    || size() >= maxListpackEntries) {
+                convertToTable();
+            } else {
+                listpack.append(field);
+                listpack.append(value);
+                return true;
+            }
+        }
+        byte[] prevValue = table.put(RedisKey.wrap(field), value);
+        if (prevValue == null) {
+            tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(field.length)
+                    + arraySize(value.length);
+            return true;
+        }
+        tableEstimatedSize += arraySize(value.length) - arraySize(prevValue.length);
+        return false;
+    }
+
+    /**
+     * Remove a field.
+     *
+     * @return true if the field was removed, or false if the hash has no such field
+     */
+    public boolean delete(byte[] field) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), field, 1);
+            if (p == Listpack.NONE) {
+                return false;
+            }
+            listpack.deleteRange(p, 2);
+            return true;
+        }
+        byte[] prevValue = table.remove(RedisKey.wrap(field));
+        if (prevValue == null) {
+            return false;
+        }
+        tableEstimatedSize -= TABLE_ENTRY_SIZE + arraySize(field.length)
+                + arraySize(prevValue.length);
+        return true;
+    }
+
+    /**
+     * Visit the fields and values, in insertion order for a listpack.
+     */
+    public void forEach(BiConsumer<byte[], byte[]> visitor) {
+        if (listpack != null) {
+            for (int p = listpack.first(); p != Listpack.NONE; p = listpack.next(p)) {
+                int valuePos = listpack.next(p);
+                visitor.accept(listpack.get(p), listpack.get(valuePos));
+                p = valuePos;
+            }
+        } else {
+            table.forEach((field, value) -> visitor.accept(field.getBytes(), value));
+        }
+    }
+
+    private void convertToTable() {
+        Map<RedisKey, byte[]> newTable = new HashMap<>();
+        tableEstimatedSize = TABLE_SIZE;
+        for (int p = listpack.first(); p != Listpack.NONE; p = listpack.next(p)) {
+            byte[] field = listpack.get(p);
+            p = listpack.next(p);
+            byte[] value = listpack.get(p);
+            newTable.put(RedisKey.wrap(field), value);
+            tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(field.length)
+                    + arraySize(value.length);
+        }
+        table = newTable;
+        listpack = null;
+    }
+
+    private static long arraySize(int length) {
+        return (ARRAY_HEADER_SIZE + length + 7) & ~7L;
+    }
+
+    /**
+     * @return the estimated heap size of the hash, in bytes
+     */
+    public long getEstimatedSize() {
+        return HASH_SIZE + (listpack != null ? listpack.getEstimatedSize() : tableEstimatedSize);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((field, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(new String(field)).append("=").append(new String(value));
+        });
+        return sb.append("}").toString();
+    }
+}
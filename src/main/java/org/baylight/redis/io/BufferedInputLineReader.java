@@ -1,16 +1,27 @@
 package org.baylight.redis.io;
 
-import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
+/**
+ * Buffered reader for RESP values on an input stream. It keeps its own buffer so that the length
+ * prefixes and integers can be parsed directly from the buffered bytes, without building a String
+ * for each header line.
+ */
 public class BufferedInputLineReader {
-    private final BufferedInputStream in;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos = 0;
+    private int limit = 0;
     private volatile long numBytesRead = 0;
 
     public BufferedInputLineReader(InputStream in) {
-        this.in = (in instanceof BufferedInputStream) ? (BufferedInputStream) in
-                : new BufferedInputStream(in);
+        this.in = in;
     }
 
     public long getNumBytesReceived() {
@@ -18,45 +29,183 @@ public class BufferedInputLineReader {
     }
 
     public int available() throws IOException {
-        return in.available();
+        return (limit - pos) + in.available();
+    }
+
+    /**
+     * Refill the buffer from the stream. Only called when all the buffered bytes were consumed.
+     *
+     * @return false if the end of the stream has been reached
+     */
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
     }
 
     public int read() throws IOException {
-        int c = in.read();
-        if (c != -1) {
-            numBytesRead++;
+        if (pos == limit && !fill()) {
+            return -1;
         }
-        return c;
+        numBytesRead++;
+        return buffer[pos++] & 0xFF;
     }
 
     public byte[] readNBytes(int n) throws IOException {
-        byte[] b = in.readNBytes(n);
-        numBytesRead += b.length;
-        return b;
+        byte[] b = new byte[n];
+        int count = read(b, 0, n);
+        return count == n ? b : Arrays.copyOf(b, count);
+    }
+
+    /**
+     * Read up to len bytes, blocking until len bytes are read or the end of the stream is reached.
+     * Large reads go straight from the stream into the array after the buffered bytes are used.
+     *
+     * @return the number of bytes read, which is less than len only at the end of the stream
+     */
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = Math.min(len, limit - pos);
+        System.arraycopy(buffer, pos, b, off, count);
+        pos += count;
+        while (count < len) {
+            int remaining = len - count;
+            if (remaining >= buffer.length) {
+                int n = in.read(b, off + count, remaining);
+                if (n <= 0) {
+                    break;
+                }
+                count += n;
+            } else {
+                if (!fill()) {
+                    break;
+                }
+                int n = Math.min(remaining, limit);
+                System.arraycopy(buffer, 0, b, off + count, n);
+                pos = n;
+                count += n;
+            }
+        }
+        numBytesRead += count;
+        return count;
     }
 
     public String readLine() throws IOException {
-        // read one byte at a time until a newline character is found
-        StringBuilder sb = new StringBuilder();
-        int c;
+        // scan the buffered bytes for the newline, copying into a larger array only if the line
+        // continues past the end of the buffer
+        byte[] line = null;
+        int lineLength = 0;
+        long count = 0;
+        try {
+            for (;;) {
+                if (pos == limit && !fill()) {
+                    break;
+                }
+                int start = pos;
+                int end = start;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                boolean found = end < limit;
+                int n = end - start;
+                count += found ? n + 1 : n;
+                pos = found ? end + 1 : end;
+                if (found && line == null) {
+                    return lineString(buffer, start, n);
+                }
+                if (line == null) {
+                    line = new byte[Math.max(2 * n, 64)];
+                } else if (lineLength + n > line.length) {
+                    line = Arrays.copyOf(line, Math.max(2 * line.length, lineLength + n));
+                }
+                System.arraycopy(buffer, start, line, lineLength, n);
+                lineLength += n;
+                if (found) {
+                    break;
+                }
+            }
+            return line == null ? "" : lineString(line, 0, lineLength);
+        } finally {
+            numBytesRead += count;
+        }
+    }
 
-        while ((c = read()) != -1) {
-            if (c == '\n') {
-                break;
+    private static String lineString(byte[] bytes, int off, int len) {
+        // ignore carriage returns
+        int end = off + len;
+        if (indexOf(bytes, off, end, (byte) '\r') < 0) {
+            return new String(bytes, off, len, StandardCharsets.ISO_8859_1);
+        }
+        byte[] stripped = new byte[len];
+        int n = 0;
+        for (int i = off; i < end; i++) {
+            if (bytes[i] != '\r') {
+                stripped[n++] = bytes[i];
             }
-            if (c != '\r') { // ignore carriage returns
-                sb.append((char) c);
+        }
+        return new String(stripped, 0, n, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == b) {
+                return i;
             }
         }
-        return sb.toString();
+        return -1;
     }
 
     public int readInt() throws NumberFormatException, IOException {
-        return Integer.parseInt(readLine());
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for int: " + value);
+        }
+        return (int) value;
     }
 
+    /**
+     * Parse a decimal number terminated by CRLF directly from the buffered bytes.
+     */
     public long readLong() throws NumberFormatException, IOException {
-        return Long.parseLong(readLine());
+        long result = 0;
+        boolean negative = false;
+        int numDigits = 0;
+        int numChars = 0;
+        long count = 0;
+        try {
+            for (;;) {
+                if (pos == limit && !fill()) {
+                    throw new EOFException("End of stream while reading a number");
+                }
+                byte c = buffer[pos++];
+                count++;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') { // ignore carriage returns
+                    continue;
+                }
+                if (numChars++ == 0 && (c == '-' || c == '+')) {
+                    negative = c == '-';
+                    continue;
+                }
+                int digit = c - '0';
+                if (digit < 0 || digit > 9 || result > (Long.MAX_VALUE - digit) / 10) {
+                    throw new NumberFormatException("Invalid number character: " + (char) c);
+                }
+                result = result * 10 + digit;
+                numDigits++;
+            }
+        } finally {
+            numBytesRead += count;
+        }
+        if (numDigits == 0) {
+            throw new NumberFormatException("Missing number");
+        }
+        return negative ? -result : result;
     }
 
     public void readCRLF() throws IOException {
@@ -65,4 +214,4 @@ public class BufferedInputLineReader {
         }
     }
 
-}
\ No newline at end of file
+}
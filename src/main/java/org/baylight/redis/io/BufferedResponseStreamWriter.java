@@ -17,4 +17,16 @@ public class BufferedResponseStreamWriter {
         out.flush();
     }
 
+    /**
+     * Write to the buffer without flushing. The bytes are sent when the buffer is full or on the
+     * next flush.
+     */
+    public void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
 }
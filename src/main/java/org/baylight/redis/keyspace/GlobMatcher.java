@@ -0,0 +1,169 @@
+package org.baylight.redis.keyspace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A glob pattern for the KEYS and SCAN commands, with the syntax of the redis stringmatch: '*'
+ * matches any bytes, '?' matches one byte, '[abc]', '[a-z]' and '[^abc]' match one byte of a
+ * class, and '\' escapes the next byte.
+ *
+ * The pattern is compiled once into a list of tokens, and the bytes of a key are matched without
+ * decoding them. A '*' is matched by remembering the last star and retrying from the next byte
+ * when the tokens after it fail, so matching never recurses.
+ */
+public class GlobMatcher {
+    private static final byte LITERAL = 0;
+    private static final byte ANY = 1;
+    private static final byte STAR = 2;
+    private static final byte CLASS = 3;
+
+    public static final GlobMatcher MATCH_ALL = compile("*");
+
+    private final byte[] kinds;
+    private final byte[] literals;
+    // the bytes matched by each CLASS token, or null for the other tokens
+    private final boolean[][] classes;
+    private final boolean matchAll;
+
+    private GlobMatcher(byte[] kinds, byte[] literals, boolean[][] classes) {
+        this.kinds = kinds;
+        this.literals = literals;
+        this.classes = classes;
+        this.matchAll = kinds.length > 0 && allStars(kinds);
+    }
+
+    private static boolean allStars(byte[] kinds) {
+        for (byte kind : kinds) {
+            if (kind != STAR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static GlobMatcher compile(String pattern) {
+        return compile(pattern.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GlobMatcher compile(byte[] pattern) {
+        int n = pattern.length;
+        byte[] kinds = new byte[n];
+        byte[] literals = new byte[n];
+        boolean[][] classes = new boolean[n][];
+        int count = 0;
+        int i = 0;
+        while (i < n) {
+            byte b = pattern[i];
+            switch (b) {
+            case '*' -> {
+                // consecutive stars are the same as one
+                if (count == 0 || kinds[count - 1] != STAR) {
+                    kinds[count++] = STAR;
+                }
+                i++;
+            }
+            case '?' -> {
+                kinds[count++] = ANY;
+                i++;
+            }
+            case '[' -> {
+                boolean[] matches = new boolean[256];
+                i++;
+                boolean negate = i < n && pattern[i] == '^';
+                if (negate) {
+                    i++;
+                }
+                while (i < n && pattern[i] != ']') {
+                    if (pattern[i] == '\\' && i + 1 < n) {
+                        i++;
+                        matches[pattern[i] & 0xFF] = true;
+                        i++;
+                    } else if (i + 2 < n && pattern[i + 1] == '-' && pattern[i + 2] != ']') {
+                        int start = pattern[i] & 0xFF;
+                        int end = pattern[i + 2] & 0xFF;
+                        for (int c = Math.min(start, end); c <= Math.max(start, end); c++) {
+                            matches[c] = true;
+                        }
+                        i += 3;
+                    } else {
+                        matches[pattern[i] & 0xFF] = true;
+                        i++;
+                    }
+                }
+                // skip the closing bracket, an unclosed class ends with the pattern
+                i++;
+                if (negate) {
+                    for (int c = 0; c < matches.length; c++) {
+                        matches[c] = !matches[c];
+                    }
+                }
+                classes[count] = matches;
+                kinds[count++] = CLASS;
+            }
+            case '\\' -> {
+                // escape the next byte, or match a trailing backslash literally
+                if (i + 1 < n) {
+                    i++;
+                }
+                literals[count] = pattern[i];
+                kinds[count++] = LITERAL;
+                i++;
+            }
+            default -> {
+                literals[count] = b;
+                kinds[count++] = LITERAL;
+                i++;
+            }
+            }
+        }
+        boolean[][] compiledClasses = new boolean[count][];
+        System.arraycopy(classes, 0, compiledClasses, 0, count);
+        return new GlobMatcher(Arrays.copyOf(kinds, count),
+                Arrays.copyOf(literals, count), compiledClasses);
+    }
+
+    public boolean isMatchAll() {
+        return matchAll;
+    }
+
+    public boolean matches(byte[] value) {
+        if (matchAll) {
+            return true;
+        }
+        int t = 0;
+        int v = 0;
+        // the token after the last star, and the value position it was tried from
+        int starToken = -1;
+        int starValue = 0;
+        while (v < value.length) {
+            if (t < kinds.length && kinds[t] == STAR) {
+                starToken = ++t;
+                starValue = v;
+            } else if (t < kinds.length && matchesOne(t, value[v])) {
+                t++;
+                v++;
+            } else if (starToken >= 0) {
+                // let the last star consume one more byte and retry
+                t = starToken;
+                v = ++starValue;
+            } else {
+                return false;
+            }
+        }
+        // the remaining tokens must all be stars
+        while (t < kinds.length && kinds[t] == STAR) {
+            t++;
+        }
+        return t == kinds.length;
+    }
+
+    private boolean matchesOne(int t, byte b) {
+        return switch (kinds[t]) {
+        case LITERAL -> literals[t] == b;
+        case ANY -> true;
+        case CLASS -> classes[t][b & 0xFF];
+        default -> false;
+        };
+    }
+}
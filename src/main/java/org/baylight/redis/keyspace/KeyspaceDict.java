@@ -0,0 +1,491 @@
+package org.baylight.redis.keyspace;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * A hash table for the keyspace in the style of the redis dict: a power of two table of chained
+ * buckets, that is resized incrementally, can be scanned with a stateless cursor and can be
+ * sampled at random.
+ *
+ * A resize allocates a second table and then moves the buckets of the first table to it a few at
+ * a time: one bucket per write, and more from the server cron when it calls rehashForMillis. While
+ * the tables are rehashed, the lookups check both tables and the new entries are added to the new
+ * table, so no single operation moves the whole table. The entries hold only the key, the value
+ * and the next entry, since the keys cache their own hash.
+ *
+ * The scan cursor is the next bucket index with its bits reversed, and it is incremented from the
+ * high bits. When the table is resized between two calls, or while it is rehashed, the buckets
+ * that were already visited map to buckets that were also already visited in the other table, so
+ * every key that is in the dict for the whole scan is returned at least once, though some keys
+ * may be returned more than once.
+ *
+ * The dict is not thread safe. The keyspace is only accessed by the commands, which are
+ * serialized by the command lock.
+ */
+public class KeyspaceDict<K, V> extends AbstractMap<K, V> {
+    static final int INITIAL_SIZE = 4;
+    // shrink the table when it is less than 1/MIN_FILL full
+    static final int MIN_FILL = 8;
+    // the empty buckets that a rehash step may skip, so that a step has a bounded cost
+    static final int EMPTY_VISITS_PER_STEP = 10;
+    // the buckets rehashed between the time checks of rehashForMillis
+    static final int BUCKETS_PER_TIME_CHECK = 100;
+
+    static final class Entry<K, V> implements Map.Entry<K, V> {
+        final K key;
+        V value;
+        Entry<K, V> next;
+
+        Entry(K key, V value, Entry<K, V> next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    // the table, or the table being rehashed from when rehashTable is not null
+    private Entry<K, V>[] table;
+    // the table being rehashed to, or null
+    private Entry<K, V>[] rehashTable = null;
+    // the next bucket of the table to rehash
+    private int rehashIndex = 0;
+    private int size = 0;
+    private int modCount = 0;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    public KeyspaceDict() {
+        table = newTable(INITIAL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Entry<K, V>[] newTable(int tableSize) {
+        return (Entry<K, V>[]) new Entry[tableSize];
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    public boolean isRehashing() {
+        return rehashTable != null;
+    }
+
+    private static <K, V> Entry<K, V> findInTable(Entry<K, V>[] t, Object key, int hash) {
+        for (Entry<K, V> e = t[hash & (t.length - 1)]; e != null; e = e.next) {
+            if (e.key == key || e.key.equals(key)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private Entry<K, V> findEntry(Object key) {
+        int hash = hash(key);
+        Entry<K, V> e = findInTable(table, key, hash);
+        if (e == null && rehashTable != null) {
+            e = findInTable(rehashTable, key, hash);
+        }
+        return e;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findEntry(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Entry<K, V> e = findEntry(key);
+        return e != null ? e.value : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        rehashStep();
+        Entry<K, V> e = findEntry(key);
+        if (e != null) {
+            return e.setValue(value);
+        }
+        addEntry(key, value);
+        return null;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        rehashStep();
+        Entry<K, V> e = findEntry(key);
+        if (e != null && e.value != null) {
+            return e.value;
+        }
+        if (e != null) {
+            e.value = value;
+        } else {
+            addEntry(key, value);
+        }
+        return null;
+    }
+
+    private void addEntry(K key, V value) {
+        if (rehashTable == null && size >= table.length) {
+            startRehash(table.length * 2);
+        }
+        // while rehashing, the new entries go to the new table
+        Entry<K, V>[] t = rehashTable != null ? rehashTable : table;
+        int index = hash(key) & (t.length - 1);
+        t[index] = new Entry<>(key, value, t[index]);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public V remove(Object key) {
+        rehashStep();
+        Entry<K, V> e = removeEntry(key, null, false);
+        if (e != null) {
+            shrinkIfSparse();
+            return e.value;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        rehashStep();
+        if (removeEntry(key, value, true) != null) {
+            shrinkIfSparse();
+            return true;
+        }
+        return false;
+    }
+
+    private Entry<K, V> removeEntry(Object key, Object value, boolean matchValue) {
+        int hash = hash(key);
+        Entry<K, V> e = removeFromTable(table, key, hash, value, matchValue);
+        if (e == null && rehashTable != null) {
+            e = removeFromTable(rehashTable, key, hash, value, matchValue);
+        }
+        if (e != null) {
+            size--;
+            modCount++;
+        }
+        return e;
+    }
+
+    private static <K, V> Entry<K, V> removeFromTable(Entry<K, V>[] t, Object key, int hash,
+            Object value, boolean matchValue) {
+        int index = hash & (t.length - 1);
+        Entry<K, V> prev = null;
+        for (Entry<K, V> e = t[index]; e != null; prev = e, e = e.next) {
+            if (e.key == key || e.key.equals(key)) {
+                if (matchValue && !Objects.equals(e.value, value)) {
+                    return null;
+                }
+                if (prev == null) {
+                    t[index] = e.next;
+                } else {
+                    prev.next = e.next;
+                }
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private void shrinkIfSparse() {
+        if (rehashTable == null && table.length > INITIAL_SIZE
+                && size < table.length / MIN_FILL) {
+            startRehash(Math.max(INITIAL_SIZE, Integer.highestOneBit(Math.max(1, size)) * 2));
+        }
+    }
+
+    @Override
+    public void clear() {
+        table = newTable(INITIAL_SIZE);
+        rehashTable = null;
+        rehashIndex = 0;
+        size = 0;
+        modCount++;
+    }
+
+    private void startRehash(int newSize) {
+        rehashTable = newTable(newSize);
+        rehashIndex = 0;
+        if (size == 0) {
+            finishRehash();
+        }
+    }
+
+    private void finishRehash() {
+        table = rehashTable;
+        rehashTable = null;
+        rehashIndex = 0;
+    }
+
+    /**
+     * Move the next bucket of the table being rehashed to the new table, skipping at most
+     * EMPTY_VISITS_PER_STEP empty buckets.
+     *
+     * @return true if there are more buckets to rehash
+     */
+    boolean rehashStep() {
+        if (rehashTable == null) {
+            return false;
+        }
+        int emptyVisits = EMPTY_VISITS_PER_STEP;
+        while (rehashIndex < table.length && table[rehashIndex] == null) {
+            rehashIndex++;
+            if (--emptyVisits == 0) {
+                return true;
+            }
+        }
+        if (rehashIndex < table.length) {
+            int mask = rehashTable.length - 1;
+            for (Entry<K, V> e = table[rehashIndex]; e != null;) {
+                Entry<K, V> next = e.next;
+                int index = hash(e.key) & mask;
+                e.next = rehashTable[index];
+                rehashTable[index] = e;
+                e = next;
+            }
+            table[rehashIndex++] = null;
+            modCount++;
+        }
+        if (rehashIndex >= table.length) {
+            finishRehash();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Start shrinking the table if it is sparse, and rehash for up to the given time, in batches
+     * of buckets. This is called by the server cron, so that an idle server finishes a resize
+     * without waiting for writes.
+     *
+     * @return the number of rehash steps
+     */
+    public int rehashForMillis(long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        shrinkIfSparse();
+        int steps = 0;
+        while (rehashTable != null) {
+            for (int i = 0; i < BUCKETS_PER_TIME_CHECK && rehashStep(); i++) {
+                steps++;
+            }
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Visit the entries of the next bucket of a scan. While the dict is rehashed, the bucket of
+     * the smaller table is visited together with all the buckets of the larger table that it
+     * expands to.
+     *
+     * @param cursor  0 to start a scan, or the cursor returned by the previous call
+     * @param visitor called for each entry in the bucket
+     * @return the cursor for the next call, or 0 when the scan is complete
+     */
+    public long scan(long cursor, Consumer<Map.Entry<K, V>> visitor) {
+        if (rehashTable == null) {
+            long mask = table.length - 1;
+            visitBucket(table[(int) (cursor & mask)], visitor);
+            return nextCursor(cursor, mask);
+        }
+        Entry<K, V>[] small = table.length <= rehashTable.length ? table : rehashTable;
+        Entry<K, V>[] large = small == table ? rehashTable : table;
+        long smallMask = small.length - 1;
+        long largeMask = large.length - 1;
+        visitBucket(small[(int) (cursor & smallMask)], visitor);
+        // visit the buckets of the larger table that expand the bucket of the smaller table
+        do {
+            visitBucket(large[(int) (cursor & largeMask)], visitor);
+            cursor = nextCursor(cursor, largeMask);
+        } while ((cursor & (smallMask ^ largeMask)) != 0);
+        return cursor;
+    }
+
+    private static <K, V> void visitBucket(Entry<K, V> head, Consumer<Map.Entry<K, V>> visitor) {
+        for (Entry<K, V> e = head; e != null; e = e.next) {
+            visitor.accept(e);
+        }
+    }
+
+    private static long nextCursor(long cursor, long mask) {
+        // increment the reversed cursor: the bits above the mask are set so that, once reversed,
+        // the carry of the increment passes over them into the masked bits
+        cursor |= ~mask;
+        cursor = Long.reverse(cursor);
+        cursor++;
+        return Long.reverse(cursor);
+    }
+
+    /**
+     * Sample up to count entries, starting from a random bucket and continuing with the next
+     * buckets of both tables, in the style of the redis dictGetSomeKeys. The samples are not
+     * uniform, but they are cheap and good enough for the approximate eviction.
+     *
+     * @return the number of entries that were visited
+     */
+    public int sample(int count, Consumer<Map.Entry<K, V>> visitor) {
+        if (size == 0) {
+            return 0;
+        }
+        int maxSize = rehashTable != null ? Math.max(table.length, rehashTable.length)
+                : table.length;
+        int index = ThreadLocalRandom.current().nextInt(maxSize);
+        int sampled = 0;
+        // bound the steps for a sparse table
+        for (int steps = 0; sampled < count && steps < maxSize && steps < count * 10; steps++) {
+            if (index < table.length) {
+                sampled += sampleBucket(table[index], count - sampled, visitor);
+            }
+            if (rehashTable != null && index < rehashTable.length) {
+                sampled += sampleBucket(rehashTable[index], count - sampled, visitor);
+            }
+            index = (index + 1) & (maxSize - 1);
+        }
+        return sampled;
+    }
+
+    private static <K, V> int sampleBucket(Entry<K, V> head, int max,
+            Consumer<Map.Entry<K, V>> visitor) {
+        int sampled = 0;
+        for (Entry<K, V> e = head; e != null && sampled < max; e = e.next) {
+            visitor.accept(e);
+            sampled++;
+        }
+        return sampled;
+    }
+
+    int getTableSize() {
+        return rehashTable != null ? rehashTable.length : table.length;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            KeyspaceDict.this.clear();
+        }
+    }
+
+    /**
+     * Iterates the table and then the table being rehashed to. The iterator does not rehash or
+     * resize, so it fails if the dict is modified other than by its remove.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private Entry<K, V>[] iterTable = table;
+        private final Entry<K, V>[] nextTable = rehashTable;
+        private int index = 0;
+        private Entry<K, V> next;
+        private Entry<K, V> current;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance(null);
+        }
+
+        private void advance(Entry<K, V> from) {
+            next = from != null ? from.next : null;
+            while (next == null) {
+                if (index < iterTable.length) {
+                    next = iterTable[index++];
+                } else if (iterTable != nextTable && nextTable != null) {
+                    iterTable = nextTable;
+                    index = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance(current);
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // remove without a rehash step or a resize, so the tables stay as they are iterated
+            removeEntry(current.key, null, false);
+            current = null;
+            expectedModCount = modCount;
+        }
+    }
+}
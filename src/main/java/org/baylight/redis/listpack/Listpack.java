@@ -0,0 +1,326 @@
+package org.baylight.redis.listpack;
+
+import java.util.Arrays;
+
+/**
+ * A list of byte string entries in one contiguous array, in the style of the redis listpack. It
+ * is the compact encoding of small hashes and lists: an entry costs its bytes and two or more
+ * bytes of lengths, instead of the objects, references and headers of a hash table entry.
+ *
+ * Each entry is the length of its data as a varint, the data, and the length of the varint and
+ * the data as a reversed varint, so the list can be walked in both directions. An entry is
+ * referred to by the offset of its first byte, which is only valid until the list is modified.
+ * Finding an entry is a linear scan, so a listpack is only used for a small number of entries.
+ */
+public class Listpack {
+    // the offset of an entry past the end of the list
+    public static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 32;
+    private static final byte[] EMPTY = new byte[0];
+    private static final long ARRAY_HEADER_SIZE = 16L;
+    // the listpack object and its array reference
+    private static final long OBJECT_SIZE = 24L;
+
+    private byte[] bytes = EMPTY;
+    private int used = 0;
+    private int size = 0;
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes used by the entries
+     */
+    public int bytesUsed() {
+        return used;
+    }
+
+    /**
+     * @return the estimated heap size of the listpack, in bytes
+     */
+    public long getEstimatedSize() {
+        return OBJECT_SIZE + ((ARRAY_HEADER_SIZE + bytes.length + 7) & ~7L);
+    }
+
+    /**
+     * @return the offset of the first entry, or NONE if the list is empty
+     */
+    public int first() {
+        return used > 0 ? 0 : NONE;
+    }
+
+    /**
+     * @return the offset of the last entry, or NONE if the list is empty
+     */
+    public int last() {
+        return used > 0 ? used - backLength(used) : NONE;
+    }
+
+    /**
+     * @return the offset of the entry after the entry at p, or NONE if it is the last
+     */
+    public int next(int p) {
+        int dataLength = readVarint(p);
+        int end = p + varintSize(dataLength) + dataLength;
+        end += varintSize(end - p);
+        return end < used ? end : NONE;
+    }
+
+    /**
+     * @return the offset of the entry before the entry at p, or NONE if it is the first
+     */
+    public int prev(int p) {
+        return p > 0 ? p - backLength(p) : NONE;
+    }
+
+    /**
+     * @return the offset of the entry at the index, counting from the end if the index is
+     *         negative, or NONE if it is out of range
+     */
+    public int seek(int index) {
+        if (index < 0) {
+            index += size;
+        }
+        if (index < 0 || index >= size) {
+            return NONE;
+        }
+        int p;
+        if (index < size / 2) {
+            p = first();
+            for (int i = 0; i < index; i++) {
+                p = next(p);
+            }
+        } else {
+            p = last();
+            for (int i = size - 1; i > index; i--) {
+                p = prev(p);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * @return a copy of the data of the entry at p
+     */
+    public byte[] get(int p) {
+        int dataLength = readVarint(p);
+        int start = p + varintSize(dataLength);
+        return Arrays.copyOfRange(bytes, start, start + dataLength);
+    }
+
+    /**
+     * @return the length of the data of the entry at p
+     */
+    public int length(int p) {
+        return readVarint(p);
+    }
+
+    /**
+     * @return true if the data of the entry at p equals the value
+     */
+    public boolean equalsAt(int p, byte[] value) {
+        int dataLength = readVarint(p);
+        if (dataLength != value.length) {
+            return false;
+        }
+        int start = p + varintSize(dataLength);
+        return Arrays.equals(bytes, start, start + dataLength, value, 0, value.length);
+    }
+
+    /**
+     * @return the unsigned lexicographic comparison of the data of the entry at p with the value,
+     *         negative if the entry is less, zero if equal or positive if greater
+     */
+    public int compareAt(int p, byte[] value) {
+        int dataLength = readVarint(p);
+        int start = p + varintSize(dataLength);
+        return Arrays.compareUnsigned(bytes, start, start + dataLength, value, 0, value.length);
+    }
+
+    /**
+     * Find an entry, comparing the entry at p and then every skip + 1 entries after it, such as
+     * the fields of a hash with a skip of 1.
+     *
+     * @return the offset of the entry, or NONE if it was not found
+     */
+    public int find(int p, byte[] value, int skip) {
+        while (p != NONE) {
+            if (equalsAt(p, value)) {
+                return p;
+            }
+            for (int i = 0; i <= skip && p != NONE; i++) {
+                p = next(p);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Add an entry at the end of the list.
+     */
+    public void append(byte[] value) {
+        insert(used, value);
+    }
+
+    /**
+     * Add an entry at the start of the list.
+     */
+    public void prepend(byte[] value) {
+        insert(0, value);
+    }
+
+    /**
+     * Insert an entry before the entry at p, or at the end of the list if p is the number of bytes
+     * used.
+     */
+    public void insert(int p, byte[] value) {
+        int entrySize = entrySize(value.length);
+        ensureCapacity(used + entrySize);
+        System.arraycopy(bytes, p, bytes, p + entrySize, used - p);
+        writeEntry(p, value);
+        used += entrySize;
+        size++;
+    }
+
+    /**
+     * Replace the data of the entry at p.
+     */
+    public void replace(int p, byte[] value) {
+        int prevSize = entrySizeAt(p);
+        int entrySize = entrySize(value.length);
+        if (entrySize > prevSize) {
+            ensureCapacity(used + entrySize - prevSize);
+        }
+        System.arraycopy(bytes, p + prevSize, bytes, p + entrySize, used - p - prevSize);
+        writeEntry(p, value);
+        used += entrySize - prevSize;
+    }
+
+    /**
+     * Remove the entry at p.
+     *
+     * @return the offset of the entry that followed it, which is now at p, or NONE if it was the
+     *         last
+     */
+    public int delete(int p) {
+        return deleteRange(p, 1);
+    }
+
+    /**
+     * Remove count entries starting with the entry at p.
+     *
+     * @return the offset of the entry that followed them, or NONE if there is none
+     */
+    public int deleteRange(int p, int count) {
+        int end = p;
+        int deleted = 0;
+        while (deleted < count && end < used) {
+            end += entrySizeAt(end);
+            deleted++;
+        }
+        System.arraycopy(bytes, end, bytes, p, used - end);
+        used -= end - p;
+        size -= deleted;
+        // release the memory of a list that shrank to a quarter of its array
+        if (bytes.length > INITIAL_CAPACITY && used < bytes.length / 4) {
+            bytes = Arrays.copyOf(bytes, Math.max(INITIAL_CAPACITY, used * 2));
+        }
+        return p < used ? p : NONE;
+    }
+
+    private int entrySizeAt(int p) {
+        int dataLength = readVarint(p);
+        int entryLength = varintSize(dataLength) + dataLength;
+        return entryLength + varintSize(entryLength);
+    }
+
+    private static int entrySize(int dataLength) {
+        int entryLength = varintSize(dataLength) + dataLength;
+        return entryLength + varintSize(entryLength);
+    }
+
+    private void writeEntry(int p, byte[] value) {
+        int start = writeVarint(p, value.length);
+        System.arraycopy(value, 0, bytes, start, value.length);
+        int end = start + value.length;
+        writeBackLength(end, end - p);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes,
+                    Math.max(capacity, Math.max(INITIAL_CAPACITY, bytes.length * 2)));
+        }
+    }
+
+    static int varintSize(int value) {
+        int n = 1;
+        while ((value >>>= 7) != 0) {
+            n++;
+        }
+        return n;
+    }
+
+    // 7 bits per byte, lowest bits first, with the high bit set on all bytes but the last
+    private int writeVarint(int p, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[p++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[p++] = (byte) value;
+        return p;
+    }
+
+    private int readVarint(int p) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[p++];
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    // the same varint in reverse order, so that it is read from its last byte
+    private void writeBackLength(int p, int value) {
+        int n = varintSize(value);
+        for (int i = p + n - 1; i >= p; i--) {
+            bytes[i] = (byte) ((value & 0x7f) | (i > p ? 0x80 : 0));
+            value >>>= 7;
+        }
+    }
+
+    /**
+     * @return the size of the entry that ends before offset end, read from its back length
+     */
+    private int backLength(int end) {
+        int value = 0;
+        int shift = 0;
+        int p = end - 1;
+        byte b;
+        do {
+            b = bytes[p--];
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value + varintSize(value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int p = first(); p != NONE; p = next(p)) {
+            if (p > 0) {
+                sb.append(", ");
+            }
+            sb.append(new String(get(p)));
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,309 @@
+package org.baylight.redis.lists;
+
+import java.util.function.Consumer;
+
+import org.baylight.redis.listpack.Listpack;
+
+/**
+ * The value of a list key, in the style of the redis quicklist: a doubly linked list of nodes,
+ * each holding a run of elements in a listpack. A push or pop touches only the node at that end,
+ * so it is O(1), and an element costs its bytes and a few bytes of lengths instead of a linked
+ * node of its own.
+ *
+ * The size of a node is bounded by maxListpackSize, like the list-max-listpack-size config of
+ * redis: a positive value is the most elements of a node, and -1 to -5 limit a node to 4, 8, 16,
+ * 32 or 64 kb. An element larger than the limit gets a node of its own.
+ */
+public class RedisListData {
+    public static final int DEFAULT_MAX_LISTPACK_SIZE = -2;
+    // the node size limits in bytes of the negative values of maxListpackSize
+    private static final int[] NODE_BYTE_LIMITS = { 4096, 8192, 16384, 32768, 65536 };
+    // estimated heap sizes of the list object, and of a node without its listpack
+    private static final long LIST_SIZE = 40L;
+    private static final long NODE_SIZE = 24L;
+    private static volatile int maxListpackSize = DEFAULT_MAX_LISTPACK_SIZE;
+
+    private static final class Node {
+        private final Listpack entries = new Listpack();
+        private Node prev;
+        private Node next;
+    }
+
+    private Node head;
+    private Node tail;
+    private int size = 0;
+    private long estimatedSize = LIST_SIZE;
+
+    /**
+     * Set the node size limit for the elements pushed after this call.
+     *
+     * @param maxSize the most elements of a node if positive, or -1 to -5 for a limit in bytes
+     */
+    public static void setMaxListpackSize(int maxSize) {
+        maxListpackSize = maxSize;
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the estimated heap size of the list, in bytes
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    private static boolean fits(Node node, byte[] value) {
+        int maxSize = maxListpackSize;
+        if (maxSize > 0) {
+            return node.entries.size() < maxSize;
+        }
+        int byteLimit = NODE_BYTE_LIMITS[Math.min(-maxSize, NODE_BYTE_LIMITS.length) - 1];
+        // two or three bytes of lengths for the short elements
+        return node.entries.bytesUsed() + value.length + 3 <= byteLimit;
+    }
+
+    /**
+     * Add an element at the head of the list if left is true, otherwise at the tail. The element
+     * is copied into the list.
+     */
+    public void push(boolean left, byte[] value) {
+        Node node = left ? head : tail;
+        if (node == null || !fits(node, value)) {
+            node = addNode(left);
+        }
+        long prevSize = node.entries.getEstimatedSize();
+        if (left) {
+            node.entries.prepend(value);
+        } else {
+            node.entries.append(value);
+        }
+        estimatedSize += node.entries.getEstimatedSize() - prevSize;
+        size++;
+    }
+
+    /**
+     * Remove the element at the head of the list if left is true, otherwise at the tail.
+     *
+     * @return the element, or null if the list is empty
+     */
+    public byte[] pop(boolean left) {
+        Node node = left ? head : tail;
+        if (node == null) {
+            return null;
+        }
+        int p = left ? node.entries.first() : node.entries.last();
+        byte[] value = node.entries.get(p);
+        long prevSize = node.entries.getEstimatedSize();
+        node.entries.delete(p);
+        estimatedSize += node.entries.getEstimatedSize() - prevSize;
+        size--;
+        if (node.entries.size() == 0) {
+            removeNode(node);
+        }
+        return value;
+    }
+
+    /**
+     * @return the element at the index, counting from the tail if the index is negative, or null
+     *         if the index is out of range
+     */
+    public byte[] get(long index) {
+        if (index < 0) {
+            index += size;
+        }
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        // walk from the nearer end, skipping whole nodes
+        if (index < size / 2) {
+            for (Node node = head; node != null; node = node.next) {
+                if (index < node.entries.size()) {
+                    return node.entries.get(node.entries.seek((int) index));
+                }
+                index -= node.entries.size();
+            }
+        } else {
+            long fromTail = size - 1 - index;
+            for (Node node = tail; node != null; node = node.prev) {
+                if (fromTail < node.entries.size()) {
+                    return node.entries.get(node.entries.seek((int) (-1 - fromTail)));
+                }
+                fromTail -= node.entries.size();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visit the elements from index start to index stop, inclusive. Negative indexes count from
+     * the tail, and the range is clamped to the list like LRANGE.
+     *
+     * @return the number of elements visited
+     */
+    public int range(long start, long stop, Consumer<byte[]> visitor) {
+        long[] bounds = clamp(start, stop);
+        if (bounds == null) {
+            return 0;
+        }
+        long skip = bounds[0];
+        long count = bounds[1] - bounds[0] + 1;
+        Node node = head;
+        while (skip >= node.entries.size()) {
+            skip -= node.entries.size();
+            node = node.next;
+        }
+        int p = node.entries.seek((int) skip);
+        for (long i = 0; i < count; i++) {
+            visitor.accept(node.entries.get(p));
+            p = node.entries.next(p);
+            if (p == Listpack.NONE && node.next != null) {
+                node = node.next;
+                p = node.entries.first();
+            }
+        }
+        return (int) count;
+    }
+
+    /**
+     * @return the number of elements from index start to index stop, after clamping them to the
+     *         list like LRANGE
+     */
+    public int rangeSize(long start, long stop) {
+        long[] bounds = clamp(start, stop);
+        return bounds == null ? 0 : (int) (bounds[1] - bounds[0] + 1);
+    }
+
+    /**
+     * Keep only the elements from index start to index stop, inclusive, like LTRIM. Whole nodes
+     * out of the range are dropped without reading their elements.
+     */
+    public void trim(long start, long stop) {
+        long[] bounds = clamp(start, stop);
+        if (bounds == null) {
+            clear();
+            return;
+        }
+        // the bounds are clamped to the list, so they fit in an int
+        int keep = (int) (bounds[1] - bounds[0] + 1);
+        removeFromHead((int) bounds[0]);
+        removeFromTail(size - keep);
+    }
+
+    // the range of indexes clamped to the list, or null if it is empty
+    private long[] clamp(long start, long stop) {
+        if (start < 0) {
+            start = Math.max(0, start + size);
+        }
+        if (stop < 0) {
+            stop += size;
+        }
+        stop = Math.min(stop, size - 1L);
+        return start > stop ? null : new long[] { start, stop };
+    }
+
+    private void removeFromHead(int count) {
+        while (count > 0) {
+            Node node = head;
+            int n = node.entries.size();
+            if (count >= n) {
+                removeNode(node);
+                size -= n;
+                count -= n;
+            } else {
+                long prevSize = node.entries.getEstimatedSize();
+                node.entries.deleteRange(node.entries.first(), count);
+                estimatedSize += node.entries.getEstimatedSize() - prevSize;
+                size -= count;
+                count = 0;
+            }
+        }
+    }
+
+    private void removeFromTail(int count) {
+        while (count > 0) {
+            Node node = tail;
+            int n = node.entries.size();
+            if (count >= n) {
+                removeNode(node);
+                size -= n;
+                count -= n;
+            } else {
+                long prevSize = node.entries.getEstimatedSize();
+                node.entries.deleteRange(node.entries.seek(-count), count);
+                estimatedSize += node.entries.getEstimatedSize() - prevSize;
+                size -= count;
+                count = 0;
+            }
+        }
+    }
+
+    private void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        estimatedSize = LIST_SIZE;
+    }
+
+    private Node addNode(boolean left) {
+        Node node = new Node();
+        if (head == null) {
+            head = tail = node;
+        } else if (left) {
+            node.next = head;
+            head.prev = node;
+            head = node;
+        } else {
+            node.prev = tail;
+            tail.next = node;
+            tail = node;
+        }
+        estimatedSize += NODE_SIZE + node.entries.getEstimatedSize();
+        return node;
+    }
+
+    private void removeNode(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        estimatedSize -= NODE_SIZE + node.entries.getEstimatedSize();
+    }
+
+    /**
+     * @return the number of nodes, for the tests
+     */
+    int getNumNodes() {
+        int n = 0;
+        for (Node node = head; node != null; node = node.next) {
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        range(0, -1, value -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(new String(value));
+        });
+        return sb.append("]").toString();
+    }
+}
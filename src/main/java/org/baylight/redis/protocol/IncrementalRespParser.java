@@ -0,0 +1,342 @@
+package org.baylight.redis.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A resumable RESP parser for non-blocking connections. Each call to {@link #parse(ByteBuffer)}
+ * consumes whatever bytes are available in the buffer and returns a value as soon as one is
+ * complete. If the buffer ends in the middle of a value, the partial state is kept in the parser
+ * and parsing continues from there on the next call, so a connection needs its own parser
+ * instance.
+ */
+public class IncrementalRespParser {
+    // same limits as the redis proto-max-bulk-len and inline request defaults
+    private static final int MAX_BULK_LENGTH = 512 * 1024 * 1024;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    // the lengths in the headers are only trusted up to these sizes, so a header alone can not
+    // make the parser allocate a huge array. Larger arrays and bulk strings grow as their
+    // elements and bytes arrive, like redis does with its argv and big arguments.
+    private static final int MAX_PREALLOCATED_ARRAY_LENGTH = 1024;
+    private static final int MAX_PREALLOCATED_BULK_LENGTH = 32 * 1024;
+
+    private enum State {
+        TYPE, LINE, BULK_DATA, BULK_CRLF
+    }
+
+    private static class ArrayFrame {
+        final int size;
+        RespValue[] values;
+        int index = 0;
+
+        ArrayFrame(int size) {
+            this.size = size;
+            values = new RespValue[Math.min(size, MAX_PREALLOCATED_ARRAY_LENGTH)];
+        }
+
+        /**
+         * @return true if the array is complete with this value
+         */
+        boolean add(RespValue value) {
+            if (index == values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(size, 2L * values.length));
+            }
+            values[index++] = value;
+            return index == size;
+        }
+    }
+
+    private State state = State.TYPE;
+    private RespType lineType;
+    private byte[] line = new byte[64];
+    private int lineLength = 0;
+    private byte[] bulk;
+    private int bulkLength = 0;
+    private int bulkPos = 0;
+    private int crlfRemaining = 0;
+    // the next value is the RDB file of a FULLRESYNC, a bulk string without the trailing CRLF
+    private boolean rdbTransfer = false;
+    // arrays that are waiting for more elements, innermost on top
+    private final Deque<ArrayFrame> arrays = new ArrayDeque<>();
+
+    private long numBytesConsumed = 0;
+    private long valueStartOffset = 0;
+
+    /**
+     * Consume bytes from the buffer until a complete top-level value has been parsed.
+     *
+     * @param buffer the received bytes, in read mode. The position is advanced past the consumed
+     *               bytes.
+     * @return the value, or null if all the bytes were consumed without completing a value
+     * @throws IOException if the bytes are not valid RESP. The parser state is reset, but the
+     *                     connection should be closed since the rest of the stream can not be
+     *                     trusted.
+     */
+    public RespValue parse(ByteBuffer buffer) throws IOException {
+        try {
+            while (buffer.hasRemaining()) {
+                RespValue value = switch (state) {
+                case TYPE -> readType(buffer);
+                case LINE -> readLine(buffer);
+                case BULK_DATA -> readBulkData(buffer);
+                case BULK_CRLF -> readBulkCRLF(buffer);
+                };
+                if (value != null) {
+                    value = completeValue(value);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            }
+            return null;
+        } catch (IOException | NumberFormatException e) {
+            reset();
+            throw e instanceof IOException ioe ? ioe
+                    : new IOException("Protocol error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the next value as the RDB file that a leader sends after FULLRESYNC, which is a bulk
+     * string without the trailing CRLF. It is returned as a RespBulkString.
+     */
+    public void expectRdb() {
+        rdbTransfer = true;
+    }
+
+    /**
+     * @return the total number of bytes consumed by the parser
+     */
+    public long getNumBytesConsumed() {
+        return numBytesConsumed;
+    }
+
+    /**
+     * @return the offset of the first byte of the last value returned by parse
+     */
+    public long getValueStartOffset() {
+        return valueStartOffset;
+    }
+
+    /**
+     * @return true if the parser holds part of a value
+     */
+    public boolean hasPartialValue() {
+        return state != State.TYPE || !arrays.isEmpty();
+    }
+
+    private RespValue readType(ByteBuffer buffer) throws IOException {
+        if (arrays.isEmpty()) {
+            valueStartOffset = numBytesConsumed;
+        }
+        byte type = buffer.get();
+        numBytesConsumed++;
+        lineType = RespType.of((char) type);
+        if (rdbTransfer && lineType != RespType.BULK_STRING) {
+            throw new IOException("Protocol error: expected RDB from leader, got char " + type);
+        }
+        if (lineType == null) {
+            System.out.println("Unknown type: " + type);
+            // the stream parser returns null for the unknown type, which is kept in an array and
+            // skipped at the top level
+            return arrays.isEmpty() ? null : UnknownTypeMarker.INSTANCE;
+        }
+        lineLength = 0;
+        state = State.LINE;
+        return null;
+    }
+
+    private RespValue readLine(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            numBytesConsumed++;
+            if (b == '\n') {
+                state = State.TYPE;
+                return lineComplete();
+            }
+            if (b != '\r') { // ignore carriage returns
+                if (lineLength == line.length) {
+                    if (lineLength >= MAX_LINE_LENGTH) {
+                        throw new IOException("Protocol error: too big line");
+                    }
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+        return null;
+    }
+
+    private RespValue lineComplete() throws IOException {
+        return switch (lineType) {
+        case SIMPLE_STRING -> new RespSimpleStringValue(lineAsString());
+        case SIMPLE_ERROR -> new RespSimpleErrorValue(lineAsString());
+        case INTEGER -> new RespInteger(lineAsLong());
+        case BULK_STRING -> {
+            long len = lineAsLong();
+            if (len < 0 && rdbTransfer) {
+                throw new IOException("Protocol error: invalid RDB length " + len);
+            }
+            if (len < 0) {
+                yield new RespBulkString((byte[]) null);
+            }
+            if (len > MAX_BULK_LENGTH) {
+                throw new IOException("Protocol error: invalid bulk length " + len);
+            }
+            bulkLength = (int) len;
+            bulk = new byte[Math.min(bulkLength, MAX_PREALLOCATED_BULK_LENGTH)];
+            bulkPos = 0;
+            state = State.BULK_DATA;
+            yield bulkLength == 0 && rdbTransfer ? completeRdb() : null;
+        }
+        case ARRAY -> {
+            long len = lineAsLong();
+            if (len < 0) {
+                yield RespNullValue.INSTANCE;
+            }
+            if (len > MAX_BULK_LENGTH) {
+                throw new IOException("Protocol error: invalid multibulk length " + len);
+            }
+            if (len == 0) {
+                yield new RespArrayValue(new RespValue[0]);
+            }
+            arrays.push(new ArrayFrame((int) len));
+            yield null;
+        }
+        };
+    }
+
+    private RespValue readBulkData(ByteBuffer buffer) {
+        int n = Math.min(bulkLength - bulkPos, buffer.remaining());
+        if (bulkPos + n > bulk.length) {
+            // the array ends up exactly bulkLength long, so it is the value without a copy
+            bulk = Arrays.copyOf(bulk,
+                    (int) Math.min(bulkLength, Math.max(bulkPos + n, 2L * bulk.length)));
+        }
+        buffer.get(bulk, bulkPos, n);
+        bulkPos += n;
+        numBytesConsumed += n;
+        if (bulkPos == bulkLength) {
+            if (rdbTransfer) {
+                return completeRdb();
+            }
+            crlfRemaining = 2;
+            state = State.BULK_CRLF;
+        }
+        return null;
+    }
+
+    private RespValue completeRdb() {
+        rdbTransfer = false;
+        state = State.TYPE;
+        RespValue value = new RespBulkString(bulk);
+        bulk = null;
+        return value;
+    }
+
+    private RespValue readBulkCRLF(ByteBuffer buffer) throws IOException {
+        while (crlfRemaining > 0 && buffer.hasRemaining()) {
+            byte b = buffer.get();
+            numBytesConsumed++;
+            if (b != (crlfRemaining == 2 ? '\r' : '\n')) {
+                throw new IOException("Expected CRLF");
+            }
+            crlfRemaining--;
+        }
+        if (crlfRemaining > 0) {
+            return null;
+        }
+        state = State.TYPE;
+        RespValue value = new RespBulkString(bulk);
+        bulk = null;
+        return value;
+    }
+
+    /**
+     * Add a completed value to the innermost array, completing arrays as they fill up.
+     *
+     * @return the top-level value once it is complete, otherwise null
+     */
+    private RespValue completeValue(RespValue value) {
+        while (!arrays.isEmpty()) {
+            ArrayFrame frame = arrays.peek();
+            if (!frame.add(value == UnknownTypeMarker.INSTANCE ? null : value)) {
+                return null;
+            }
+            arrays.pop();
+            value = new RespArrayValue(frame.values);
+        }
+        return value;
+    }
+
+    private String lineAsString() {
+        return new String(line, 0, lineLength, StandardCharsets.ISO_8859_1);
+    }
+
+    private long lineAsLong() {
+        if (lineLength == 0) {
+            throw new NumberFormatException("empty number");
+        }
+        int i = 0;
+        boolean negative = line[0] == '-';
+        if (negative || line[0] == '+') {
+            i++;
+            if (lineLength == 1) {
+                throw new NumberFormatException("For input string: \"" + lineAsString() + "\"");
+            }
+        }
+        long result = 0;
+        for (; i < lineLength; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9 || result > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("For input string: \"" + lineAsString() + "\"");
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    private void reset() {
+        state = State.TYPE;
+        arrays.clear();
+        bulk = null;
+        lineLength = 0;
+        rdbTransfer = false;
+    }
+
+    /**
+     * Placeholder for an unknown type inside an array, stored as a null element like the stream
+     * parser does.
+     */
+    private static class UnknownTypeMarker extends RespValueBase {
+        static final UnknownTypeMarker INSTANCE = new UnknownTypeMarker();
+
+        private UnknownTypeMarker() {
+            super(null);
+        }
+
+        @Override
+        public String getValueAsString() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "UnknownTypeMarker";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
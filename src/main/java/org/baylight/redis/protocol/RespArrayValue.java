@@ -33,6 +33,9 @@ public class RespArrayValue extends RespValueBase {
 
     @Override
     public byte[] asResponse() {
+        if (values.length == 0) {
+            return RespConstants.EMPTY_ARRAY;
+        }
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         try {
             out.write(("*" + getSize()).getBytes());
@@ -1,10 +1,26 @@
 package org.baylight.redis.protocol;
 
+/**
+ * Pre-encoded replies that are shared by all the commands. The arrays must not be modified.
+ */
 public class RespConstants {
     
     public static final byte[] NULL = "$-1\r\n".getBytes();
     public static final byte[] OK = "+OK\r\n".getBytes();
+    public static final byte[] PONG = "+PONG\r\n".getBytes();
+    public static final byte[] EMPTY_ARRAY = "*0\r\n".getBytes();
+    public static final byte[] NULL_ARRAY = "*-1\r\n".getBytes();
     public static final byte[] CRLF = "\r\n".getBytes();
+    public static final byte[] WRONGTYPE =
+            "-WRONGTYPE Operation against a key holding the wrong kind of value\r\n".getBytes();
 
     public static final RespValue NULL_VALUE = RespNullValue.INSTANCE;
+    public static final RespSimpleStringValue NONE_TYPE = new RespSimpleStringValue("none");
+
+    /**
+     * @return the encoded RESP integer, shared for the values in the integer cache
+     */
+    public static byte[] integer(long value) {
+        return RespInteger.encode(value);
+    }
 }
@@ -4,6 +4,11 @@ import java.io.IOException;
 import org.baylight.redis.io.BufferedInputLineReader;
 
 public class RespInteger extends RespValueBase {
+    public static final int DEFAULT_CACHE_MAX = 10000;
+    private static final int CACHE_MIN = -1;
+    // encodings of the integers from CACHE_MIN to the configured maximum
+    private static volatile byte[][] encodingCache = newEncodingCache(DEFAULT_CACHE_MAX);
+
     private final long value;
 
     public RespInteger(BufferedInputLineReader reader) throws NumberFormatException, IOException {
@@ -15,9 +20,44 @@ public class RespInteger extends RespValueBase {
         this.value = value;
     }
 
+    /**
+     * Set the largest integer with a shared encoding. Replies for integers from -1 to max are
+     * encoded once and reused.
+     */
+    public static void setCacheMax(int max) {
+        if (max - CACHE_MIN + 1 != encodingCache.length) {
+            encodingCache = newEncodingCache(max);
+        }
+    }
+
+    private static byte[][] newEncodingCache(int max) {
+        byte[][] cache = new byte[Math.max(0, max - CACHE_MIN + 1)][];
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = newEncoding(i + CACHE_MIN);
+        }
+        return cache;
+    }
+
+    private static byte[] newEncoding(long value) {
+        return (":" + value + "\r\n").getBytes();
+    }
+
+    /**
+     * @return the RESP encoding of the value. Values in the cache range return a shared array,
+     *         which must not be modified.
+     */
+    public static byte[] encode(long value) {
+        byte[][] cache = encodingCache;
+        long index = value - CACHE_MIN;
+        if (index >= 0 && index < cache.length) {
+            return cache[(int) index];
+        }
+        return newEncoding(value);
+    }
+
     @Override
     public byte[] asResponse() {
-        return String.format(":%d\r\n", value).getBytes();
+        return encode(value);
     }
 
     @Override
@@ -9,6 +9,8 @@ import org.baylight.redis.io.BufferedInputLineReader;
  **/
 public class RespSimpleStringValue extends RespValueBase {
     private final String value;
+    // the encoding is kept since simple string replies are usually shared constants
+    private byte[] encoded;
 
     public RespSimpleStringValue(String s) {
         super(RespType.SIMPLE_STRING);
@@ -21,7 +23,12 @@ public class RespSimpleStringValue extends RespValueBase {
 
     @Override
     public byte[] asResponse() {
-        return (RespType.SIMPLE_STRING.typePrefix + value + "\r\n").getBytes();
+        byte[] bytes = encoded;
+        if (bytes == null) {
+            bytes = (RespType.SIMPLE_STRING.typePrefix + value + "\r\n").getBytes();
+            encoded = bytes;
+        }
+        return bytes;
     }
 
     @Override
@@ -1,4 +1,5 @@
 package org.baylight.redis.protocol;
+import java.io.EOFException;
 import java.io.IOException;
 
 import org.baylight.redis.io.BufferedInputLineReader;
@@ -7,6 +8,9 @@ public class RespValueParser {
 
     public RespValue parse(BufferedInputLineReader reader) throws IOException {
         int type = reader.read();
+        if (type == -1) {
+            throw new EOFException("End of stream while reading RESP value");
+        }
 
         RespType respType = RespType.of((char)type);
         return switch (respType) {
@@ -0,0 +1,215 @@
+package org.baylight.redis.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the encoded RESP response of a command as a list of buffers for a gathering write.
+ * Headers and small values are encoded into a shared header buffer, while large bulk string
+ * values are wrapped as they are, so a large stored value is sent without being copied into an
+ * intermediate response array.
+ */
+public class RespWriter {
+    // values at least this large are wrapped instead of copied into the header buffer
+    static final int WRAP_THRESHOLD = 1024;
+    private static final int HEADER_BUFFER_SIZE = 256;
+
+    private final List<ByteBuffer> buffers = new ArrayList<>(4);
+    private ByteBuffer header;
+    private long size = 0;
+
+    public RespWriter writeSimpleString(String s) {
+        return writeLine(RespType.SIMPLE_STRING.typePrefix, s);
+    }
+
+    public RespWriter writeError(String s) {
+        return writeLine(RespType.SIMPLE_ERROR.typePrefix, s);
+    }
+
+    public RespWriter writeInteger(long value) {
+        putByte((byte) RespType.INTEGER.typePrefix);
+        putLong(value);
+        return putCRLF();
+    }
+
+    public RespWriter writeArrayHeader(int size) {
+        putByte((byte) RespType.ARRAY.typePrefix);
+        putLong(size);
+        return putCRLF();
+    }
+
+    public RespWriter writeNullBulkString() {
+        return writeBytes(RespConstants.NULL);
+    }
+
+    /**
+     * Write a bulk string. The value array is referenced by the writer until the response is
+     * sent, so it must not be modified after this call.
+     */
+    public RespWriter writeBulkString(byte[] value) {
+        if (value == null) {
+            return writeNullBulkString();
+        }
+        putByte((byte) RespType.BULK_STRING.typePrefix);
+        putLong(value.length);
+        putCRLF();
+        writeBytes(value);
+        return putCRLF();
+    }
+
+    /**
+     * Write a bulk string from the remaining bytes of a buffer, such as an off-heap value. A large
+     * value is sent from the buffer, which must not be modified until the response is sent.
+     */
+    public RespWriter writeBulkString(ByteBuffer value) {
+        int length = value.remaining();
+        putByte((byte) RespType.BULK_STRING.typePrefix);
+        putLong(length);
+        putCRLF();
+        if (length >= WRAP_THRESHOLD) {
+            closeHeader();
+            buffers.add(value.duplicate());
+        } else {
+            ensureHeader(length).put(value.duplicate());
+        }
+        size += length;
+        return putCRLF();
+    }
+
+    /**
+     * Write bytes that are already RESP encoded, such as the response of
+     * {@link RespValue#asResponse()}.
+     */
+    public RespWriter writeBytes(byte[] bytes) {
+        if (bytes.length >= WRAP_THRESHOLD) {
+            closeHeader();
+            buffers.add(ByteBuffer.wrap(bytes));
+            size += bytes.length;
+        } else {
+            ensureHeader(bytes.length).put(bytes);
+            size += bytes.length;
+        }
+        return this;
+    }
+
+    public RespWriter write(RespValue value) {
+        switch (value) {
+        case RespNullValue v -> writeNullBulkString();
+        case RespBulkString v -> {
+            if (v.isNullValue()) {
+                writeNullBulkString();
+            } else {
+                writeBulkString(v.getValue());
+            }
+        }
+        case RespArrayValue v -> {
+            writeArrayHeader(v.getSize());
+            for (RespValue element : v.getValues()) {
+                write(element);
+            }
+        }
+        default -> writeBytes(value.asResponse());
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the buffers to send, each ready for reading
+     */
+    public ByteBuffer[] toBuffers() {
+        closeHeader();
+        return buffers.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * @return the response as one array, for connections that do not write buffers
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[(int) size];
+        int pos = 0;
+        for (ByteBuffer buffer : toBuffers()) {
+            ByteBuffer b = buffer.duplicate();
+            int n = b.remaining();
+            b.get(bytes, pos, n);
+            pos += n;
+        }
+        return bytes;
+    }
+
+    private RespWriter writeLine(char prefix, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        putByte((byte) prefix);
+        writeBytes(bytes);
+        return putCRLF();
+    }
+
+    private void putByte(byte b) {
+        ensureHeader(1).put(b);
+        size++;
+    }
+
+    private RespWriter putCRLF() {
+        ensureHeader(2).put((byte) '\r').put((byte) '\n');
+        size += 2;
+        return this;
+    }
+
+    private void putLong(long value) {
+        // at most 20 characters for a long
+        ByteBuffer buffer = ensureHeader(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            size++;
+        } else {
+            value = -value;
+        }
+        // work with the negative value so that Long.MIN_VALUE does not overflow
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' - (value % 10)));
+            value /= 10;
+        } while (value != 0);
+        int end = buffer.position() - 1;
+        size += end - start + 1;
+        // the digits were written in reverse order
+        for (int i = start, j = end; i < j; i++, j--) {
+            byte tmp = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, tmp);
+        }
+    }
+
+    private ByteBuffer ensureHeader(int n) {
+        if (header == null || header.remaining() < n) {
+            closeHeader();
+            header = ByteBuffer.allocate(Math.max(HEADER_BUFFER_SIZE, n));
+        }
+        return header;
+    }
+
+    /**
+     * Add the bytes written to the header buffer so far to the list of buffers, keeping the rest of
+     * the header buffer for the bytes that follow.
+     */
+    private void closeHeader() {
+        if (header != null && header.position() > 0) {
+            ByteBuffer written = header.duplicate().flip();
+            buffers.add(written);
+            header = header.slice();
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.time.Clock;
 import java.util.Map;
 
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.StoredData;
 
 public class RdbFileParser {
@@ -24,7 +25,7 @@ public class RdbFileParser {
         return reader.readCode();
     }
 
-    public OpCode selectDB(Map<String, StoredData> dbData) throws IOException {
+    public OpCode selectDB(Map<RedisKey, StoredData> dbData) throws IOException {
         int dbNumber = reader.readValue(reader.read()).getValue();
         System.out.println("Select DB: " + dbNumber);
         int next = reader.read();
@@ -82,14 +83,11 @@ public class RdbFileParser {
             }
             byte[] valueBytes = reader.readNBytes(value.getValue());
             long now = clock.millis();
-            Long ttlMillis = null;
-            if (expiryTime != null) {
-                ttlMillis = expiryTime - now;
-            }
             // write it only if no expiration or expiration is not already past
-            if (ttlMillis == null || ttlMillis > 0L) {
-                StoredData valueData = new StoredData(valueBytes, now, ttlMillis);
-                dbData.put(new String(keyBytes), valueData);
+            if (expiryTime == null || expiryTime > now) {
+                StoredData valueData = StoredData.ofString(valueBytes,
+                        expiryTime != null ? expiryTime : StoredData.NO_EXPIRY);
+                dbData.put(RedisKey.wrap(keyBytes), valueData);
             } else {
                 System.out.println("Skipping expired key: " + new String(keyBytes));
             }
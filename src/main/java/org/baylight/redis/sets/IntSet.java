@@ -0,0 +1,157 @@
+package org.baylight.redis.sets;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A sorted set of integers in one array, in the style of the redis intset. The integers are all
+ * stored with the width of the widest one, 2, 4 or 8 bytes, so a set of small integers costs two
+ * bytes per member. The array is upgraded to a wider width when an integer does not fit, and is
+ * never downgraded. A lookup is a binary search, and an add or remove moves the integers after it,
+ * so an intset is only used for a limited number of members.
+ */
+class IntSet {
+    private static final int INT16 = 2;
+    private static final int INT32 = 4;
+    private static final int INT64 = 8;
+    private static final VarHandle SHORTS = MethodHandles.byteArrayViewVarHandle(short[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final byte[] EMPTY = new byte[0];
+    // the intset object and its array reference
+    private static final long OBJECT_SIZE = 24L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+
+    private byte[] contents = EMPTY;
+    private int width = INT16;
+    private int size = 0;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the width of the integers in bytes, 2, 4 or 8
+     */
+    int width() {
+        return width;
+    }
+
+    /**
+     * @return the integer at the index, in ascending order
+     */
+    long get(int index) {
+        return get(contents, width, index);
+    }
+
+    private static long get(byte[] contents, int width, int index) {
+        return switch (width) {
+        case INT16 -> (short) SHORTS.get(contents, index * INT16);
+        case INT32 -> (int) INTS.get(contents, index * INT32);
+        default -> (long) LONGS.get(contents, index * INT64);
+        };
+    }
+
+    private void set(int index, long value) {
+        switch (width) {
+        case INT16 -> SHORTS.set(contents, index * INT16, (short) value);
+        case INT32 -> INTS.set(contents, index * INT32, (int) value);
+        default -> LONGS.set(contents, index * INT64, value);
+        }
+    }
+
+    private static int widthOf(long value) {
+        if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            return INT16;
+        }
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? INT32 : INT64;
+    }
+
+    boolean contains(long value) {
+        return widthOf(value) <= width && search(value) >= 0;
+    }
+
+    // the index of the value, or -(insertion index) - 1 if it is not in the set
+    private int search(long value) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midValue = get(mid);
+            if (midValue < value) {
+                low = mid + 1;
+            } else if (midValue > value) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return true if the value was added, or false if it was already in the set
+     */
+    boolean add(long value) {
+        int valueWidth = widthOf(value);
+        if (valueWidth > width) {
+            // the value is out of the range of all the integers, so it goes first or last
+            upgrade(valueWidth, value < 0);
+            set(value < 0 ? 0 : size - 1, value);
+            return true;
+        }
+        int index = search(value);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        byte[] newContents = Arrays.copyOf(contents, (size + 1) * width);
+        System.arraycopy(contents, index * width, newContents, (index + 1) * width,
+                (size - index) * width);
+        contents = newContents;
+        size++;
+        set(index, value);
+        return true;
+    }
+
+    // widen the integers, leaving a free slot at the start or at the end
+    private void upgrade(int newWidth, boolean slotFirst) {
+        byte[] oldContents = contents;
+        int oldWidth = width;
+        contents = new byte[(size + 1) * newWidth];
+        width = newWidth;
+        int offset = slotFirst ? 1 : 0;
+        for (int i = 0; i < size; i++) {
+            set(i + offset, get(oldContents, oldWidth, i));
+        }
+        size++;
+    }
+
+    /**
+     * @return true if the value was removed, or false if it was not in the set
+     */
+    boolean remove(long value) {
+        int index = widthOf(value) <= width ? search(value) : -1;
+        if (index < 0) {
+            return false;
+        }
+        byte[] newContents = Arrays.copyOf(contents, (size - 1) * width);
+        System.arraycopy(contents, (index + 1) * width, newContents, index * width,
+                (size - index - 1) * width);
+        contents = newContents;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the estimated heap size of the intset, in bytes
+     */
+    long getEstimatedSize() {
+        return OBJECT_SIZE + ((ARRAY_HEADER_SIZE + contents.length + 7) & ~7L);
+    }
+}
@@ -0,0 +1,243 @@
+package org.baylight.redis.sets;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataEncoding;
+
+/**
+ * The value of a set key. A set of members that are all the canonical decimal form of a long is
+ * an intset, a sorted array of the numbers, which is a fraction of the size of a hash set. The set
+ * is converted to a hash set when a member is not an integer, or when it gets more than
+ * maxIntsetEntries members, like the set-max-intset-entries config of redis. A hash set is never
+ * converted back.
+ *
+ * The set operations of SINTER, SUNION and SDIFF work on the members as bytes, except for the
+ * intsets, whose numbers are probed without converting them.
+ */
+public class RedisSetData {
+    public static final int DEFAULT_MAX_INTSET_ENTRIES = 512;
+    // estimated heap sizes of the set object, of a table, and of a table entry without its member
+    // array: the map node, the member key and the table slot
+    private static final long SET_SIZE = 24L;
+    private static final long TABLE_SIZE = 64L;
+    private static final long TABLE_ENTRY_SIZE = 56L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+    private static volatile int maxIntsetEntries = DEFAULT_MAX_INTSET_ENTRIES;
+
+    // the members while they are all integers and the set is small, otherwise null
+    private IntSet intset = new IntSet();
+    // the members once the set was converted, otherwise null
+    private Set<RedisKey> table;
+    private long tableEstimatedSize;
+
+    /**
+     * Set the limit of the intset encoding for the sets that grow after this call.
+     */
+    public static void setMaxIntsetEntries(int maxEntries) {
+        maxIntsetEntries = maxEntries;
+    }
+
+    public StoredDataEncoding getEncoding() {
+        return intset != null ? StoredDataEncoding.INTSET : StoredDataEncoding.SET_HASHTABLE;
+    }
+
+    /**
+     * @return the number of members
+     */
+    public int size() {
+        return intset != null ? intset.size() : table.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(byte[] member) {
+        if (intset != null) {
+            Long value = StoredData.parseCanonicalLong(member);
+            return value != null && intset.contains(value);
+        }
+        return table.contains(RedisKey.wrap(member));
+    }
+
+    /**
+     * @return true if the set has the member with the decimal form of the value
+     */
+    public boolean contains(long value) {
+        return intset != null ? intset.contains(value)
+                : table.contains(RedisKey.wrap(toBytes(value)));
+    }
+
+    /**
+     * Add a member. The member must not be modified after this call.
+     *
+     * @return true if the member was added, or false if it was already in the set
+     */
+    public boolean add(byte[] member) {
+        if (intset != null) {
+            Long value = StoredData.parseCanonicalLong(member);
+            if (value != null && (intset.size() < maxIntsetEntries || intset.contains(value))) {
+                return intset.add(value);
+            }
+            convertToTable();
+        }
+        if (table.add(RedisKey.wrap(member))) {
+            tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(member.length);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove a member.
+     *
+     * @return true if the member was removed, or false if the set has no such member
+     */
+    public boolean remove(byte[] member) {
+        if (intset != null) {
+            Long value = StoredData.parseCanonicalLong(member);
+            return value != null && intset.remove(value);
+        }
+        if (table.remove(RedisKey.wrap(member))) {
+            tableEstimatedSize -= TABLE_ENTRY_SIZE + arraySize(member.length);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Visit the members, in ascending order for an intset.
+     */
+    public void forEach(Consumer<byte[]> visitor) {
+        if (intset != null) {
+            for (int i = 0; i < intset.size(); i++) {
+                visitor.accept(toBytes(intset.get(i)));
+            }
+        } else {
+            table.forEach(member -> visitor.accept(member.getBytes()));
+        }
+    }
+
+    /**
+     * Visit the members that are in all the sets. The smallest set is iterated and the others are
+     * probed in ascending order of size, so the cost is the size of the smallest set times the
+     * number of sets, and a member missing from a small set is rejected early.
+     */
+    public static void intersect(List<RedisSetData> sets, Consumer<byte[]> visitor) {
+        List<RedisSetData> bySize = new ArrayList<>(sets);
+        bySize.sort(Comparator.comparingInt(RedisSetData::size));
+        if (bySize.isEmpty() || bySize.get(0).isEmpty()) {
+            return;
+        }
+        RedisSetData smallest = bySize.get(0);
+        List<RedisSetData> others = bySize.subList(1, bySize.size());
+        if (smallest.intset != null) {
+            // probe the numbers, and only convert the members of the result
+            IntSet numbers = smallest.intset;
+            for (int i = 0; i < numbers.size(); i++) {
+                long value = numbers.get(i);
+                if (others.stream().allMatch(set -> set.contains(value))) {
+                    visitor.accept(toBytes(value));
+                }
+            }
+        } else {
+            for (RedisKey member : smallest.table) {
+                byte[] bytes = member.getBytes();
+                if (others.stream().allMatch(set -> set.contains(bytes))) {
+                    visitor.accept(bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a new set of the members of any of the sets
+     */
+    public static RedisSetData union(List<RedisSetData> sets) {
+        RedisSetData result = new RedisSetData();
+        for (RedisSetData set : sets) {
+            set.forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * @return a new set of the members of the first set that are in none of the others
+     */
+    public static RedisSetData difference(RedisSetData first, List<RedisSetData> others) {
+        RedisSetData result = new RedisSetData();
+        // like redis, probe the others for each member of the first set when that is cheaper
+        // than copying the first set and removing the members of the others
+        long probeCost = (long) first.size() * (others.size() + 1) / 2;
+        long removeCost = first.size();
+        for (RedisSetData set : others) {
+            removeCost += set.size();
+        }
+        if (probeCost <= removeCost) {
+            List<RedisSetData> bySize = new ArrayList<>(others);
+            // a member is more likely to be found in a larger set
+            bySize.sort(Comparator.comparingInt(RedisSetData::size).reversed());
+            first.forEach(member -> {
+                if (bySize.stream().noneMatch(set -> set.contains(member))) {
+                    result.add(member);
+                }
+            });
+        } else {
+            first.forEach(result::add);
+            for (RedisSetData set : others) {
+                set.forEach(result::remove);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void convertToTable() {
+        Set<RedisKey> newTable = new HashSet<>();
+        tableEstimatedSize = TABLE_SIZE;
+        for (int i = 0; i < intset.size(); i++) {
+            byte[] member = toBytes(intset.get(i));
+            newTable.add(RedisKey.wrap(member));
+            tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(member.length);
+        }
+        table = newTable;
+        intset = null;
+    }
+
+    private static byte[] toBytes(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long arraySize(int length) {
+        return (ARRAY_HEADER_SIZE + length + 7) & ~7L;
+    }
+
+    /**
+     * @return the estimated heap size of the set, in bytes
+     */
+    public long getEstimatedSize() {
+        return SET_SIZE + (intset != null ? intset.getEstimatedSize() : tableEstimatedSize);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(member -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(new String(member));
+        });
+        return sb.append("]").toString();
+    }
+}
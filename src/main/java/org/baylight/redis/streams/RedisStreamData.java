@@ -6,13 +6,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespValue;
 
 public class RedisStreamData {
     public static final int MAX_READ_COUNT = 100;
+    // estimated heap sizes of an empty stream, and of an item without its values: the id, the
+    // map entry and the values array
+    private static final long STREAM_SIZE = 128L;
+    private static final long ITEM_SIZE = 96L;
+    private static final long VALUE_SIZE = 40L;
     private final String streamKey;
     private final OrderedArrayList<StreamId> streamIds = new OrderedArrayList<>();
     private final Map<StreamId, RespValue[]> dataValues = new HashMap<>();
+    private long estimatedSize = STREAM_SIZE;
 
     public RedisStreamData(String streamKey) {
         this.streamKey = streamKey;
@@ -63,11 +70,30 @@ public class RedisStreamData {
         validateStreamIdMinimum(streamId);
         streamIds.add(streamId);
         dataValues.put(streamId, values);
+        estimatedSize += estimateItemSize(values);
         // notify waiters if any
         StreamsWaitManager.INSTANCE.addNotify(streamKey);
         return streamId;
     }
 
+    private static long estimateItemSize(RespValue[] values) {
+        long size = ITEM_SIZE;
+        for (RespValue value : values) {
+            int length = value instanceof RespBulkString bulkString
+                    ? bulkString.getValue().length
+                    : value.getValueAsString().length();
+            size += VALUE_SIZE + length;
+        }
+        return size;
+    }
+
+    /**
+     * @return the estimated heap size of the stream and its items, in bytes
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
     private void validateStreamIdMinimum(StreamId streamId) throws IllegalStreamItemIdException {
         if (StreamId.compare(streamId, StreamId.MIN_ID) <= 0) {
             throw new IllegalStreamItemIdException(String.format(
@@ -7,9 +7,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * Wakes up the blocked readers of a key when a value is added to it: XREAD BLOCK waits for a
+ * stream, and BLPOP and BRPOP wait for a list.
+ */
 public final class StreamsWaitManager {
-    private Map<Object, Set<String>> waitStreamSets = new ConcurrentHashMap<>();
+    private Map<Waiter, Set<String>> waitStreamSets = new ConcurrentHashMap<>();
+
+    // the lock of a blocked reader, which is notified when one of its keys gets a value
+    private static final class Waiter {
+        // set when notified, so that a notify between a check and the wait is not lost
+        private boolean notified = false;
+    }
 
     public static StreamsWaitManager INSTANCE = new StreamsWaitManager();
 
@@ -20,6 +31,7 @@ public final class StreamsWaitManager {
         waitStreamSets.forEach((lock, streamSet) -> {
             if (streamSet.contains(streamKey)) {
                 synchronized (lock) {
+                    lock.notified = true;
                     lock.notifyAll();
                 }
             }
@@ -39,7 +51,7 @@ public final class StreamsWaitManager {
         }
 
         // create lock for waiting on the set of streams
-        Object lock = new Object();
+        Waiter lock = new Waiter();
         waitStreamSets.put(lock, streams.keySet());
         synchronized (lock) {
 
@@ -82,6 +94,45 @@ public final class StreamsWaitManager {
         return result;
     }
 
+    /**
+     * Wait until an action succeeds, trying it again each time one of the keys is notified. The
+     * action is called without holding the lock of the waiter, so it may take the command lock
+     * while the commands that notify the keys hold it.
+     *
+     * @param keys          the keys to wait for
+     * @param action        returns the result, or null if it should wait
+     * @param timeoutMillis how long to wait, or 0 to wait until the action succeeds
+     * @return the result of the action, or null if the timeout expired
+     */
+    public <T> T waitFor(Set<String> keys, Supplier<T> action, Clock clock, long timeoutMillis) {
+        Waiter lock = new Waiter();
+        waitStreamSets.put(lock, keys);
+        try {
+            long deadline = clock.millis() + timeoutMillis;
+            while (true) {
+                T result = action.get();
+                if (result != null) {
+                    return result;
+                }
+                synchronized (lock) {
+                    long remaining = deadline - clock.millis();
+                    if (!lock.notified) {
+                        if (timeoutMillis > 0 && remaining <= 0) {
+                            return null;
+                        }
+                        lock.wait(timeoutMillis > 0 ? remaining : 0L);
+                    }
+                    lock.notified = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            waitStreamSets.remove(lock);
+        }
+    }
+
     @Override
     public String toString() {
         return "StreamsWaitManager [waitStreamSets=" + waitStreamSets + "]";
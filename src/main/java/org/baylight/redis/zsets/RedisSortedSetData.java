@@ -0,0 +1,392 @@
+package org.baylight.redis.zsets;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.listpack.Listpack;
+
+/**
+ * The value of a sorted set key. A small sorted set is a listpack of its members and scores one
+ * after the other, in order, which is a fraction of the size of a skip list and fast enough to
+ * scan for a few dozen members. The set is converted to a skip list and a hash table from member
+ * to node when it gets more than maxListpackEntries members or a member longer than
+ * maxListpackValue bytes, like the zset-max-listpack-entries and zset-max-listpack-value configs
+ * of redis. The hash table finds the score of a member in O(1), and the skip list finds ranks and
+ * ranges in O(log N). A skip list is never converted back.
+ *
+ * The members are ordered by score, and members with the same score by their bytes. Ranks start
+ * at 0 with the lowest member, or with the highest member when reversed.
+ */
+public class RedisSortedSetData {
+    public static final int DEFAULT_MAX_LISTPACK_ENTRIES = 128;
+    public static final int DEFAULT_MAX_LISTPACK_VALUE = 64;
+    // the bounds of a lex range that are below and above all members, compared by identity
+    public static final byte[] MIN_LEX = new byte[0];
+    public static final byte[] MAX_LEX = new byte[0];
+    // estimated heap sizes of the sorted set object, of a table, and of a table entry without
+    // its member: the map node, the member key and the table slot
+    private static final long ZSET_SIZE = 24L;
+    private static final long TABLE_SIZE = 64L;
+    private static final long TABLE_ENTRY_SIZE = 56L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+    private static volatile int maxListpackEntries = DEFAULT_MAX_LISTPACK_ENTRIES;
+    private static volatile int maxListpackValue = DEFAULT_MAX_LISTPACK_VALUE;
+
+    /**
+     * A range of members, in the order of the set.
+     */
+    public interface Range {
+        /**
+         * @return true if the member is not below the start of the range
+         */
+        boolean aboveMin(double score, byte[] member);
+
+        /**
+         * @return true if the member is not above the end of the range
+         */
+        boolean belowMax(double score, byte[] member);
+    }
+
+    /**
+     * The members with a score from min to max, for ZRANGE BYSCORE.
+     */
+    public record ScoreRange(double min, boolean minExclusive, double max, boolean maxExclusive)
+            implements Range {
+        @Override
+        public boolean aboveMin(double score, byte[] member) {
+            return minExclusive ? score > min : score >= min;
+        }
+
+        @Override
+        public boolean belowMax(double score, byte[] member) {
+            return maxExclusive ? score < max : score <= max;
+        }
+    }
+
+    /**
+     * The members from min to max in the order of their bytes, for ZRANGE BYLEX. This is only
+     * meaningful when all the members have the same score. A bound may be MIN_LEX or MAX_LEX.
+     */
+    public record LexRange(byte[] min, boolean minExclusive, byte[] max, boolean maxExclusive)
+            implements Range {
+        @Override
+        public boolean aboveMin(double score, byte[] member) {
+            if (min == MIN_LEX || min == MAX_LEX) {
+                return min == MIN_LEX;
+            }
+            int cmp = Arrays.compareUnsigned(member, min);
+            return minExclusive ? cmp > 0 : cmp >= 0;
+        }
+
+        @Override
+        public boolean belowMax(double score, byte[] member) {
+            if (max == MIN_LEX || max == MAX_LEX) {
+                return max == MAX_LEX;
+            }
+            int cmp = Arrays.compareUnsigned(member, max);
+            return maxExclusive ? cmp < 0 : cmp <= 0;
+        }
+    }
+
+    /**
+     * Visits the members of a set, see the range methods.
+     */
+    @FunctionalInterface
+    public interface MemberVisitor {
+        void accept(byte[] member, double score);
+    }
+
+    // the members and scores in order while the set is small, otherwise null. A score is its 8
+    // bytes, so it is read back exactly.
+    private Listpack listpack = new Listpack();
+    // the members once the set was converted, otherwise null
+    private SkipList skipList;
+    private Map<RedisKey, SkipList.Node> table;
+    private long tableEstimatedSize;
+
+    /**
+     * Set the limits of the listpack encoding for the sorted sets that grow after this call.
+     */
+    public static void setListpackLimits(int maxEntries, int maxValue) {
+        maxListpackEntries = maxEntries;
+        maxListpackValue = maxValue;
+    }
+
+    public StoredDataEncoding getEncoding() {
+        return listpack != null ? StoredDataEncoding.ZSET_LISTPACK : StoredDataEncoding.SKIPLIST;
+    }
+
+    /**
+     * @return the number of members
+     */
+    public int size() {
+        return listpack != null ? listpack.size() / 2 : skipList.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the score of the member, or null if the set has no such member
+     */
+    public Double getScore(byte[] member) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), member, 1);
+            return p != Listpack.NONE ? scoreAt(listpack.next(p)) : null;
+        }
+        SkipList.Node node = table.get(RedisKey.wrap(member));
+        return node != null ? node.score : null;
+    }
+
+    /**
+     * Set the score of a member. The member must not be modified after this call.
+     *
+     * @return true if the member was added, or false if its score was replaced
+     */
+    public boolean add(byte[] member, double score) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), member, 1);
+            if (p != Listpack.NONE) {
+                if (scoreAt(listpack.next(p)) != score) {
+                    listpack.deleteRange(p, 2);
+                    insertInListpack(member, score);
+                }
+                return false;
+            }
+            if (member.length <= maxListpackValue && size() < maxListpackEntries) {
+                insertInListpack(member, score);
+                return true;
+            }
+            convertToSkipList();
+        }
+        RedisKey key = RedisKey.wrap(member);
+        SkipList.Node node = table.get(key);
+        if (node != null) {
+            if (node.score != score) {
+                SkipList.Node newNode = skipList.updateScore(node.score, node.member, score);
+                if (newNode != node) {
+                    table.put(key, newNode);
+                }
+            }
+            return false;
+        }
+        table.put(key, skipList.insert(score, member));
+        tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(member.length);
+        return true;
+    }
+
+    /**
+     * Remove a member.
+     *
+     * @return true if the member was removed, or false if the set has no such member
+     */
+    public boolean delete(byte[] member) {
+        if (listpack != null) {
+            int p = listpack.find(listpack.first(), member, 1);
+            if (p == Listpack.NONE) {
+                return false;
+            }
+            listpack.deleteRange(p, 2);
+            return true;
+        }
+        SkipList.Node node = table.remove(RedisKey.wrap(member));
+        if (node == null) {
+            return false;
+        }
+        skipList.delete(node.score, node.member);
+        tableEstimatedSize -= TABLE_ENTRY_SIZE + arraySize(member.length);
+        return true;
+    }
+
+    /**
+     * @return the rank of the member, or -1 if the set has no such member
+     */
+    public long rank(byte[] member, boolean reverse) {
+        long rank = -1;
+        if (listpack != null) {
+            int index = 0;
+            for (int p = listpack.first(); p != Listpack.NONE; p = listpack.next(
+                    listpack.next(p))) {
+                if (listpack.equalsAt(p, member)) {
+                    rank = index;
+                    break;
+                }
+                index++;
+            }
+        } else {
+            SkipList.Node node = table.get(RedisKey.wrap(member));
+            if (node != null) {
+                rank = skipList.getRank(node.score, node.member) - 1;
+            }
+        }
+        return rank >= 0 && reverse ? size() - 1 - rank : rank;
+    }
+
+    /**
+     * Visit the members from rank start to rank stop, inclusive, which must be in the set.
+     */
+    public void rangeByRank(long start, long stop, boolean reverse, MemberVisitor visitor) {
+        long count = stop - start + 1;
+        if (listpack != null) {
+            int p = listpack.seek((int) (2 * (reverse ? size() - 1 - start : start)));
+            for (long i = 0; i < count; i++) {
+                int scorePos = listpack.next(p);
+                visitor.accept(listpack.get(p), scoreAt(scorePos));
+                p = reverse ? listpack.prev(listpack.prev(p)) : listpack.next(scorePos);
+            }
+            return;
+        }
+        SkipList.Node node = skipList.getByRank(reverse ? size() - start : start + 1);
+        for (long i = 0; i < count; i++) {
+            visitor.accept(node.member, node.score);
+            node = reverse ? node.prev() : node.next();
+        }
+    }
+
+    /**
+     * Visit the members in a range, from the lowest or from the highest when reversed, skipping
+     * the first offset members and visiting at most count members.
+     *
+     * @param count the most members to visit, or a negative count for all of them
+     * @return the number of members visited
+     */
+    public long rangeByRange(Range range, boolean reverse, long offset, long count,
+            MemberVisitor visitor) {
+        if (offset < 0 || count == 0) {
+            return 0;
+        }
+        long visited = 0;
+        if (listpack != null) {
+            int p = reverse ? listpack.seek(-2) : listpack.first();
+            while (p != Listpack.NONE) {
+                byte[] member = listpack.get(p);
+                int scorePos = listpack.next(p);
+                double score = scoreAt(scorePos);
+                if (reverse ? !range.belowMax(score, member) : !range.aboveMin(score, member)) {
+                    // not in the range yet
+                } else if (reverse ? !range.aboveMin(score, member)
+                        : !range.belowMax(score, member)) {
+                    break;
+                } else if (offset > 0) {
+                    offset--;
+                } else {
+                    visitor.accept(member, score);
+                    if (++visited == count) {
+                        break;
+                    }
+                }
+                p = reverse ? listpack.prev(p) : listpack.next(scorePos);
+                if (reverse && p != Listpack.NONE) {
+                    p = listpack.prev(p);
+                }
+            }
+            return visited;
+        }
+        SkipList.Node node = reverse ? skipList.lastInRange(range) : skipList.firstInRange(range);
+        if (node != null && offset > 0) {
+            // skip the offset by rank instead of walking the members
+            long rank = skipList.getRank(node.score, node.member);
+            node = skipList.getByRank(reverse ? rank - offset : rank + offset);
+        }
+        while (node != null && (count < 0 || visited < count)
+                && (reverse ? range.aboveMin(node.score, node.member)
+                        : range.belowMax(node.score, node.member))) {
+            visitor.accept(node.member, node.score);
+            visited++;
+            node = reverse ? node.prev() : node.next();
+        }
+        return visited;
+    }
+
+    /**
+     * Visit all the members, from the lowest.
+     */
+    public void forEach(MemberVisitor visitor) {
+        if (!isEmpty()) {
+            rangeByRank(0, size() - 1, false, visitor);
+        }
+    }
+
+    // insert a member in order, before the first member that is ordered after it
+    private void insertInListpack(byte[] member, double score) {
+        int p = listpack.first();
+        while (p != Listpack.NONE) {
+            int scorePos = listpack.next(p);
+            double s = scoreAt(scorePos);
+            if (s > score || (s == score && listpack.compareAt(p, member) > 0)) {
+                break;
+            }
+            p = listpack.next(scorePos);
+        }
+        if (p == Listpack.NONE) {
+            listpack.append(member);
+            listpack.append(encodeScore(score));
+        } else {
+            // the score is inserted first, so that the member goes before it at the same offset
+            listpack.insert(p, encodeScore(score));
+            listpack.insert(p, member);
+        }
+    }
+
+    private void convertToSkipList() {
+        SkipList newSkipList = new SkipList();
+        Map<RedisKey, SkipList.Node> newTable = new HashMap<>();
+        tableEstimatedSize = TABLE_SIZE;
+        for (int p = listpack.first(); p != Listpack.NONE; p = listpack.next(p)) {
+            byte[] member = listpack.get(p);
+            p = listpack.next(p);
+            newTable.put(RedisKey.wrap(member), newSkipList.insert(scoreAt(p), member));
+            tableEstimatedSize += TABLE_ENTRY_SIZE + arraySize(member.length);
+        }
+        skipList = newSkipList;
+        table = newTable;
+        listpack = null;
+    }
+
+    private double scoreAt(int p) {
+        byte[] bytes = listpack.get(p);
+        long bits = 0;
+        for (byte b : bytes) {
+            bits = (bits << 8) | (b & 0xff);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static byte[] encodeScore(double score) {
+        long bits = Double.doubleToLongBits(score);
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) bits;
+            bits >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static long arraySize(int length) {
+        return (ARRAY_HEADER_SIZE + length + 7) & ~7L;
+    }
+
+    /**
+     * @return the estimated heap size of the sorted set, in bytes
+     */
+    public long getEstimatedSize() {
+        return ZSET_SIZE + (listpack != null ? listpack.getEstimatedSize()
+                : tableEstimatedSize + skipList.getEstimatedSize());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach((member, score) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(new String(member)).append("=").append(score);
+        });
+        return sb.append("]").toString();
+    }
+}
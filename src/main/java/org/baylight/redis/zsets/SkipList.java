@@ -0,0 +1,271 @@
+package org.baylight.redis.zsets;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The skip list of a large sorted set, in the style of the redis zskiplist. The members are
+ * ordered by score and then by their bytes, and each forward link holds its span, the number of
+ * members it skips, so the rank of a member and the member at a rank are found in O(log N) like a
+ * lookup, instead of walking the list.
+ */
+class SkipList {
+    static final int MAX_LEVEL = 32;
+    // the chance of a node to have each level above the first, as in redis
+    private static final double P = 0.25;
+    // estimated heap size of a node without its arrays and member
+    private static final long NODE_SIZE = 32L;
+    private static final long ARRAY_HEADER_SIZE = 16L;
+
+    static final class Node {
+        final byte[] member;
+        double score;
+        Node backward;
+        final Node[] forward;
+        // the number of nodes from this node to the next node of each level
+        final int[] span;
+
+        private Node(int level, double score, byte[] member) {
+            this.member = member;
+            this.score = score;
+            this.forward = new Node[level];
+            this.span = new int[level];
+        }
+
+        Node next() {
+            return forward[0];
+        }
+
+        Node prev() {
+            return backward;
+        }
+
+        long getEstimatedSize() {
+            return NODE_SIZE + 2 * ((ARRAY_HEADER_SIZE + 4L * forward.length + 7) & ~7L);
+        }
+    }
+
+    private final Node header = new Node(MAX_LEVEL, 0.0, null);
+    private Node tail;
+    private int level = 1;
+    private int length = 0;
+    private long estimatedSize = header.getEstimatedSize();
+
+    int size() {
+        return length;
+    }
+
+    Node first() {
+        return header.forward[0];
+    }
+
+    Node last() {
+        return tail;
+    }
+
+    /**
+     * @return the estimated heap size of the nodes, without their members
+     */
+    long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextDouble() < P) {
+            level++;
+        }
+        return level;
+    }
+
+    // true if the node is ordered before the score and member
+    private static boolean isBefore(Node node, double score, byte[] member) {
+        return node.score < score
+                || (node.score == score && Arrays.compareUnsigned(node.member, member) < 0);
+    }
+
+    /**
+     * Add a member, which must not be in the list.
+     *
+     * @return the new node
+     */
+    Node insert(double score, byte[] member) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.forward[i] != null && isBefore(x.forward[i], score, member)) {
+                rank[i] += x.span[i];
+                x = x.forward[i];
+            }
+            update[i] = x;
+        }
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = header;
+                header.span[i] = length;
+            }
+            level = newLevel;
+        }
+        x = new Node(newLevel, score, member);
+        for (int i = 0; i < newLevel; i++) {
+            x.forward[i] = update[i].forward[i];
+            update[i].forward[i] = x;
+            // the new node takes over the part of the span of update[i] after it
+            x.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        // the higher levels now skip one more node
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        x.backward = update[0] == header ? null : update[0];
+        if (x.forward[0] != null) {
+            x.forward[0].backward = x;
+        } else {
+            tail = x;
+        }
+        length++;
+        estimatedSize += x.getEstimatedSize();
+        return x;
+    }
+
+    /**
+     * Remove a member.
+     *
+     * @return true if it was removed, or false if the list has no such member with the score
+     */
+    boolean delete(double score, byte[] member) {
+        Node[] update = findUpdate(score, member);
+        Node x = update[0].forward[0];
+        if (x != null && x.score == score && Arrays.equals(x.member, member)) {
+            deleteNode(x, update);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Change the score of a member. The node is kept if it stays in the same place, otherwise it
+     * is replaced by a new node.
+     *
+     * @return the node of the member
+     */
+    Node updateScore(double score, byte[] member, double newScore) {
+        Node[] update = findUpdate(score, member);
+        Node x = update[0].forward[0];
+        if ((x.backward == null || isBefore(x.backward, newScore, x.member))
+                && (x.forward[0] == null || !isBefore(x.forward[0], newScore, x.member))) {
+            x.score = newScore;
+            return x;
+        }
+        deleteNode(x, update);
+        return insert(newScore, x.member);
+    }
+
+    // the last node of each level that is ordered before the score and member
+    private Node[] findUpdate(double score, byte[] member) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.forward[i] != null && isBefore(x.forward[i], score, member)) {
+                x = x.forward[i];
+            }
+            update[i] = x;
+        }
+        return update;
+    }
+
+    private void deleteNode(Node x, Node[] update) {
+        for (int i = 0; i < level; i++) {
+            if (update[i].forward[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].forward[i] = x.forward[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        if (x.forward[0] != null) {
+            x.forward[0].backward = x.backward;
+        } else {
+            tail = x.backward;
+        }
+        while (level > 1 && header.forward[level - 1] == null) {
+            level--;
+        }
+        length--;
+        estimatedSize -= x.getEstimatedSize();
+    }
+
+    /**
+     * @return the rank of the member, starting at 1, or 0 if the list has no such member with
+     *         the score
+     */
+    long getRank(double score, byte[] member) {
+        long rank = 0;
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.forward[i] != null && (isBefore(x.forward[i], score, member)
+                    || (x.forward[i].score == score
+                            && Arrays.equals(x.forward[i].member, member)))) {
+                rank += x.span[i];
+                x = x.forward[i];
+            }
+            if (x != header && x.score == score && Arrays.equals(x.member, member)) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the node at the rank, starting at 1, or null if it is out of range
+     */
+    Node getByRank(long rank) {
+        long traversed = 0;
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.forward[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.forward[i];
+            }
+            if (traversed == rank) {
+                return x != header ? x : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first node in the range, or null if the range is empty
+     */
+    Node firstInRange(RedisSortedSetData.Range range) {
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.forward[i] != null
+                    && !range.aboveMin(x.forward[i].score, x.forward[i].member)) {
+                x = x.forward[i];
+            }
+        }
+        x = x.forward[0];
+        return x != null && range.belowMax(x.score, x.member) ? x : null;
+    }
+
+    /**
+     * @return the last node in the range, or null if the range is empty
+     */
+    Node lastInRange(RedisSortedSetData.Range range) {
+        Node x = header;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.forward[i] != null
+                    && range.belowMax(x.forward[i].score, x.forward[i].member)) {
+                x = x.forward[i];
+            }
+        }
+        return x != header && range.aboveMin(x.score, x.member) ? x : null;
+    }
+}
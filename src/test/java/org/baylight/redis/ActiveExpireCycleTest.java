@@ -0,0 +1,128 @@
+package org.baylight.redis;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.keyspace.KeyspaceDict;
+import org.junit.jupiter.api.Test;
+
+public class ActiveExpireCycleTest implements WithAssertions {
+
+    private static final long NOW = 1000000L;
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    private final KeyspaceDict<RedisKey, StoredData> dataStoreMap = new KeyspaceDict<>();
+    private final ActiveExpireCycle cycle = new ActiveExpireCycle(dataStoreMap);
+
+    private void set(String key, long expiresAt) {
+        RedisKey redisKey = RedisKey.of(key);
+        StoredData storedData = StoredData.ofString(key.getBytes(), expiresAt);
+        dataStoreMap.put(redisKey, storedData);
+        cycle.keyUpdated(redisKey, storedData);
+    }
+
+    @Test
+    void testRunExpiresAllKeysWhenMostAreStale() {
+        // given
+        for (int i = 0; i < 100; i++) {
+            set("expired" + i, NOW - 1);
+        }
+        set("live", NOW + 1000);
+        set("persistent", StoredData.NO_EXPIRY);
+
+        // when
+        int expired = cycle.run(NOW, NO_TIME_LIMIT);
+
+        // then
+        assertThat(expired).isEqualTo(100);
+        assertThat(dataStoreMap.keySet()).containsExactlyInAnyOrder(
+                RedisKey.of("live"), RedisKey.of("persistent"));
+        assertThat(cycle.getExpiredKeys()).isEqualTo(100);
+        assertThat(cycle.getNumKeysWithExpiry()).isEqualTo(1);
+        assertThat(cycle.getExpiredStalePerc()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void testRunStopsSamplingWhenFewKeysAreStale() {
+        // given
+        for (int i = 0; i < 1000; i++) {
+            set("live" + i, NOW + 1000);
+        }
+        set("expired", NOW - 1);
+
+        // when
+        int expired = cycle.run(NOW, NO_TIME_LIMIT);
+
+        // then - a single loop of samples is taken, so the one expired key is usually not found
+        assertThat(expired).isLessThanOrEqualTo(1);
+        assertThat(dataStoreMap).hasSizeGreaterThanOrEqualTo(1000);
+    }
+
+    @Test
+    void testRepeatedRunsFindExpiredKeyAmongLiveKeys() {
+        // given
+        for (int i = 0; i < 1000; i++) {
+            set("live" + i, NOW + 1000);
+        }
+        set("expired", NOW - 1);
+
+        // when - each cycle samples from a random position in the keyspace
+        for (int i = 0; i < 2000 && dataStoreMap.size() > 1000; i++) {
+            cycle.run(NOW, NO_TIME_LIMIT);
+        }
+
+        // then
+        assertThat(dataStoreMap).doesNotContainKey(RedisKey.of("expired"));
+        assertThat(dataStoreMap).hasSize(1000);
+    }
+
+    @Test
+    void testSparseVolatileKeysAreReclaimedWithinFewCycles() {
+        // given - one percent of the keys have an expiry, and all of them are expired
+        for (int i = 0; i < 10000; i++) {
+            set("persistent" + i, StoredData.NO_EXPIRY);
+        }
+        for (int i = 0; i < 100; i++) {
+            set("expired" + i, NOW - 1);
+        }
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cycle.run(NOW, NO_TIME_LIMIT);
+        }
+
+        // then
+        assertThat(dataStoreMap).hasSize(10000);
+        assertThat(cycle.getExpiredKeys()).isEqualTo(100);
+        assertThat(cycle.getNumKeysWithExpiry()).isZero();
+    }
+
+    @Test
+    void testKeyUpdatedWithoutExpiryIsNotExpired() {
+        // given
+        set("key", NOW - 1);
+
+        // when
+        set("key", StoredData.NO_EXPIRY);
+        int expired = cycle.run(NOW, NO_TIME_LIMIT);
+
+        // then
+        assertThat(expired).isZero();
+        assertThat(dataStoreMap).containsKey(RedisKey.of("key"));
+        assertThat(cycle.getNumKeysWithExpiry()).isZero();
+    }
+
+    @Test
+    void testExpireKeyDoesNotRemoveReplacedValue() {
+        // given
+        set("key", NOW - 1);
+        StoredData expiredData = dataStoreMap.get(RedisKey.of("key"));
+        set("key", NOW + 1000);
+
+        // when
+        boolean removed = cycle.expireKey(RedisKey.of("key"), expiredData);
+
+        // then
+        assertThat(removed).isFalse();
+        assertThat(dataStoreMap).containsKey(RedisKey.of("key"));
+        assertThat(cycle.getExpiredKeys()).isZero();
+    }
+}
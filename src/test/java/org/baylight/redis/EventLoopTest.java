@@ -0,0 +1,76 @@
+package org.baylight.redis;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.commands.RedisCommandConstructor;
+import org.junit.jupiter.api.Test;
+
+public class EventLoopTest implements WithAssertions, TestConstants {
+
+    private final RedisServiceBase service = mock(LeaderService.class);
+    private final ClientConnection conn = mock(ClientConnection.class);
+    private final RedisServiceBase.EventLoop eventLoop = new RedisServiceBase.EventLoop(service,
+            new RedisCommandConstructor());
+
+    @Test
+    void testArgumentErrorIsSentToClient() throws Exception {
+        // given
+        String incrBy = "*3\r\n$6\r\nINCRBY\r\n$1\r\ni\r\n$1\r\nx\r\n";
+
+        // when
+        eventLoop.processValue(conn, TestConstants.valueOf(incrBy));
+
+        // then
+        verify(conn).sendError("ERR value is not an integer or out of range");
+        verify(service, never()).executeCommand(any(), any());
+    }
+
+    @Test
+    void testScanErrorsAreSentToClient() throws Exception {
+        // given
+        String badCursor = "*2\r\n$4\r\nSCAN\r\n$3\r\nabc\r\n";
+        String badCount = "*4\r\n$4\r\nSCAN\r\n$1\r\n0\r\n$5\r\nCOUNT\r\n$1\r\n0\r\n";
+
+        // when
+        eventLoop.processValue(conn, TestConstants.valueOf(badCursor));
+        eventLoop.processValue(conn, TestConstants.valueOf(badCount));
+
+        // then
+        verify(conn).sendError("ERR invalid cursor");
+        verify(conn).sendError("ERR syntax error");
+        verify(service, never()).executeCommand(any(), any());
+    }
+
+    @Test
+    void testHincrbyErrorIsSentToClient() throws Exception {
+        // given
+        String hincrBy = "*4\r\n$7\r\nHINCRBY\r\n$1\r\nh\r\n$1\r\nf\r\n$1\r\nx\r\n";
+
+        // when
+        eventLoop.processValue(conn, TestConstants.valueOf(hincrBy));
+
+        // then
+        verify(conn).sendError("ERR value is not an integer or out of range");
+        verify(service, never()).executeCommand(any(), any());
+    }
+
+    @Test
+    void testListErrorsAreSentToClient() throws Exception {
+        // given
+        String blpop = "*3\r\n$5\r\nBLPOP\r\n$1\r\nq\r\n$2\r\n-1\r\n";
+        String lpop = "*3\r\n$4\r\nLPOP\r\n$1\r\nq\r\n$2\r\n-1\r\n";
+
+        // when
+        eventLoop.processValue(conn, TestConstants.valueOf(blpop));
+        eventLoop.processValue(conn, TestConstants.valueOf(lpop));
+
+        // then
+        verify(conn).sendError("ERR timeout is negative");
+        verify(conn).sendError("ERR value is out of range, must be positive");
+        verify(service, never()).executeCommand(any(), any());
+    }
+}
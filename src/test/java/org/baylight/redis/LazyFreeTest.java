@@ -0,0 +1,87 @@
+package org.baylight.redis;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class LazyFreeTest implements WithAssertions {
+
+    private final OffHeapArena arena = new OffHeapArena();
+    private final LazyFree lazyFree = new LazyFree(OffHeapArena.BufferReleaser.load());
+
+    @AfterEach
+    void tearDown() {
+        lazyFree.shutdown();
+    }
+
+    private OffHeapArena.Chunk freed(int length) {
+        OffHeapArena.Chunk chunk = arena.allocate(new byte[length]);
+        arena.free(chunk);
+        return chunk;
+    }
+
+    private void awaitNoPendingObjects() throws InterruptedException {
+        for (int i = 0; i < 100 && lazyFree.getPendingObjects() > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testSmallValuesAreReleasedInline() {
+        // given
+        OffHeapArena.Chunk slabChunk = freed(1000);
+        OffHeapArena.Chunk dedicated = freed(OffHeapArena.MAX_CHUNK_SIZE + 1);
+
+        // when
+        lazyFree.release(slabChunk, true);
+        lazyFree.release(dedicated, true);
+
+        // then
+        assertThat(lazyFree.getPendingObjects()).isZero();
+        assertThat(lazyFree.getLazyfreedObjects()).isZero();
+    }
+
+    @Test
+    void testLargeValueIsReleasedInBackground() throws InterruptedException {
+        // given
+        OffHeapArena.Chunk large = freed((int) LazyFree.LAZYFREE_THRESHOLD);
+
+        // when
+        lazyFree.release(large, true);
+        awaitNoPendingObjects();
+
+        // then
+        assertThat(lazyFree.getPendingObjects()).isZero();
+        assertThat(lazyFree.getLazyfreedObjects()).isEqualTo(1);
+        assertThat(arena.getReservedMemory()).isZero();
+    }
+
+    @Test
+    void testLargeValueIsReleasedInlineWhenNotLazy() {
+        // given
+        OffHeapArena.Chunk large = freed((int) LazyFree.LAZYFREE_THRESHOLD * 2);
+
+        // when
+        lazyFree.release(large, false);
+
+        // then
+        assertThat(lazyFree.getPendingObjects()).isZero();
+        assertThat(lazyFree.getLazyfreedObjects()).isZero();
+    }
+
+    @Test
+    void testNothingIsReleasedWithoutExplicitRelease() {
+        // given
+        LazyFree gcOnly = new LazyFree();
+        OffHeapArena.Chunk large = freed((int) LazyFree.LAZYFREE_THRESHOLD);
+
+        // when
+        gcOnly.release(large, true);
+
+        // then - the buffer is left to the garbage collector
+        assertThat(gcOnly.getPendingObjects()).isZero();
+        assertThat(gcOnly.getLazyfreedObjects()).isZero();
+        assertThat(arena.getReservedMemory()).isZero();
+        gcOnly.shutdown();
+    }
+}
@@ -0,0 +1,204 @@
+package org.baylight.redis;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.keyspace.KeyspaceDict;
+import org.junit.jupiter.api.Test;
+
+public class MaxMemoryEvictorTest implements WithAssertions {
+
+    private static final long NOW = 1000000000L;
+
+    private final KeyspaceDict<RedisKey, StoredData> dataStoreMap = new KeyspaceDict<>();
+    private final KeyspaceDict<RedisKey, StoredData> expires = new KeyspaceDict<>();
+
+    private MaxMemoryEvictor newEvictor(long maxmemory, MaxMemoryPolicy policy) {
+        return new MaxMemoryEvictor(dataStoreMap, expires, maxmemory, policy, NOW);
+    }
+
+    private StoredData set(MaxMemoryEvictor evictor, String key, long expiresAt) {
+        RedisKey redisKey = RedisKey.of(key);
+        StoredData storedData = StoredData.ofString(("value-" + key).getBytes(), expiresAt);
+        StoredData prevData = dataStoreMap.put(redisKey, storedData);
+        if (storedData.hasExpiry()) {
+            expires.put(redisKey, storedData);
+        }
+        evictor.added(redisKey, prevData, storedData);
+        return storedData;
+    }
+
+    @Test
+    void testUsedMemoryIsRunningEstimate() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.NOEVICTION);
+
+        // when
+        StoredData data1 = set(evictor, "key1", StoredData.NO_EXPIRY);
+        long afterFirst = evictor.getUsedMemory();
+        set(evictor, "key1", StoredData.NO_EXPIRY);
+        long afterReplace = evictor.getUsedMemory();
+        evictor.removed(RedisKey.of("key1"), dataStoreMap.remove(RedisKey.of("key1")));
+
+        // then
+        assertThat(afterFirst).isEqualTo(
+                MaxMemoryEvictor.estimateEntrySize(RedisKey.of("key1"), data1));
+        assertThat(afterReplace).isEqualTo(afterFirst);
+        assertThat(evictor.getUsedMemory()).isZero();
+    }
+
+    @Test
+    void testNoEvictionRejectsWhenOverLimit() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(100L, MaxMemoryPolicy.NOEVICTION);
+        set(evictor, "key1", StoredData.NO_EXPIRY);
+        set(evictor, "key2", StoredData.NO_EXPIRY);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(dataStoreMap).hasSize(2);
+        assertThat(evictor.getEvictedKeys()).isZero();
+    }
+
+    @Test
+    void testUnderLimitDoesNotEvict() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(1000000L, MaxMemoryPolicy.ALLKEYS_LRU);
+        set(evictor, "key1", StoredData.NO_EXPIRY);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(dataStoreMap).hasSize(1);
+    }
+
+    @Test
+    void testAllKeysLruEvictsLeastRecentlyUsed() {
+        // given - the old keys were last accessed an hour ago
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.ALLKEYS_LRU);
+        for (int i = 0; i < 4; i++) {
+            set(evictor, "old" + i, StoredData.NO_EXPIRY);
+        }
+        long entrySize = evictor.getUsedMemory() / 4;
+        evictor.updateClock(NOW + 3600000L);
+        for (int i = 0; i < 4; i++) {
+            set(evictor, "new" + i, StoredData.NO_EXPIRY);
+        }
+        evictor = copyWithLimit(evictor, entrySize * 4, MaxMemoryPolicy.ALLKEYS_LRU,
+                NOW + 3600000L);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(dataStoreMap.keySet()).containsExactlyInAnyOrder(RedisKey.of("new0"),
+                RedisKey.of("new1"), RedisKey.of("new2"), RedisKey.of("new3"));
+        assertThat(evictor.getEvictedKeys()).isEqualTo(4);
+        assertThat(evictor.getUsedMemory()).isLessThanOrEqualTo(entrySize * 4);
+    }
+
+    @Test
+    void testAllKeysLfuEvictsLeastFrequentlyUsed() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.ALLKEYS_LFU);
+        StoredData hot = set(evictor, "hot", StoredData.NO_EXPIRY);
+        set(evictor, "cold", StoredData.NO_EXPIRY);
+        long entrySize = evictor.getUsedMemory() / 2;
+        for (int i = 0; i < 1000; i++) {
+            evictor.touch(hot);
+        }
+        evictor = copyWithLimit(evictor, entrySize, MaxMemoryPolicy.ALLKEYS_LFU, NOW);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(dataStoreMap.keySet()).containsExactly(RedisKey.of("hot"));
+        assertThat(evictor.lfuDecrAndReturn(hot)).isGreaterThan(MaxMemoryEvictor.LFU_INIT_VAL);
+    }
+
+    @Test
+    void testLfuCounterDecaysOverTime() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.ALLKEYS_LFU);
+        StoredData data = set(evictor, "key", StoredData.NO_EXPIRY);
+
+        // when
+        evictor.updateClock(NOW + 3 * 60000L);
+
+        // then
+        assertThat(evictor.lfuDecrAndReturn(data)).isEqualTo(MaxMemoryEvictor.LFU_INIT_VAL - 3);
+    }
+
+    @Test
+    void testVolatileTtlEvictsNearestExpiryAndKeepsPersistentKeys() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.VOLATILE_TTL);
+        set(evictor, "persistent", StoredData.NO_EXPIRY);
+        set(evictor, "soon", NOW + 1000L);
+        set(evictor, "later", NOW + 100000L);
+        // one key over the limit
+        evictor = copyWithLimit(evictor, evictor.getUsedMemory() - 1,
+                MaxMemoryPolicy.VOLATILE_TTL, NOW);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(dataStoreMap.keySet()).containsExactlyInAnyOrder(RedisKey.of("persistent"),
+                RedisKey.of("later"));
+        assertThat(expires.keySet()).containsExactly(RedisKey.of("later"));
+    }
+
+    @Test
+    void testVolatileTtlFailsWithoutVolatileKeys() {
+        // given
+        MaxMemoryEvictor evictor = newEvictor(1L, MaxMemoryPolicy.VOLATILE_TTL);
+        set(evictor, "persistent", StoredData.NO_EXPIRY);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(dataStoreMap).hasSize(1);
+    }
+
+    @Test
+    void testVolatileTtlEvictsSparseVolatileKeys() {
+        // given - one percent of the keys have an expiry
+        MaxMemoryEvictor evictor = newEvictor(0L, MaxMemoryPolicy.VOLATILE_TTL);
+        for (int i = 0; i < 10000; i++) {
+            set(evictor, "persistent" + i, StoredData.NO_EXPIRY);
+        }
+        for (int i = 0; i < 100; i++) {
+            set(evictor, "volatile" + i, NOW + 1000L + i);
+        }
+        evictor = copyWithLimit(evictor, evictor.getUsedMemory() - 1,
+                MaxMemoryPolicy.VOLATILE_TTL, NOW);
+
+        // when
+        boolean result = evictor.performEvictions();
+
+        // then - a volatile key was evicted instead of rejecting the write
+        assertThat(result).isTrue();
+        assertThat(evictor.getEvictedKeys()).isEqualTo(1);
+        assertThat(dataStoreMap).hasSize(10099);
+        assertThat(expires).hasSize(99);
+    }
+
+    // a new evictor with the limit, that has the same used memory as the given one
+    private MaxMemoryEvictor copyWithLimit(MaxMemoryEvictor evictor, long maxmemory,
+            MaxMemoryPolicy policy, long now) {
+        MaxMemoryEvictor copy = new MaxMemoryEvictor(dataStoreMap, expires, maxmemory, policy,
+                now);
+        copy.grown(evictor.getUsedMemory());
+        return copy;
+    }
+}
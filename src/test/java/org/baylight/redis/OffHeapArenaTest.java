@@ -0,0 +1,100 @@
+package org.baylight.redis;
+
+import java.util.Arrays;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapArenaTest implements WithAssertions {
+
+    private static byte[] value(int length, char c) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) c);
+        return bytes;
+    }
+
+    @Test
+    void testAllocateCopiesValueIntoSizeClass() {
+        // given
+        OffHeapArena arena = new OffHeapArena();
+
+        // when
+        OffHeapArena.Chunk chunk = arena.allocate(value(1000, 'a'));
+
+        // then
+        assertThat(chunk.length()).isEqualTo(1000);
+        assertThat(chunk.capacity()).isEqualTo(1024);
+        assertThat(chunk.getBytes()).isEqualTo(value(1000, 'a'));
+        assertThat(chunk.asReadOnlyBuffer().isDirect()).isTrue();
+        assertThat(chunk.asReadOnlyBuffer().isReadOnly()).isTrue();
+        assertThat(chunk.asReadOnlyBuffer().remaining()).isEqualTo(1000);
+        assertThat(arena.getUsedMemory()).isEqualTo(1024);
+        assertThat(arena.getReservedMemory()).isEqualTo(OffHeapArena.SLAB_SIZE);
+        assertThat(arena.getNumValues()).isEqualTo(1);
+    }
+
+    @Test
+    void testSizeClasses() {
+        assertThat(OffHeapArena.sizeClassOf(1)).isEqualTo(0);
+        assertThat(OffHeapArena.sizeClassOf(OffHeapArena.MIN_CHUNK_SIZE)).isEqualTo(0);
+        assertThat(OffHeapArena.sizeClassOf(OffHeapArena.MIN_CHUNK_SIZE + 1)).isEqualTo(1);
+        assertThat(OffHeapArena.sizeClassOf(OffHeapArena.MAX_CHUNK_SIZE + 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void testFreedChunkIsReused() {
+        // given
+        OffHeapArena arena = new OffHeapArena();
+        OffHeapArena.Chunk first = arena.allocate(value(2000, 'a'));
+        OffHeapArena.Chunk second = arena.allocate(value(2000, 'b'));
+
+        // when
+        arena.free(first);
+        OffHeapArena.Chunk third = arena.allocate(value(1900, 'c'));
+
+        // then - the third value is in the chunk of the first one
+        assertThat(third.capacity()).isEqualTo(first.capacity());
+        assertThat(third.asReadOnlyBuffer().get(0)).isEqualTo((byte) 'c');
+        assertThat(second.getBytes()).isEqualTo(value(2000, 'b'));
+        assertThat(arena.getNumValues()).isEqualTo(2);
+        assertThat(arena.getUsedMemory()).isEqualTo(2L * first.capacity());
+        assertThat(arena.getReservedMemory()).isEqualTo(OffHeapArena.SLAB_SIZE);
+    }
+
+    @Test
+    void testNewSlabWhenClassIsFull() {
+        // given
+        OffHeapArena arena = new OffHeapArena();
+        int chunksPerSlab = OffHeapArena.SLAB_SIZE / OffHeapArena.MAX_CHUNK_SIZE;
+
+        // when
+        OffHeapArena.Chunk last = null;
+        for (int i = 0; i <= chunksPerSlab; i++) {
+            last = arena.allocate(value(OffHeapArena.MAX_CHUNK_SIZE, (char) ('a' + i)));
+        }
+
+        // then
+        assertThat(arena.getReservedMemory()).isEqualTo(2L * OffHeapArena.SLAB_SIZE);
+        assertThat(last.getBytes()).isEqualTo(
+                value(OffHeapArena.MAX_CHUNK_SIZE, (char) ('a' + chunksPerSlab)));
+    }
+
+    @Test
+    void testLargeValueHasItsOwnBuffer() {
+        // given
+        OffHeapArena arena = new OffHeapArena();
+        byte[] large = value(OffHeapArena.MAX_CHUNK_SIZE + 1, 'x');
+
+        // when
+        OffHeapArena.Chunk chunk = arena.allocate(large);
+        long reserved = arena.getReservedMemory();
+        arena.free(chunk);
+
+        // then
+        assertThat(chunk.getBytes()).isEqualTo(large);
+        assertThat(reserved).isEqualTo(large.length);
+        assertThat(arena.getReservedMemory()).isZero();
+        assertThat(arena.getUsedMemory()).isZero();
+        assertThat(arena.getNumValues()).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package org.baylight.redis;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespSimpleStringValue;
+import org.junit.jupiter.api.Test;
+
+public class RedisKeyTest implements WithAssertions {
+
+    @Test
+    void testEqualKeys() {
+        // given
+        RedisKey key1 = RedisKey.of("mykey");
+        RedisKey key2 = RedisKey.of(new RespBulkString("mykey".getBytes()));
+        RedisKey key3 = RedisKey.of(new RespSimpleStringValue("mykey"));
+
+        // when/then
+        assertThat(key1).isEqualTo(key2).isEqualTo(key3);
+        assertThat(key1.hashCode()).isEqualTo(key2.hashCode());
+        assertThat(key1).isNotEqualTo(RedisKey.of("mykey2"));
+        assertThat(key1.toString()).isEqualTo("mykey");
+    }
+
+    @Test
+    void testBinaryKeysAreNotDecoded() {
+        // given
+        // invalid UTF-8 bytes that would both decode to the replacement character
+        byte[] bytes1 = new byte[] { 'k', (byte) 0xFE };
+        byte[] bytes2 = new byte[] { 'k', (byte) 0xFF };
+        Map<RedisKey, String> map = new HashMap<>();
+
+        // when
+        map.put(RedisKey.of(new RespBulkString(bytes1)), "v1");
+        map.put(RedisKey.of(new RespBulkString(bytes2)), "v2");
+
+        // then
+        assertThat(map).hasSize(2);
+        assertThat(map.get(RedisKey.wrap(new byte[] { 'k', (byte) 0xFE }))).isEqualTo("v1");
+        assertThat(RedisKey.wrap(bytes1).getBytes()).isSameAs(bytes1);
+    }
+
+    @Test
+    void testCompareUnsigned() {
+        // given
+        RedisKey low = RedisKey.wrap(new byte[] { 'a' });
+        RedisKey high = RedisKey.wrap(new byte[] { (byte) 0x80 });
+
+        // when/then
+        assertThat(low).isLessThan(high);
+        assertThat(RedisKey.of("ab")).isGreaterThan(RedisKey.of("a"));
+    }
+}
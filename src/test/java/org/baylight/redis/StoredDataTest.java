@@ -0,0 +1,109 @@
+package org.baylight.redis;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.streams.RedisStreamData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class StoredDataTest implements WithAssertions {
+
+    @AfterEach
+    void tearDown() {
+        StoredData.setSharedIntegersMax(StoredData.DEFAULT_SHARED_INTEGERS);
+    }
+
+    @Test
+    void testStringEncodings() {
+        // given
+        byte[] shortValue = "hello".getBytes();
+        byte[] longValue = new byte[StoredDataEncoding.EMBSTR_SIZE_LIMIT + 1];
+
+        // when
+        StoredData embstr = StoredData.ofString(shortValue, StoredData.NO_EXPIRY);
+        StoredData raw = StoredData.ofString(longValue, StoredData.NO_EXPIRY);
+        StoredData integer = StoredData.ofString("-12345678901".getBytes(), StoredData.NO_EXPIRY);
+
+        // then
+        assertThat(embstr.getEncoding()).isEqualTo(StoredDataEncoding.EMBSTR);
+        assertThat(embstr.getValue()).isSameAs(shortValue);
+        assertThat(raw.getEncoding()).isEqualTo(StoredDataEncoding.RAW);
+        assertThat(raw.getValue()).isSameAs(longValue);
+        assertThat(integer.getEncoding()).isEqualTo(StoredDataEncoding.INT);
+        assertThat(integer.getValue()).isEqualTo("-12345678901".getBytes());
+        assertThat(integer.getType()).isEqualTo(StoredDataType.STRING);
+    }
+
+    @Test
+    void testSharedIntegers() {
+        // given
+        StoredData.setSharedIntegersMax(100);
+
+        // when
+        StoredData shared1 = StoredData.ofString("100".getBytes(), StoredData.NO_EXPIRY);
+        StoredData shared2 = StoredData.ofString("100".getBytes(), 50L);
+        StoredData notShared = StoredData.ofString("101".getBytes(), StoredData.NO_EXPIRY);
+
+        // then
+        assertThat(shared1.getValue()).isEqualTo("100".getBytes());
+        assertThat(shared1.getValue()).isSameAs(shared2.getValue());
+        assertThat(notShared.getValue()).isEqualTo("101".getBytes());
+        assertThat(notShared.getValue()).isNotSameAs(notShared.getValue());
+    }
+
+    @Test
+    void testNonCanonicalNumbersKeepTheirBytes() {
+        for (String s : new String[] { "007", "-0", "+1", "1.5", "", "-",
+                "9223372036854775808", "-9223372036854775809", "1 " }) {
+            StoredData data = StoredData.ofString(s.getBytes(), StoredData.NO_EXPIRY);
+
+            assertThat(data.getEncoding()).as(s).isNotEqualTo(StoredDataEncoding.INT);
+            assertThat(data.getValue()).as(s).isEqualTo(s.getBytes());
+        }
+        assertThat(StoredData.parseCanonicalLong("9223372036854775807".getBytes()))
+                .isEqualTo(Long.MAX_VALUE);
+        assertThat(StoredData.parseCanonicalLong("-9223372036854775808".getBytes()))
+                .isEqualTo(Long.MIN_VALUE);
+        assertThat(StoredData.parseCanonicalLong("0".getBytes())).isEqualTo(0L);
+    }
+
+    @Test
+    void testLongValues() {
+        // given
+        StoredData.setSharedIntegersMax(100);
+
+        // when
+        StoredData shared = StoredData.ofLong(42L, StoredData.NO_EXPIRY);
+        StoredData negative = StoredData.ofLong(-42L, 50L);
+        StoredData parsed = StoredData.ofString("12345".getBytes(), StoredData.NO_EXPIRY);
+        StoredData string = StoredData.ofString("12a".getBytes(), StoredData.NO_EXPIRY);
+
+        // then
+        assertThat(shared).isEqualTo(StoredData.ofString("42".getBytes(), StoredData.NO_EXPIRY));
+        assertThat(shared.getLongValue()).isEqualTo(42L);
+        assertThat(negative.getEncoding()).isEqualTo(StoredDataEncoding.INT);
+        assertThat(negative.getLongValue()).isEqualTo(-42L);
+        assertThat(negative.getValue()).isEqualTo("-42".getBytes());
+        assertThat(parsed.getLongValue()).isEqualTo(12345L);
+        assertThat(string.getLongValue()).isNull();
+    }
+
+    @Test
+    void testExpiry() {
+        // given
+        StoredData noExpiry = new StoredData("v".getBytes(), 1000L, null);
+        StoredData zeroTtl = new StoredData("v".getBytes(), 1000L, 0L);
+        StoredData withTtl = new StoredData("v".getBytes(), 1000L, 100L);
+        StoredData stream = StoredData.ofStream(new RedisStreamData("s"), 1100L);
+
+        // when/then
+        assertThat(noExpiry.hasExpiry()).isFalse();
+        assertThat(noExpiry.isExpired(Long.MAX_VALUE - 1)).isFalse();
+        assertThat(zeroTtl.hasExpiry()).isFalse();
+        assertThat(withTtl.getExpiresAt()).isEqualTo(1100L);
+        assertThat(withTtl.isExpired(1100L)).isFalse();
+        assertThat(withTtl.isExpired(1101L)).isTrue();
+        assertThat(withTtl).isEqualTo(StoredData.ofString("v".getBytes(), 1100L));
+        assertThat(stream.isExpired(1101L)).isTrue();
+        assertThat(stream.getType()).isEqualTo(StoredDataType.STREAM);
+    }
+}
@@ -1,7 +1,9 @@
 package org.baylight.redis.acceptance;
 
 import java.net.Socket;
+import java.util.concurrent.TimeUnit;
 
+import org.assertj.core.api.Assertions;
 import org.assertj.core.api.WithAssertions;
 import org.baylight.redis.ClientConnection;
 import org.baylight.redis.RedisServiceOptions;
@@ -17,9 +19,10 @@ public class BaseAcceptanceTest implements WithAssertions, TestConstants {
     private static ServiceRunner leader;
 
     @BeforeAll
-    static void setUp() {
+    static void setUp() throws Exception {
         leader = new ServiceRunner(new RedisServiceOptions());
         new Thread(leader).start();
+        Assertions.assertThat(leader.awaitReady(10, TimeUnit.SECONDS)).isTrue();
     }
 
     @AfterAll
@@ -67,4 +70,163 @@ public class BaseAcceptanceTest implements WithAssertions, TestConstants {
             socket.close();
         }
     }
+
+    @Test
+    void testPipelinedCommands() throws Exception {
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            // send all the commands before reading any response
+            conn.writeFlush(("*3\r\n+set\r\n+p1\r\n+abc\r\n"
+                    + "*2\r\n+get\r\n+p1\r\n"
+                    + "*1\r\n+ping\r\n"
+                    + "*2\r\n+get\r\n+p2\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+OK\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$3\r\nabc\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+PONG\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$-1\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testHugeArrayHeaderDoesNotStopTheServer() throws Exception {
+        Socket attacker = new Socket("localhost", 6379);
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection attackerConn = new ClientConnection(attacker,
+                    new RespValueParser());
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+
+            // given a header for 400 million arguments, which are never sent
+            attackerConn.writeFlush("*400000000\r\n".getBytes());
+            Thread.sleep(100);
+
+            // then the I/O thread shared by both connections still answers the other client
+            conn.writeFlush("*1\r\n+ping\r\n".getBytes());
+            RespValue value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+PONG\r\n"));
+        } finally {
+            attacker.close();
+            socket.close();
+        }
+    }
+
+    @Test
+    void testArgumentErrorsInPipeline() throws Exception {
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            // each invalid command gets an error response in its place in the pipeline
+            conn.writeFlush(("*3\r\n+incrby\r\n+i1\r\n+x\r\n"
+                    + "*3\r\n+incrbyfloat\r\n+f1\r\n+abc\r\n"
+                    + "*1\r\n+ping\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(
+                    encodeResponse("-ERR value is not an integer or out of range\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR value is not a valid float\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+PONG\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testStreamCommandsOnHashKey() throws Exception {
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+            String wrongType = "-WRONGTYPE Operation against a key holding the wrong kind of value"
+                    + "\r\n";
+
+            conn.writeFlush(("*4\r\n+hset\r\n+h1\r\n+f\r\n+1\r\n"
+                    + "*5\r\n+xadd\r\n+h1\r\n+*\r\n+f\r\n+v\r\n"
+                    + "*4\r\n+xrange\r\n+h1\r\n+-\r\n++\r\n"
+                    + "*4\r\n+xread\r\n+streams\r\n+h1\r\n+0-0\r\n"
+                    + "*4\r\n+hincrby\r\n+h1\r\n+f\r\n+x\r\n"
+                    + "*4\r\n+hincrby\r\n+h1\r\n+f\r\n+2\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse(":1\r\n"));
+            for (int i = 0; i < 3; i++) {
+                value = conn.readValue();
+                assertThat(encodeResponse(value)).isEqualTo(encodeResponse(wrongType));
+            }
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(
+                    encodeResponse("-ERR value is not an integer or out of range\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse(":3\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testListArgumentErrorsInPipeline() throws Exception {
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            conn.writeFlush(("*3\r\n+blpop\r\n+q1\r\n+-1\r\n"
+                    + "*3\r\n+lpop\r\n+q1\r\n+-1\r\n"
+                    + "*1\r\n+ping\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR timeout is negative\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(
+                    encodeResponse("-ERR value is out of range, must be positive\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+PONG\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testSortedSetArgumentErrorsInPipeline() throws Exception {
+        Socket socket = new Socket("localhost", 6379);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            conn.writeFlush(("*4\r\n+zadd\r\n+z1\r\n+nan\r\n+x\r\n"
+                    + "*5\r\n+zadd\r\n+z1\r\n+1\r\n+a\r\n+2\r\n"
+                    + "*4\r\n+zincrby\r\n+z1\r\n+abc\r\n+a\r\n"
+                    + "*5\r\n+zrange\r\n+z1\r\n+a\r\n+b\r\n+byscore\r\n"
+                    + "*4\r\n+zadd\r\n+z1\r\n+1.5\r\n+a\r\n"
+                    + "*3\r\n+zscore\r\n+z1\r\n+a\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR value is not a valid float\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("-ERR syntax error\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR value is not a valid float\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR min or max is not a float\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse(":1\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$3\r\n1.5\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
 }
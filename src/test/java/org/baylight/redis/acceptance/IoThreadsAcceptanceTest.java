@@ -0,0 +1,70 @@
+package org.baylight.redis.acceptance;
+
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.ClientConnection;
+import org.baylight.redis.ServiceRunner;
+import org.baylight.redis.TestConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespValueParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class IoThreadsAcceptanceTest implements WithAssertions, TestConstants {
+    private static ServiceRunner leader;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        leader = new ServiceRunner("--port", "6382", "--io-threads", "3");
+        new Thread(leader).start();
+        Assertions.assertThat(leader.awaitReady(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        // stop the leader server
+        leader.terminate();
+    }
+
+    @Test
+    void testClientsOnDifferentIoThreads() throws Exception {
+        Socket[] sockets = new Socket[4];
+        try {
+            ClientConnection[] conns = new ClientConnection[sockets.length];
+            for (int i = 0; i < sockets.length; i++) {
+                sockets[i] = new Socket("localhost", 6382);
+                conns[i] = new ClientConnection(sockets[i], new RespValueParser());
+            }
+            RespValue value;
+
+            // each client sets a key that is read back by the next client
+            for (int i = 0; i < conns.length; i++) {
+                conns[i].writeFlush(("*3\r\n+set\r\n+k" + i + "\r\n+v" + i + "\r\n").getBytes());
+                value = conns[i].readValue();
+                assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+OK\r\n"));
+            }
+            for (int i = 0; i < conns.length; i++) {
+                int next = (i + 1) % conns.length;
+                conns[next].writeFlush(("*2\r\n+get\r\n+k" + i + "\r\n").getBytes());
+                value = conns[next].readValue();
+                assertThat(encodeResponse(value))
+                        .isEqualTo(encodeResponse("$2\r\nv" + i + "\r\n"));
+            }
+
+            conns[0].writeFlush("*2\r\n+info\r\n+stats\r\n".getBytes());
+            value = conns[0].readValue();
+            assertThat(value.getValueAsString()).contains("io_threads:3", "io_thread_0:",
+                    "io_thread_1:", "io_thread_2:");
+        } finally {
+            for (Socket socket : sockets) {
+                if (socket != null) {
+                    socket.close();
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package org.baylight.redis.acceptance;
 
 import java.net.Socket;
+import java.util.concurrent.TimeUnit;
 import java.util.List;
 
+import org.assertj.core.api.Assertions;
 import org.assertj.core.api.WithAssertions;
 import org.baylight.redis.ClientConnection;
 import org.baylight.redis.ServiceRunner;
@@ -24,6 +26,8 @@ public class ReplicationAcceptanceTest implements WithAssertions, TestConstants
     static void setUp() throws Exception {
         leader = new ServiceRunner();
         new Thread(leader).start();
+        // the followers connect to the leader when they start
+        Assertions.assertThat(leader.awaitReady(10, TimeUnit.SECONDS)).isTrue();
 
         follower1 = new ServiceRunner("--replicaof", "localhost", "6379", "--port", "6380");
         new Thread(follower1).start();
@@ -65,6 +69,12 @@ public class ReplicationAcceptanceTest implements WithAssertions, TestConstants
             System.out.println(value.toString());
             assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+OK\r\n"));
 
+            // replication is asynchronous, so wait for the followers to apply the set
+            conn.writeFlush("*3\r\n+wait\r\n+2\r\n+1000\r\n".getBytes());
+            value = conn.readValue();
+            System.out.println(value.toString());
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse(":2\r\n"));
+
             conn1.writeFlush("*2\r\n+get\r\n+m1\r\n".getBytes());
             value = conn1.readValue();
             System.out.println(value.toString());
@@ -0,0 +1,103 @@
+package org.baylight.redis.acceptance;
+
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.ClientConnection;
+import org.baylight.redis.ServiceRunner;
+import org.baylight.redis.TestConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespValueParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsAcceptanceTest implements WithAssertions, TestConstants {
+    private static ServiceRunner leader;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        leader = new ServiceRunner("--port", "6383", "--engine", "virtual-threads");
+        new Thread(leader).start();
+        Assertions.assertThat(leader.awaitReady(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        // stop the leader server
+        leader.terminate();
+    }
+
+    @Test
+    void testSetGet() throws Exception {
+        Socket socket = new Socket("localhost", 6383);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            conn.writeFlush("*3\r\n+set\r\n+m1\r\n+456\r\n".getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+OK\r\n"));
+
+            conn.writeFlush("*2\r\n+get\r\n+m1\r\n".getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$3\r\n456\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testInvalidArgumentKeepsConnectionOpen() throws Exception {
+        Socket socket = new Socket("localhost", 6383);
+        try {
+            ClientConnection conn = new ClientConnection(socket, new RespValueParser());
+            RespValue value;
+
+            // an argument error in the middle of a pipeline gets an error response in its place
+            conn.writeFlush(("*3\r\n+set\r\n+f1\r\n+1.5\r\n"
+                    + "*3\r\n+incrbyfloat\r\n+f1\r\n+abc\r\n"
+                    + "*2\r\n+get\r\n+f1\r\n").getBytes());
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("+OK\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value))
+                    .isEqualTo(encodeResponse("-ERR value is not a valid float\r\n"));
+            value = conn.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$3\r\n1.5\r\n"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testBlockingReadParksUntilAdd() throws Exception {
+        Socket readerSocket = new Socket("localhost", 6383);
+        Socket writerSocket = new Socket("localhost", 6383);
+        try {
+            ClientConnection reader = new ClientConnection(readerSocket, new RespValueParser());
+            ClientConnection writer = new ClientConnection(writerSocket, new RespValueParser());
+            RespValue value;
+
+            // given a client blocked reading an empty stream
+            reader.writeFlush(
+                    "*6\r\n+xread\r\n+block\r\n+5000\r\n+streams\r\n+s1\r\n+0-0\r\n".getBytes());
+            Thread.sleep(100);
+            assertThat(reader.available()).isEqualTo(0);
+
+            // when another client adds to the stream
+            writer.writeFlush("*5\r\n+xadd\r\n+s1\r\n+1-1\r\n+f\r\n+v\r\n".getBytes());
+            value = writer.readValue();
+            assertThat(encodeResponse(value)).isEqualTo(encodeResponse("$3\r\n1-1\r\n"));
+
+            // then the blocked client gets the new entry
+            value = reader.readValue();
+            assertThat(value.toString()).contains("s1", "1-1", "f", "v");
+        } finally {
+            readerSocket.close();
+            writerSocket.close();
+        }
+    }
+}
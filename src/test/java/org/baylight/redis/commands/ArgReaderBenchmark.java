@@ -0,0 +1,80 @@
+package org.baylight.redis.commands;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares parsing the args of SET key value PX ttl into the slots of the compiled arg spec with
+ * reading them into a map and looking up the options by name, which is how the commands used to
+ * read their args. Run the main method to get the allocations per command from the gc profiler
+ * (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgReaderBenchmark {
+    private static final String[] SET_ARG_SPEC = new String[] {
+            ":string", // command name
+            ":string", // key
+            ":string", // value
+            "[nx xx]",
+            "[get]",
+            "[ex:int px:int exat:int pxat:int keepttl]"
+    };
+    private static final ArgReader ARG_READER = new ArgReader("SET", SET_ARG_SPEC);
+    private static final int PX = ARG_READER.slot("px");
+
+    private final RespValue[] args = new RespValue[] {
+            new RespBulkString("SET".getBytes()),
+            new RespBulkString("mykey1".getBytes()),
+            new RespBulkString("myvalue1".getBytes()),
+            new RespBulkString("PX".getBytes()),
+            new RespBulkString("100".getBytes())
+    };
+
+    @Benchmark
+    public long parseToSlots() {
+        ParsedArgs parsedArgs = ARG_READER.parse(args);
+        return parsedArgs.getLong(PX, 0L);
+    }
+
+    @Benchmark
+    public long readArgsToMap() {
+        Map<String, RespValue> optionsMap = ARG_READER.readArgs(args);
+        return optionsMap.containsKey("px") ? optionsMap.get("px").getValueAsLong() : 0L;
+    }
+
+    @Benchmark
+    public SetCommand setCommandArgs() {
+        SetCommand command = new SetCommand();
+        command.setArgs(args);
+        return command;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ArgReaderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
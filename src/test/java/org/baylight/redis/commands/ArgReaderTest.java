@@ -333,4 +333,37 @@ class ArgReaderTest implements WithAssertions {
                         "SET: Invalid arg type, expected integer at index 4: RespSimpleStringValue [s=px]");
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testParseSetCommandToSlots() {
+        ArgReader reader = new ArgReader("SET", ARG_SPEC);
+
+        RespValue[] args = {
+                new RespBulkString("SET".getBytes()),
+                new RespBulkString("k1".getBytes()),
+                new RespBulkString("v1".getBytes()),
+                new RespBulkString("PX".getBytes()),
+                new RespBulkString("345".getBytes()),
+                new RespBulkString("Nx".getBytes())
+        };
+        ParsedArgs parsedArgs = reader.parse(args);
+
+        assertThat(parsedArgs.getString(reader.slot("1"))).isEqualTo("k1");
+        assertThat(parsedArgs.getBulkString(reader.slot("2")))
+                .isEqualTo(new RespBulkString("v1".getBytes()));
+        assertThat(parsedArgs.has(reader.slot("nx"))).isTrue();
+        assertThat(parsedArgs.has(reader.slot("xx"))).isFalse();
+        assertThat(parsedArgs.getLong(reader.slot("px"), 0L)).isEqualTo(345L);
+        assertThat(parsedArgs.getLong(reader.slot("ex"), -1L)).isEqualTo(-1L);
+        assertThat(parsedArgs.get(reader.slot("get"))).isNull();
+    }
+
+    @Test
+    public void testSlotUnknownName() {
+        ArgReader reader = new ArgReader("SET", ARG_SPEC);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> reader.slot("nope"))
+                .withMessage("SET: no arg 'nope' in the arg spec");
+    }
+}
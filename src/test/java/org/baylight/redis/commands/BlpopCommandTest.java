@@ -0,0 +1,113 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class BlpopCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        BlpopCommand command = new BlpopCommand(Type.BLPOP);
+
+        // when
+        command.setArgs(new RespValue[] { bulk("BLPOP"), bulk("q1"), bulk("q2"), bulk("1.5") });
+
+        // then
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("q1"), RedisKey.of("q2"));
+        assertThat(command.getTimeoutMillis()).isEqualTo(1500L);
+    }
+
+    @Test
+    void testSetArgsWithInvalidTimeout() {
+        // given
+        BlpopCommand command = new BlpopCommand(Type.BLPOP);
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(
+                        new RespValue[] { bulk("BLPOP"), bulk("q1"), bulk("soon") }))
+                .withMessage("ERR timeout is not a float or out of range");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(
+                        new RespValue[] { bulk("BLPOP"), bulk("q1"), bulk("-1") }))
+                .withMessage("ERR timeout is negative");
+    }
+
+    @Test
+    void testTryPopFromFirstListWithElements() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisListData list = new RedisListData();
+        list.push(false, "a".getBytes());
+        list.push(false, "b".getBytes());
+        when(service.getUnexpired(RedisKey.of("q2")))
+                .thenReturn(StoredData.ofList(list, StoredData.NO_EXPIRY));
+        BlpopCommand command = new BlpopCommand(Type.BRPOP,
+                List.of(RedisKey.of("q1"), RedisKey.of("q2")), 0L);
+        ArgumentCaptor<RedisCommand> captor = ArgumentCaptor.forClass(RedisCommand.class);
+
+        // when
+        byte[] result = command.tryPop(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("q2"), bulk("b") }).asResponse());
+        verify(service).replicate(captor.capture(), isNull());
+        assertThat(captor.getValue().asCommand()).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("RPOP"), bulk("q2") }).asResponse());
+    }
+
+    @Test
+    void testTryPopWithEmptyLists() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        BlpopCommand command = new BlpopCommand(Type.BLPOP, List.of(RedisKey.of("q1")), 0L);
+
+        // when
+        byte[] result = command.tryPop(service);
+
+        // then
+        assertThat(result).isNull();
+        verify(service, never()).replicate(any(), any());
+    }
+
+    @Test
+    void testTimeout() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        BlpopCommand command = new BlpopCommand(Type.BLPOP, List.of(RedisKey.of("q1")), 10L);
+        when(service.executeWithWait(any(), any(), anyLong())).thenReturn(null);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.NULL_ARRAY);
+    }
+}
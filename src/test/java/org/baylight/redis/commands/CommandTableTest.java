@@ -0,0 +1,109 @@
+package org.baylight.redis.commands;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.commands.CommandTable.CommandSpec;
+import org.baylight.redis.commands.CommandTable.Flag;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleStringValue;
+import org.junit.jupiter.api.Test;
+
+public class CommandTableTest implements WithAssertions {
+
+    @Test
+    void testLookupIgnoresCase() {
+        // given
+        CommandTable table = CommandTable.INSTANCE;
+
+        // when
+        CommandSpec lower = table.lookup("xrange".getBytes());
+        CommandSpec upper = table.lookup("XRANGE".getBytes());
+        CommandSpec mixed = table.lookup("XRanGe");
+
+        // then
+        assertThat(lower.type()).isEqualTo(RedisCommand.Type.XRANGE);
+        assertThat(upper).isSameAs(lower);
+        assertThat(mixed).isSameAs(lower);
+    }
+
+    @Test
+    void testLookupValue() {
+        // given
+        CommandTable table = CommandTable.INSTANCE;
+
+        // when/then
+        assertThat(table.lookup(new RespBulkString("Get".getBytes())).type())
+                .isEqualTo(RedisCommand.Type.GET);
+        assertThat(table.lookup(new RespSimpleStringValue("sET")).type())
+                .isEqualTo(RedisCommand.Type.SET);
+        assertThat(table.lookup(new RespInteger(5))).isNull();
+    }
+
+    @Test
+    void testLookupUnknownCommand() {
+        // given
+        CommandTable table = CommandTable.INSTANCE;
+
+        // when/then
+        assertThat(table.lookup("gets".getBytes())).isNull();
+        assertThat(table.lookup("ge".getBytes())).isNull();
+        assertThat(table.lookup("")).isNull();
+        assertThat(RedisCommand.Type.of("nope")).isNull();
+    }
+
+    @Test
+    void testLookupType() {
+        // given
+        CommandTable table = CommandTable.INSTANCE;
+
+        // when/then
+        for (CommandSpec spec : table.getSpecs()) {
+            assertThat(table.lookup(spec.type())).isSameAs(spec);
+        }
+        assertThat(new GetCommand().isDenyOomCommand()).isFalse();
+        assertThat(new IncrCommand(RedisCommand.Type.INCR).isDenyOomCommand()).isTrue();
+    }
+
+    @Test
+    void testAllTypesWithCommandsAreInTable() {
+        // given
+        CommandTable table = CommandTable.INSTANCE;
+
+        // when/then
+        for (CommandSpec spec : table.getSpecs()) {
+            assertThat(table.lookup(spec.name().toUpperCase())).isSameAs(spec);
+            assertThat(RedisCommand.Type.of(spec.name())).isEqualTo(spec.type());
+            assertThat(spec.type().name()).isEqualToIgnoringCase(spec.name());
+        }
+    }
+
+    @Test
+    void testCommandMetadata() {
+        // given
+        CommandSpec get = CommandTable.INSTANCE.lookup("get");
+        CommandSpec set = CommandTable.INSTANCE.lookup("set");
+
+        // when/then
+        assertThat(get.hasFlag(Flag.READONLY)).isTrue();
+        assertThat(get.hasFlag(Flag.WRITE)).isFalse();
+        assertThat(get.isValidArity(2)).isTrue();
+        assertThat(get.isValidArity(3)).isFalse();
+        assertThat(get.firstKey()).isEqualTo(1);
+
+        assertThat(set.hasFlag(Flag.WRITE)).isTrue();
+        assertThat(set.isValidArity(2)).isFalse();
+        assertThat(set.isValidArity(5)).isTrue();
+    }
+
+    @Test
+    void testNewCommand() {
+        // given
+        CommandSpec spec = CommandTable.INSTANCE.lookup("ping");
+
+        // when
+        RedisCommand command = spec.newCommand(null);
+
+        // then
+        assertThat(command).isInstanceOf(PingCommand.class);
+    }
+}
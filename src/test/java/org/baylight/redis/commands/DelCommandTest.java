@@ -0,0 +1,97 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class DelCommandTest implements WithAssertions {
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { new RespBulkString("UNLINK".getBytes()),
+                new RespBulkString("k1".getBytes()), new RespBulkString("k2".getBytes()) };
+        DelCommand command = new DelCommand(RedisCommand.Type.UNLINK);
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("k1"), RedisKey.of("k2"));
+    }
+
+    @Test
+    void testSetArgsWithoutKeys() {
+        // given
+        RespValue[] args = { new RespBulkString("DEL".getBytes()) };
+        DelCommand command = new DelCommand(RedisCommand.Type.DEL);
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(args));
+    }
+
+    @Test
+    void testExecuteCountsRemovedKeys() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.delete(RedisKey.of("k1"))).thenReturn(true);
+        when(service.delete(RedisKey.of("k2"))).thenReturn(false);
+        when(service.delete(RedisKey.of("k3"))).thenReturn(true);
+        DelCommand command = new DelCommand(RedisCommand.Type.DEL,
+                List.of(RedisKey.of("k1"), RedisKey.of("k2"), RedisKey.of("k3")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).delete(RedisKey.of("k2"));
+    }
+
+    @Test
+    void testUnlinkReleasesInBackground() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.unlink(RedisKey.of("k1"))).thenReturn(true);
+        DelCommand command = new DelCommand(RedisCommand.Type.UNLINK, List.of(RedisKey.of("k1")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).unlink(RedisKey.of("k1"));
+        verify(service, never()).delete(any());
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        DelCommand command = new DelCommand(RedisCommand.Type.UNLINK,
+                List.of(RedisKey.of("k1"), RedisKey.of("k2")));
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] {
+                new RespBulkString("UNLINK".getBytes()), new RespBulkString("k1".getBytes()),
+                new RespBulkString("k2".getBytes()) }).asResponse());
+        assertThat(command.isReplicatedCommand()).isTrue();
+    }
+}
@@ -1,14 +1,15 @@
 package org.baylight.redis.commands;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
+import org.baylight.redis.OffHeapArena;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.StoredData;
 import org.baylight.redis.TestConstants;
@@ -16,6 +17,7 @@ import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespWriter;
 
 // Note: Generated by CodiumAI
 // However, I had to do some work to add verifications.
@@ -31,8 +33,8 @@ public class GetCommandTest implements WithAssertions, TestConstants {
         // given
         RedisServiceBase service = mock(LeaderService.class);
         StoredData storedData = new StoredData("value".getBytes(), 0, null);
-        when(service.containsKey(anyString())).thenReturn(true);
-        when(service.get(anyString())).thenReturn(storedData);
+        when(service.containsKey(any(RedisKey.class))).thenReturn(true);
+        when(service.get(any(RedisKey.class))).thenReturn(storedData);
         GetCommand command = new GetCommand(new RespBulkString("key".getBytes()));
 
         // when
@@ -40,8 +42,8 @@ public class GetCommandTest implements WithAssertions, TestConstants {
 
         // then
         assertThat(result).isEqualTo(new RespBulkString("value".getBytes()).asResponse());
-        verify(service).containsKey("key");
-        verify(service).get("key");
+        verify(service).containsKey(RedisKey.of("key"));
+        verify(service).get(RedisKey.of("key"));
         verify(service).isExpired(storedData);
         verifyNoMoreInteractions(service);
     }
@@ -52,8 +54,8 @@ public class GetCommandTest implements WithAssertions, TestConstants {
         // given
         RedisServiceBase service = mock(LeaderService.class);
         StoredData storedData = new StoredData("value".getBytes(), CLOCK_MILLIS, 100L);
-        when(service.containsKey(anyString())).thenReturn(true);
-        when(service.get(anyString())).thenReturn(storedData);
+        when(service.containsKey(any(RedisKey.class))).thenReturn(true);
+        when(service.get(any(RedisKey.class))).thenReturn(storedData);
         when(service.isExpired(any())).thenReturn(storedData.isExpired(CLOCK_MILLIS + 101L));
         GetCommand command = new GetCommand(new RespBulkString("key".getBytes()));
 
@@ -62,19 +64,65 @@ public class GetCommandTest implements WithAssertions, TestConstants {
 
         // then
         assertThat(result).isEqualTo(RespConstants.NULL);
-        verify(service).containsKey("key");
-        verify(service).get("key");
+        verify(service).containsKey(RedisKey.of("key"));
+        verify(service).get(RedisKey.of("key"));
         verify(service).isExpired(storedData);
-        verify(service).delete("key");
+        verify(service).expireKey(RedisKey.of("key"), storedData);
         verifyNoMoreInteractions(service);
     }
 
+    // When a valid key is provided, the value should be written to the writer as it is stored.
+    @Test
+    public void test_validKeyProvided_executeWithWriterShouldWriteStoredValue() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        byte[] value = new byte[4096];
+        StoredData storedData = new StoredData(value, 0, null);
+        when(service.containsKey(any(RedisKey.class))).thenReturn(true);
+        when(service.get(any(RedisKey.class))).thenReturn(storedData);
+        GetCommand command = new GetCommand(new RespBulkString("key".getBytes()));
+        RespWriter writer = new RespWriter();
+
+        // when
+        command.execute(service, writer);
+
+        // then
+        assertThat(writer.toByteArray()).isEqualTo(new RespBulkString(value).asResponse());
+        assertThat(writer.toBuffers()).anySatisfy(b -> assertThat(b.array()).isSameAs(value));
+        verify(service).containsKey(RedisKey.of("key"));
+        verify(service).get(RedisKey.of("key"));
+        verify(service).isExpired(storedData);
+        verifyNoMoreInteractions(service);
+    }
+
+    // When the value is off-heap, it should be written from the arena without a heap copy.
+    @Test
+    public void test_offHeapValue_executeWithWriterShouldWriteFromArena() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        byte[] value = new byte[4096];
+        value[100] = 'x';
+        StoredData storedData = StoredData.ofOffHeap(new OffHeapArena().allocate(value),
+                StoredData.NO_EXPIRY);
+        when(service.containsKey(any(RedisKey.class))).thenReturn(true);
+        when(service.get(any(RedisKey.class))).thenReturn(storedData);
+        GetCommand command = new GetCommand(new RespBulkString("key".getBytes()));
+        RespWriter writer = new RespWriter();
+
+        // when
+        command.execute(service, writer);
+
+        // then
+        assertThat(writer.toByteArray()).isEqualTo(new RespBulkString(value).asResponse());
+        assertThat(writer.toBuffers()).anySatisfy(b -> assertThat(b.isDirect()).isTrue());
+    }
+
     // When a non-existent key is provided, the execute method should return NULL.
     @Test
     public void test_nonExistentKeyProvided_executeMethodShouldReturnNull() {
         // given
         RedisServiceBase service = mock(LeaderService.class);
-        when(service.containsKey(anyString())).thenReturn(false);
+        when(service.containsKey(any(RedisKey.class))).thenReturn(false);
         GetCommand command = new GetCommand(new RespBulkString("key".getBytes()));
 
         // when
@@ -82,7 +130,7 @@ public class GetCommandTest implements WithAssertions, TestConstants {
 
         // then
         assertThat(result).isEqualTo(RespConstants.NULL);
-        verify(service).containsKey("key");
+        verify(service).containsKey(RedisKey.of("key"));
         verifyNoMoreInteractions(service);
     }
 
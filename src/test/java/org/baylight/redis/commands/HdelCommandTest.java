@@ -0,0 +1,81 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class HdelCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("HDEL"), bulk("user"), bulk("name"), bulk("age") };
+        HdelCommand command = new HdelCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("user"));
+        assertThat(command.getFields()).containsExactly(bulk("name"), bulk("age"));
+    }
+
+    @Test
+    void testDeleteFields() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        hash.set("age".getBytes(), "30".getBytes());
+        StoredData storedData = StoredData.ofHash(hash, StoredData.NO_EXPIRY);
+        long prevSize = storedData.getEstimatedSize();
+        when(service.getUnexpired(RedisKey.of("user"))).thenReturn(storedData);
+        HdelCommand command = new HdelCommand(RedisKey.of("user"),
+                List.of(bulk("name"), bulk("email")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(hash.size()).isEqualTo(1);
+        verify(service).updated(storedData, prevSize);
+        verify(service, never()).delete(RedisKey.of("user"));
+    }
+
+    @Test
+    void testDeleteLastFieldRemovesKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+        HdelCommand command = new HdelCommand(RedisKey.of("user"), List.of(bulk("name")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).delete(RedisKey.of("user"));
+    }
+}
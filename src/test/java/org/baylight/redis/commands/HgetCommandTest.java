@@ -0,0 +1,70 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class HgetCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("HGET"), bulk("user"), bulk("name") };
+        HgetCommand command = new HgetCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("user"));
+        assertThat(command.getField()).isEqualTo(bulk("name"));
+    }
+
+    @Test
+    void testGetField() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] found = new HgetCommand(RedisKey.of("user"), bulk("name")).execute(service);
+        byte[] missing = new HgetCommand(RedisKey.of("user"), bulk("age")).execute(service);
+        byte[] noKey = new HgetCommand(RedisKey.of("other"), bulk("name")).execute(service);
+
+        // then
+        assertThat(found).isEqualTo(bulk("ann").asResponse());
+        assertThat(missing).isEqualTo(RespConstants.NULL);
+        assertThat(noKey).isEqualTo(RespConstants.NULL);
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofString("ann".getBytes(), StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new HgetCommand(RedisKey.of("user"), bulk("name")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+}
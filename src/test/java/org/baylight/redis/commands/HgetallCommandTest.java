@@ -0,0 +1,52 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class HgetallCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testGetAll() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        hash.set("age".getBytes(), "30".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new HgetallCommand(RedisKey.of("user")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("name"),
+                bulk("ann"), bulk("age"), bulk("30") }).asResponse());
+    }
+
+    @Test
+    void testMissingKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+
+        // when
+        byte[] result = new HgetallCommand(RedisKey.of("user")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[0]).asResponse());
+    }
+}
@@ -0,0 +1,81 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class HincrbyCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("HINCRBY"), bulk("user"), bulk("visits"), bulk("-2") };
+        HincrbyCommand command = new HincrbyCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("user"));
+        assertThat(command.getField()).isEqualTo(bulk("visits"));
+        assertThat(command.getIncrement()).isEqualTo(-2L);
+    }
+
+    @Test
+    void testIncrementField() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("visits".getBytes(), "5".getBytes());
+        StoredData storedData = StoredData.ofHash(hash, StoredData.NO_EXPIRY);
+        long prevSize = storedData.getEstimatedSize();
+        when(service.getUnexpired(RedisKey.of("user"))).thenReturn(storedData);
+        HincrbyCommand command = new HincrbyCommand(RedisKey.of("user"), bulk("visits"), 10L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(15).asResponse());
+        assertThat(hash.get("visits".getBytes())).isEqualTo("15".getBytes());
+        verify(service).updated(storedData, prevSize);
+    }
+
+    @Test
+    void testNotAnInteger() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+        HincrbyCommand command = new HincrbyCommand(RedisKey.of("user"), bulk("name"), 1L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespSimpleErrorValue(HincrbyCommand.NOT_AN_INTEGER).asResponse());
+        verify(service, never()).updated(any(), anyLong());
+    }
+}
@@ -0,0 +1,35 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespInteger;
+import org.junit.jupiter.api.Test;
+
+public class HlenCommandTest implements WithAssertions {
+
+    @Test
+    void testLength() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        hash.set("age".getBytes(), "30".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new HlenCommand(RedisKey.of("user")).execute(service);
+        byte[] missing = new HlenCommand(RedisKey.of("other")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(missing).isEqualTo(new RespInteger(0).asResponse());
+    }
+}
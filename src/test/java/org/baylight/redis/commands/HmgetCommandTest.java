@@ -0,0 +1,72 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class HmgetCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("HMGET"), bulk("user"), bulk("name"), bulk("age") };
+        HmgetCommand command = new HmgetCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("user"));
+        assertThat(command.getFields()).containsExactly(bulk("name"), bulk("age"));
+    }
+
+    @Test
+    void testGetFields() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofHash(hash, StoredData.NO_EXPIRY));
+        HmgetCommand command = new HmgetCommand(RedisKey.of("user"),
+                List.of(bulk("name"), bulk("age")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(
+                new RespValue[] { bulk("ann"), RespConstants.NULL_VALUE }).asResponse());
+    }
+
+    @Test
+    void testMissingKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        HmgetCommand command = new HmgetCommand(RedisKey.of("user"), List.of(bulk("name")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { RespConstants.NULL_VALUE }).asResponse());
+    }
+}
@@ -0,0 +1,135 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.hashes.RedisHashData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class HsetCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("HSET"), bulk("user"), bulk("name"), bulk("ann"), bulk("age"),
+                bulk("30") };
+        HsetCommand command = new HsetCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("user"));
+        assertThat(command.getFields()).containsExactly(bulk("name"), bulk("age"));
+        assertThat(command.getValues()).containsExactly(bulk("ann"), bulk("30"));
+    }
+
+    @Test
+    void testSetArgsWithMissingValue() {
+        // given
+        RespValue[] args = { bulk("HSET"), bulk("user"), bulk("name"), bulk("ann"), bulk("age") };
+        HsetCommand command = new HsetCommand();
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(args))
+                .withMessage("ERR wrong number of arguments for 'hset' command");
+    }
+
+    @Test
+    void testCreatesHash() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        HsetCommand command = new HsetCommand(RedisKey.of("user"),
+                List.of(bulk("name"), bulk("age")), List.of(bulk("ann"), bulk("30")));
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).set(eq(RedisKey.of("user")), captor.capture());
+        RedisHashData hash = captor.getValue().getHashValue();
+        assertThat(captor.getValue().getEncoding()).isEqualTo(StoredDataEncoding.LISTPACK);
+        assertThat(hash.get("name".getBytes())).isEqualTo("ann".getBytes());
+        assertThat(hash.get("age".getBytes())).isEqualTo("30".getBytes());
+    }
+
+    @Test
+    void testUpdatesHashInPlace() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisHashData hash = new RedisHashData();
+        hash.set("name".getBytes(), "ann".getBytes());
+        StoredData storedData = StoredData.ofHash(hash, StoredData.NO_EXPIRY);
+        long prevSize = storedData.getEstimatedSize();
+        when(service.getUnexpired(RedisKey.of("user"))).thenReturn(storedData);
+        HsetCommand command = new HsetCommand(RedisKey.of("user"),
+                List.of(bulk("name"), bulk("age")), List.of(bulk("bob"), bulk("30")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(hash.get("name".getBytes())).isEqualTo("bob".getBytes());
+        verify(service).updated(storedData, prevSize);
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("user")))
+                .thenReturn(StoredData.ofString("ann".getBytes(), StoredData.NO_EXPIRY));
+        HsetCommand command = new HsetCommand(RedisKey.of("user"), List.of(bulk("name")),
+                List.of(bulk("ann")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testReplicatedAsItIs() {
+        // given
+        HsetCommand command = new HsetCommand(RedisKey.of("user"), List.of(bulk("name")),
+                List.of(bulk("ann")));
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(command.isReplicatedCommand()).isTrue();
+        assertThat(command.isDenyOomCommand()).isTrue();
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("HSET"),
+                bulk("user"), bulk("name"), bulk("ann") }).asResponse());
+    }
+}
@@ -0,0 +1,130 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class IncrByFloatCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("INCRBYFLOAT"), bulk("f"), bulk("5.0e3") };
+        IncrByFloatCommand command = new IncrByFloatCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("f"));
+        assertThat(command.getIncrement()).isEqualTo(5000.0);
+    }
+
+    @Test
+    void testSetArgsWithInvalidIncrement() {
+        for (String s : new String[] { "abc", "1.5f", "0x10", "Infinity", "NaN", "1e400", " 1" }) {
+            // given
+            RespValue[] args = { bulk("INCRBYFLOAT"), bulk("f"), bulk(s) };
+            IncrByFloatCommand command = new IncrByFloatCommand();
+
+            // when/then
+            assertThatExceptionOfType(IllegalArgumentException.class).as(s)
+                    .isThrownBy(() -> command.setArgs(args))
+                    .withMessage(IncrByFloatCommand.NOT_A_FLOAT);
+        }
+    }
+
+    @Test
+    void testFormatDouble() {
+        assertThat(IncrByFloatCommand.formatDouble(10.6)).isEqualTo("10.6");
+        assertThat(IncrByFloatCommand.formatDouble(5000.0)).isEqualTo("5000");
+        assertThat(IncrByFloatCommand.formatDouble(1e20)).isEqualTo("100000000000000000000");
+        assertThat(IncrByFloatCommand.formatDouble(-0.0)).isEqualTo("0");
+        assertThat(IncrByFloatCommand.formatDouble(1.5e-7)).isEqualTo("0.00000015");
+    }
+
+    @Test
+    void testIncrementKeepsExpiryAndReplicatesSet() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("f")))
+                .thenReturn(StoredData.ofString("10.50".getBytes(), 1000L));
+        IncrByFloatCommand command = new IncrByFloatCommand(RedisKey.of("f"), 0.1);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(bulk("10.6").asResponse());
+        verify(service).set(RedisKey.of("f"), StoredData.ofString("10.6".getBytes(), 1000L));
+        assertThat(command.asCommand()).isEqualTo(new RespArrayValue(new RespValue[] {
+                bulk("SET"), bulk("f"), bulk("10.6"), bulk("keepttl") }).asResponse());
+    }
+
+    @Test
+    void testWholeSumIsStoredAsInteger() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("f")))
+                .thenReturn(StoredData.ofLong(3L, StoredData.NO_EXPIRY));
+        IncrByFloatCommand command = new IncrByFloatCommand(RedisKey.of("f"), 2.0);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(bulk("5").asResponse());
+        verify(service).set(RedisKey.of("f"), StoredData.ofLong(5L, StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testNotAFloat() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("f")))
+                .thenReturn(StoredData.ofString("hello".getBytes(), StoredData.NO_EXPIRY));
+        IncrByFloatCommand command = new IncrByFloatCommand(RedisKey.of("f"), 1.0);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result)
+                .isEqualTo(new RespSimpleErrorValue(IncrByFloatCommand.NOT_A_FLOAT).asResponse());
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testInfinity() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("f")))
+                .thenReturn(StoredData.ofString("1e308".getBytes(), StoredData.NO_EXPIRY));
+        IncrByFloatCommand command = new IncrByFloatCommand(RedisKey.of("f"), 1e308);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespSimpleErrorValue(IncrByFloatCommand.NAN_OR_INFINITY).asResponse());
+        verify(service, never()).set(any(), any());
+    }
+}
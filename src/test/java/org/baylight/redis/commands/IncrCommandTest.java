@@ -0,0 +1,150 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.streams.RedisStreamData;
+import org.junit.jupiter.api.Test;
+
+public class IncrCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("DECRBY"), bulk("counter"), bulk("-5") };
+        IncrCommand command = new IncrCommand(RedisCommand.Type.DECRBY);
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("counter"));
+        assertThat(command.getIncrement()).isEqualTo(-5L);
+    }
+
+    @Test
+    void testSetArgsWithInvalidIncrement() {
+        // given
+        RespValue[] args = { bulk("INCRBY"), bulk("counter"), bulk("1.5") };
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCRBY);
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(args))
+                .withMessage(IncrCommand.NOT_AN_INTEGER);
+    }
+
+    @Test
+    void testIncrMissingKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCR, RedisKey.of("counter"), 0L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).set(RedisKey.of("counter"), StoredData.ofLong(1L, StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testDecrbyKeepsExpiry() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("counter")))
+                .thenReturn(StoredData.ofString("10".getBytes(), 1000L));
+        IncrCommand command = new IncrCommand(RedisCommand.Type.DECRBY, RedisKey.of("counter"),
+                15L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(-5).asResponse());
+        verify(service).set(RedisKey.of("counter"), StoredData.ofLong(-5L, 1000L));
+    }
+
+    @Test
+    void testIncrNotAnInteger() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("counter")))
+                .thenReturn(StoredData.ofString("010".getBytes(), StoredData.NO_EXPIRY));
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCR, RedisKey.of("counter"), 0L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result)
+                .isEqualTo(new RespSimpleErrorValue(IncrCommand.NOT_AN_INTEGER).asResponse());
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testIncrbyOverflow() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("counter"))).thenReturn(
+                StoredData.ofLong(Long.MAX_VALUE - 1, StoredData.NO_EXPIRY));
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCRBY, RedisKey.of("counter"),
+                2L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespSimpleErrorValue(IncrCommand.OVERFLOW).asResponse());
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testIncrWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("stream"))).thenReturn(
+                StoredData.ofStream(new RedisStreamData("stream"), StoredData.NO_EXPIRY));
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCR, RedisKey.of("stream"), 0L);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testReplicatedAsItIs() {
+        // given
+        IncrCommand command = new IncrCommand(RedisCommand.Type.INCRBY, RedisKey.of("counter"),
+                7L);
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(command.isReplicatedCommand()).isTrue();
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("INCRBY"),
+                bulk("counter"), bulk("7") }).asResponse());
+    }
+}
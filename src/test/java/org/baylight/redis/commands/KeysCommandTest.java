@@ -8,9 +8,11 @@ import static org.mockito.Mockito.when;
 import java.util.List;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.TestConstants;
+import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 import org.baylight.redis.protocol.RespValue;
 
@@ -24,7 +26,7 @@ public class KeysCommandTest implements WithAssertions, TestConstants {
     public void test_validParamProvided_executeMethodShouldReturnValue() {
         // given
         RedisServiceBase service = mock(LeaderService.class);
-        when(service.getKeys()).thenReturn(List.of("hello", "you"));
+        when(service.getKeys()).thenReturn(List.of(RedisKey.of("hello"), RedisKey.of("you")));
         KeysCommand command = new KeysCommand("*");
 
         // when
@@ -37,6 +39,26 @@ public class KeysCommandTest implements WithAssertions, TestConstants {
         verifyNoMoreInteractions(service);
     }
 
+    // Only the keys that match the glob pattern should be returned.
+    @Test
+    public void test_patternProvided_executeMethodShouldReturnMatchingKeys() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getKeys()).thenReturn(List.of(RedisKey.of("user:1"), RedisKey.of("order:1"),
+                RedisKey.of("user:22")));
+        KeysCommand command = new KeysCommand();
+        command.setArgs(new RespValue[] { new RespBulkString("KEYS".getBytes()),
+                new RespBulkString("user:?".getBytes()) });
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        String expectedResult = encodeResponse("*1\r\n$6\r\nuser:1\r\n");
+        assertThat(encodeResponse(result)).isEqualTo(expectedResult);
+        assertThat(command.getParam()).isEqualTo("user:?");
+    }
+
     // When setArgs is called with no arguments, an IllegalArgumentException should be thrown.
     @Test
     public void test_setArgsCalledWithNoArguments_illegalArgumentExceptionShouldBeThrown() {
@@ -0,0 +1,57 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class LindexCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgsWithInvalidIndex() {
+        // given
+        LindexCommand command = new LindexCommand();
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(
+                        new RespValue[] { bulk("LINDEX"), bulk("queue"), bulk("first") }));
+    }
+
+    @Test
+    void testIndex() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisListData list = new RedisListData();
+        for (String element : new String[] { "a", "b", "c" }) {
+            list.push(false, element.getBytes());
+        }
+        when(service.getUnexpired(RedisKey.of("queue")))
+                .thenReturn(StoredData.ofList(list, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] first = new LindexCommand(RedisKey.of("queue"), 0).execute(service);
+        byte[] last = new LindexCommand(RedisKey.of("queue"), -1).execute(service);
+        byte[] outOfRange = new LindexCommand(RedisKey.of("queue"), 3).execute(service);
+        byte[] missing = new LindexCommand(RedisKey.of("other"), 0).execute(service);
+
+        // then
+        assertThat(first).isEqualTo(bulk("a").asResponse());
+        assertThat(last).isEqualTo(bulk("c").asResponse());
+        assertThat(outOfRange).isEqualTo(RespConstants.NULL);
+        assertThat(missing).isEqualTo(RespConstants.NULL);
+    }
+}
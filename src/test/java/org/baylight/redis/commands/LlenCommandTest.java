@@ -0,0 +1,35 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespInteger;
+import org.junit.jupiter.api.Test;
+
+public class LlenCommandTest implements WithAssertions {
+
+    @Test
+    void testLength() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisListData list = new RedisListData();
+        list.push(false, "a".getBytes());
+        list.push(false, "b".getBytes());
+        when(service.getUnexpired(RedisKey.of("queue")))
+                .thenReturn(StoredData.ofList(list, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new LlenCommand(RedisKey.of("queue")).execute(service);
+        byte[] missing = new LlenCommand(RedisKey.of("other")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(missing).isEqualTo(new RespInteger(0).asResponse());
+    }
+}
@@ -0,0 +1,127 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class LpopCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static StoredData listOf(String... elements) {
+        RedisListData list = new RedisListData();
+        for (String element : elements) {
+            list.push(false, element.getBytes());
+        }
+        return StoredData.ofList(list, StoredData.NO_EXPIRY);
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        LpopCommand command = new LpopCommand(Type.LPOP);
+        LpopCommand countCommand = new LpopCommand(Type.RPOP);
+
+        // when
+        command.setArgs(new RespValue[] { bulk("LPOP"), bulk("queue") });
+        countCommand.setArgs(new RespValue[] { bulk("RPOP"), bulk("queue"), bulk("3") });
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("queue"));
+        assertThat(command.getCount()).isNull();
+        assertThat(countCommand.getCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void testSetArgsWithNegativeCount() {
+        // given
+        LpopCommand command = new LpopCommand(Type.LPOP);
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(
+                        new RespValue[] { bulk("LPOP"), bulk("queue"), bulk("-1") }))
+                .withMessage("ERR value is out of range, must be positive");
+    }
+
+    @Test
+    void testPop() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData storedData = listOf("a", "b", "c");
+        when(service.getUnexpired(RedisKey.of("queue"))).thenReturn(storedData);
+
+        // when
+        byte[] left = new LpopCommand(Type.LPOP, RedisKey.of("queue"), null).execute(service);
+        byte[] right = new LpopCommand(Type.RPOP, RedisKey.of("queue"), null).execute(service);
+
+        // then
+        assertThat(left).isEqualTo(bulk("a").asResponse());
+        assertThat(right).isEqualTo(bulk("c").asResponse());
+        assertThat(storedData.getListValue().toString()).isEqualTo("[b]");
+        verify(service, never()).delete(RedisKey.of("queue"));
+    }
+
+    @Test
+    void testPopWithCountRemovesEmptyList() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData storedData = listOf("a", "b", "c");
+        when(service.getUnexpired(RedisKey.of("queue"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new LpopCommand(Type.RPOP, RedisKey.of("queue"), 5L).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("c"), bulk("b"),
+                bulk("a") }).asResponse());
+        verify(service).updated(eq(storedData), anyLong());
+        verify(service).delete(RedisKey.of("queue"));
+    }
+
+    @Test
+    void testMissingKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+
+        // when
+        byte[] result = new LpopCommand(Type.LPOP, RedisKey.of("queue"), null).execute(service);
+        byte[] countResult = new LpopCommand(Type.LPOP, RedisKey.of("queue"), 2L)
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.NULL);
+        assertThat(countResult).isEqualTo(RespConstants.NULL_ARRAY);
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        LpopCommand command = new LpopCommand(Type.RPOP, RedisKey.of("queue"), 2L);
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("RPOP"),
+                bulk("queue"), bulk("2") }).asResponse());
+    }
+}
@@ -0,0 +1,115 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LpushCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("RPUSH"), bulk("queue"), bulk("a"), bulk("b") };
+        LpushCommand command = new LpushCommand(Type.RPUSH);
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("queue"));
+        assertThat(command.getElements()).containsExactly(bulk("a"), bulk("b"));
+    }
+
+    @Test
+    void testCreatesList() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        LpushCommand command = new LpushCommand(Type.LPUSH, RedisKey.of("queue"),
+                List.of(bulk("a"), bulk("b"), bulk("c")));
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(3).asResponse());
+        verify(service).set(eq(RedisKey.of("queue")), captor.capture());
+        assertThat(captor.getValue().getEncoding()).isEqualTo(StoredDataEncoding.QUICKLIST);
+        assertThat(captor.getValue().getListValue().toString()).isEqualTo("[c, b, a]");
+    }
+
+    @Test
+    void testPushesToExistingList() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisListData list = new RedisListData();
+        list.push(false, "a".getBytes());
+        StoredData storedData = StoredData.ofList(list, StoredData.NO_EXPIRY);
+        when(service.getUnexpired(RedisKey.of("queue"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new LpushCommand(Type.RPUSH, RedisKey.of("queue"),
+                List.of(bulk("b"), bulk("c"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(3).asResponse());
+        assertThat(list.toString()).isEqualTo("[a, b, c]");
+        verify(service).updated(eq(storedData), anyLong());
+        verify(service, never()).set(eq(RedisKey.of("queue")), any());
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("queue")))
+                .thenReturn(new StoredData("a".getBytes(), 0L, null));
+
+        // when
+        byte[] result = new LpushCommand(Type.LPUSH, RedisKey.of("queue"), List.of(bulk("b")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        LpushCommand command = new LpushCommand(Type.RPUSH, RedisKey.of("queue"),
+                List.of(bulk("a"), bulk("b")));
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("RPUSH"),
+                bulk("queue"), bulk("a"), bulk("b") }).asResponse());
+    }
+}
@@ -0,0 +1,74 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class LrangeCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        LrangeCommand command = new LrangeCommand();
+
+        // when
+        command.setArgs(new RespValue[] { bulk("LRANGE"), bulk("queue"), bulk("1"), bulk("-1") });
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("queue"));
+        assertThat(command.getStart()).isEqualTo(1L);
+        assertThat(command.getStop()).isEqualTo(-1L);
+    }
+
+    @Test
+    void testRange() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisListData list = new RedisListData();
+        for (String element : new String[] { "a", "b", "c", "d" }) {
+            list.push(false, element.getBytes());
+        }
+        when(service.getUnexpired(RedisKey.of("queue")))
+                .thenReturn(StoredData.ofList(list, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new LrangeCommand(RedisKey.of("queue"), 1, -2).execute(service);
+        byte[] empty = new LrangeCommand(RedisKey.of("queue"), 3, 1).execute(service);
+        byte[] missing = new LrangeCommand(RedisKey.of("other"), 0, -1).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("b"), bulk("c") }).asResponse());
+        assertThat(empty).isEqualTo(RespConstants.EMPTY_ARRAY);
+        assertThat(missing).isEqualTo(RespConstants.EMPTY_ARRAY);
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("queue")))
+                .thenReturn(new StoredData("a".getBytes(), 0L, null));
+
+        // when
+        byte[] result = new LrangeCommand(RedisKey.of("queue"), 0, -1).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+}
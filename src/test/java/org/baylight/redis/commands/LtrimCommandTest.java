@@ -0,0 +1,80 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.lists.RedisListData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class LtrimCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static StoredData listOf(String... elements) {
+        RedisListData list = new RedisListData();
+        for (String element : elements) {
+            list.push(false, element.getBytes());
+        }
+        return StoredData.ofList(list, StoredData.NO_EXPIRY);
+    }
+
+    @Test
+    void testTrim() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData storedData = listOf("a", "b", "c", "d");
+        when(service.getUnexpired(RedisKey.of("queue"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new LtrimCommand(RedisKey.of("queue"), 1, -2).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.OK);
+        assertThat(storedData.getListValue().toString()).isEqualTo("[b, c]");
+        verify(service).updated(eq(storedData), anyLong());
+        verify(service, never()).delete(RedisKey.of("queue"));
+    }
+
+    @Test
+    void testTrimToEmptyRemovesKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData storedData = listOf("a", "b");
+        when(service.getUnexpired(RedisKey.of("queue"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new LtrimCommand(RedisKey.of("queue"), 5, 10).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.OK);
+        verify(service).delete(RedisKey.of("queue"));
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        LtrimCommand command = new LtrimCommand(RedisKey.of("queue"), 0, -3);
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("LTRIM"),
+                bulk("queue"), bulk("0"), bulk("-3") }).asResponse());
+    }
+}
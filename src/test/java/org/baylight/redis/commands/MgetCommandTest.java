@@ -0,0 +1,70 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.TestConstants;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.streams.RedisStreamData;
+import org.junit.jupiter.api.Test;
+
+public class MgetCommandTest implements WithAssertions, TestConstants {
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { new RespBulkString("MGET".getBytes()),
+                new RespBulkString("k1".getBytes()), new RespBulkString("k2".getBytes()) };
+        MgetCommand command = new MgetCommand();
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("k1"), RedisKey.of("k2"));
+    }
+
+    @Test
+    void testExecuteReturnsValuesInKeyOrder() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData expired = StoredData.ofString("old".getBytes(), CLOCK_MILLIS);
+        StoredData stream = StoredData.ofStream(new RedisStreamData("stream"),
+                StoredData.NO_EXPIRY);
+        when(service.get(RedisKey.of("k1"))).thenReturn(
+                StoredData.ofString("v1".getBytes(), StoredData.NO_EXPIRY));
+        when(service.get(RedisKey.of("expired"))).thenReturn(expired);
+        when(service.get(RedisKey.of("stream"))).thenReturn(stream);
+        when(service.get(RedisKey.of("k2"))).thenReturn(
+                StoredData.ofString("v2".getBytes(), StoredData.NO_EXPIRY));
+        when(service.isExpired(any())).thenAnswer(
+                invocation -> invocation.<StoredData>getArgument(0).isExpired(CLOCK_MILLIS + 1));
+        MgetCommand command = new MgetCommand(List.of(RedisKey.of("k1"),
+                RedisKey.of("missing"), RedisKey.of("expired"), RedisKey.of("stream"),
+                RedisKey.of("k2")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] {
+                new RespBulkString("v1".getBytes()),
+                RespConstants.NULL_VALUE,
+                RespConstants.NULL_VALUE,
+                RespConstants.NULL_VALUE,
+                new RespBulkString("v2".getBytes()) }).asResponse());
+        verify(service).expireKey(RedisKey.of("expired"), expired);
+    }
+}
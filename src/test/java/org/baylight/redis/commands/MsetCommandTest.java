@@ -0,0 +1,120 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.junit.jupiter.api.Test;
+
+public class MsetCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        RespValue[] args = { bulk("MSET"), bulk("k1"), bulk("v1"), bulk("k2"), bulk("v2") };
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSET);
+
+        // when
+        command.setArgs(args);
+
+        // then
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("k1"), RedisKey.of("k2"));
+        assertThat(command.getValues()).containsExactly(bulk("v1"), bulk("v2"));
+    }
+
+    @Test
+    void testSetArgsWithMissingValue() {
+        // given
+        RespValue[] args = { bulk("MSET"), bulk("k1"), bulk("v1"), bulk("k2") };
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSET);
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(args))
+                .withMessage("ERR wrong number of arguments for 'mset' command");
+    }
+
+    @Test
+    void testMsetSetsAllKeys() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSET,
+                List.of(RedisKey.of("k1"), RedisKey.of("k2")), List.of(bulk("v1"), bulk("v2")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.OK);
+        verify(service).set(RedisKey.of("k1"),
+                StoredData.ofString("v1".getBytes(), StoredData.NO_EXPIRY));
+        verify(service).set(RedisKey.of("k2"),
+                StoredData.ofString("v2".getBytes(), StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testMsetnxSetsNoKeyIfOneExists() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.containsUnexpiredKey(RedisKey.of("k2"))).thenReturn(true);
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSETNX,
+                List.of(RedisKey.of("k1"), RedisKey.of("k2")), List.of(bulk("v1"), bulk("v2")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(0).asResponse());
+        verify(service, never()).set(any(), any());
+    }
+
+    @Test
+    void testMsetnxSetsAllKeys() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSETNX,
+                List.of(RedisKey.of("k1")), List.of(bulk("v1")));
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).set(RedisKey.of("k1"),
+                StoredData.ofString("v1".getBytes(), StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testReplicatedAsOneCommand() {
+        // given
+        MsetCommand command = new MsetCommand(RedisCommand.Type.MSET,
+                List.of(RedisKey.of("k1"), RedisKey.of("k2")), List.of(bulk("v1"), bulk("v2")));
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(command.isReplicatedCommand()).isTrue();
+        assertThat(command.isDenyOomCommand()).isTrue();
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("MSET"),
+                bulk("k1"), bulk("v1"), bulk("k2"), bulk("v2") }).asResponse());
+    }
+}
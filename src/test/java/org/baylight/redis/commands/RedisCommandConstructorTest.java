@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.util.List;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.ClientConnection;
 import org.baylight.redis.protocol.RespArrayValue;
 import org.baylight.redis.protocol.RespBulkString;
@@ -253,7 +254,7 @@ public class RedisCommandConstructorTest implements WithAssertions {
         // then
         assertThat(actualCommand).asInstanceOf(type(XaddCommand.class))
                 .matches(cmd -> {
-                    assertThat(cmd.getKey()).isEqualTo("streamKey");
+                    assertThat(cmd.getKey()).isEqualTo(RedisKey.of("streamKey"));
                     assertThat(cmd.getItemId()).isEqualTo("*");
                     return true;
                 });
@@ -275,7 +276,7 @@ public class RedisCommandConstructorTest implements WithAssertions {
         // then
         assertThat(actualCommand).asInstanceOf(type(XrangeCommand.class))
                 .matches(cmd -> {
-                    assertThat(cmd.getKey()).isEqualTo("streamKey");
+                    assertThat(cmd.getKey()).isEqualTo(RedisKey.of("streamKey"));
                     assertThat(cmd.getStart()).isEqualTo("-");
                     assertThat(cmd.getEnd()).isEqualTo("+");
                     return true;
@@ -298,7 +299,7 @@ public class RedisCommandConstructorTest implements WithAssertions {
         // then
         assertThat(actualCommand).asInstanceOf(type(XreadCommand.class))
                 .matches(cmd -> {
-                    assertThat(cmd.getKeys()).isEqualTo(List.of("streamKey"));
+                    assertThat(cmd.getKeys()).isEqualTo(List.of(RedisKey.of("streamKey")));
                     assertThat(cmd.getStartValues()).isEqualTo(List.of("9-1"));
                     assertThat(cmd.getTimeoutMillis()).isNull();
                     return true;
@@ -0,0 +1,81 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SaddCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testCreatesIntset() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = new SaddCommand(RedisKey.of("ids"),
+                List.of(bulk("3"), bulk("1"), bulk("3"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).set(eq(RedisKey.of("ids")), captor.capture());
+        assertThat(captor.getValue().getEncoding()).isEqualTo(StoredDataEncoding.INTSET);
+        assertThat(captor.getValue().getSetValue().toString()).isEqualTo("[1, 3]");
+    }
+
+    @Test
+    void testAddsToExistingSet() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("1".getBytes());
+        StoredData storedData = StoredData.ofSet(set, StoredData.NO_EXPIRY);
+        when(service.getUnexpired(RedisKey.of("ids"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new SaddCommand(RedisKey.of("ids"), List.of(bulk("1"), bulk("ann")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(storedData.getEncoding()).isEqualTo(StoredDataEncoding.SET_HASHTABLE);
+        assertThat(set.size()).isEqualTo(2);
+        verify(service).updated(eq(storedData), anyLong());
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("name")))
+                .thenReturn(StoredData.ofString("ann".getBytes(), StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new SaddCommand(RedisKey.of("name"), List.of(bulk("1")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+}
@@ -0,0 +1,109 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.TestConstants;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.streams.RedisStreamData;
+import org.junit.jupiter.api.Test;
+
+public class ScanCommandTest implements WithAssertions, TestConstants {
+
+    private static RespValue[] args(String... values) {
+        RespValue[] args = new RespValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            args[i] = new RespBulkString(values[i].getBytes());
+        }
+        return args;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void whenScan(RedisServiceBase service, long cursor, long nextCursor,
+            Map<RedisKey, StoredData> bucket) {
+        doAnswer(invocation -> {
+            Consumer<Map.Entry<RedisKey, StoredData>> visitor = invocation.getArgument(1);
+            bucket.entrySet().forEach(visitor);
+            return nextCursor;
+        }).when(service).scan(eq(cursor), any());
+    }
+
+    @Test
+    public void testSetArgs() {
+        // given
+        ScanCommand command = new ScanCommand();
+
+        // when
+        command.setArgs(args("SCAN", "18446744073709551615", "MATCH", "k*", "COUNT", "100",
+                "TYPE", "string"));
+
+        // then
+        assertThat(command.getCursor()).isEqualTo(-1L);
+        assertThat(command.getCount()).isEqualTo(100L);
+        assertThat(command.getTypeName()).isEqualTo("string");
+    }
+
+    @Test
+    public void testSetArgsInvalidCursor() {
+        // given
+        ScanCommand command = new ScanCommand();
+
+        // when
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(args("SCAN", "abc")))
+                .withMessage("ERR invalid cursor");
+    }
+
+    @Test
+    public void testExecuteVisitsBucketsUntilCountAndFilters() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData value = StoredData.ofString("v".getBytes(), StoredData.NO_EXPIRY);
+        StoredData stream = StoredData.ofStream(new RedisStreamData("s1"), StoredData.NO_EXPIRY);
+        whenScan(service, 0L, 4L, Map.of(RedisKey.of("k1"), value, RedisKey.of("other"), value));
+        whenScan(service, 4L, 2L, Map.of(RedisKey.of("s1"), stream));
+        whenScan(service, 2L, 6L, Map.of(RedisKey.of("k2"), value));
+        when(service.isExpired(any())).thenReturn(false);
+        ScanCommand command = new ScanCommand(0L, "?[0-9]", 3, "string");
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then - the keys of two buckets make the count, and then the keys that do not match the
+        // pattern or the type are filtered
+        assertThat(encodeResponse(result)).isEqualTo(encodeResponse(
+                "*2\r\n$1\r\n2\r\n*1\r\n$2\r\nk1\r\n"));
+    }
+
+    @Test
+    public void testExecuteCompleteScanReturnsZeroCursorAndSkipsExpiredKeys() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData expired = StoredData.ofString("v".getBytes(), CLOCK_MILLIS - 1);
+        whenScan(service, 0L, 0L, Map.of(RedisKey.of("k1"), expired));
+        when(service.isExpired(expired)).thenReturn(true);
+        ScanCommand command = new ScanCommand(0L, null, 10, null);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(encodeResponse(result)).isEqualTo(encodeResponse("*2\r\n$1\r\n0\r\n*0\r\n"));
+        verify(service).expireKey(RedisKey.of("k1"), expired);
+        verify(service).scan(anyLong(), any());
+    }
+}
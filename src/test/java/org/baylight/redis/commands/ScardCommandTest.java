@@ -0,0 +1,35 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+
+public class ScardCommandTest implements WithAssertions {
+
+    @Test
+    void testCardinality() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("ann".getBytes());
+        set.add("bob".getBytes());
+        when(service.getUnexpired(RedisKey.of("tags")))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new ScardCommand(RedisKey.of("tags")).execute(service);
+        byte[] missing = new ScardCommand(RedisKey.of("other")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(missing).isEqualTo(new RespInteger(0).asResponse());
+    }
+}
@@ -1,18 +1,20 @@
 package org.baylight.redis.commands;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.StoredData;
 import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.lists.RedisListData;
 import org.baylight.redis.protocol.RespBulkString;
 import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespValue;
@@ -64,7 +66,7 @@ public class SetCommandTest implements WithAssertions {
         when(service.getCurrentTime()).thenReturn(now);
         RespBulkString value = new RespBulkString("myvalue".getBytes());
         StoredData storedData = new StoredData(value.getValue(), now, null);
-        when(service.set(anyString(), any(StoredData.class))).thenReturn(storedData);
+        when(service.set(any(RedisKey.class), any(StoredData.class))).thenReturn(storedData);
 
         SetCommand setCommand = new SetCommand(new RespBulkString("mykey".getBytes()), value);
 
@@ -74,7 +76,7 @@ public class SetCommandTest implements WithAssertions {
         // then
         assertThat(result).isEqualTo(RespConstants.OK);
         verify(service).getCurrentTime();
-        verify(service).set(eq("mykey"), refEq(storedData));
+        verify(service).set(eq(RedisKey.of("mykey")), refEq(storedData));
         verifyNoMoreInteractions(service);
     }
 
@@ -111,4 +113,67 @@ public class SetCommandTest implements WithAssertions {
         assertThat(throwable.getMessage()).isEqualTo(
                 "SET: unrecognized arg at index 3, BulkString [length=7, value=unknown]");
     }
-}
\ No newline at end of file
+
+    // SetCommand reads the options and writes them back in the command for replication
+    @Test
+    public void test_setArgs_reads_options() {
+        // given
+        SetCommand setCommand = new SetCommand();
+        RespValue[] args = { SET, new RespBulkString("mykey".getBytes()),
+                new RespBulkString("myvalue".getBytes()),
+                new RespBulkString("NX".getBytes()),
+                new RespBulkString("px".getBytes()),
+                new RespBulkString("100".getBytes()) };
+
+        // when
+        setCommand.setArgs(args);
+
+        // then
+        assertThat(setCommand.getExpiresAt(1000L)).isEqualTo(1100L);
+        assertThat(new String(setCommand.asCommand())).isEqualTo(
+                "*6\r\n$3\r\nSET\r\n$5\r\nmykey\r\n$7\r\nmyvalue\r\n$2\r\nnx\r\n$2\r\npx\r\n$3\r\n100\r\n");
+    }
+
+    // SET KEEPTTL on a key that expired but was not reclaimed yet does not keep the past expiry
+    @Test
+    public void test_execute_keepttl_ignores_expired_previous_value() {
+        // given
+        RedisServiceBase service = mock(RedisServiceBase.class);
+        long now = 999L;
+        when(service.getCurrentTime()).thenReturn(now);
+        when(service.getUnexpired(RedisKey.of("mykey"))).thenReturn(null);
+        SetCommand setCommand = new SetCommand();
+        setCommand.setArgs(new RespValue[] { SET, new RespBulkString("mykey".getBytes()),
+                new RespBulkString("myvalue".getBytes()),
+                new RespBulkString("KEEPTTL".getBytes()) });
+
+        // when
+        byte[] result = setCommand.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.OK);
+        verify(service).set(eq(RedisKey.of("mykey")),
+                refEq(StoredData.ofString("myvalue".getBytes(), StoredData.NO_EXPIRY)));
+    }
+
+    // SET GET on a key of another type replies WRONGTYPE and keeps the key
+    @Test
+    public void test_execute_get_on_other_type_is_wrongtype() {
+        // given
+        RedisServiceBase service = mock(RedisServiceBase.class);
+        when(service.getCurrentTime()).thenReturn(999L);
+        when(service.getUnexpired(RedisKey.of("mykey")))
+                .thenReturn(StoredData.ofList(new RedisListData(), StoredData.NO_EXPIRY));
+        SetCommand setCommand = new SetCommand();
+        setCommand.setArgs(new RespValue[] { SET, new RespBulkString("mykey".getBytes()),
+                new RespBulkString("myvalue".getBytes()),
+                new RespBulkString("GET".getBytes()) });
+
+        // when
+        byte[] result = setCommand.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+        verify(service, never()).set(any(RedisKey.class), any(StoredData.class));
+    }
+}
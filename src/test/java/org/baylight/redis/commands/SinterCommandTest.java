@@ -0,0 +1,135 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SinterCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static void givenSet(RedisServiceBase service, String key, String... members) {
+        RedisSetData set = new RedisSetData();
+        for (String member : members) {
+            set.add(member.getBytes());
+        }
+        when(service.getUnexpired(RedisKey.of(key)))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testIntersect() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "1", "2", "3", "4");
+        givenSet(service, "b", "4", "3", "ann");
+
+        // when
+        byte[] result = new SinterCommand(Type.SINTER, null,
+                List.of(RedisKey.of("a"), RedisKey.of("b"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("3"), bulk("4") }).asResponse());
+    }
+
+    @Test
+    void testMissingKeyIsEmpty() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "1", "2");
+
+        // when
+        byte[] result = new SinterCommand(Type.SINTER, null,
+                List.of(RedisKey.of("a"), RedisKey.of("missing"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[0]).asResponse());
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "1", "2");
+        when(service.getUnexpired(RedisKey.of("name")))
+                .thenReturn(StoredData.ofString("ann".getBytes(), StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new SinterCommand(Type.SINTER, null,
+                List.of(RedisKey.of("a"), RedisKey.of("name"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+
+    @Test
+    void testStore() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "x", "y", "z");
+        givenSet(service, "b", "y", "z");
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = new SinterCommand(Type.SINTERSTORE, RedisKey.of("dest"),
+                List.of(RedisKey.of("a"), RedisKey.of("b"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).set(eq(RedisKey.of("dest")), captor.capture());
+        assertThat(captor.getValue().getSetValue().size()).isEqualTo(2);
+    }
+
+    @Test
+    void testStoreEmptyDeletesDestination() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "x");
+        givenSet(service, "b", "y");
+
+        // when
+        byte[] result = new SinterCommand(Type.SINTERSTORE, RedisKey.of("dest"),
+                List.of(RedisKey.of("a"), RedisKey.of("b"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(0).asResponse());
+        verify(service).delete(RedisKey.of("dest"));
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        SinterCommand command = new SinterCommand(Type.SINTERSTORE);
+
+        // when
+        command.setArgs(new RespValue[] { bulk("SINTERSTORE"), bulk("dest"), bulk("a"),
+                bulk("b") });
+
+        // then
+        assertThat(command.getDestination()).isEqualTo(RedisKey.of("dest"));
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("a"), RedisKey.of("b"));
+        assertThat(command.asCommand()).isEqualTo(new RespArrayValue(new RespValue[] {
+                bulk("SINTERSTORE"), bulk("dest"), bulk("a"), bulk("b") }).asResponse());
+    }
+}
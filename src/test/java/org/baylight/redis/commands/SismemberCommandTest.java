@@ -0,0 +1,43 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+
+public class SismemberCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testIsMember() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("tags")))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] member = new SismemberCommand(RedisKey.of("tags"), bulk("ann")).execute(service);
+        byte[] notMember = new SismemberCommand(RedisKey.of("tags"), bulk("bob"))
+                .execute(service);
+        byte[] missing = new SismemberCommand(RedisKey.of("other"), bulk("ann"))
+                .execute(service);
+
+        // then
+        assertThat(member).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(notMember).isEqualTo(new RespInteger(0).asResponse());
+        assertThat(missing).isEqualTo(new RespInteger(0).asResponse());
+    }
+}
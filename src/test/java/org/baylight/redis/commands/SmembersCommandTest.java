@@ -0,0 +1,53 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+
+public class SmembersCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testMembers() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("30".getBytes());
+        set.add("7".getBytes());
+        when(service.getUnexpired(RedisKey.of("ids")))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new SmembersCommand(RedisKey.of("ids")).execute(service);
+
+        // then
+        // the members of an intset are in ascending order
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("7"), bulk("30") }).asResponse());
+    }
+
+    @Test
+    void testMissingKey() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+
+        // when
+        byte[] result = new SmembersCommand(RedisKey.of("ids")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[0]).asResponse());
+    }
+}
@@ -0,0 +1,67 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+
+public class SremCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testRemovesMembers() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("ann".getBytes());
+        set.add("bob".getBytes());
+        set.add("cat".getBytes());
+        StoredData storedData = StoredData.ofSet(set, StoredData.NO_EXPIRY);
+        when(service.getUnexpired(RedisKey.of("tags"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new SremCommand(RedisKey.of("tags"),
+                List.of(bulk("ann"), bulk("cat"), bulk("dan"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(set.toString()).isEqualTo("[bob]");
+        verify(service).updated(eq(storedData), anyLong());
+        verify(service, never()).delete(RedisKey.of("tags"));
+    }
+
+    @Test
+    void testRemovesKeyWithLastMember() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSetData set = new RedisSetData();
+        set.add("ann".getBytes());
+        when(service.getUnexpired(RedisKey.of("tags")))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new SremCommand(RedisKey.of("tags"), List.of(bulk("ann")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).delete(RedisKey.of("tags"));
+    }
+}
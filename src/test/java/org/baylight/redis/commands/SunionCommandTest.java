@@ -0,0 +1,128 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.commands.RedisCommand.Type;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.sets.RedisSetData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SunionCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static void givenSet(RedisServiceBase service, String key, String... members) {
+        RedisSetData set = new RedisSetData();
+        for (String member : members) {
+            set.add(member.getBytes());
+        }
+        when(service.getUnexpired(RedisKey.of(key)))
+                .thenReturn(StoredData.ofSet(set, StoredData.NO_EXPIRY));
+    }
+
+    @Test
+    void testUnion() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "3", "1");
+        givenSet(service, "b", "2", "3");
+
+        // when
+        byte[] result = new SunionCommand(Type.SUNION, null,
+                List.of(RedisKey.of("a"), RedisKey.of("missing"), RedisKey.of("b")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(
+                new RespValue[] { bulk("1"), bulk("2"), bulk("3") }).asResponse());
+    }
+
+    @Test
+    void testDifference() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "1", "2", "3", "4");
+        givenSet(service, "b", "2", "ann");
+        givenSet(service, "c", "4");
+
+        // when
+        byte[] result = new SunionCommand(Type.SDIFF, null,
+                List.of(RedisKey.of("a"), RedisKey.of("b"), RedisKey.of("missing"),
+                        RedisKey.of("c"))).execute(service);
+        byte[] missingFirst = new SunionCommand(Type.SDIFF, null,
+                List.of(RedisKey.of("missing"), RedisKey.of("a"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespArrayValue(new RespValue[] { bulk("1"), bulk("3") }).asResponse());
+        assertThat(missingFirst).isEqualTo(new RespArrayValue(new RespValue[0]).asResponse());
+    }
+
+    @Test
+    void testWrongType() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "1");
+        when(service.getUnexpired(RedisKey.of("name")))
+                .thenReturn(StoredData.ofString("ann".getBytes(), StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new SunionCommand(Type.SUNION, null,
+                List.of(RedisKey.of("a"), RedisKey.of("name"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+
+    @Test
+    void testStore() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        givenSet(service, "a", "x", "y");
+        givenSet(service, "b", "y");
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] union = new SunionCommand(Type.SUNIONSTORE, RedisKey.of("dest"),
+                List.of(RedisKey.of("a"), RedisKey.of("b"))).execute(service);
+        byte[] difference = new SunionCommand(Type.SDIFFSTORE, RedisKey.of("empty"),
+                List.of(RedisKey.of("b"), RedisKey.of("a"))).execute(service);
+
+        // then
+        assertThat(union).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).set(eq(RedisKey.of("dest")), captor.capture());
+        assertThat(captor.getValue().getSetValue().toString()).contains("x", "y");
+        assertThat(difference).isEqualTo(new RespInteger(0).asResponse());
+        verify(service).delete(RedisKey.of("empty"));
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        SunionCommand command = new SunionCommand(Type.SDIFF);
+
+        // when
+        command.setArgs(new RespValue[] { bulk("SDIFF"), bulk("a"), bulk("b") });
+
+        // then
+        assertThat(command.getDestination()).isNull();
+        assertThat(command.getKeys()).containsExactly(RedisKey.of("a"), RedisKey.of("b"));
+    }
+}
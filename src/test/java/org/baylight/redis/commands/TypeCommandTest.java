@@ -1,12 +1,13 @@
 package org.baylight.redis.commands;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.TestConstants;
@@ -27,7 +28,7 @@ public class TypeCommandTest implements WithAssertions, TestConstants {
     public void test_validKeyProvided_executeMethodShouldReturnValue() {
         // given
         RedisServiceBase service = mock(LeaderService.class);
-        when(service.getType(anyString())).thenReturn(new RespSimpleStringValue("none"));
+        when(service.getType(any(RedisKey.class))).thenReturn(new RespSimpleStringValue("none"));
         TypeCommand command = new TypeCommand(new RespBulkString("key".getBytes()));
 
         // when
@@ -35,7 +36,7 @@ public class TypeCommandTest implements WithAssertions, TestConstants {
 
         // then
         assertThat(result).isEqualTo(new RespSimpleStringValue("none").asResponse());
-        verify(service).getType("key");
+        verify(service).getType(RedisKey.of("key"));
         verifyNoMoreInteractions(service);
     }
 
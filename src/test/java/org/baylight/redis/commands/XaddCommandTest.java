@@ -8,10 +8,12 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.TestConstants;
 import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
 import org.baylight.redis.protocol.RespSimpleStringValue;
 import org.baylight.redis.protocol.RespValue;
 import org.baylight.redis.streams.StreamId;
@@ -26,7 +28,7 @@ public class XaddCommandTest implements WithAssertions, TestConstants {
     public void test_validKeyProvided_executeMethodShouldReturnValue() throws Exception {
         // given
         RedisServiceBase service = mock(LeaderService.class);
-        when(service.xadd(anyString(), anyString(), any()))
+        when(service.xadd(any(RedisKey.class), anyString(), any()))
                 .thenReturn(new StreamId(123L, 110));
         XaddCommand command = new XaddCommand("key", "123-*");
 
@@ -35,10 +37,25 @@ public class XaddCommandTest implements WithAssertions, TestConstants {
 
         // then
         assertThat(result).isEqualTo(new RespBulkString("123-110".getBytes()).asResponse());
-        verify(service).xadd("key", "123-*", new RespValue[0]);
+        verify(service).xadd(RedisKey.of("key"), "123-*", new RespValue[0]);
         verifyNoMoreInteractions(service);
     }
 
+    // When the key holds another type, the execute method should return a WRONGTYPE error.
+    @Test
+    public void test_keyOfAnotherType_executeMethodShouldReturnWrongType() throws Exception {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.xadd(any(RedisKey.class), anyString(), any())).thenReturn(null);
+        XaddCommand command = new XaddCommand("key", "123-*");
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(RespConstants.WRONGTYPE);
+    }
+
     // When setArgs is called with a valid data, the data should be correctly set.
     @Test
     public void test_setArgsCalledWithValidKey_keyShouldBeCorrectlySet() {
@@ -57,7 +74,7 @@ public class XaddCommandTest implements WithAssertions, TestConstants {
         command.setArgs(args);
 
         // then
-        assertThat(command.getKey()).isEqualTo("key");
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("key"));
         assertThat(command.getItemId()).isEqualTo("itemId");
         assertThat(command.getItemMap()).isEqualTo(new RespValue[] {
                 new RespBulkString("i1".getBytes()),
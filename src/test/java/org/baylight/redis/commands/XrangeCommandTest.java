@@ -1,5 +1,6 @@
 package org.baylight.redis.commands;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -10,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.TestConstants;
@@ -28,7 +30,7 @@ public class XrangeCommandTest implements WithAssertions, TestConstants {
     public void test_validKeyProvided_executeMethodShouldReturnValue() throws Exception {
         // given
         RedisServiceBase service = mock(LeaderService.class);
-        when(service.xrange(anyString(), anyString(), anyString()))
+        when(service.xrange(any(RedisKey.class), anyString(), anyString()))
                 .thenReturn(List.of(
                         new StreamValue(StreamId.of(2, 3),
                                 new RespValue[] { new RespSimpleStringValue("v1") }),
@@ -43,7 +45,7 @@ public class XrangeCommandTest implements WithAssertions, TestConstants {
         String expectedResult = encodeResponse(
                 "*2\r\n*2\r\n$3\r\n2-3\r\n*1\r\n+v1\r\n*2\r\n$3\r\n3-4\r\n*1\r\n+v2\r\n");
         assertThat(encodeResponse(result)).isEqualTo(expectedResult);
-        verify(service).xrange("key", "123-1", "125");
+        verify(service).xrange(RedisKey.of("key"), "123-1", "125");
         verifyNoMoreInteractions(service);
     }
 
@@ -62,7 +64,7 @@ public class XrangeCommandTest implements WithAssertions, TestConstants {
         command.setArgs(args);
 
         // then
-        assertThat(command.getKey()).isEqualTo("key");
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("key"));
         assertThat(command.getStart()).isEqualTo("startItem");
         assertThat(command.getEnd()).isEqualTo("endItem");
     }
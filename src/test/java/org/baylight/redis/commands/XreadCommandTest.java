@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.LeaderService;
 import org.baylight.redis.RedisServiceBase;
 import org.baylight.redis.TestConstants;
@@ -35,7 +36,7 @@ public class XreadCommandTest implements WithAssertions, TestConstants {
                         List.of(
                                 List.of(new StreamValue(StreamId.of(0, 1), new RespValue[] {})),
                                 List.of(new StreamValue(StreamId.of(1, 1), new RespValue[] {}))));
-        XreadCommand command = new XreadCommand(List.of("key", "k2"), List.of("123-*", "0-0"),
+        XreadCommand command = new XreadCommand(List.of(RedisKey.of("key"), RedisKey.of("k2")), List.of("123-*", "0-0"),
                 null);
 
         // when
@@ -45,7 +46,7 @@ public class XreadCommandTest implements WithAssertions, TestConstants {
         String expected = encodeResponse(
                 "*2\r\n*2\r\n+key\r\n*1\r\n*2\r\n$3\r\n0-1\r\n*0\r\n*2\r\n+k2\r\n*1\r\n*2\r\n$3\r\n1-1\r\n*0\r\n");
         assertThat(encodeResponse(result)).isEqualTo(expected);
-        verify(service).xread(List.of("key", "k2"), List.of("123-*", "0-0"), null);
+        verify(service).xread(List.of(RedisKey.of("key"), RedisKey.of("k2")), List.of("123-*", "0-0"), null);
         verifyNoMoreInteractions(service);
     }
 
@@ -56,7 +57,7 @@ public class XreadCommandTest implements WithAssertions, TestConstants {
         RedisServiceBase service = mock(LeaderService.class);
         when(service.xread(anyList(), anyList(), any()))
                 .thenReturn(List.of(List.of(), List.of()));
-        XreadCommand command = new XreadCommand(List.of("key", "k2"), List.of("123-*", "0-0"),
+        XreadCommand command = new XreadCommand(List.of(RedisKey.of("key"), RedisKey.of("k2")), List.of("123-*", "0-0"),
                 1L);
 
         // when
@@ -65,7 +66,7 @@ public class XreadCommandTest implements WithAssertions, TestConstants {
         // then
         String expected = encodeResponse(RespConstants.NULL);
         assertThat(encodeResponse(result)).isEqualTo(expected);
-        verify(service).xread(List.of("key", "k2"), List.of("123-*", "0-0"), 1L);
+        verify(service).xread(List.of(RedisKey.of("key"), RedisKey.of("k2")), List.of("123-*", "0-0"), 1L);
         verifyNoMoreInteractions(service);
     }
 
@@ -87,7 +88,7 @@ public class XreadCommandTest implements WithAssertions, TestConstants {
         command.setArgs(args);
 
         // then
-        assertThat(command.getKeys()).isEqualTo(List.of("key", "key2"));
+        assertThat(command.getKeys()).isEqualTo(List.of(RedisKey.of("key"), RedisKey.of("key2")));
         assertThat(command.getStartValues()).isEqualTo(List.of("itemId", "itemId2"));
         assertThat(command.getTimeoutMillis()).isNull();
     }
@@ -0,0 +1,168 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.StoredDataEncoding;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespSimpleErrorValue;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ZaddCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static ZaddCommand parse(String... args) {
+        RespValue[] values = new RespValue[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = bulk(args[i]);
+        }
+        ZaddCommand command = new ZaddCommand();
+        command.setArgs(values);
+        return command;
+    }
+
+    private static StoredData sortedSetOf(String member, double score) {
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add(member.getBytes(), score);
+        return StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY);
+    }
+
+    @Test
+    void testSetArgs() {
+        // when
+        ZaddCommand command = parse("ZADD", "board", "1.5", "ann", "-inf", "bob");
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("board"));
+        assertThat(command.getScores()).containsExactly(1.5, Double.NEGATIVE_INFINITY);
+        assertThat(command.getMembers()).containsExactly(bulk("ann"), bulk("bob"));
+    }
+
+    @Test
+    void testSetArgsErrors() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZADD", "board", "1", "ann", "2"))
+                .withMessage("ERR syntax error");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZADD", "board", "high", "ann"))
+                .withMessage("ERR value is not a valid float");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZADD", "board", "NX", "XX", "1", "ann"))
+                .withMessage("ERR XX and NX options at the same time are not compatible");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZADD", "board", "GT", "LT", "1", "ann"))
+                .withMessage("ERR GT, LT, and/or NX options at the same time are not compatible");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZADD", "board", "INCR", "1", "ann", "2", "bob"))
+                .withMessage("ERR INCR option supports a single increment-element pair");
+    }
+
+    @Test
+    void testCreatesSortedSet() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        ZaddCommand command = new ZaddCommand(RedisKey.of("board"), new double[] { 2, 1 },
+                List.of(bulk("ann"), bulk("bob")));
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = command.execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        verify(service).set(eq(RedisKey.of("board")), captor.capture());
+        assertThat(captor.getValue().getEncoding()).isEqualTo(StoredDataEncoding.ZSET_LISTPACK);
+        assertThat(captor.getValue().getSortedSetValue().toString())
+                .isEqualTo("[bob=1.0, ann=2.0]");
+    }
+
+    @Test
+    void testOptions() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        StoredData storedData = sortedSetOf("ann", 5);
+        when(service.getUnexpired(RedisKey.of("board"))).thenReturn(storedData);
+        RedisSortedSetData zset = storedData.getSortedSetValue();
+
+        // when
+        byte[] nx = parse("ZADD", "board", "NX", "1", "ann", "1", "bob").execute(service);
+        byte[] xx = parse("ZADD", "board", "XX", "CH", "6", "ann", "1", "cat").execute(service);
+        byte[] gt = parse("ZADD", "board", "GT", "CH", "2", "ann").execute(service);
+        byte[] lt = parse("ZADD", "board", "LT", "CH", "2", "ann").execute(service);
+
+        // then
+        assertThat(nx).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(xx).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(gt).isEqualTo(new RespInteger(0).asResponse());
+        assertThat(lt).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(zset.toString()).isEqualTo("[bob=1.0, ann=2.0]");
+        verify(service, times(4)).updated(eq(storedData), anyLong());
+    }
+
+    @Test
+    void testIncr() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("board"))).thenReturn(sortedSetOf("ann", 1.5));
+
+        // when
+        byte[] result = parse("ZADD", "board", "INCR", "2", "ann").execute(service);
+        byte[] skipped = parse("ZADD", "board", "NX", "INCR", "2", "ann").execute(service);
+        byte[] added = parse("ZADD", "board", "INCR", "-inf", "bob").execute(service);
+
+        // then
+        assertThat(result).isEqualTo(bulk("3.5").asResponse());
+        assertThat(skipped).isEqualTo(RespConstants.NULL);
+        assertThat(added).isEqualTo(bulk("-inf").asResponse());
+    }
+
+    @Test
+    void testIncrToNaN() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(sortedSetOf("ann", Double.POSITIVE_INFINITY));
+
+        // when
+        byte[] result = parse("ZADD", "board", "INCR", "-inf", "ann").execute(service);
+
+        // then
+        assertThat(result).isEqualTo(
+                new RespSimpleErrorValue("ERR resulting score is not a number (NaN)")
+                        .asResponse());
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        ZaddCommand command = parse("zadd", "board", "xx", "ch", "1.50", "ann", "+inf", "bob");
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("ZADD"),
+                bulk("board"), bulk("XX"), bulk("CH"), bulk("1.5"), bulk("ann"), bulk("inf"),
+                bulk("bob") }).asResponse());
+    }
+}
@@ -0,0 +1,35 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+
+public class ZcardCommandTest implements WithAssertions {
+
+    @Test
+    void testCardinality() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 1);
+        zset.add("bob".getBytes(), 2);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new ZcardCommand(RedisKey.of("board")).execute(service);
+        byte[] missing = new ZcardCommand(RedisKey.of("other")).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(missing).isEqualTo(new RespInteger(0).asResponse());
+    }
+}
@@ -0,0 +1,87 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ZincrbyCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgsWithInvalidIncrement() {
+        // given
+        ZincrbyCommand command = new ZincrbyCommand();
+
+        // when/then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> command.setArgs(new RespValue[] { bulk("ZINCRBY"),
+                        bulk("board"), bulk("one"), bulk("ann") }))
+                .withMessage("ERR value is not a valid float");
+    }
+
+    @Test
+    void testIncrementsScore() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 1.5);
+        StoredData storedData = StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY);
+        when(service.getUnexpired(RedisKey.of("board"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new ZincrbyCommand(RedisKey.of("board"), 2, bulk("ann"))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(bulk("3.5").asResponse());
+        assertThat(zset.getScore("ann".getBytes())).isEqualTo(3.5);
+        verify(service).updated(eq(storedData), anyLong());
+    }
+
+    @Test
+    void testCreatesSortedSet() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        ArgumentCaptor<StoredData> captor = ArgumentCaptor.forClass(StoredData.class);
+
+        // when
+        byte[] result = new ZincrbyCommand(RedisKey.of("board"), -2, bulk("ann"))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(bulk("-2").asResponse());
+        verify(service).set(eq(RedisKey.of("board")), captor.capture());
+        assertThat(captor.getValue().getSortedSetValue().getScore("ann".getBytes()))
+                .isEqualTo(-2.0);
+    }
+
+    @Test
+    void testAsCommand() {
+        // given
+        ZincrbyCommand command = new ZincrbyCommand(RedisKey.of("board"), 0.25, bulk("ann"));
+
+        // when
+        byte[] result = command.asCommand();
+
+        // then
+        assertThat(result).isEqualTo(new RespArrayValue(new RespValue[] { bulk("ZINCRBY"),
+                bulk("board"), bulk("0.25"), bulk("ann") }).asResponse());
+    }
+}
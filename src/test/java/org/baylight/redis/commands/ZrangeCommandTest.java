@@ -0,0 +1,135 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+
+public class ZrangeCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    private static ZrangeCommand parse(String... args) {
+        RespValue[] values = new RespValue[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = bulk(args[i]);
+        }
+        ZrangeCommand command = new ZrangeCommand();
+        command.setArgs(values);
+        return command;
+    }
+
+    private static byte[] array(String... values) {
+        RespValue[] bulks = new RespValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bulks[i] = bulk(values[i]);
+        }
+        return new RespArrayValue(bulks).asResponse();
+    }
+
+    private static RedisServiceBase serviceWithBoard() {
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 1);
+        zset.add("bob".getBytes(), 2.5);
+        zset.add("cat".getBytes(), 3);
+        zset.add("dan".getBytes(), 4);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+        return service;
+    }
+
+    @Test
+    void testSetArgs() {
+        // when
+        ZrangeCommand command = parse("ZRANGE", "board", "(1", "+inf", "BYSCORE", "LIMIT", "1",
+                "2");
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("board"));
+        assertThat(command.getBy()).isEqualTo(ZrangeCommand.By.SCORE);
+        assertThat(command.getRange()).isEqualTo(new RedisSortedSetData.ScoreRange(1.0, true,
+                Double.POSITIVE_INFINITY, false));
+        assertThat(command.getOffset()).isEqualTo(1L);
+        assertThat(command.getCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void testSetArgsErrors() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZRANGE", "board", "0", "-1", "LIMIT", "0", "1"))
+                .withMessageStartingWith("ERR syntax error, LIMIT");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZRANGE", "board", "[a", "[b", "BYLEX", "WITHSCORES"))
+                .withMessageStartingWith("ERR syntax error, WITHSCORES");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZRANGE", "board", "a", "[b", "BYLEX"))
+                .withMessage("ERR min or max not valid string range item");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZRANGE", "board", "low", "5", "BYSCORE"))
+                .withMessage("ERR min or max is not a float");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> parse("ZRANGE", "board", "0", "1", "BYRANK"))
+                .withMessage("ERR syntax error");
+    }
+
+    @Test
+    void testRangeByRank() {
+        // given
+        RedisServiceBase service = serviceWithBoard();
+
+        // when/then
+        assertThat(parse("ZRANGE", "board", "0", "-1").execute(service))
+                .isEqualTo(array("ann", "bob", "cat", "dan"));
+        assertThat(parse("ZRANGE", "board", "0", "1", "REV", "WITHSCORES").execute(service))
+                .isEqualTo(array("dan", "4", "cat", "3"));
+        assertThat(parse("ZRANGE", "board", "-100", "1").execute(service))
+                .isEqualTo(array("ann", "bob"));
+        assertThat(parse("ZRANGE", "board", "3", "1").execute(service))
+                .isEqualTo(RespConstants.EMPTY_ARRAY);
+        assertThat(parse("ZRANGE", "other", "0", "-1").execute(service))
+                .isEqualTo(RespConstants.EMPTY_ARRAY);
+    }
+
+    @Test
+    void testRangeByScore() {
+        // given
+        RedisServiceBase service = serviceWithBoard();
+
+        // when/then
+        assertThat(parse("ZRANGE", "board", "(1", "3", "BYSCORE", "WITHSCORES")
+                .execute(service)).isEqualTo(array("bob", "2.5", "cat", "3"));
+        assertThat(parse("ZRANGE", "board", "+inf", "-inf", "BYSCORE", "REV", "LIMIT", "1", "2")
+                .execute(service)).isEqualTo(array("cat", "bob"));
+    }
+
+    @Test
+    void testRangeByLex() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        for (String member : new String[] { "a", "b", "c", "d" }) {
+            zset.add(member.getBytes(), 0);
+        }
+        when(service.getUnexpired(RedisKey.of("names")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+
+        // when/then
+        assertThat(parse("ZRANGE", "names", "[b", "+", "BYLEX").execute(service))
+                .isEqualTo(array("b", "c", "d"));
+        assertThat(parse("ZRANGE", "names", "(c", "-", "BYLEX", "REV").execute(service))
+                .isEqualTo(array("b", "a"));
+    }
+}
@@ -0,0 +1,64 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespArrayValue;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+
+public class ZrankCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testSetArgs() {
+        // given
+        ZrankCommand command = new ZrankCommand();
+
+        // when
+        command.setArgs(new RespValue[] { bulk("ZRANK"), bulk("board"), bulk("ann"),
+                bulk("WITHSCORE") });
+
+        // then
+        assertThat(command.getKey()).isEqualTo(RedisKey.of("board"));
+        assertThat(command.getMember()).isEqualTo(bulk("ann"));
+        assertThat(command.isWithScore()).isTrue();
+    }
+
+    @Test
+    void testRank() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 10);
+        zset.add("bob".getBytes(), 5);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] rank = new ZrankCommand(RedisKey.of("board"), bulk("ann"), false)
+                .execute(service);
+        byte[] withScore = new ZrankCommand(RedisKey.of("board"), bulk("bob"), true)
+                .execute(service);
+        byte[] missing = new ZrankCommand(RedisKey.of("board"), bulk("cat"), false)
+                .execute(service);
+
+        // then
+        assertThat(rank).isEqualTo(new RespInteger(1).asResponse());
+        assertThat(withScore).isEqualTo(new RespArrayValue(new RespValue[] {
+                new RespInteger(0), bulk("5") }).asResponse());
+        assertThat(missing).isEqualTo(RespConstants.NULL);
+    }
+}
@@ -0,0 +1,67 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespInteger;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+
+public class ZremCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testRemovesMembers() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 1);
+        zset.add("bob".getBytes(), 2);
+        zset.add("cat".getBytes(), 3);
+        StoredData storedData = StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY);
+        when(service.getUnexpired(RedisKey.of("board"))).thenReturn(storedData);
+
+        // when
+        byte[] result = new ZremCommand(RedisKey.of("board"),
+                List.of(bulk("ann"), bulk("cat"), bulk("dan"))).execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(2).asResponse());
+        assertThat(zset.toString()).isEqualTo("[bob=2.0]");
+        verify(service).updated(eq(storedData), anyLong());
+        verify(service, never()).delete(RedisKey.of("board"));
+    }
+
+    @Test
+    void testRemovesKeyWithLastMember() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 1);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+
+        // when
+        byte[] result = new ZremCommand(RedisKey.of("board"), List.of(bulk("ann")))
+                .execute(service);
+
+        // then
+        assertThat(result).isEqualTo(new RespInteger(1).asResponse());
+        verify(service).delete(RedisKey.of("board"));
+    }
+}
@@ -0,0 +1,46 @@
+package org.baylight.redis.commands;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.LeaderService;
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.RedisServiceBase;
+import org.baylight.redis.StoredData;
+import org.baylight.redis.protocol.RespBulkString;
+import org.baylight.redis.protocol.RespConstants;
+import org.baylight.redis.zsets.RedisSortedSetData;
+import org.junit.jupiter.api.Test;
+
+public class ZscoreCommandTest implements WithAssertions {
+
+    private static RespBulkString bulk(String s) {
+        return new RespBulkString(s.getBytes());
+    }
+
+    @Test
+    void testScore() {
+        // given
+        RedisServiceBase service = mock(LeaderService.class);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("ann".getBytes(), 0.1);
+        zset.add("bob".getBytes(), Double.NEGATIVE_INFINITY);
+        when(service.getUnexpired(RedisKey.of("board")))
+                .thenReturn(StoredData.ofSortedSet(zset, StoredData.NO_EXPIRY));
+        when(service.getUnexpired(RedisKey.of("name")))
+                .thenReturn(new StoredData("ann".getBytes(), 0L, null));
+
+        // when
+        byte[] score = new ZscoreCommand(RedisKey.of("board"), bulk("ann")).execute(service);
+        byte[] infinite = new ZscoreCommand(RedisKey.of("board"), bulk("bob")).execute(service);
+        byte[] missing = new ZscoreCommand(RedisKey.of("board"), bulk("cat")).execute(service);
+        byte[] wrongType = new ZscoreCommand(RedisKey.of("name"), bulk("ann")).execute(service);
+
+        // then
+        assertThat(score).isEqualTo(bulk("0.1").asResponse());
+        assertThat(infinite).isEqualTo(bulk("-inf").asResponse());
+        assertThat(missing).isEqualTo(RespConstants.NULL);
+        assertThat(wrongType).isEqualTo(RespConstants.WRONGTYPE);
+    }
+}
@@ -0,0 +1,101 @@
+package org.baylight.redis.hashes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.StoredDataEncoding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisHashDataTest implements WithAssertions {
+
+    @AfterEach
+    void tearDown() {
+        RedisHashData.setListpackLimits(RedisHashData.DEFAULT_MAX_LISTPACK_ENTRIES,
+                RedisHashData.DEFAULT_MAX_LISTPACK_VALUE);
+    }
+
+    private static Map<String, String> toMap(RedisHashData hash) {
+        Map<String, String> map = new LinkedHashMap<>();
+        hash.forEach((field, value) -> map.put(new String(field), new String(value)));
+        return map;
+    }
+
+    @Test
+    void testSmallHashIsListpack() {
+        // given
+        RedisHashData hash = new RedisHashData();
+
+        // when
+        boolean added1 = hash.set("name".getBytes(), "ann".getBytes());
+        boolean added2 = hash.set("age".getBytes(), "30".getBytes());
+        boolean added3 = hash.set("name".getBytes(), "bob".getBytes());
+
+        // then
+        assertThat(added1).isTrue();
+        assertThat(added2).isTrue();
+        assertThat(added3).isFalse();
+        assertThat(hash.getEncoding()).isEqualTo(StoredDataEncoding.LISTPACK);
+        assertThat(hash.size()).isEqualTo(2);
+        assertThat(hash.get("name".getBytes())).isEqualTo("bob".getBytes());
+        assertThat(hash.get("missing".getBytes())).isNull();
+        assertThat(toMap(hash)).containsExactly(Map.entry("name", "bob"), Map.entry("age", "30"));
+    }
+
+    @Test
+    void testConvertsToTablePastMaxEntries() {
+        // given
+        RedisHashData.setListpackLimits(2, 64);
+        RedisHashData hash = new RedisHashData();
+        hash.set("f1".getBytes(), "v1".getBytes());
+        hash.set("f2".getBytes(), "v2".getBytes());
+
+        // when
+        hash.set("f3".getBytes(), "v3".getBytes());
+
+        // then
+        assertThat(hash.getEncoding()).isEqualTo(StoredDataEncoding.HASHTABLE);
+        assertThat(toMap(hash)).containsOnly(Map.entry("f1", "v1"), Map.entry("f2", "v2"),
+                Map.entry("f3", "v3"));
+    }
+
+    @Test
+    void testConvertsToTableForLongValue() {
+        // given
+        RedisHashData.setListpackLimits(128, 4);
+        RedisHashData hash = new RedisHashData();
+        hash.set("f1".getBytes(), "v1".getBytes());
+        long listpackSize = hash.getEstimatedSize();
+
+        // when
+        hash.set("f1".getBytes(), "a long value".getBytes());
+
+        // then
+        assertThat(hash.getEncoding()).isEqualTo(StoredDataEncoding.HASHTABLE);
+        assertThat(hash.get("f1".getBytes())).isEqualTo("a long value".getBytes());
+        assertThat(hash.getEstimatedSize()).isGreaterThan(listpackSize);
+    }
+
+    @Test
+    void testDelete() {
+        for (int maxEntries : new int[] { 128, 0 }) {
+            // given
+            RedisHashData.setListpackLimits(maxEntries, 64);
+            RedisHashData hash = new RedisHashData();
+            hash.set("f1".getBytes(), "v1".getBytes());
+            hash.set("f2".getBytes(), "v2".getBytes());
+            long size = hash.getEstimatedSize();
+
+            // when
+            boolean deleted = hash.delete("f1".getBytes());
+            boolean deletedAgain = hash.delete("f1".getBytes());
+
+            // then
+            assertThat(deleted).isTrue();
+            assertThat(deletedAgain).isFalse();
+            assertThat(toMap(hash)).containsExactly(Map.entry("f2", "v2"));
+            assertThat(hash.getEstimatedSize()).isLessThanOrEqualTo(size);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.baylight.redis.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.baylight.redis.protocol.RespValue;
+import org.baylight.redis.protocol.RespValueParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares parsing the RESP length prefixes directly from the buffered bytes with parsing the
+ * String from readLine, which is how readInt and readLong used to work. Run the main method to get
+ * the allocations per parsed command from the gc profiler (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferedInputLineReaderBenchmark {
+    private static final int NUM_COMMANDS = 100;
+    private static final byte[] SET_COMMAND = "*3\r\n$3\r\nSET\r\n$6\r\nmykey1\r\n$8\r\nmyvalue1\r\n"
+            .getBytes();
+
+    private byte[] input;
+    private final RespValueParser parser = new RespValueParser();
+
+    @Setup
+    public void setUp() {
+        input = new byte[SET_COMMAND.length * NUM_COMMANDS];
+        for (int i = 0; i < NUM_COMMANDS; i++) {
+            System.arraycopy(SET_COMMAND, 0, input, i * SET_COMMAND.length, SET_COMMAND.length);
+        }
+    }
+
+    @Benchmark
+    public long readHeadersDirect() throws IOException {
+        BufferedInputLineReader reader = newReader();
+        long sum = 0;
+        for (int i = 0; i < NUM_COMMANDS; i++) {
+            reader.read();
+            int n = reader.readInt();
+            for (int j = 0; j < n; j++) {
+                reader.read();
+                int len = reader.readInt();
+                sum += reader.read(new byte[len], 0, len);
+                reader.readCRLF();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readHeadersFromLine() throws IOException {
+        BufferedInputLineReader reader = newReader();
+        long sum = 0;
+        for (int i = 0; i < NUM_COMMANDS; i++) {
+            reader.read();
+            int n = Integer.parseInt(reader.readLine());
+            for (int j = 0; j < n; j++) {
+                reader.read();
+                int len = Integer.parseInt(reader.readLine());
+                sum += reader.read(new byte[len], 0, len);
+                reader.readCRLF();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public RespValue parseCommands() throws IOException {
+        BufferedInputLineReader reader = newReader();
+        RespValue value = null;
+        for (int i = 0; i < NUM_COMMANDS; i++) {
+            value = parser.parse(reader);
+        }
+        return value;
+    }
+
+    private BufferedInputLineReader newReader() {
+        return new BufferedInputLineReader(new ByteArrayInputStream(input));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BufferedInputLineReaderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
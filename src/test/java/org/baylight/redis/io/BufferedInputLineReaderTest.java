@@ -0,0 +1,83 @@
+package org.baylight.redis.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class BufferedInputLineReaderTest implements WithAssertions {
+
+    /**
+     * Returns at most one byte per read, so every value crosses a buffer refill.
+     */
+    private static InputStream trickle(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+    }
+
+    @Test
+    void testReadNumbers() throws Exception {
+        BufferedInputLineReader reader = new BufferedInputLineReader(
+                trickle("123\r\n-4500000005\r\n+7\r\n".getBytes()));
+
+        assertThat(reader.readInt()).isEqualTo(123);
+        assertThat(reader.readLong()).isEqualTo(-4500000005L);
+        assertThat(reader.readInt()).isEqualTo(7);
+        assertThat(reader.getNumBytesReceived()).isEqualTo(22L);
+    }
+
+    @Test
+    void testReadInvalidNumbers() throws Exception {
+        assertThatThrownBy(() -> new BufferedInputLineReader(
+                new ByteArrayInputStream("12a\r\n".getBytes())).readInt())
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> new BufferedInputLineReader(
+                new ByteArrayInputStream("\r\n".getBytes())).readInt())
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> new BufferedInputLineReader(
+                new ByteArrayInputStream("9999999999\r\n".getBytes())).readInt())
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> new BufferedInputLineReader(
+                new ByteArrayInputStream("12".getBytes())).readInt())
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void testReadLines() throws Exception {
+        String longLine = "x".repeat(20000);
+        BufferedInputLineReader reader = new BufferedInputLineReader(new ByteArrayInputStream(
+                ("OK\r\n" + longLine + "\r\nlast").getBytes()));
+
+        assertThat(reader.readLine()).isEqualTo("OK");
+        assertThat(reader.readLine()).isEqualTo(longLine);
+        assertThat(reader.readLine()).isEqualTo("last");
+        assertThat(reader.getNumBytesReceived()).isEqualTo(4L + 20002L + 4L);
+    }
+
+    @Test
+    void testReadBytes() throws Exception {
+        byte[] data = new byte[30000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        byte[] input = new byte[data.length + 3];
+        input[0] = 'a';
+        System.arraycopy(data, 0, input, 1, data.length);
+        input[data.length + 1] = '\r';
+        input[data.length + 2] = '\n';
+        BufferedInputLineReader reader = new BufferedInputLineReader(
+                new ByteArrayInputStream(input));
+
+        assertThat(reader.read()).isEqualTo('a');
+        assertThat(reader.readNBytes(data.length)).isEqualTo(data);
+        reader.readCRLF();
+        assertThat(reader.read()).isEqualTo(-1);
+        assertThat(reader.getNumBytesReceived()).isEqualTo(input.length);
+    }
+}
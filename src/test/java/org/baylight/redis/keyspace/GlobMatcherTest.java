@@ -0,0 +1,66 @@
+package org.baylight.redis.keyspace;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class GlobMatcherTest implements WithAssertions {
+
+    private static boolean matches(String pattern, String value) {
+        return GlobMatcher.compile(pattern).matches(value.getBytes());
+    }
+
+    @Test
+    void testStar() {
+        assertThat(matches("*", "hello")).isTrue();
+        assertThat(matches("*", "")).isTrue();
+        assertThat(matches("h*llo", "hllo")).isTrue();
+        assertThat(matches("h*llo", "heeeello")).isTrue();
+        assertThat(matches("h*llo", "hellox")).isFalse();
+        assertThat(matches("user:*:name", "user:1000:name")).isTrue();
+        assertThat(matches("user:*:name", "user:1000:email")).isFalse();
+        assertThat(matches("*a*b*c", "xxaxxbxxc")).isTrue();
+        assertThat(matches("*a*b*c", "xxaxxcxxb")).isFalse();
+    }
+
+    @Test
+    void testQuestionMarkAndLiterals() {
+        assertThat(matches("h?llo", "hello")).isTrue();
+        assertThat(matches("h?llo", "hllo")).isFalse();
+        assertThat(matches("abc", "abc")).isTrue();
+        assertThat(matches("abc", "abcd")).isFalse();
+        assertThat(matches("", "")).isTrue();
+        assertThat(matches("", "a")).isFalse();
+    }
+
+    @Test
+    void testClasses() {
+        assertThat(matches("h[ae]llo", "hallo")).isTrue();
+        assertThat(matches("h[ae]llo", "hillo")).isFalse();
+        assertThat(matches("h[^e]llo", "hallo")).isTrue();
+        assertThat(matches("h[^e]llo", "hello")).isFalse();
+        assertThat(matches("h[a-c]llo", "hbllo")).isTrue();
+        assertThat(matches("h[a-c]llo", "hdllo")).isFalse();
+    }
+
+    @Test
+    void testEscape() {
+        assertThat(matches("h\\*llo", "h*llo")).isTrue();
+        assertThat(matches("h\\*llo", "hello")).isFalse();
+        assertThat(matches("h[\\]]llo", "h]llo")).isTrue();
+    }
+
+    @Test
+    void testBinaryKey() {
+        GlobMatcher matcher = GlobMatcher.compile(new byte[] { 'k', '[', (byte) 0xfe, ']', '*' });
+        assertThat(matcher.matches(new byte[] { 'k', (byte) 0xfe, 1 })).isTrue();
+        assertThat(matcher.matches(new byte[] { 'k', (byte) 0xff, 1 })).isFalse();
+    }
+
+    @Test
+    void testIsMatchAll() {
+        assertThat(GlobMatcher.compile("*").isMatchAll()).isTrue();
+        assertThat(GlobMatcher.compile("**").isMatchAll()).isTrue();
+        assertThat(GlobMatcher.compile("a*").isMatchAll()).isFalse();
+        assertThat(GlobMatcher.compile("").isMatchAll()).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package org.baylight.redis.keyspace;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.baylight.redis.RedisKey;
+import org.baylight.redis.StoredData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the keyspace dict with the ConcurrentHashMap that the keyspace used to be, for
+ * inserting all the keys into an empty map, which includes all the resizes, and for looking up a
+ * key in a full map. Run the main method to get the allocations from the gc profiler
+ * (gc.alloc.rate.norm), or run it with the argument "footprint" to print the heap retained per
+ * entry by each map, without the keys and values.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class KeyspaceDictBenchmark {
+    @Param({ "10000000" })
+    public int numKeys;
+
+    @Param({ "dict", "concurrentHashMap" })
+    public String map;
+
+    private RedisKey[] keys;
+    private final StoredData value = StoredData.ofString("value".getBytes(),
+            StoredData.NO_EXPIRY);
+    private Map<RedisKey, StoredData> fullMap;
+    private int next = 0;
+
+    private static RedisKey[] newKeys(int numKeys) {
+        RedisKey[] keys = new RedisKey[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = RedisKey.of("key:" + i);
+        }
+        return keys;
+    }
+
+    private static Supplier<Map<RedisKey, StoredData>> mapSupplier(String map) {
+        return switch (map) {
+        case "dict" -> KeyspaceDict::new;
+        case "concurrentHashMap" -> ConcurrentHashMap::new;
+        default -> throw new IllegalArgumentException("Unknown map: " + map);
+        };
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = newKeys(numKeys);
+        fullMap = insertAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Map<RedisKey, StoredData> insertAll() {
+        Map<RedisKey, StoredData> newMap = mapSupplier(map).get();
+        for (RedisKey key : keys) {
+            newMap.put(key, value);
+        }
+        return newMap;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public StoredData lookup() {
+        if (++next == numKeys) {
+            next = 0;
+        }
+        return fullMap.get(keys[next]);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void printFootprint(int numKeys) {
+        RedisKey[] keys = newKeys(numKeys);
+        StoredData value = StoredData.ofString("value".getBytes(), StoredData.NO_EXPIRY);
+        for (String map : new String[] { "dict", "concurrentHashMap" }) {
+            long before = usedHeap();
+            Map<RedisKey, StoredData> newMap = mapSupplier(map).get();
+            for (RedisKey key : keys) {
+                newMap.put(key, value);
+            }
+            long after = usedHeap();
+            System.out.println(String.format("%s: %d keys, %.1f bytes per entry", map,
+                    newMap.size(), (double) (after - before) / numKeys));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length > 0 && args[0].equals("footprint")) {
+            printFootprint(args.length > 1 ? Integer.parseInt(args[1]) : 10000000);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .include(KeyspaceDictBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
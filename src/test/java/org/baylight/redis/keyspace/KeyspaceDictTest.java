@@ -0,0 +1,200 @@
+package org.baylight.redis.keyspace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class KeyspaceDictTest implements WithAssertions {
+
+    private static KeyspaceDict<String, Integer> newDict(int size) {
+        KeyspaceDict<String, Integer> dict = new KeyspaceDict<>();
+        for (int i = 0; i < size; i++) {
+            dict.put("key" + i, i);
+        }
+        return dict;
+    }
+
+    @Test
+    void testPutGetRemove() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(100);
+
+        // when
+        Integer prev = dict.put("key5", 500);
+        Integer removed = dict.remove("key6");
+        boolean removedWrongValue = dict.remove("key7", 8);
+        boolean removedValue = dict.remove("key8", 8);
+
+        // then
+        assertThat(prev).isEqualTo(5);
+        assertThat(removed).isEqualTo(6);
+        assertThat(removedWrongValue).isFalse();
+        assertThat(removedValue).isTrue();
+        assertThat(dict).hasSize(98);
+        assertThat(dict.get("key5")).isEqualTo(500);
+        assertThat(dict.get("key7")).isEqualTo(7);
+        assertThat(dict.containsKey("key6")).isFalse();
+        assertThat(dict.getTableSize()).isEqualTo(128);
+    }
+
+    @Test
+    void testTableShrinksWhenMostKeysAreRemoved() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(1000);
+
+        // when
+        for (int i = 0; i < 990; i++) {
+            dict.remove("key" + i);
+        }
+
+        // the cron finishes the resizes
+        for (int i = 0; i < 5; i++) {
+            dict.rehashForMillis(100);
+        }
+
+        // then
+        assertThat(dict.isRehashing()).isFalse();
+        assertThat(dict.getTableSize()).isEqualTo(16);
+        assertThat(dict.keySet()).containsExactlyInAnyOrder("key990", "key991", "key992",
+                "key993", "key994", "key995", "key996", "key997", "key998", "key999");
+    }
+
+    @Test
+    void testScanReturnsEveryKeyOnce() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(1000);
+        List<String> scanned = new ArrayList<>();
+
+        // when
+        long cursor = 0;
+        do {
+            cursor = dict.scan(cursor, e -> scanned.add(e.getKey()));
+        } while (cursor != 0);
+
+        // then
+        assertThat(scanned).hasSize(1000);
+        assertThat(new HashSet<>(scanned)).isEqualTo(dict.keySet());
+    }
+
+    @Test
+    void testScanReturnsEveryKeyWhenTableGrowsAndShrinks() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(100);
+        Set<String> original = new HashSet<>(dict.keySet());
+        Set<String> scanned = new HashSet<>();
+
+        // when - the table grows in the middle of the scan, then shrinks
+        long cursor = 0;
+        int calls = 0;
+        do {
+            cursor = dict.scan(cursor, e -> scanned.add(e.getKey()));
+            calls++;
+            if (calls == 20) {
+                for (int i = 0; i < 2000; i++) {
+                    dict.put("extra" + i, i);
+                }
+            } else if (calls == 200) {
+                for (int i = 0; i < 2000; i++) {
+                    dict.remove("extra" + i);
+                }
+            }
+        } while (cursor != 0);
+
+        // then
+        assertThat(scanned).containsAll(original);
+    }
+
+    @Test
+    void testRehashIsIncremental() {
+        // given - 64 keys fill the table of 64 buckets
+        KeyspaceDict<String, Integer> dict = newDict(64);
+        assertThat(dict.isRehashing()).isFalse();
+
+        // when
+        dict.put("next", 64);
+
+        // then - the table is moved one bucket per write, and all the keys are found meanwhile
+        assertThat(dict.isRehashing()).isTrue();
+        assertThat(dict.getTableSize()).isEqualTo(128);
+        int writes = 0;
+        while (dict.isRehashing()) {
+            dict.put("next" + writes, writes);
+            writes++;
+            assertThat(dict.get("key" + (writes % 64))).isEqualTo(writes % 64);
+        }
+        assertThat(writes).isGreaterThan(1);
+        assertThat(dict).hasSize(65 + writes);
+        for (int i = 0; i < 64; i++) {
+            assertThat(dict.get("key" + i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void testScanAndIterateWhileRehashing() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(1024);
+        dict.put("next", 1024);
+        dict.put("next2", 1025);
+        assertThat(dict.isRehashing()).isTrue();
+        Set<String> scanned = new HashSet<>();
+        Set<String> iterated = new HashSet<>();
+
+        // when
+        long cursor = 0;
+        int calls = 0;
+        do {
+            cursor = dict.scan(cursor, e -> scanned.add(e.getKey()));
+            // writes move buckets in the middle of the scan
+            if (++calls % 3 == 0) {
+                dict.put("key0", 0);
+            }
+        } while (cursor != 0);
+        dict.keySet().forEach(iterated::add);
+
+        // then
+        assertThat(scanned).isEqualTo(dict.keySet());
+        assertThat(iterated).hasSize(1026);
+    }
+
+    @Test
+    void testSample() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(100);
+        Map<String, Integer> sampled = new HashMap<>();
+
+        // when
+        int count = dict.sample(5, e -> sampled.put(e.getKey(), e.getValue()));
+
+        // then
+        assertThat(count).isEqualTo(5);
+        assertThat(sampled).hasSize(5);
+        sampled.forEach((key, value) -> assertThat(dict.get(key)).isEqualTo(value));
+        assertThat(new KeyspaceDict<String, Integer>().sample(5, e -> {
+        })).isZero();
+    }
+
+    @Test
+    void testIteratorRemove() {
+        // given
+        KeyspaceDict<String, Integer> dict = newDict(1000);
+
+        // when
+        Iterator<Map.Entry<String, Integer>> iter = dict.entrySet().iterator();
+        while (iter.hasNext()) {
+            if (iter.next().getValue() % 10 != 0) {
+                iter.remove();
+            }
+        }
+
+        // then
+        assertThat(dict).hasSize(100);
+        assertThat(dict.values()).allMatch(value -> value % 10 == 0);
+    }
+}
@@ -0,0 +1,104 @@
+package org.baylight.redis.listpack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class ListpackTest implements WithAssertions {
+
+    private static List<String> forward(Listpack listpack) {
+        List<String> entries = new ArrayList<>();
+        for (int p = listpack.first(); p != Listpack.NONE; p = listpack.next(p)) {
+            entries.add(new String(listpack.get(p)));
+        }
+        return entries;
+    }
+
+    private static List<String> backward(Listpack listpack) {
+        List<String> entries = new ArrayList<>();
+        for (int p = listpack.last(); p != Listpack.NONE; p = listpack.prev(p)) {
+            entries.add(0, new String(listpack.get(p)));
+        }
+        return entries;
+    }
+
+    @Test
+    void testAppendAndPrepend() {
+        // given
+        Listpack listpack = new Listpack();
+
+        // when
+        listpack.append("b".getBytes());
+        listpack.append("c".getBytes());
+        listpack.prepend("a".getBytes());
+
+        // then
+        assertThat(listpack.size()).isEqualTo(3);
+        assertThat(forward(listpack)).containsExactly("a", "b", "c");
+        assertThat(backward(listpack)).containsExactly("a", "b", "c");
+        assertThat(new String(listpack.get(listpack.seek(-1)))).isEqualTo("c");
+        assertThat(listpack.seek(3)).isEqualTo(Listpack.NONE);
+    }
+
+    @Test
+    void testLongEntriesHaveMultiByteLengths() {
+        // given
+        Listpack listpack = new Listpack();
+        String big = "x".repeat(20000);
+
+        // when
+        listpack.append("a".getBytes());
+        listpack.append(big.getBytes());
+        listpack.append("c".getBytes());
+
+        // then
+        assertThat(forward(listpack)).containsExactly("a", big, "c");
+        assertThat(backward(listpack)).containsExactly("a", big, "c");
+        assertThat(listpack.bytesUsed()).isEqualTo(3 + (3 + 20000 + 3) + 3);
+    }
+
+    @Test
+    void testReplaceAndDelete() {
+        // given
+        Listpack listpack = new Listpack();
+        for (String s : new String[] { "f1", "v1", "f2", "v2", "f3", "v3" }) {
+            listpack.append(s.getBytes());
+        }
+
+        // when
+        int p = listpack.find(listpack.first(), "f2".getBytes(), 1);
+        listpack.replace(listpack.next(p), "a longer value".getBytes());
+        int q = listpack.find(listpack.first(), "f1".getBytes(), 1);
+        int next = listpack.deleteRange(q, 2);
+
+        // then
+        assertThat(new String(listpack.get(next))).isEqualTo("f2");
+        assertThat(forward(listpack)).containsExactly("f2", "a longer value", "f3", "v3");
+        assertThat(backward(listpack)).containsExactly("f2", "a longer value", "f3", "v3");
+        // a value is not matched as a field
+        assertThat(listpack.find(listpack.first(), "v3".getBytes(), 1)).isEqualTo(Listpack.NONE);
+        assertThat(listpack.delete(listpack.last())).isEqualTo(Listpack.NONE);
+        assertThat(listpack.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testCompareAt() {
+        // given
+        Listpack listpack = new Listpack();
+        listpack.append("abc".getBytes());
+        listpack.append(new byte[] { (byte) 0xff });
+
+        // when
+        int p = listpack.first();
+        int q = listpack.next(p);
+
+        // then
+        assertThat(listpack.compareAt(p, "abc".getBytes())).isZero();
+        assertThat(listpack.compareAt(p, "abd".getBytes())).isNegative();
+        assertThat(listpack.compareAt(p, "ab".getBytes())).isPositive();
+        // the bytes are compared unsigned
+        assertThat(listpack.compareAt(q, "z".getBytes())).isPositive();
+    }
+}
@@ -0,0 +1,180 @@
+package org.baylight.redis.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisListDataTest implements WithAssertions {
+
+    @AfterEach
+    void resetMaxListpackSize() {
+        RedisListData.setMaxListpackSize(RedisListData.DEFAULT_MAX_LISTPACK_SIZE);
+    }
+
+    private static RedisListData listOf(int n) {
+        RedisListData list = new RedisListData();
+        for (int i = 0; i < n; i++) {
+            list.push(false, ("e" + i).getBytes());
+        }
+        return list;
+    }
+
+    private static List<String> range(RedisListData list, long start, long stop) {
+        List<String> values = new ArrayList<>();
+        list.range(start, stop, value -> values.add(new String(value)));
+        return values;
+    }
+
+    @Test
+    void testPushAndPop() {
+        // given
+        RedisListData list = new RedisListData();
+
+        // when
+        list.push(false, "b".getBytes());
+        list.push(true, "a".getBytes());
+        list.push(false, "c".getBytes());
+
+        // then
+        assertThat(list.size()).isEqualTo(3);
+        assertThat(list.toString()).isEqualTo("[a, b, c]");
+        assertThat(list.pop(true)).isEqualTo("a".getBytes());
+        assertThat(list.pop(false)).isEqualTo("c".getBytes());
+        assertThat(list.pop(false)).isEqualTo("b".getBytes());
+        assertThat(list.pop(true)).isNull();
+        assertThat(list.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testNodesAreBoundedByCount() {
+        // given
+        RedisListData.setMaxListpackSize(4);
+
+        // when
+        RedisListData list = listOf(10);
+
+        // then
+        assertThat(list.getNumNodes()).isEqualTo(3);
+        assertThat(range(list, 0, -1)).containsExactly("e0", "e1", "e2", "e3", "e4", "e5", "e6",
+                "e7", "e8", "e9");
+    }
+
+    @Test
+    void testNodesAreBoundedByBytes() {
+        // given
+        RedisListData.setMaxListpackSize(-1);
+        RedisListData list = new RedisListData();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            list.push(true, new byte[1000]);
+        }
+        list.push(true, new byte[5000]);
+
+        // then
+        assertThat(list.getNumNodes()).isEqualTo(4);
+        assertThat(list.size()).isEqualTo(11);
+    }
+
+    @Test
+    void testPopRemovesEmptyNodes() {
+        // given
+        RedisListData.setMaxListpackSize(2);
+        RedisListData list = listOf(5);
+        long emptySize = new RedisListData().getEstimatedSize();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            list.pop(true);
+        }
+
+        // then
+        assertThat(list.getNumNodes()).isEqualTo(2);
+        assertThat(list.toString()).isEqualTo("[e3, e4]");
+        list.pop(false);
+        list.pop(false);
+        assertThat(list.getNumNodes()).isEqualTo(0);
+        assertThat(list.getEstimatedSize()).isEqualTo(emptySize);
+    }
+
+    @Test
+    void testGet() {
+        // given
+        RedisListData.setMaxListpackSize(3);
+        RedisListData list = listOf(10);
+
+        // when/then
+        assertThat(list.get(0)).isEqualTo("e0".getBytes());
+        assertThat(list.get(4)).isEqualTo("e4".getBytes());
+        assertThat(list.get(7)).isEqualTo("e7".getBytes());
+        assertThat(list.get(-1)).isEqualTo("e9".getBytes());
+        assertThat(list.get(-10)).isEqualTo("e0".getBytes());
+        assertThat(list.get(10)).isNull();
+        assertThat(list.get(-11)).isNull();
+    }
+
+    @Test
+    void testRange() {
+        // given
+        RedisListData.setMaxListpackSize(3);
+        RedisListData list = listOf(10);
+
+        // when/then
+        assertThat(range(list, 2, 5)).containsExactly("e2", "e3", "e4", "e5");
+        assertThat(range(list, -3, -1)).containsExactly("e7", "e8", "e9");
+        assertThat(range(list, -100, 1)).containsExactly("e0", "e1");
+        assertThat(range(list, 8, 100)).containsExactly("e8", "e9");
+        assertThat(range(list, 5, 2)).isEmpty();
+        assertThat(range(list, 10, 20)).isEmpty();
+        assertThat(list.rangeSize(2, 5)).isEqualTo(4);
+        assertThat(list.rangeSize(-100, 100)).isEqualTo(10);
+        assertThat(list.rangeSize(5, 2)).isEqualTo(0);
+    }
+
+    @Test
+    void testTrim() {
+        // given
+        RedisListData.setMaxListpackSize(3);
+        RedisListData list = listOf(10);
+
+        // when
+        list.trim(2, -3);
+
+        // then
+        assertThat(list.size()).isEqualTo(6);
+        assertThat(list.toString()).isEqualTo("[e2, e3, e4, e5, e6, e7]");
+        assertThat(list.getNumNodes()).isEqualTo(3);
+        assertThat(list.get(-1)).isEqualTo("e7".getBytes());
+    }
+
+    @Test
+    void testTrimToEmpty() {
+        // given
+        RedisListData list = listOf(10);
+        long emptySize = new RedisListData().getEstimatedSize();
+
+        // when
+        list.trim(5, 2);
+
+        // then
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.getNumNodes()).isEqualTo(0);
+        assertThat(list.getEstimatedSize()).isEqualTo(emptySize);
+    }
+
+    @Test
+    void testEstimatedSizeGrowsWithElements() {
+        // given
+        RedisListData list = new RedisListData();
+        long emptySize = list.getEstimatedSize();
+
+        // when
+        list.push(false, new byte[100]);
+
+        // then
+        assertThat(list.getEstimatedSize()).isGreaterThan(emptySize + 100);
+    }
+}
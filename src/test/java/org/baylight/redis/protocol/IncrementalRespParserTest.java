@@ -0,0 +1,169 @@
+package org.baylight.redis.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalRespParserTest implements WithAssertions {
+    private static final String BULK_VALUE = "a\r\nb\r\ncd";
+    private static final String ARRAY_STRING = "*3\r\n$" + BULK_VALUE.length() + "\r\n" + BULK_VALUE
+            + "\r\n:22\r\n+yes\r\n";
+    private static final RespValue ARRAY_VALUE = new RespArrayValue(new RespValue[] {
+            new RespBulkString(BULK_VALUE.getBytes()),
+            new RespInteger(22),
+            new RespSimpleStringValue("yes")
+    });
+
+    @Test
+    void testParseSimpleValues() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        ByteBuffer buffer = ByteBuffer.wrap("+OK\r\n-ERR ok\r\n:-4500000005\r\n$-1\r\n".getBytes());
+
+        assertThat(parser.parse(buffer)).isEqualTo(new RespSimpleStringValue("OK"));
+        assertThat(parser.parse(buffer)).isEqualTo(new RespSimpleErrorValue("ERR ok"));
+        assertThat(parser.parse(buffer)).isEqualTo(new RespInteger(-1 * 4500000005L));
+        assertThat(((RespBulkString) parser.parse(buffer)).isNullValue()).isTrue();
+        assertThat(parser.parse(buffer)).isNull();
+        assertThat(parser.hasPartialValue()).isFalse();
+    }
+
+    @Test
+    void testParseArray() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        ByteBuffer buffer = ByteBuffer.wrap(ARRAY_STRING.getBytes());
+
+        assertThat(parser.parse(buffer)).isEqualTo(ARRAY_VALUE);
+        assertThat(parser.getValueStartOffset()).isEqualTo(0L);
+        assertThat(parser.getNumBytesConsumed()).isEqualTo(ARRAY_STRING.length());
+    }
+
+    @Test
+    void testParseOneByteAtATime() throws Exception {
+        // given the bytes of two values arrive one at a time
+        IncrementalRespParser parser = new IncrementalRespParser();
+        byte[] bytes = (ARRAY_STRING + ARRAY_STRING).getBytes();
+        List<RespValue> values = new ArrayList<>();
+        List<Long> startOffsets = new ArrayList<>();
+
+        // when each byte is parsed
+        for (byte b : bytes) {
+            RespValue value = parser.parse(ByteBuffer.wrap(new byte[] { b }));
+            if (value != null) {
+                values.add(value);
+                startOffsets.add(parser.getValueStartOffset());
+            } else {
+                assertThat(parser.hasPartialValue()).isTrue();
+            }
+        }
+
+        // then both values are complete with their stream offsets
+        assertThat(values).containsExactly(ARRAY_VALUE, ARRAY_VALUE);
+        assertThat(startOffsets).containsExactly(0L, (long) ARRAY_STRING.length());
+    }
+
+    @Test
+    void testParseLargeBulkStringAcrossBuffers() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        byte[] data = new byte[100_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + i % 26);
+        }
+        ByteBuffer all = ByteBuffer.allocate(data.length + 20);
+        all.put(("$" + data.length + "\r\n").getBytes()).put(data).put("\r\n".getBytes()).flip();
+
+        RespValue value = null;
+        while (all.hasRemaining()) {
+            ByteBuffer segment = all.slice(all.position(), Math.min(1460, all.remaining()));
+            value = parser.parse(segment);
+            all.position(all.position() + segment.position());
+        }
+        assertThat(value).isEqualTo(new RespBulkString(data));
+    }
+
+    @Test
+    void testLargeHeadersDoNotAllocateTheirLength() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+
+        // a few bytes of headers claiming an array of 400 million elements and a bulk string of
+        // almost 512 MB must not allocate either one up front
+        assertThat(parser.parse(ByteBuffer.wrap("*400000000\r\n$500000000\r\nabc".getBytes())))
+                .isNull();
+        assertThat(parser.hasPartialValue()).isTrue();
+        assertThat(parser.getNumBytesConsumed()).isEqualTo(27L);
+    }
+
+    @Test
+    void testParseArrayLargerThanPreallocated() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        int n = 3000;
+        StringBuilder sb = new StringBuilder("*" + n + "\r\n");
+        RespValue[] expected = new RespValue[n];
+        for (int i = 0; i < n; i++) {
+            sb.append(":").append(i).append("\r\n");
+            expected[i] = new RespInteger(i);
+        }
+        ByteBuffer all = ByteBuffer.wrap(sb.toString().getBytes());
+
+        RespValue value = null;
+        while (all.hasRemaining()) {
+            ByteBuffer segment = all.slice(all.position(), Math.min(1460, all.remaining()));
+            value = parser.parse(segment);
+            all.position(all.position() + segment.position());
+        }
+        assertThat(value).isEqualTo(new RespArrayValue(expected));
+    }
+
+    @Test
+    void testParseNestedAndEmptyArrays() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        ByteBuffer buffer = ByteBuffer.wrap("*2\r\n*0\r\n*1\r\n+x\r\n".getBytes());
+
+        assertThat(parser.parse(buffer)).isEqualTo(new RespArrayValue(new RespValue[] {
+                new RespArrayValue(new RespValue[0]),
+                new RespArrayValue(new RespValue[] { new RespSimpleStringValue("x") })
+        }));
+    }
+
+    @Test
+    void testProtocolErrorResetsParser() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+
+        assertThatThrownBy(() -> parser.parse(ByteBuffer.wrap("*2\r\n$x\r\n".getBytes())))
+                .isInstanceOf(IOException.class);
+        assertThat(parser.hasPartialValue()).isFalse();
+        assertThat(parser.parse(ByteBuffer.wrap("+OK\r\n".getBytes())))
+                .isEqualTo(new RespSimpleStringValue("OK"));
+    }
+
+    @Test
+    void testParseRdbWithoutTrailingCRLF() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        ByteBuffer first = ByteBuffer.wrap("+FULLRESYNC id 0\r\n$6\r\nREDIS".getBytes());
+        ByteBuffer rest = ByteBuffer.wrap("0*1\r\n+PING\r\n".getBytes());
+
+        assertThat(parser.parse(first)).isEqualTo(new RespSimpleStringValue("FULLRESYNC id 0"));
+        parser.expectRdb();
+        assertThat(parser.parse(first)).isNull();
+        assertThat(parser.hasPartialValue()).isTrue();
+        assertThat(((RespBulkString) parser.parse(rest)).getValue())
+                .isEqualTo("REDIS0".getBytes());
+        // the commands that follow the RDB are parsed as usual
+        assertThat(parser.parse(rest)).isEqualTo(new RespArrayValue(new RespValue[] {
+                new RespSimpleStringValue("PING") }));
+    }
+
+    @Test
+    void testParseRdbRejectsOtherTypes() throws Exception {
+        IncrementalRespParser parser = new IncrementalRespParser();
+        parser.expectRdb();
+
+        assertThatThrownBy(() -> parser.parse(ByteBuffer.wrap("+OK\r\n".getBytes())))
+                .isInstanceOf(IOException.class);
+        assertThat(parser.parse(ByteBuffer.wrap("+OK\r\n".getBytes())))
+                .isEqualTo(new RespSimpleStringValue("OK"));
+    }
+}
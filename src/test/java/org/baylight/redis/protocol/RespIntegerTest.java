@@ -0,0 +1,41 @@
+package org.baylight.redis.protocol;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RespIntegerTest implements WithAssertions {
+
+    @AfterEach
+    void tearDown() {
+        RespInteger.setCacheMax(RespInteger.DEFAULT_CACHE_MAX);
+    }
+
+    @Test
+    void testSharedEncodings() {
+        assertThat(RespConstants.integer(-1)).isEqualTo(":-1\r\n".getBytes());
+        assertThat(RespConstants.integer(0)).isEqualTo(":0\r\n".getBytes());
+        assertThat(new RespInteger(10000).asResponse()).isEqualTo(":10000\r\n".getBytes());
+
+        // the same array is returned for values in the cache
+        assertThat(RespConstants.integer(1)).isSameAs(RespConstants.integer(1));
+        assertThat(new RespInteger(10000).asResponse())
+                .isSameAs(new RespInteger(10000).asResponse());
+    }
+
+    @Test
+    void testEncodingsOutsideCache() {
+        assertThat(RespConstants.integer(-2)).isEqualTo(":-2\r\n".getBytes());
+        assertThat(RespConstants.integer(10001)).isEqualTo(":10001\r\n".getBytes());
+        assertThat(RespConstants.integer(10001)).isNotSameAs(RespConstants.integer(10001));
+    }
+
+    @Test
+    void testSetCacheMax() {
+        RespInteger.setCacheMax(100);
+
+        assertThat(RespConstants.integer(100)).isSameAs(RespConstants.integer(100));
+        assertThat(RespConstants.integer(101)).isNotSameAs(RespConstants.integer(101));
+        assertThat(RespConstants.integer(101)).isEqualTo(":101\r\n".getBytes());
+    }
+}
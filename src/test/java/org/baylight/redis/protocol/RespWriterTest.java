@@ -0,0 +1,77 @@
+package org.baylight.redis.protocol;
+
+import java.nio.ByteBuffer;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class RespWriterTest implements WithAssertions {
+
+    @Test
+    void testWriteSmallValues() {
+        RespWriter writer = new RespWriter();
+
+        writer.writeArrayHeader(3)
+                .writeBulkString("abc".getBytes())
+                .writeInteger(-4500000005L)
+                .writeSimpleString("OK");
+        writer.writeInteger(Long.MIN_VALUE).writeNullBulkString().writeError("ERR bad");
+
+        String expected = "*3\r\n$3\r\nabc\r\n:-4500000005\r\n+OK\r\n:" + Long.MIN_VALUE
+                + "\r\n$-1\r\n-ERR bad\r\n";
+        assertThat(new String(writer.toByteArray())).isEqualTo(expected);
+        assertThat(writer.size()).isEqualTo(expected.length());
+        // small values are all encoded in the header buffer
+        assertThat(writer.toBuffers()).hasSize(1);
+    }
+
+    @Test
+    void testWriteLargeBulkStringWithoutCopy() {
+        byte[] value = new byte[RespWriter.WRAP_THRESHOLD * 10];
+        RespWriter writer = new RespWriter();
+
+        writer.writeBulkString(value);
+        ByteBuffer[] buffers = writer.toBuffers();
+
+        assertThat(buffers).hasSize(3);
+        assertThat(new String(buffers[0].array(), buffers[0].arrayOffset(),
+                buffers[0].remaining())).isEqualTo("$" + value.length + "\r\n");
+        assertThat(buffers[1].array()).isSameAs(value);
+        assertThat(buffers[2].remaining()).isEqualTo(2);
+        assertThat(writer.toByteArray())
+                .isEqualTo(new RespBulkString(value).asResponse());
+    }
+
+    @Test
+    void testWriteBulkStringFromBuffer() {
+        byte[] value = new byte[RespWriter.WRAP_THRESHOLD * 2];
+        value[0] = 'a';
+        ByteBuffer direct = ByteBuffer.allocateDirect(value.length).put(value).flip();
+        RespWriter writer = new RespWriter();
+
+        writer.writeBulkString(ByteBuffer.wrap("small".getBytes()));
+        writer.writeBulkString(direct.asReadOnlyBuffer());
+
+        assertThat(writer.toByteArray()).isEqualTo(
+                ("$5\r\nsmall\r\n" + new String(new RespBulkString(value).asResponse()))
+                        .getBytes());
+        // the large value is sent from its buffer, and the buffer position is not changed
+        assertThat(writer.toBuffers()).filteredOn(ByteBuffer::isDirect).hasSize(1);
+        assertThat(direct.remaining()).isEqualTo(value.length);
+    }
+
+    @Test
+    void testWriteValue() {
+        RespValue value = new RespArrayValue(new RespValue[] {
+                new RespBulkString("a\r\nb".getBytes()),
+                new RespInteger(22),
+                new RespSimpleStringValue("yes"),
+                RespNullValue.INSTANCE
+        });
+        RespWriter writer = new RespWriter();
+
+        writer.write(value);
+
+        assertThat(writer.toByteArray()).isEqualTo(value.asResponse());
+    }
+}
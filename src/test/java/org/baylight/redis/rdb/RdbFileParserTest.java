@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.RedisKey;
 import org.baylight.redis.StoredData;
 import org.baylight.redis.StreamBuilder;
 import org.baylight.redis.TestConstants;
@@ -43,13 +44,13 @@ public class RdbFileParserTest implements WithAssertions, TestConstants {
 
         RdbFileParser parser = new RdbFileParser(builder.build(), FIXED_CLOCK);
 
-        Map<String, StoredData> dbData = new HashMap<>();
+        Map<RedisKey, StoredData> dbData = new HashMap<>();
 
         assertThat(parser.selectDB(dbData)).isEqualTo(OpCode.SELECTDB);
 
-        Map<String, StoredData> expectedResult = Map.of(
-                "key1", new StoredData("v01".getBytes(), CLOCK_MILLIS, null),
-                "key2", new StoredData("v002".getBytes(), CLOCK_MILLIS, null));
+        Map<RedisKey, StoredData> expectedResult = Map.of(
+                RedisKey.of("key1"), new StoredData("v01".getBytes(), CLOCK_MILLIS, null),
+                RedisKey.of("key2"), new StoredData("v002".getBytes(), CLOCK_MILLIS, null));
         assertThat(dbData).isEqualTo(expectedResult);
     }
 
@@ -86,15 +87,15 @@ public class RdbFileParserTest implements WithAssertions, TestConstants {
 
         RdbFileParser parser = new RdbFileParser(builder.build(), FIXED_CLOCK);
 
-        Map<String, StoredData> dbData = new HashMap<>();
+        Map<RedisKey, StoredData> dbData = new HashMap<>();
 
         assertThat(parser.selectDB(dbData)).isEqualTo(OpCode.SELECTDB);
 
-        Map<String, StoredData> expectedResult = Map.of(
-                "key0", new StoredData("v00".getBytes(), CLOCK_MILLIS, null),
-                "key1", new StoredData("v01".getBytes(), CLOCK_MILLIS, 500000L),
-                "key2", new StoredData("v002".getBytes(), CLOCK_MILLIS, 0x7F0000000L),
-                "key3", new StoredData("v003".getBytes(), CLOCK_MILLIS, null));
+        Map<RedisKey, StoredData> expectedResult = Map.of(
+                RedisKey.of("key0"), new StoredData("v00".getBytes(), CLOCK_MILLIS, null),
+                RedisKey.of("key1"), new StoredData("v01".getBytes(), CLOCK_MILLIS, 500000L),
+                RedisKey.of("key2"), new StoredData("v002".getBytes(), CLOCK_MILLIS, 0x7F0000000L),
+                RedisKey.of("key3"), new StoredData("v003".getBytes(), CLOCK_MILLIS, null));
         assertThat(dbData).isEqualTo(expectedResult);
     }
 
@@ -132,14 +133,14 @@ public class RdbFileParserTest implements WithAssertions, TestConstants {
 
         RdbFileParser parser = new RdbFileParser(builder.build(), FIXED_CLOCK);
 
-        Map<String, StoredData> dbData = new HashMap<>();
+        Map<RedisKey, StoredData> dbData = new HashMap<>();
 
         assertThat(parser.selectDB(dbData)).isEqualTo(OpCode.SELECTDB);
 
-        Map<String, StoredData> expectedResult = Map.of(
-                "key0", new StoredData("v00".getBytes(), CLOCK_MILLIS, 500000L),
-                "key1", new StoredData("v01".getBytes(), CLOCK_MILLIS, null),
-                "key2", new StoredData("v002".getBytes(), CLOCK_MILLIS, 1640995200000L - CLOCK_MILLIS));
+        Map<RedisKey, StoredData> expectedResult = Map.of(
+                RedisKey.of("key0"), new StoredData("v00".getBytes(), CLOCK_MILLIS, 500000L),
+                RedisKey.of("key1"), new StoredData("v01".getBytes(), CLOCK_MILLIS, null),
+                RedisKey.of("key2"), new StoredData("v002".getBytes(), CLOCK_MILLIS, 1640995200000L - CLOCK_MILLIS));
         assertThat(dbData).isEqualTo(expectedResult);
     }
 
@@ -179,13 +180,13 @@ public class RdbFileParserTest implements WithAssertions, TestConstants {
 
         RdbFileParser parser = new RdbFileParser(builder.build(), FIXED_CLOCK);
 
-        Map<String, StoredData> dbData = new HashMap<>();
+        Map<RedisKey, StoredData> dbData = new HashMap<>();
 
         assertThat(parser.selectDB(dbData)).isEqualTo(OpCode.SELECTDB);
 
-        Map<String, StoredData> expectedResult = Map.of(
-                "key0", new StoredData("v00".getBytes(), CLOCK_MILLIS, null),
-                "key3", new StoredData("v003".getBytes(), CLOCK_MILLIS, null));
+        Map<RedisKey, StoredData> expectedResult = Map.of(
+                RedisKey.of("key0"), new StoredData("v00".getBytes(), CLOCK_MILLIS, null),
+                RedisKey.of("key3"), new StoredData("v003".getBytes(), CLOCK_MILLIS, null));
         assertThat(dbData).isEqualTo(expectedResult);
     }
 
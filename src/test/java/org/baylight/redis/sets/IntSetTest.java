@@ -0,0 +1,82 @@
+package org.baylight.redis.sets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class IntSetTest implements WithAssertions {
+
+    private static List<Long> values(IntSet intset) {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < intset.size(); i++) {
+            values.add(intset.get(i));
+        }
+        return values;
+    }
+
+    @Test
+    void testAddKeepsValuesSorted() {
+        // given
+        IntSet intset = new IntSet();
+
+        // when
+        boolean added1 = intset.add(5);
+        boolean added2 = intset.add(-3);
+        boolean added3 = intset.add(12);
+        boolean addedAgain = intset.add(5);
+
+        // then
+        assertThat(added1).isTrue();
+        assertThat(added2).isTrue();
+        assertThat(added3).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(values(intset)).containsExactly(-3L, 5L, 12L);
+        assertThat(intset.width()).isEqualTo(2);
+        assertThat(intset.contains(12)).isTrue();
+        assertThat(intset.contains(7)).isFalse();
+    }
+
+    @Test
+    void testUpgradesToWiderValues() {
+        // given
+        IntSet intset = new IntSet();
+        intset.add(1);
+        intset.add(2);
+        long smallSize = intset.getEstimatedSize();
+
+        // when
+        intset.add(100_000);
+        int width32 = intset.width();
+        intset.add(Long.MIN_VALUE);
+
+        // then
+        assertThat(width32).isEqualTo(4);
+        assertThat(intset.width()).isEqualTo(8);
+        assertThat(values(intset)).containsExactly(Long.MIN_VALUE, 1L, 2L, 100_000L);
+        assertThat(intset.contains(Long.MIN_VALUE)).isTrue();
+        assertThat(intset.contains(100_000)).isTrue();
+        assertThat(intset.getEstimatedSize()).isGreaterThan(smallSize);
+    }
+
+    @Test
+    void testRemove() {
+        // given
+        IntSet intset = new IntSet();
+        for (long value : new long[] { 4, 1, 3, 2 }) {
+            intset.add(value);
+        }
+
+        // when
+        boolean removed = intset.remove(3);
+        boolean removedAgain = intset.remove(3);
+        boolean removedWide = intset.remove(Long.MAX_VALUE);
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(removedAgain).isFalse();
+        assertThat(removedWide).isFalse();
+        assertThat(values(intset)).containsExactly(1L, 2L, 4L);
+    }
+}
@@ -0,0 +1,170 @@
+package org.baylight.redis.sets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.StoredDataEncoding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisSetDataTest implements WithAssertions {
+
+    @AfterEach
+    void tearDown() {
+        RedisSetData.setMaxIntsetEntries(RedisSetData.DEFAULT_MAX_INTSET_ENTRIES);
+    }
+
+    private static RedisSetData setOf(String... members) {
+        RedisSetData set = new RedisSetData();
+        for (String member : members) {
+            set.add(member.getBytes());
+        }
+        return set;
+    }
+
+    private static List<String> members(RedisSetData set) {
+        List<String> members = new ArrayList<>();
+        set.forEach(member -> members.add(new String(member)));
+        return members;
+    }
+
+    @Test
+    void testIntegersAreIntset() {
+        // given
+        RedisSetData set = new RedisSetData();
+
+        // when
+        set.add("30".getBytes());
+        set.add("-7".getBytes());
+        boolean addedAgain = set.add("30".getBytes());
+
+        // then
+        assertThat(addedAgain).isFalse();
+        assertThat(set.getEncoding()).isEqualTo(StoredDataEncoding.INTSET);
+        assertThat(members(set)).containsExactly("-7", "30");
+        assertThat(set.contains("30".getBytes())).isTrue();
+        // only the canonical form of a number is a member
+        assertThat(set.contains("030".getBytes())).isFalse();
+    }
+
+    @Test
+    void testConvertsToTableForNonInteger() {
+        // given
+        RedisSetData set = setOf("1", "2");
+        long intsetSize = set.getEstimatedSize();
+
+        // when
+        set.add("ann".getBytes());
+
+        // then
+        assertThat(set.getEncoding()).isEqualTo(StoredDataEncoding.SET_HASHTABLE);
+        assertThat(members(set)).containsExactlyInAnyOrder("1", "2", "ann");
+        assertThat(set.contains(2)).isTrue();
+        assertThat(set.getEstimatedSize()).isGreaterThan(intsetSize);
+    }
+
+    @Test
+    void testConvertsToTablePastMaxEntries() {
+        // given
+        RedisSetData.setMaxIntsetEntries(2);
+        RedisSetData set = setOf("1", "2");
+
+        // when
+        set.add("2".getBytes());
+        StoredDataEncoding encodingAtMax = set.getEncoding();
+        set.add("3".getBytes());
+
+        // then
+        assertThat(encodingAtMax).isEqualTo(StoredDataEncoding.INTSET);
+        assertThat(set.getEncoding()).isEqualTo(StoredDataEncoding.SET_HASHTABLE);
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemove() {
+        for (String extra : new String[] { "4", "ann" }) {
+            // given
+            RedisSetData set = setOf("1", "2", extra);
+
+            // when
+            boolean removed = set.remove("1".getBytes());
+            boolean removedAgain = set.remove("1".getBytes());
+            boolean removedNonInteger = set.remove("bob".getBytes());
+
+            // then
+            assertThat(removed).isTrue();
+            assertThat(removedAgain).isFalse();
+            assertThat(removedNonInteger).isFalse();
+            assertThat(members(set)).containsExactlyInAnyOrder("2", extra);
+        }
+    }
+
+    @Test
+    void testIntersectMixedEncodings() {
+        // given
+        RedisSetData numbers = setOf("1", "2", "3", "4");
+        RedisSetData mixed = setOf("2", "4", "ann");
+        RedisSetData small = setOf("4", "2");
+        List<String> result = new ArrayList<>();
+
+        // when
+        RedisSetData.intersect(List.of(numbers, mixed, small),
+                member -> result.add(new String(member)));
+
+        // then
+        assertThat(result).containsExactly("2", "4");
+    }
+
+    @Test
+    void testIntersectWithEmptySet() {
+        // given
+        List<String> result = new ArrayList<>();
+
+        // when
+        RedisSetData.intersect(List.of(setOf("a", "b"), new RedisSetData()),
+                member -> result.add(new String(member)));
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testUnion() {
+        // given
+        RedisSetData numbers = setOf("1", "2");
+        RedisSetData mixed = setOf("2", "ann");
+
+        // when
+        RedisSetData result = RedisSetData.union(List.of(numbers, mixed));
+
+        // then
+        assertThat(members(result)).containsExactlyInAnyOrder("1", "2", "ann");
+        assertThat(members(numbers)).containsExactly("1", "2");
+    }
+
+    @Test
+    void testDifference() {
+        // given
+        RedisSetData first = setOf("1", "2", "3", "ann");
+        RedisSetData large = new RedisSetData();
+        for (int i = 100; i < 200; i++) {
+            large.add(String.valueOf(i).getBytes());
+        }
+        large.add("ann".getBytes());
+
+        // when
+        // probing the others for each member is cheaper for one small set
+        RedisSetData probed = RedisSetData.difference(first, List.of(setOf("2")));
+        // copying the first set and removing the others is cheaper for many small sets
+        RedisSetData copied = RedisSetData.difference(large,
+                List.of(setOf("150", "ann"), setOf("151"), setOf("152")));
+        RedisSetData mixed = RedisSetData.difference(first, List.of(large, setOf("3")));
+
+        // then
+        assertThat(members(probed)).containsExactlyInAnyOrder("1", "3", "ann");
+        assertThat(copied.size()).isEqualTo(97);
+        assertThat(copied.contains(150)).isFalse();
+        assertThat(members(mixed)).containsExactlyInAnyOrder("1", "2");
+    }
+}
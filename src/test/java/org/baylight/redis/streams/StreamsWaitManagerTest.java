@@ -16,6 +16,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.assertj.core.api.WithAssertions;
@@ -145,4 +146,46 @@ public class StreamsWaitManagerTest implements WithAssertions, TestConstants {
         verifyNoMoreInteractions(clock, streams.get("s1"), streams.get("s2"));
     }
 
+    @Test
+    void testWaitFor_timeoutWithoutNotify() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(20L).thenReturn(120L);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = StreamsWaitManager.INSTANCE.waitFor(Set.of("l1"), () -> {
+            calls.incrementAndGet();
+            return null;
+        }, clock, 100);
+
+        assertThat(result).isNull();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testWaitFor_notifyRetriesAction() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger available = new AtomicInteger();
+
+        Future<String> r = Executors.newFixedThreadPool(1).submit(() -> {
+            return StreamsWaitManager.INSTANCE.waitFor(Set.of("l1", "l2"), () -> {
+                calls.incrementAndGet();
+                return available.get() > 0 ? "popped" : null;
+            }, Clock.systemUTC(), 0);
+        });
+
+        assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> r.get(100L, TimeUnit.MILLISECONDS));
+
+        // a notify for a key that is not waited for does not retry the action
+        StreamsWaitManager.INSTANCE.addNotify("l3");
+        assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> r.get(10L, TimeUnit.MILLISECONDS));
+        assertThat(calls.get()).isEqualTo(1);
+
+        available.incrementAndGet();
+        StreamsWaitManager.INSTANCE.addNotify("l2");
+        assertThat(r.get(1000L, TimeUnit.MILLISECONDS)).isEqualTo("popped");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
 }
@@ -0,0 +1,139 @@
+package org.baylight.redis.zsets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.baylight.redis.StoredDataEncoding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisSortedSetDataTest implements WithAssertions {
+
+    @AfterEach
+    void tearDown() {
+        RedisSortedSetData.setListpackLimits(RedisSortedSetData.DEFAULT_MAX_LISTPACK_ENTRIES,
+                RedisSortedSetData.DEFAULT_MAX_LISTPACK_VALUE);
+    }
+
+    private static List<String> members(RedisSortedSetData zset) {
+        List<String> members = new ArrayList<>();
+        zset.forEach((member, score) -> members.add(new String(member)));
+        return members;
+    }
+
+    private static List<String> byRange(RedisSortedSetData zset, RedisSortedSetData.Range range,
+            boolean reverse, long offset, long count) {
+        List<String> members = new ArrayList<>();
+        zset.rangeByRange(range, reverse, offset, count,
+                (member, score) -> members.add(new String(member)));
+        return members;
+    }
+
+    // the scores of a to e are 1 to 5, and f and g share the score 6
+    private static RedisSortedSetData newSortedSet() {
+        RedisSortedSetData zset = new RedisSortedSetData();
+        String[] members = { "g", "e", "c", "a", "b", "d", "f" };
+        double[] scores = { 6, 5, 3, 1, 2, 4, 6 };
+        for (int i = 0; i < members.length; i++) {
+            zset.add(members[i].getBytes(), scores[i]);
+        }
+        return zset;
+    }
+
+    // the same checks for both encodings
+    private void checkOperations(RedisSortedSetData zset) {
+        assertThat(zset.size()).isEqualTo(7);
+        assertThat(members(zset)).containsExactly("a", "b", "c", "d", "e", "f", "g");
+        assertThat(zset.getScore("d".getBytes())).isEqualTo(4.0);
+        assertThat(zset.getScore("x".getBytes())).isNull();
+        assertThat(zset.rank("a".getBytes(), false)).isEqualTo(0);
+        assertThat(zset.rank("f".getBytes(), false)).isEqualTo(5);
+        assertThat(zset.rank("f".getBytes(), true)).isEqualTo(1);
+        assertThat(zset.rank("x".getBytes(), false)).isEqualTo(-1);
+
+        List<String> ranked = new ArrayList<>();
+        zset.rangeByRank(1, 3, true, (member, score) -> ranked.add(new String(member)));
+        assertThat(ranked).containsExactly("f", "e", "d");
+
+        RedisSortedSetData.ScoreRange scores = new RedisSortedSetData.ScoreRange(2, true, 6,
+                false);
+        assertThat(byRange(zset, scores, false, 0, -1)).containsExactly("c", "d", "e", "f", "g");
+        assertThat(byRange(zset, scores, false, 1, 2)).containsExactly("d", "e");
+        assertThat(byRange(zset, scores, true, 0, -1)).containsExactly("g", "f", "e", "d", "c");
+        assertThat(byRange(zset, scores, true, 2, 10)).containsExactly("e", "d", "c");
+        assertThat(byRange(zset, scores, false, 10, -1)).isEmpty();
+        assertThat(byRange(zset, new RedisSortedSetData.ScoreRange(Double.NEGATIVE_INFINITY,
+                false, 1, true), false, 0, -1)).isEmpty();
+
+        RedisSortedSetData.LexRange lex = new RedisSortedSetData.LexRange("f".getBytes(), false,
+                RedisSortedSetData.MAX_LEX, false);
+        assertThat(byRange(zset, new RedisSortedSetData.LexRange(RedisSortedSetData.MIN_LEX,
+                false, "c".getBytes(), true), false, 0, -1)).containsExactly("a", "b");
+        assertThat(byRange(zset, lex, true, 0, -1)).containsExactly("g", "f");
+        assertThat(byRange(zset, lex, false, 1, 5)).containsExactly("g");
+
+        // changing a score moves the member
+        assertThat(zset.add("a".getBytes(), 5.5)).isFalse();
+        assertThat(members(zset)).containsExactly("b", "c", "d", "e", "a", "f", "g");
+        assertThat(zset.delete("d".getBytes())).isTrue();
+        assertThat(zset.delete("d".getBytes())).isFalse();
+        assertThat(zset.rank("a".getBytes(), false)).isEqualTo(3);
+        assertThat(zset.size()).isEqualTo(6);
+    }
+
+    @Test
+    void testListpackEncoding() {
+        // given
+        RedisSortedSetData zset = newSortedSet();
+
+        // when/then
+        assertThat(zset.getEncoding()).isEqualTo(StoredDataEncoding.ZSET_LISTPACK);
+        checkOperations(zset);
+        assertThat(zset.getEncoding()).isEqualTo(StoredDataEncoding.ZSET_LISTPACK);
+    }
+
+    @Test
+    void testSkipListEncoding() {
+        // given
+        RedisSortedSetData.setListpackLimits(3, 64);
+        RedisSortedSetData zset = newSortedSet();
+
+        // when/then
+        assertThat(zset.getEncoding()).isEqualTo(StoredDataEncoding.SKIPLIST);
+        checkOperations(zset);
+    }
+
+    @Test
+    void testConvertsToSkipListForLongMember() {
+        // given
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("a".getBytes(), 1.0);
+        long listpackSize = zset.getEstimatedSize();
+
+        // when
+        zset.add("x".repeat(65).getBytes(), 0.5);
+
+        // then
+        assertThat(zset.getEncoding()).isEqualTo(StoredDataEncoding.SKIPLIST);
+        assertThat(members(zset)).containsExactly("x".repeat(65), "a");
+        assertThat(zset.getEstimatedSize()).isGreaterThan(listpackSize);
+    }
+
+    @Test
+    void testEstimatedSizeReturnsAfterDelete() {
+        // given
+        RedisSortedSetData.setListpackLimits(0, 64);
+        RedisSortedSetData zset = new RedisSortedSetData();
+        zset.add("a".getBytes(), 1.0);
+        long oneSize = zset.getEstimatedSize();
+
+        // when
+        zset.add("b".getBytes(), 2.0);
+        zset.add("b".getBytes(), 0.5);
+        zset.delete("b".getBytes());
+
+        // then
+        assertThat(zset.getEstimatedSize()).isEqualTo(oneSize);
+    }
+}
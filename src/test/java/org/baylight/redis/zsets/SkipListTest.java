@@ -0,0 +1,147 @@
+package org.baylight.redis.zsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+public class SkipListTest implements WithAssertions {
+
+    private record Entry(double score, byte[] member) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score)
+            .thenComparing(Entry::member, Arrays::compareUnsigned);
+
+    private static List<String> members(SkipList list) {
+        List<String> members = new ArrayList<>();
+        for (SkipList.Node node = list.first(); node != null; node = node.next()) {
+            members.add(new String(node.member));
+        }
+        return members;
+    }
+
+    @Test
+    void testInsertOrdersByScoreThenMember() {
+        // given
+        SkipList list = new SkipList();
+
+        // when
+        list.insert(2.0, "b".getBytes());
+        list.insert(1.0, "z".getBytes());
+        list.insert(2.0, "a".getBytes());
+        list.insert(-1.5, "c".getBytes());
+
+        // then
+        assertThat(members(list)).containsExactly("c", "z", "a", "b");
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(new String(list.last().member)).isEqualTo("b");
+        assertThat(new String(list.last().prev().member)).isEqualTo("a");
+    }
+
+    @Test
+    void testRanksMatchSortedOrder() {
+        // given
+        SkipList list = new SkipList();
+        List<Entry> entries = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            Entry entry = new Entry(random.nextInt(100), ("m" + i).getBytes());
+            entries.add(entry);
+            list.insert(entry.score(), entry.member());
+        }
+
+        // when
+        for (int i = 0; i < 500; i++) {
+            Entry entry = entries.remove(random.nextInt(entries.size()));
+            assertThat(list.delete(entry.score(), entry.member())).isTrue();
+        }
+        entries.sort(ORDER);
+
+        // then
+        assertThat(list.size()).isEqualTo(entries.size());
+        for (int rank = 1; rank <= entries.size(); rank++) {
+            Entry entry = entries.get(rank - 1);
+            assertThat(list.getRank(entry.score(), entry.member())).isEqualTo(rank);
+            assertThat(list.getByRank(rank).member).isEqualTo(entry.member());
+        }
+        assertThat(list.getByRank(0)).isNull();
+        assertThat(list.getByRank(entries.size() + 1)).isNull();
+    }
+
+    @Test
+    void testDeleteAndRankOfMissingMember() {
+        // given
+        SkipList list = new SkipList();
+        list.insert(1.0, "a".getBytes());
+
+        // when/then
+        assertThat(list.delete(2.0, "a".getBytes())).isFalse();
+        assertThat(list.delete(1.0, "b".getBytes())).isFalse();
+        assertThat(list.getRank(2.0, "a".getBytes())).isZero();
+        assertThat(list.delete(1.0, "a".getBytes())).isTrue();
+        assertThat(list.first()).isNull();
+        assertThat(list.last()).isNull();
+    }
+
+    @Test
+    void testUpdateScore() {
+        // given
+        SkipList list = new SkipList();
+        SkipList.Node a = list.insert(1.0, "a".getBytes());
+        list.insert(2.0, "b".getBytes());
+        list.insert(3.0, "c".getBytes());
+
+        // when
+        SkipList.Node inPlace = list.updateScore(1.0, "a".getBytes(), 1.5);
+        SkipList.Node moved = list.updateScore(1.5, "a".getBytes(), 5.0);
+
+        // then
+        assertThat(inPlace).isSameAs(a);
+        assertThat(moved.score).isEqualTo(5.0);
+        assertThat(members(list)).containsExactly("b", "c", "a");
+        assertThat(list.getRank(5.0, "a".getBytes())).isEqualTo(3);
+    }
+
+    @Test
+    void testFirstAndLastInRange() {
+        // given
+        SkipList list = new SkipList();
+        for (int i = 0; i < 10; i++) {
+            list.insert(i, ("m" + i).getBytes());
+        }
+
+        // when
+        SkipList.Node first = list.firstInRange(
+                new RedisSortedSetData.ScoreRange(2.0, true, 7.0, false));
+        SkipList.Node last = list.lastInRange(
+                new RedisSortedSetData.ScoreRange(2.0, true, 7.0, false));
+        SkipList.Node none = list.firstInRange(
+                new RedisSortedSetData.ScoreRange(20.0, false, 30.0, false));
+
+        // then
+        assertThat(first.score).isEqualTo(3.0);
+        assertThat(last.score).isEqualTo(7.0);
+        assertThat(none).isNull();
+    }
+
+    @Test
+    void testEstimatedSize() {
+        // given
+        SkipList list = new SkipList();
+        long emptySize = list.getEstimatedSize();
+
+        // when
+        list.insert(1.0, "a".getBytes());
+        long oneSize = list.getEstimatedSize();
+        list.delete(1.0, "a".getBytes());
+
+        // then
+        assertThat(oneSize).isGreaterThan(emptySize);
+        assertThat(list.getEstimatedSize()).isEqualTo(emptySize);
+    }
+}